@@ -835,6 +835,16 @@ public class AiAttackController {
      * @return a {@link forge.game.combat.Combat} object.
      */
     public final int declareAttackers(final Combat combat) {
+        // the same attackers and blockers get compared many times, keep the combat predictions until it's decided
+        CombatPredictions.open(ai.getGame());
+        try {
+            return declareAttackersPredicted(combat);
+        } finally {
+            CombatPredictions.close();
+        }
+    }
+
+    private int declareAttackersPredicted(final Combat combat) {
         // something prevents attacking, try another
         if (this.attackers.isEmpty() && ai.getOpponents().size() > 1) {
             final PlayerCollection opps = ai.getOpponents();
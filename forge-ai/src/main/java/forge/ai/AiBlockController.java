@@ -949,6 +949,89 @@ public class AiBlockController {
         }
     }
 
+    // Search for a better way to spread the blockers over the attackers than the passes above found
+    private void makeSearchedBlocks(final Combat combat) {
+        if (checkingOther || !ai.getController().isAI()) {
+            return;
+        }
+        AiController aic = ((PlayerControllerAi) ai.getController()).getAi();
+        if (!aic.getBooleanProperty(AiProps.BLOCK_SEARCH_ENABLE)) {
+            return;
+        }
+
+        // blockers that have to block or come with restrictions are left to the passes
+        final List<Card> blockers = new ArrayList<>();
+        for (final Card blocker : CardLists.filterControlledBy(combat.getAllBlockers(), ai)) {
+            if (combat.getAttackersBlockedBy(blocker).size() == 1) {
+                blockers.add(blocker);
+            }
+        }
+        for (final Card blocker : blockersLeft) {
+            if (!blockers.contains(blocker)) {
+                blockers.add(blocker);
+            }
+        }
+        blockers.removeIf(b -> b.hasKeyword("CARDNAME can't attack or block alone.") || b.hasKeyword("CARDNAME can't block alone.")
+                || !b.getMustBlockCards().isEmpty()
+                || CombatUtil.mustBlockAnAttacker(b, combat, null) || StaticAbilityMustBlock.blocksEachCombatIfAble(b));
+
+        final List<Card> searchedAttackers = new ArrayList<>();
+        final List<Card> otherAttackers = new ArrayList<>();
+        for (final Card attacker : attackers) {
+            if (!ai.equals(combat.getDefenderByAttacker(attacker))) {
+                continue;
+            }
+            if (CombatUtil.canBeBlocked(attacker, null, ai) && blockers.containsAll(combat.getBlockers(attacker))) {
+                searchedAttackers.add(attacker);
+            } else {
+                otherAttackers.add(attacker);
+            }
+        }
+        final Map<Card, Card> current = new HashMap<>();
+        for (final Card blocker : blockers) {
+            final CardCollectionView blocked = combat.getAttackersBlockedBy(blocker);
+            if (!blocked.isEmpty()) {
+                current.put(blocker, blocked.get(0));
+            }
+        }
+        blockers.removeIf(b -> current.containsKey(b) && !searchedAttackers.contains(current.get(b)));
+        if (searchedAttackers.isEmpty() || blockers.isEmpty()) {
+            return;
+        }
+
+        // the search looks at each blocker as if it didn't block yet
+        for (final Card blocker : current.keySet()) {
+            if (blockers.contains(blocker)) {
+                combat.undoBlockingAssignment(blocker);
+            }
+        }
+        final AiBlockSearch search = new AiBlockSearch(ai, combat, searchedAttackers, blockers, otherAttackers, diff,
+                aic.getIntProperty(AiProps.BLOCK_SEARCH_MAX_NODES), aic.getIntProperty(AiProps.BLOCK_SEARCH_TIME_BUDGET));
+        final Map<Card, Card> found = search.search(current);
+        final Map<Card, Card> blocks = found != null ? found : current;
+        for (final Card blocker : blockers) {
+            final Card attacker = blocks.get(blocker);
+            if (attacker != null) {
+                combat.addBlocker(attacker, blocker);
+                blockersLeft.remove(blocker);
+            } else if (!blockersLeft.contains(blocker)) {
+                blockersLeft.add(blocker);
+            }
+        }
+        if (found == null) {
+            return;
+        }
+
+        attackersLeft = new ArrayList<>(CardLists.filter(attackers, a -> searchedAttackers.contains(a) ? combat.getBlockers(a).isEmpty() : attackersLeft.contains(a)));
+        blockedButUnkilled.removeAll(searchedAttackers);
+        for (final Card attacker : searchedAttackers) {
+            if (!combat.getBlockers(attacker).isEmpty() && !ComputerUtilCombat.attackerWouldBeDestroyed(ai, attacker, combat)) {
+                blockedButUnkilled.add(attacker);
+            }
+        }
+        lifeInDanger = ComputerUtilCombat.lifeInDanger(ai, combat);
+    }
+
     private void makeRequiredBlocks(Combat combat) {
         // assign blockers that have to block
         final CardCollection chumpBlockers = new CardCollection();
@@ -1035,11 +1118,21 @@ public class AiBlockController {
     }
 
     /**
-     * Core blocker assignment algorithm.
+     * Core blocker assignment algorithm, the same attackers and blockers get compared many times
+     * so the combat predictions are kept until it's done.
      * @param combat combat instance
      * @param possibleBlockers list of blockers to be considered
      */
     private void assignBlockers(final Combat combat, List<Card> possibleBlockers) {
+        CombatPredictions.open(ai.getGame());
+        try {
+            assignBlockersPredicted(combat, possibleBlockers);
+        } finally {
+            CombatPredictions.close();
+        }
+    }
+
+    private void assignBlockersPredicted(final Combat combat, List<Card> possibleBlockers) {
         if (attackers.isEmpty()) {
             return;
         }
@@ -1146,6 +1239,13 @@ public class AiBlockController {
                 makeGangBlocks(combat);
                 reinforceBlockersToKill(combat);
             }
+
+            // == 4. If the profile asks for it search for better blocks than the passes found ==
+            // the passes still run first, their blocks are the score the search has to beat and they place the
+            // blockers the search leaves alone. They are replaced by anything strictly better the search finds,
+            // also when it runs out of nodes or time before it looked at everything. With the search on, blocking
+            // takes the time of the passes and of the search
+            makeSearchedBlocks(combat);
         }
 
         // block requirements
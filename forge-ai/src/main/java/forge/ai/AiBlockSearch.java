@@ -0,0 +1,459 @@
+package forge.ai;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import forge.game.card.Card;
+import forge.game.card.CardCollection;
+import forge.game.combat.Combat;
+import forge.game.combat.CombatUtil;
+import forge.game.keyword.Keyword;
+import forge.game.player.Player;
+import forge.game.staticability.StaticAbilityAssignCombatDamageAsUnblocked;
+
+/**
+ * Searches the ways to spread the blockers of the AI over the creatures attacking it, to improve on
+ * the greedy passes of {@link AiBlockController} (see {@link AiProps#BLOCK_SEARCH_ENABLE}).
+ * It runs after the passes, so it adds to the time blocking takes rather than saving any.
+ * <p>
+ * Every blocker blocks one attacker or none. An assignment is scored by the value of the attackers it kills,
+ * the value of the blockers it loses and the life and poison it lets through, rated like
+ * {@link ComputerUtilCombat#lifeInDanger} would. The outcome of every attacker and blocker pair is asked once from
+ * {@link ComputerUtilCombat}, which keeps it for the declaration anyway.
+ * The greedy blocks are the first assignment looked at, branches that can't beat the best so far are cut and the
+ * search stops after a number of nodes or a time limit, whatever it found by then is used if it's better.
+ * Asking for the pairs counts against the time limit too, on a crowded board the greedy blocks are kept.
+ * The time limit is wall-clock time, so with one the same board may get other blocks on a slower machine.
+ */
+final class AiBlockSearch {
+    // a point of life is worth as much as in the GameStateEvaluator of the simulation AI
+    private static final int LIFE_VALUE = 2;
+    // getting into danger is avoided like the passes do, even chump blocks are worth it
+    private static final int DANGER = 1000;
+    // every point of life or poison beyond the danger threshold of the profile
+    private static final int DANGER_VALUE = 100;
+    private static final int LOSING = 1000000;
+    private static final int NOT_BLOCKING = -1;
+
+    private final Player ai;
+    private final Combat combat;
+    private final int tradeDiff;
+    private final int dangerThreshold;
+    private final int maxNodes;
+    private final long deadline;
+
+    private final Card[] attackers;
+    private final Card[] blockers;
+    private final int[] attackerValue;
+    private final int[] blockerValue;
+    private final int[] unblockedLife;
+    private final int[] unblockedPoison;
+    private final int[] trampleDamage;
+    private final int[] attackDamage;
+    private final int[] damageToKill;
+    private final boolean[] asUnblocked;
+    private final boolean[] infect;
+    private final boolean[] cantBeDestroyed;
+    private final boolean[] attackerStrikesFirst;
+    private final boolean[] blockerStrikesFirst;
+    private final boolean[][] legal;
+    private final boolean[][] kills;
+    private final boolean[][] dies;
+    private final boolean[][] diesFirst;
+    private final int[][] blockerDamage;
+    private final int[][] shield;
+    private final int[][] lethal;
+    // stillBlockable[d][i]: one of the blockers from depth d on can block attacker i
+    private final boolean[][] stillBlockable;
+    private final int baseLife;
+    private final int basePoison;
+
+    private final int[] choice;
+    private final int[][] group;
+    private final int[] groupSize;
+    private final int[] groupMaterial;
+    private final int[] groupLife;
+    private final int[] groupPoison;
+    private final boolean[] groupAllowed;
+
+    private int[] best;
+    private int bestScore;
+    private int initialScore;
+    private int nodes;
+    private boolean outOfBudget;
+
+    /**
+     * @param attackers the attackers of the AI that may be blocked differently
+     * @param blockers the blockers of the AI that may be moved, blocking at most one of the attackers
+     * @param otherAttackers the other attackers of the AI, their life and poison is counted as it is
+     */
+    AiBlockSearch(final Player ai, final Combat combat, final List<Card> attackers, final List<Card> blockers,
+            final List<Card> otherAttackers, final int tradeDiff, final int maxNodes, final int timeBudget) {
+        this.ai = ai;
+        this.combat = combat;
+        this.tradeDiff = Math.max(0, tradeDiff);
+        this.maxNodes = maxNodes;
+        this.deadline = timeBudget > 0 ? System.currentTimeMillis() + timeBudget : Long.MAX_VALUE;
+        final AiController aic = ((PlayerControllerAi) ai.getController()).getAi();
+        this.dangerThreshold = aic.getIntProperty(AiProps.AI_IN_DANGER_THRESHOLD);
+
+        this.attackers = attackers.toArray(new Card[0]);
+        // decide the most valuable blockers first, they move the score the most
+        final CardCollection sortedBlockers = new CardCollection(blockers);
+        ComputerUtilCard.sortByEvaluateCreature(sortedBlockers);
+        this.blockers = sortedBlockers.toArray(new Card[0]);
+        final int na = this.attackers.length;
+        final int nb = this.blockers.length;
+
+        attackerValue = new int[na];
+        unblockedLife = new int[na];
+        unblockedPoison = new int[na];
+        trampleDamage = new int[na];
+        attackDamage = new int[na];
+        damageToKill = new int[na];
+        asUnblocked = new boolean[na];
+        infect = new boolean[na];
+        cantBeDestroyed = new boolean[na];
+        attackerStrikesFirst = new boolean[na];
+        for (int i = 0; i < na; i++) {
+            final Card attacker = this.attackers[i];
+            attackerValue[i] = ComputerUtilCard.evaluateCreature(attacker);
+            unblockedLife[i] = ComputerUtilCombat.damageIfUnblocked(attacker, ai, null, false);
+            unblockedPoison[i] = ComputerUtilCombat.poisonIfUnblocked(attacker, ai);
+            trampleDamage[i] = attacker.hasKeyword(Keyword.TRAMPLE) ? ComputerUtilCombat.getAttack(attacker) : 0;
+            attackDamage[i] = attacker.getNetCombatDamage() + ComputerUtilCombat.predictPowerBonusOfAttacker(attacker, null, combat, false);
+            damageToKill[i] = ComputerUtilCombat.getDamageToKill(attacker, false)
+                    + ComputerUtilCombat.predictToughnessBonusOfAttacker(attacker, null, combat, false);
+            asUnblocked[i] = StaticAbilityAssignCombatDamageAsUnblocked.assignCombatDamageAsUnblocked(attacker);
+            infect[i] = attacker.isInfectDamage(ai);
+            cantBeDestroyed[i] = ComputerUtilCombat.combatantCantBeDestroyed(ai, attacker);
+            attackerStrikesFirst[i] = attacker.hasFirstStrike() || attacker.hasDoubleStrike();
+        }
+
+        blockerValue = new int[nb];
+        blockerStrikesFirst = new boolean[nb];
+        legal = new boolean[na][nb];
+        kills = new boolean[na][nb];
+        dies = new boolean[na][nb];
+        diesFirst = new boolean[na][nb];
+        blockerDamage = new int[na][nb];
+        shield = new int[na][nb];
+        lethal = new int[na][nb];
+        final boolean inCombat = ai.getGame().getPhaseHandler().inCombat();
+        for (int j = 0; j < nb; j++) {
+            // on a crowded board asking for all the pairs can already take longer than the search may
+            if (System.currentTimeMillis() > deadline) {
+                outOfBudget = true;
+                break;
+            }
+            final Card blocker = this.blockers[j];
+            blockerValue[j] = ComputerUtilCard.evaluateCreature(blocker);
+            blockerStrikesFirst[j] = blocker.hasFirstStrike() || blocker.hasDoubleStrike();
+            for (int i = 0; i < na; i++) {
+                final Card attacker = this.attackers[i];
+                legal[i][j] = CombatUtil.canBlock(attacker, blocker, combat)
+                        && CombatUtil.getBlockCost(ai.getGame(), blocker, attacker) == null;
+                if (!legal[i][j]) {
+                    continue;
+                }
+                kills[i][j] = ComputerUtilCombat.canDestroyAttacker(ai, attacker, blocker, combat, false, inCombat);
+                dies[i][j] = ComputerUtilCombat.canDestroyBlocker(ai, blocker, attacker, combat, false, inCombat);
+                diesFirst[i][j] = dies[i][j] && ComputerUtilCombat.canDestroyBlockerBeforeFirstStrike(blocker, attacker, false);
+                blockerDamage[i][j] = ComputerUtilCombat.dealsDamageAsBlocker(attacker, blocker);
+                shield[i][j] = ComputerUtilCombat.shieldDamage(attacker, blocker);
+                lethal[i][j] = ComputerUtilCombat.getEnoughDamageToKill(blocker, attackDamage[i], attacker, true);
+            }
+        }
+
+        stillBlockable = new boolean[nb + 1][na];
+        for (int d = nb - 1; d >= 0; d--) {
+            for (int i = 0; i < na; i++) {
+                stillBlockable[d][i] = stillBlockable[d + 1][i] || legal[i][d];
+            }
+        }
+
+        int life = 0;
+        int poison = 0;
+        for (final Card attacker : otherAttackers) {
+            final List<Card> blockedBy = combat.getBlockers(attacker);
+            if (blockedBy.isEmpty() || StaticAbilityAssignCombatDamageAsUnblocked.assignCombatDamageAsUnblocked(attacker)) {
+                life += ComputerUtilCombat.damageIfUnblocked(attacker, ai, null, false);
+                poison += ComputerUtilCombat.poisonIfUnblocked(attacker, ai);
+            } else if (attacker.hasKeyword(Keyword.TRAMPLE)) {
+                final int excess = Math.max(0, ComputerUtilCombat.getAttack(attacker) - ComputerUtilCombat.totalShieldDamage(attacker, blockedBy));
+                if (attacker.isInfectDamage(ai)) {
+                    poison += excess;
+                } else {
+                    life += excess;
+                }
+            }
+        }
+        baseLife = life;
+        basePoison = poison;
+
+        choice = new int[nb];
+        group = new int[na][nb];
+        groupSize = new int[na];
+        groupMaterial = new int[na];
+        groupLife = new int[na];
+        groupPoison = new int[na];
+        groupAllowed = new boolean[na];
+    }
+
+    /**
+     * @param current the attacker each of the blockers blocks now, blockers not in it don't block
+     * @return the attacker each of the blockers should block instead, or null when nothing better was found
+     */
+    Map<Card, Card> search(final Map<Card, Card> current) {
+        if (outOfBudget) {
+            return null;
+        }
+        final int nb = blockers.length;
+        final List<Card> attackerList = Arrays.asList(attackers);
+        final int[] start = new int[nb];
+        for (int j = 0; j < nb; j++) {
+            final Card attacker = current.get(blockers[j]);
+            start[j] = attacker == null ? NOT_BLOCKING : attackerList.indexOf(attacker);
+            if (attacker != null && (start[j] == NOT_BLOCKING || !legal[start[j]][j])) {
+                return null; // blocked in a way the search can't express, keep it
+            }
+        }
+
+        Arrays.fill(choice, NOT_BLOCKING);
+        for (int i = 0; i < attackers.length; i++) {
+            evaluateGroup(i);
+        }
+        for (int j = 0; j < nb; j++) {
+            assign(j, start[j]);
+        }
+        initialScore = allGroupsAllowed() ? score(totalLife(), totalPoison()) : Integer.MIN_VALUE;
+        bestScore = initialScore;
+        best = start.clone();
+        for (int j = nb - 1; j >= 0; j--) {
+            assign(j, NOT_BLOCKING);
+        }
+
+        nodes = 0;
+        outOfBudget = false;
+        search(0, start);
+
+        if (bestScore <= initialScore) {
+            return null;
+        }
+        final Map<Card, Card> result = new HashMap<>();
+        for (int j = 0; j < nb; j++) {
+            if (best[j] != NOT_BLOCKING) {
+                result.put(blockers[j], attackers[best[j]]);
+            }
+        }
+        return result;
+    }
+
+    private void search(final int depth, final int[] start) {
+        if (outOfBudget) {
+            return;
+        }
+        nodes++;
+        if ((maxNodes > 0 && nodes > maxNodes) || ((nodes & 0xFF) == 0 && System.currentTimeMillis() > deadline)) {
+            outOfBudget = true;
+            return;
+        }
+
+        if (depth == blockers.length) {
+            if (allGroupsAllowed()) {
+                final int score = score(totalLife(), totalPoison());
+                if (score > bestScore) {
+                    bestScore = score;
+                    best = choice.clone();
+                }
+            }
+            return;
+        }
+        if (upperBound(depth) <= bestScore) {
+            return;
+        }
+
+        // the current blocks first so the search starts from them, not blocking last
+        final int first = start[depth];
+        tryChoice(depth, first, start);
+        for (int i = 0; i < attackers.length; i++) {
+            if (i != first && legal[i][depth]) {
+                tryChoice(depth, i, start);
+            }
+        }
+        if (first != NOT_BLOCKING) {
+            tryChoice(depth, NOT_BLOCKING, start);
+        }
+    }
+
+    private void tryChoice(final int depth, final int attacker, final int[] start) {
+        assign(depth, attacker);
+        search(depth + 1, start);
+        assign(depth, NOT_BLOCKING);
+    }
+
+    private void assign(final int blocker, final int attacker) {
+        final int previous = choice[blocker];
+        if (previous == attacker) {
+            return;
+        }
+        if (previous != NOT_BLOCKING) {
+            final int[] members = group[previous];
+            int size = groupSize[previous];
+            for (int k = 0; k < size; k++) {
+                if (members[k] == blocker) {
+                    members[k] = members[--size];
+                    break;
+                }
+            }
+            groupSize[previous] = size;
+            evaluateGroup(previous);
+        }
+        choice[blocker] = attacker;
+        if (attacker != NOT_BLOCKING) {
+            group[attacker][groupSize[attacker]++] = blocker;
+            evaluateGroup(attacker);
+        }
+    }
+
+    private void evaluateGroup(final int i) {
+        final int size = groupSize[i];
+        final int[] members = group[i];
+        if (size == 0) {
+            groupMaterial[i] = 0;
+            groupLife[i] = unblockedLife[i];
+            groupPoison[i] = unblockedPoison[i];
+            groupAllowed[i] = true;
+            return;
+        }
+        groupAllowed[i] = CombatUtil.canAttackerBeBlockedWithAmount(attackers[i], size, combat);
+
+        int material = 0;
+        boolean killed = false;
+        int shielded = 0;
+        if (size == 1) {
+            final int j = members[0];
+            killed = kills[i][j];
+            if (dies[i][j]) {
+                material -= blockerValue[j] + tradeDiff;
+            }
+            shielded = shield[i][j];
+        } else {
+            // the attacker kills the most valuable blockers it can, those come first,
+            // the ones it kills with first strike or a trigger before damage don't deal any
+            final int[] byValue = Arrays.copyOf(members, size);
+            Arrays.sort(byValue);
+            int left = attackDamage[i];
+            int damage = 0;
+            for (final int j : byValue) {
+                final boolean dead = dies[i][j] && lethal[i][j] <= left;
+                if (dead) {
+                    left -= lethal[i][j];
+                    material -= blockerValue[j] + tradeDiff;
+                }
+                killed |= kills[i][j];
+                if (!diesFirst[i][j] && !(dead && attackerStrikesFirst[i] && !blockerStrikesFirst[j])) {
+                    damage += blockerDamage[i][j];
+                }
+                shielded += shield[i][j];
+            }
+            if (!killed && !cantBeDestroyed[i]) {
+                killed = damage >= damageToKill[i];
+            }
+        }
+        if (killed) {
+            material += attackerValue[i];
+        }
+        groupMaterial[i] = material;
+
+        if (asUnblocked[i]) {
+            groupLife[i] = unblockedLife[i];
+            groupPoison[i] = unblockedPoison[i];
+        } else {
+            final int excess = Math.max(0, trampleDamage[i] - shielded);
+            groupLife[i] = infect[i] ? 0 : excess;
+            groupPoison[i] = infect[i] ? excess : 0;
+        }
+    }
+
+    // attackers that can still get more blockers are taken as killed without losses or damage
+    private int upperBound(final int depth) {
+        int material = 0;
+        int life = baseLife;
+        int poison = basePoison;
+        for (int i = 0; i < attackers.length; i++) {
+            if (stillBlockable[depth][i]) {
+                material += Math.max(attackerValue[i], groupMaterial[i]);
+            } else {
+                if (!groupAllowed[i]) {
+                    return Integer.MIN_VALUE;
+                }
+                material += groupMaterial[i];
+                life += groupLife[i];
+                poison += groupPoison[i];
+            }
+        }
+        return material + rateLifeAndPoison(life, poison);
+    }
+
+    private int score(final int life, final int poison) {
+        int material = 0;
+        for (int i = 0; i < attackers.length; i++) {
+            material += groupMaterial[i];
+        }
+        return material + rateLifeAndPoison(life, poison);
+    }
+
+    private int totalLife() {
+        int life = baseLife;
+        for (int i = 0; i < attackers.length; i++) {
+            life += groupLife[i];
+        }
+        return life;
+    }
+
+    private int totalPoison() {
+        int poison = basePoison;
+        for (int i = 0; i < attackers.length; i++) {
+            poison += groupPoison[i];
+        }
+        return poison;
+    }
+
+    private boolean allGroupsAllowed() {
+        for (int i = 0; i < attackers.length; i++) {
+            if (!groupAllowed[i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private int rateLifeAndPoison(int life, int poison) {
+        if (ai.cantLose()) {
+            return -LIFE_VALUE * life;
+        }
+        if (!ai.canLoseLife()) {
+            life = 0;
+        }
+        final int lifeLeft = ai.getLife() - life;
+        final int poisonAfter = ai.getPoisonCounters() + poison;
+        if ((lifeLeft < 1 && !ai.cantLoseForZeroOrLessLife())
+                || poisonAfter >= ai.getGame().getRules().getPoisonCountersToLose()) {
+            return -LOSING;
+        }
+        int rating = -LIFE_VALUE * life - LIFE_VALUE * 3 * poison;
+        final int lifeThreshold = Math.min(dangerThreshold, ai.getLife());
+        if (lifeLeft < lifeThreshold && !ai.cantLoseForZeroOrLessLife()) {
+            rating -= DANGER + DANGER_VALUE * (lifeThreshold - lifeLeft);
+        }
+        // same poison limit as lifeInDanger
+        final int poisonThreshold = Math.max(7, ai.getPoisonCounters());
+        if (poisonAfter > poisonThreshold) {
+            rating -= DANGER + DANGER_VALUE * (poisonAfter - poisonThreshold);
+        }
+        return rating;
+    }
+}
@@ -0,0 +1,128 @@
+package forge.ai;
+
+import java.util.concurrent.Callable;
+import java.util.concurrent.ForkJoinWorkerThread;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+/**
+ * Caps how many AI players think about their turn at the same time, for a server running many matches in one process.
+ * <p>
+ * Every match has its own game thread, without a cap a few tables whose AI is busy choosing spells or combat
+ * would take all the cores and the others stall. Waiting players get their turn in the order they asked for it.
+ * There is no cap unless {@link #setMaxConcurrentDecisions(int)} is called.
+ */
+public final class AiDecisionLimiter {
+    private static volatile Semaphore permits = null;
+    private static volatile int maxConcurrent = 0;
+    // a decision may ask for another one on the same thread, that one doesn't wait again
+    private static final ThreadLocal<Permit> heldPermit = new ThreadLocal<>();
+    private static final AtomicLong waitNanos = new AtomicLong();
+
+    // the permit of a decision, given back once the decision and every task it handed to another thread are done
+    private static final class Permit {
+        private final Semaphore semaphore;
+        private final AtomicInteger holders = new AtomicInteger(1);
+
+        private Permit(final Semaphore semaphore) {
+            this.semaphore = semaphore;
+        }
+
+        private static Permit acquire(final Semaphore semaphore) {
+            final long start = System.nanoTime();
+            semaphore.acquireUninterruptibly();
+            waitNanos.addAndGet(System.nanoTime() - start);
+            return new Permit(semaphore);
+        }
+
+        /**
+         * @return false when it was already given back
+         */
+        private boolean share() {
+            int h;
+            do {
+                h = holders.get();
+                if (h == 0) {
+                    return false;
+                }
+            } while (!holders.compareAndSet(h, h + 1));
+            return true;
+        }
+
+        private void release() {
+            if (holders.decrementAndGet() == 0) {
+                semaphore.release();
+            }
+        }
+    }
+
+    private AiDecisionLimiter() {
+    }
+
+    /**
+     * @param max how many AI decisions may be computed at once, 0 or less for no cap
+     */
+    public static void setMaxConcurrentDecisions(final int max) {
+        maxConcurrent = Math.max(max, 0);
+        permits = max > 0 ? new Semaphore(max, true) : null;
+    }
+
+    public static int getMaxConcurrentDecisions() {
+        return maxConcurrent;
+    }
+
+    /**
+     * @return the time AI players spent waiting for their turn to think, summed over all of them
+     */
+    public static long getTotalWaitMillis() {
+        return waitNanos.get() / 1000000;
+    }
+
+    static <T> T decide(final Supplier<T> decision) {
+        final Semaphore s = permits;
+        // the simulation AI searches on a shared pool on behalf of a player that already holds a permit
+        if (s == null || heldPermit.get() != null || Thread.currentThread() instanceof ForkJoinWorkerThread) {
+            return decision.get();
+        }
+        final Permit permit = Permit.acquire(s);
+        heldPermit.set(permit);
+        try {
+            return decision.get();
+        } finally {
+            heldPermit.remove();
+            permit.release();
+        }
+    }
+
+    /**
+     * @return the task, sharing the permit of the calling thread when it runs, for a decision that hands part of
+     * its work to another thread and waits for it. The permit is only given back once the task is done too, so a
+     * task still running after the caller stopped waiting for it counts against the cap. A task that starts after
+     * that waits for a permit of its own.
+     */
+    static <T> Callable<T> withPermitOfCaller(final Callable<T> task) {
+        final Permit permit = heldPermit.get();
+        if (permit == null) {
+            return task;
+        }
+        return () -> {
+            final Permit held = permit.share() ? permit : Permit.acquire(permit.semaphore);
+            heldPermit.set(held);
+            try {
+                return task.call();
+            } finally {
+                heldPermit.remove();
+                held.release();
+            }
+        };
+    }
+
+    static void decide(final Runnable decision) {
+        decide(() -> {
+            decision.run();
+            return null;
+        });
+    }
+}
@@ -145,9 +145,13 @@ public enum AiProps { /** */
     SIDEBOARDING_CHANCE_ON_WIN("0"),
     SIDEBOARDING_IN_LIMITED_FORMATS("false"),
     SIDEBOARDING_SHARED_TYPE_ONLY("false"),
-    SIDEBOARDING_PLANESWALKER_EQ_CREATURE("false");
+    SIDEBOARDING_PLANESWALKER_EQ_CREATURE("false"),
+    SIMULATION_TIME_BUDGET("0"),
     // Experimental features, must be promoted or removed after extensive testing and, ideally, defaulting
-    // <-- There are no experimental options here -->
+    SIMULATION_PARALLEL_SEARCH("false"),
+    BLOCK_SEARCH_ENABLE("false"),
+    BLOCK_SEARCH_MAX_NODES("20000"),
+    BLOCK_SEARCH_TIME_BUDGET("100");
 
 
     private final String strDefaultVal;
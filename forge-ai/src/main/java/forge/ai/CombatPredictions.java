@@ -0,0 +1,164 @@
+package forge.ai;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.BooleanSupplier;
+import java.util.function.IntSupplier;
+
+import forge.game.Game;
+import forge.game.card.Card;
+import forge.game.combat.Combat;
+
+/**
+ * Keeps what {@link ComputerUtilCombat} predicted for an attacker and a blocker while the AI declares
+ * attackers or blockers, where the same pairs are looked at again and again.
+ * <p>
+ * Predictions are only kept between {@link #open} and {@link #close}. A prediction is made for its combatants, the
+ * combat it was asked for and the combat of the game, and is used again as long as none of them changed: all of them
+ * are dropped when the game timestamp moves, and one is no longer used once an attacker is added or removed, or a
+ * blocker for anything but the keywords gained, which only depend on the attackers.
+ * <p>
+ * Callers don't ask for predictions while regeneration tests are suppressed, those answers only hold inside the check
+ * that suppressed them.
+ * <p>
+ * With -Dforge.verifyCombatPredictions=true a kept prediction is made again every time it's used and compared,
+ * a difference throws an {@link IllegalStateException}.
+ */
+final class CombatPredictions {
+    private static final GameScope<CombatPredictions> scope = new GameScope<>(CombatPredictions::new);
+    private static final boolean verify = Boolean.getBoolean("forge.verifyCombatPredictions");
+
+    enum Prediction {
+        POWER_BONUS_OF_ATTACKER(true),
+        TOUGHNESS_BONUS_OF_ATTACKER(true),
+        POWER_BONUS_OF_BLOCKER(true),
+        TOUGHNESS_BONUS_OF_BLOCKER(true),
+        ATTACKER_DESTROYED(true),
+        BLOCKER_DESTROYED(true),
+        KEYWORD_GAINED(false);
+
+        private final boolean dependsOnBlockers;
+
+        Prediction(boolean dependsOnBlockers) {
+            this.dependsOnBlockers = dependsOnBlockers;
+        }
+    }
+
+    // cards are compared by identity, a copy with another state must not share the prediction of the card
+    private static final class Key {
+        private final Prediction prediction;
+        private final Object context;
+        private final Card attacker;
+        private final Card blocker;
+        private final Combat combat;
+        private final long combatChanges;
+        private final Combat gameCombat;
+        private final long gameCombatChanges;
+        private final int flags;
+        private final int hash;
+
+        private Key(Prediction prediction, Object context, Card attacker, Card blocker, Combat combat, Combat gameCombat, int flags) {
+            this.prediction = prediction;
+            this.context = context;
+            this.attacker = attacker;
+            this.blocker = blocker;
+            this.combat = combat;
+            this.combatChanges = changesOf(combat, prediction);
+            this.gameCombat = gameCombat;
+            this.gameCombatChanges = changesOf(gameCombat, prediction);
+            this.flags = flags;
+            int h = prediction.ordinal();
+            h = 31 * h + Objects.hashCode(context);
+            h = 31 * h + System.identityHashCode(attacker);
+            h = 31 * h + System.identityHashCode(blocker);
+            h = 31 * h + System.identityHashCode(combat);
+            h = 31 * h + Long.hashCode(combatChanges);
+            h = 31 * h + Long.hashCode(gameCombatChanges);
+            this.hash = 31 * h + flags;
+        }
+
+        private static long changesOf(Combat combat, Prediction prediction) {
+            if (combat == null) {
+                return 0;
+            }
+            final long changes = (long) combat.getAttackerChanges() << 32;
+            return prediction.dependsOnBlockers ? changes | (combat.getBlockerChanges() & 0xFFFFFFFFL) : changes;
+        }
+
+        @Override
+        public int hashCode() {
+            return hash;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (!(o instanceof Key other)) {
+                return false;
+            }
+            return prediction == other.prediction && Objects.equals(context, other.context) && attacker == other.attacker && blocker == other.blocker
+                    && combat == other.combat && combatChanges == other.combatChanges
+                    && gameCombat == other.gameCombat && gameCombatChanges == other.gameCombatChanges
+                    && flags == other.flags;
+        }
+    }
+
+    private final Game game;
+    private final Map<Key, Integer> predictions = new HashMap<>();
+    private long timestamp;
+
+    private CombatPredictions(Game game) {
+        this.game = game;
+        this.timestamp = game.getTimestamp();
+    }
+
+    /**
+     * Starts keeping predictions for the game on this thread, until the matching {@link #close}.
+     * Nested calls for the same game share the predictions of the outermost one.
+     */
+    static void open(Game game) {
+        scope.open(game);
+    }
+
+    static void close() {
+        scope.close();
+    }
+
+    /**
+     * @param context whatever else the prediction depends on besides the combatants, like the player it's made for
+     */
+    static int predictAmount(Prediction prediction, Object context, Card attacker, Card blocker, Combat combat,
+            boolean withoutAbilities, boolean withoutStaticAbilities, IntSupplier predictor) {
+        final CombatPredictions open = attacker == null ? null : scope.get(attacker.getGame());
+        if (open == null) {
+            return predictor.getAsInt();
+        }
+        if (open.timestamp != open.game.getTimestamp()) {
+            open.predictions.clear();
+            open.timestamp = open.game.getTimestamp();
+        }
+
+        final int flags = (withoutAbilities ? 1 : 0) | (withoutStaticAbilities ? 2 : 0);
+        final Key key = new Key(prediction, context, attacker, blocker, combat, open.game.getCombat(), flags);
+        final Integer known = open.predictions.get(key);
+        if (known == null) {
+            final int predicted = predictor.getAsInt();
+            open.predictions.put(key, predicted);
+            return predicted;
+        }
+        if (verify) {
+            final int predicted = predictor.getAsInt();
+            if (predicted != known) {
+                throw new IllegalStateException(prediction + " of " + attacker + " and " + blocker
+                        + " is " + predicted + " but was kept as " + known);
+            }
+        }
+        return known;
+    }
+
+    static boolean predictOutcome(Prediction prediction, Object context, Card attacker, Card blocker, Combat combat,
+            boolean withoutAbilities, boolean withoutStaticAbilities, BooleanSupplier predictor) {
+        return predictAmount(prediction, context, attacker, blocker, combat, withoutAbilities, withoutStaticAbilities,
+                () -> predictor.getAsBoolean() ? 1 : 0) != 0;
+    }
+}
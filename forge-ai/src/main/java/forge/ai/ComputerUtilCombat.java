@@ -64,9 +64,10 @@ import java.util.Map;
 public class ComputerUtilCombat {
 
     // A special flag used in ComputerUtil#canRegenerate to avoid recursive reentry and stack overflow
-    private static boolean dontTestRegen = false;
+    // (kept per thread, games simulated in parallel must not see each other's flag)
+    private static final ThreadLocal<Boolean> dontTestRegen = ThreadLocal.withInitial(() -> false);
     public static void setCombatRegenTestSuppression(boolean shouldSuppress) {
-        dontTestRegen = shouldSuppress;
+        dontTestRegen.set(shouldSuppress);
     }
 
     /**
@@ -878,6 +879,10 @@ public class ComputerUtilCombat {
      * @return a int.
      */
     public static int predictPowerBonusOfBlocker(final Card attacker, final Card blocker, boolean withoutAbilities) {
+        return CombatPredictions.predictAmount(CombatPredictions.Prediction.POWER_BONUS_OF_BLOCKER, null, attacker, blocker, null,
+                withoutAbilities, false, () -> predictPowerBonusOfBlockerUncached(attacker, blocker, withoutAbilities));
+    }
+    private static int predictPowerBonusOfBlockerUncached(final Card attacker, final Card blocker, boolean withoutAbilities) {
         int power = 0;
 
         // Serene Master switches power with attacker
@@ -1024,6 +1029,10 @@ public class ComputerUtilCombat {
      * @return a int.
      */
     public static int predictToughnessBonusOfBlocker(final Card attacker, final Card blocker, boolean withoutAbilities) {
+        return CombatPredictions.predictAmount(CombatPredictions.Prediction.TOUGHNESS_BONUS_OF_BLOCKER, null, attacker, blocker, null,
+                withoutAbilities, false, () -> predictToughnessBonusOfBlockerUncached(attacker, blocker, withoutAbilities));
+    }
+    private static int predictToughnessBonusOfBlockerUncached(final Card attacker, final Card blocker, boolean withoutAbilities) {
         int toughness = 0;
 
         if (blocker.getName().equals("Shape Stealer")) {
@@ -1161,6 +1170,11 @@ public class ComputerUtilCombat {
         return predictPowerBonusOfAttacker(attacker, blocker, combat, withoutAbilities, false);
     }
     public static int predictPowerBonusOfAttacker(final Card attacker, final Card blocker, final Combat combat, boolean withoutAbilities, boolean withoutCombatStaticAbilities) {
+        return CombatPredictions.predictAmount(CombatPredictions.Prediction.POWER_BONUS_OF_ATTACKER, null, attacker, blocker, combat,
+                withoutAbilities, withoutCombatStaticAbilities,
+                () -> predictPowerBonusOfAttackerUncached(attacker, blocker, combat, withoutAbilities, withoutCombatStaticAbilities));
+    }
+    private static int predictPowerBonusOfAttackerUncached(final Card attacker, final Card blocker, final Combat combat, boolean withoutAbilities, boolean withoutCombatStaticAbilities) {
         int power = 0;
 
         // Serene Master switches power with attacker
@@ -1365,6 +1379,12 @@ public class ComputerUtilCombat {
     }
     public static int predictToughnessBonusOfAttacker(final Card attacker, final Card blocker, final Combat combat
             , boolean withoutAbilities, boolean withoutCombatStaticAbilities) {
+        return CombatPredictions.predictAmount(CombatPredictions.Prediction.TOUGHNESS_BONUS_OF_ATTACKER, null, attacker, blocker, combat,
+                withoutAbilities, withoutCombatStaticAbilities,
+                () -> predictToughnessBonusOfAttackerUncached(attacker, blocker, combat, withoutAbilities, withoutCombatStaticAbilities));
+    }
+    private static int predictToughnessBonusOfAttackerUncached(final Card attacker, final Card blocker, final Combat combat
+            , boolean withoutAbilities, boolean withoutCombatStaticAbilities) {
         int toughness = 0;
 
         if (blocker != null && attacker.getName().equals("Shape Stealer")) {
@@ -1661,7 +1681,16 @@ public class ComputerUtilCombat {
             final boolean withoutAbilities) {
         return canDestroyAttacker(ai, attacker, blocker, combat, withoutAbilities, false);
     }
-    public static boolean canDestroyAttacker(Player ai, Card attacker, Card blocker, final Combat combat,
+    public static boolean canDestroyAttacker(final Player ai, final Card attacker, final Card blocker, final Combat combat,
+            final boolean withoutAbilities, final boolean withoutAttackerStaticAbilities) {
+        if (dontTestRegen.get()) {
+            return canDestroyAttackerUncached(ai, attacker, blocker, combat, withoutAbilities, withoutAttackerStaticAbilities);
+        }
+        return CombatPredictions.predictOutcome(CombatPredictions.Prediction.ATTACKER_DESTROYED, ai, attacker, blocker, combat,
+                withoutAbilities, withoutAttackerStaticAbilities,
+                () -> canDestroyAttackerUncached(ai, attacker, blocker, combat, withoutAbilities, withoutAttackerStaticAbilities));
+    }
+    private static boolean canDestroyAttackerUncached(Player ai, Card attacker, Card blocker, final Combat combat,
             final boolean withoutAbilities, final boolean withoutAttackerStaticAbilities) {
         // Can activate transform ability
         if (!withoutAbilities) {
@@ -1825,7 +1854,7 @@ public class ComputerUtilCombat {
             }
         } // flanking
 
-        if (blocker.hasKeyword(Keyword.INDESTRUCTIBLE) || dontTestRegen
+        if (blocker.hasKeyword(Keyword.INDESTRUCTIBLE) || dontTestRegen.get()
                 || ComputerUtil.canRegenerate(blocker.getController(), blocker)) {
             return false;
         }
@@ -1891,7 +1920,16 @@ public class ComputerUtilCombat {
             final boolean withoutAbilities) {
         return canDestroyBlocker(ai, blocker, attacker, combat, withoutAbilities, false);
     }
-    public static boolean canDestroyBlocker(Player ai, Card blocker, Card attacker, final Combat combat,
+    public static boolean canDestroyBlocker(final Player ai, final Card blocker, final Card attacker, final Combat combat,
+            final boolean withoutAbilities, final boolean withoutAttackerStaticAbilities) {
+        if (dontTestRegen.get()) {
+            return canDestroyBlockerUncached(ai, blocker, attacker, combat, withoutAbilities, withoutAttackerStaticAbilities);
+        }
+        return CombatPredictions.predictOutcome(CombatPredictions.Prediction.BLOCKER_DESTROYED, ai, attacker, blocker, combat,
+                withoutAbilities, withoutAttackerStaticAbilities,
+                () -> canDestroyBlockerUncached(ai, blocker, attacker, combat, withoutAbilities, withoutAttackerStaticAbilities));
+    }
+    private static boolean canDestroyBlockerUncached(Player ai, Card blocker, Card attacker, final Combat combat,
             final boolean withoutAbilities, final boolean withoutAttackerStaticAbilities) {
         // Can activate transform ability
         if (!withoutAbilities) {
@@ -2274,6 +2312,10 @@ public class ComputerUtilCombat {
     }
 
     public final static boolean canGainKeyword(final Card combatant, final List<String> keywords, final Combat combat) {
+        return CombatPredictions.predictOutcome(CombatPredictions.Prediction.KEYWORD_GAINED, keywords, combatant, null, combat,
+                false, false, () -> canGainKeywordUncached(combatant, keywords, combat));
+    }
+    private static boolean canGainKeywordUncached(final Card combatant, final List<String> keywords, final Combat combat) {
     	final Player controller = combatant.getController();
     	for (Card c : controller.getCardsIn(ZoneType.Battlefield)) {
 	    	for (SpellAbility ability : c.getAllSpellAbilities()) {
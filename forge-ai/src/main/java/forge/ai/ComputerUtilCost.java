@@ -31,9 +31,10 @@ import forge.util.TextUtil;
 
 
 public class ComputerUtilCost {
-    private static boolean suppressRecursiveSacCostCheck = false;
+    // per thread so that games simulated in parallel don't toggle each other's check
+    private static final ThreadLocal<Boolean> suppressRecursiveSacCostCheck = ThreadLocal.withInitial(() -> false);
     public static void setSuppressRecursiveSacCostCheck(boolean shouldSuppress) {
-        suppressRecursiveSacCostCheck = shouldSuppress;
+        suppressRecursiveSacCostCheck.set(shouldSuppress);
     }
 
     /**
@@ -336,7 +337,7 @@ public class ComputerUtilCost {
         }
         for (final CostPart part : cost.getCostParts()) {
             if (part instanceof CostSacrifice sac) {
-                if (suppressRecursiveSacCostCheck) {
+                if (suppressRecursiveSacCostCheck.get()) {
                     return false;
                 }
 
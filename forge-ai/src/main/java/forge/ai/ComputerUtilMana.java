@@ -1406,6 +1406,9 @@ public class ComputerUtilMana {
 
     //This method is currently used by AI to estimate available mana
     public static CardCollection getAvailableManaSources(final Player ai, final boolean checkPlayable) {
+        return ManaSourceSnapshot.getAvailableManaSources(ai, checkPlayable, () -> getAvailableManaSourcesUncached(ai, checkPlayable));
+    }
+    private static CardCollection getAvailableManaSourcesUncached(final Player ai, final boolean checkPlayable) {
         final CardCollectionView list = CardCollection.combine(ai.getCardsIn(ZoneType.Battlefield), ai.getCardsIn(ZoneType.Hand));
         final List<Card> manaSources = CardLists.filter(list, c -> {
             for (final SpellAbility am : getAIPlayableMana(c)) {
@@ -1557,6 +1560,9 @@ public class ComputerUtilMana {
 
     //This method is currently used by AI to estimate mana available
     private static ListMultimap<Integer, SpellAbility> groupSourcesByManaColor(final Player ai, boolean checkPlayable) {
+        return ManaSourceSnapshot.groupSourcesByManaColor(ai, checkPlayable, () -> groupSourcesByManaColorUncached(ai, checkPlayable));
+    }
+    private static ListMultimap<Integer, SpellAbility> groupSourcesByManaColorUncached(final Player ai, boolean checkPlayable) {
         final ListMultimap<Integer, SpellAbility> manaMap = ArrayListMultimap.create();
         final Game game = ai.getGame();
 
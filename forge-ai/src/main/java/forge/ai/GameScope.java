@@ -0,0 +1,69 @@
+package forge.ai;
+
+import java.util.function.Function;
+
+import forge.game.Game;
+
+/**
+ * Something the AI keeps for one game on the current thread, between {@link #open} and {@link #close}.
+ * <p>
+ * Nested calls for the same game share what the outermost one keeps. Opening another game, like a simulated copy,
+ * starts a new one and closing it gets the outer one back.
+ *
+ * @param <T> what is kept
+ */
+final class GameScope<T> {
+    private static final class Frame<T> {
+        private final Game game;
+        private final T kept;
+        private final Frame<T> outer;
+        private int depth = 1;
+
+        private Frame(final Game game, final T kept, final Frame<T> outer) {
+            this.game = game;
+            this.kept = kept;
+            this.outer = outer;
+        }
+    }
+
+    private final ThreadLocal<Frame<T>> current = new ThreadLocal<>();
+    private final Function<Game, T> factory;
+
+    /**
+     * @param factory creates what is kept when a game is opened
+     */
+    GameScope(final Function<Game, T> factory) {
+        this.factory = factory;
+    }
+
+    void open(final Game game) {
+        final Frame<T> open = current.get();
+        if (open != null && open.game == game) {
+            open.depth++;
+        } else {
+            current.set(new Frame<>(game, factory.apply(game), open));
+        }
+    }
+
+    void close() {
+        final Frame<T> open = current.get();
+        if (open == null) {
+            return;
+        }
+        if (--open.depth == 0) {
+            if (open.outer == null) {
+                current.remove();
+            } else {
+                current.set(open.outer);
+            }
+        }
+    }
+
+    /**
+     * @return what is kept for the game, or null when the game isn't the one open on this thread
+     */
+    T get(final Game game) {
+        final Frame<T> open = current.get();
+        return open == null || open.game != game ? null : open.kept;
+    }
+}
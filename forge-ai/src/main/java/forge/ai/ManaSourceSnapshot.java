@@ -0,0 +1,182 @@
+package forge.ai;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.function.Supplier;
+
+import com.google.common.collect.ImmutableListMultimap;
+import com.google.common.collect.ListMultimap;
+
+import forge.game.Game;
+import forge.game.card.Card;
+import forge.game.card.CardCollection;
+import forge.game.card.CounterEnumType;
+import forge.game.combat.Combat;
+import forge.game.phase.PhaseType;
+import forge.game.player.Player;
+import forge.game.spellability.SpellAbility;
+import forge.game.zone.ZoneType;
+
+/**
+ * Keeps the mana sources of a player and the colors their mana abilities can produce while the AI looks for
+ * something to play, where every candidate asks {@link ComputerUtilMana} for them again.
+ * <p>
+ * The sources are only kept between {@link #open} and {@link #close} and only as long as the permanents and cards in
+ * hand of the player, their tapped state and counters, the mana pool, life, the stack, the phase and the attackers
+ * stay the same. Start with -Dforge.verifyManaSources=true to check every kept answer against a new one,
+ * a difference throws an {@link IllegalStateException}.
+ */
+final class ManaSourceSnapshot {
+    private static final GameScope<ManaSourceSnapshot> scope = new GameScope<>(game -> new ManaSourceSnapshot());
+    private static final boolean verify = Boolean.getBoolean("forge.verifyManaSources");
+
+    // what the sources depend on, compared on every use, that's still much less than finding them again
+    private static final class State {
+        private final long timestamp;
+        private final int turn;
+        private final PhaseType phase;
+        private final Player playerTurn;
+        private final int stackSize;
+        private final int life;
+        private final int energy;
+        private final int pool;
+        private final Combat combat;
+        private final long attackerChanges;
+        private final int[] cards;
+
+        private State(final Player player) {
+            final Game game = player.getGame();
+            timestamp = game.getTimestamp();
+            turn = game.getPhaseHandler().getTurn();
+            phase = game.getPhaseHandler().getPhase();
+            playerTurn = game.getPhaseHandler().getPlayerTurn();
+            stackSize = game.getStack().size();
+            life = player.getLife();
+            energy = player.getCounters(CounterEnumType.ENERGY);
+            pool = player.getManaPool().totalMana();
+            combat = game.getCombat();
+            attackerChanges = combat == null ? 0 : combat.getAttackerChanges();
+
+            final Iterable<Card> battlefield = player.getCardsIn(ZoneType.Battlefield);
+            final Iterable<Card> hand = player.getCardsIn(ZoneType.Hand);
+            final int size = player.getZone(ZoneType.Battlefield).size() + player.getZone(ZoneType.Hand).size();
+            cards = new int[size * 3 + 1];
+            int i = 0;
+            for (final Card c : battlefield) {
+                i = add(c, i);
+            }
+            cards[i++] = -1; // where the hand starts
+            for (final Card c : hand) {
+                i = add(c, i);
+            }
+        }
+
+        private int add(final Card c, int i) {
+            if (i + 3 > cards.length) {
+                return i; // the zone grew while it was read, the state won't match anything
+            }
+            cards[i++] = c.getId();
+            cards[i++] = (c.isTapped() ? 1 : 0) | (c.isSick() ? 2 : 0) | (c.isPhasedOut() ? 4 : 0);
+            cards[i++] = c.getCounters().hashCode();
+            return i;
+        }
+
+        private boolean sameAs(final State other) {
+            return timestamp == other.timestamp && turn == other.turn && phase == other.phase
+                    && playerTurn == other.playerTurn && stackSize == other.stackSize && life == other.life
+                    && energy == other.energy && pool == other.pool
+                    && combat == other.combat && attackerChanges == other.attackerChanges
+                    && Arrays.equals(cards, other.cards);
+        }
+    }
+
+    private static final class Sources {
+        private State state;
+        // indexed by checkPlayable
+        private final CardCollection[] available = new CardCollection[2];
+        private final ListMultimap<Integer, SpellAbility>[] byColor;
+
+        @SuppressWarnings("unchecked")
+        private Sources(final State state) {
+            this.state = state;
+            this.byColor = new ListMultimap[2];
+        }
+    }
+
+    private final Map<Player, Sources> sources = new HashMap<>();
+
+    private ManaSourceSnapshot() {
+    }
+
+    /**
+     * Starts keeping mana sources for the game on this thread, until the matching {@link #close}.
+     * Nested calls for the same game share the sources of the outermost one.
+     */
+    static void open(final Game game) {
+        scope.open(game);
+    }
+
+    static void close() {
+        scope.close();
+    }
+
+    /**
+     * @return the sources found by the finder, a copy so the caller may change it
+     */
+    static CardCollection getAvailableManaSources(final Player player, final boolean checkPlayable, final Supplier<CardCollection> finder) {
+        final Sources kept = sourcesOf(player);
+        if (kept == null) {
+            return finder.get();
+        }
+        final int index = checkPlayable ? 1 : 0;
+        if (kept.available[index] == null) {
+            kept.available[index] = finder.get();
+        } else if (verify) {
+            final CardCollection found = finder.get();
+            if (!found.equals(kept.available[index])) {
+                throw new IllegalStateException("Mana sources of " + player + " are " + found + " but were kept as " + kept.available[index]);
+            }
+        }
+        return new CardCollection(kept.available[index]);
+    }
+
+    /**
+     * @return the mana abilities by the color they can produce, it can't be changed
+     */
+    static ListMultimap<Integer, SpellAbility> groupSourcesByManaColor(final Player player, final boolean checkPlayable,
+            final Supplier<ListMultimap<Integer, SpellAbility>> grouper) {
+        final Sources kept = sourcesOf(player);
+        if (kept == null) {
+            return grouper.get();
+        }
+        final int index = checkPlayable ? 1 : 0;
+        if (kept.byColor[index] == null) {
+            kept.byColor[index] = ImmutableListMultimap.copyOf(grouper.get());
+        } else if (verify) {
+            final ListMultimap<Integer, SpellAbility> grouped = grouper.get();
+            if (!grouped.equals(kept.byColor[index])) {
+                throw new IllegalStateException("Mana abilities of " + player + " are " + grouped + " but were kept as " + kept.byColor[index]);
+            }
+        }
+        return kept.byColor[index];
+    }
+
+    private static Sources sourcesOf(final Player player) {
+        final ManaSourceSnapshot open = scope.get(player.getGame());
+        if (open == null) {
+            return null;
+        }
+        final State state = new State(player);
+        Sources kept = open.sources.get(player);
+        if (kept == null) {
+            kept = new Sources(state);
+            open.sources.put(player, kept);
+        } else if (!kept.state.sameAs(state)) {
+            kept.state = state;
+            Arrays.fill(kept.available, null);
+            Arrays.fill(kept.byColor, null);
+        }
+        return kept;
+    }
+}
@@ -823,17 +823,17 @@ public class PlayerControllerAi extends PlayerController {
 
     @Override
     public void declareAttackers(Player attacker, Combat combat) {
-        brains.declareAttackers(attacker, combat);
+        AiDecisionLimiter.decide(() -> brains.declareAttackers(attacker, combat));
     }
 
     @Override
     public void declareBlockers(Player defender, Combat combat) {
-        brains.declareBlockersFor(defender, combat);
+        AiDecisionLimiter.decide(() -> brains.declareBlockersFor(defender, combat));
     }
 
     @Override
     public List<SpellAbility> chooseSpellAbilityToPlay() {
-        return brains.chooseSpellAbilityToPlay();
+        return AiDecisionLimiter.decide(brains::chooseSpellAbilityToPlay);
     }
 
     @Override
@@ -43,7 +43,8 @@ public class ChangeZoneAi extends SpellAbilityAi {
 
     // multipleCardsToChoose is used by Intuition and can be adapted to be used by other
     // cards where multiple cards are fetched at once and they need to be coordinated
-    private static CardCollection multipleCardsToChoose = new CardCollection();
+    // (per thread, since several games may be simulated at once)
+    private static final ThreadLocal<CardCollection> multipleCardsToChoose = ThreadLocal.withInitial(CardCollection::new);
 
     protected boolean willPayCosts(Player ai, SpellAbility sa, Cost cost, Card source) {
         if (sa.isCraft()) {
@@ -132,7 +133,7 @@ public class ChangeZoneAi extends SpellAbilityAi {
     protected boolean checkApiLogic(Player aiPlayer, SpellAbility sa) {
         // Checks for "return true" unlike checkAiLogic()
 
-        multipleCardsToChoose.clear();
+        multipleCardsToChoose.get().clear();
         String aiLogic = sa.getParam("AILogic");
         if (aiLogic != null) {
             if (aiLogic.equals("Always")) {
@@ -152,7 +153,7 @@ public class ChangeZoneAi extends SpellAbilityAi {
             } else if (aiLogic.equals("Intuition")) {
                 // This logic only fills the multiple cards array, the decision to play is made
                 // separately in hiddenOriginCanPlayAI later.
-                multipleCardsToChoose = SpecialCardAi.Intuition.considerMultiple(aiPlayer, sa);
+                multipleCardsToChoose.set(SpecialCardAi.Intuition.considerMultiple(aiPlayer, sa));
             } else if (aiLogic.equals("MazesEnd")) {
                 return SpecialCardAi.MazesEnd.consider(aiPlayer, sa);
             } else if (aiLogic.equals("Pongify")) {
@@ -1572,9 +1573,10 @@ public class ChangeZoneAi extends SpellAbilityAi {
             } else if ("MazesEnd".equals(logic)) {
                 return SpecialCardAi.MazesEnd.considerCardToGet(decider, sa);
             } else if ("Intuition".equals(logic)) {
-                if (!multipleCardsToChoose.isEmpty()) {
-                    Card choice = multipleCardsToChoose.get(0);
-                    multipleCardsToChoose.remove(0);
+                CardCollection toChoose = multipleCardsToChoose.get();
+                if (!toChoose.isEmpty()) {
+                    Card choice = toChoose.get(0);
+                    toChoose.remove(0);
                     return choice;
                 }
             } else if (logic.startsWith("ExilePreference")) {
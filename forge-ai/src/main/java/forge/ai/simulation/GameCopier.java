@@ -11,6 +11,7 @@ import forge.game.ability.effects.DetachedCardEffect;
 import forge.game.card.Card;
 import forge.game.card.CardCloneStates;
 import forge.game.card.CardCopyService;
+import forge.game.card.CardFactory;
 import forge.game.card.CounterType;
 import forge.game.card.token.TokenInfo;
 import forge.game.combat.Combat;
@@ -25,11 +26,13 @@ import forge.game.staticability.StaticAbility;
 import forge.game.trigger.TriggerType;
 import forge.game.zone.PlayerZoneBattlefield;
 import forge.game.zone.ZoneType;
+import forge.item.IPaperCard;
 import forge.item.PaperCard;
 
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
 public class GameCopier {
     private static final ZoneType[] ZONES = new ZoneType[] {
@@ -47,9 +50,19 @@ public class GameCopier {
     private BiMap<Card, Card> cardMap = HashBiMap.create();
     private CopiedGameObjectMap gameObjectMap;
     private GameSnapshot snapshot = null;
+    private final Map<IPaperCard, Card> prototypes;
 
     public GameCopier(Game origGame) {
+        this(origGame, new ConcurrentHashMap<>());
+    }
+
+    /**
+     * @param prototypes parsed cards to copy new cards from, shared by the copiers of one search
+     * (see {@link SimulationController#getCardPrototypes()}) and filled as cards are copied
+     */
+    public GameCopier(Game origGame, Map<IPaperCard, Card> prototypes) {
         this.origGame = origGame;
+        this.prototypes = prototypes;
         if (origGame.EXPERIMENTAL_RESTORE_SNAPSHOT) {
             this.snapshot = new GameSnapshot(origGame);
         }
@@ -285,6 +298,19 @@ public class GameCopier {
     private static PaperCard hidden_info_card = new PaperCard(CardRules.fromScript(Lists.newArrayList("Name:hidden", "Types:Artifact", "Oracle:")), "", CardRarity.Common);
     private static final boolean PRUNE_HIDDEN_INFO = false;
     private static final boolean USE_FROM_PAPER_CARD = true;
+
+    // Every copied game of a search rebuilds the same few dozen cards, so parse each of them once and copy the parsed states afterwards.
+    private Card createFromPaperCard(IPaperCard pc, Player newOwner, Game newGame) {
+        Card prototype = prototypes.computeIfAbsent(pc, k -> CardFactory.getCard(k, null, null));
+        if (!CardFactory.canCopyFromPrototype(prototype)) {
+            return Card.fromPaperCard(pc, newOwner);
+        }
+        // prototypes are shared by the threads of a parallel search
+        synchronized (prototype) {
+            return CardFactory.copyFromPrototype(prototype, newOwner, newGame);
+        }
+    }
+
     private Card createCardCopy(Game newGame, Player newOwner, Card c, Player aiPlayer) {
         if (c.isToken() && !c.isImmutable()) {
             Card result = new TokenInfo(c).makeOneToken(newOwner);
@@ -298,14 +324,14 @@ public class GameCopier {
                 newCard = new Card(newGame.nextCardId(), hidden_info_card, newGame);
                 newCard.setOwner(newOwner);
             } else {
-                newCard = Card.fromPaperCard(c.getPaperCard(), newOwner);
+                newCard = createFromPaperCard(c.getPaperCard(), newOwner, newGame);
             }
             newCard.setCommander(c.isCommander());
             return newCard;
         }
 
-        // TODO: The above is very expensive and accounts for the vast majority of GameCopier execution time.
-        // The issue is that it requires parsing the original card from scratch from the paper card. We should
+        // TODO: The above still rebuilds the card from the paper card, only single faced cards are copied from a
+        // cached prototype, everything else gets parsed from scratch on every copy. We should
         // improve the copier to accurately copy the card from its actual state, so that the paper card shouldn't
         // be needed. Once the below code accurately copies the card, remove the USE_FROM_PAPER_CARD code path.
         Card newCard;
@@ -19,6 +19,7 @@ public class GameSimulator {
     public static boolean COPY_STACK = false;
     final private SimulationController controller;
     private GameCopier copier;
+    private Game origGame;
     private Game simGame;
     private Player aiPlayer;
     private GameStateEvaluator eval;
@@ -28,47 +29,51 @@ public class GameSimulator {
 
     public GameSimulator(SimulationController controller, Game origGame, Player origAiPlayer, PhaseType advanceToPhase) {
         this.controller = controller;
-        copier = new GameCopier(origGame);
-        simGame = copier.makeCopy(advanceToPhase, origAiPlayer);
+        this.origGame = origGame;
+        // the picker simulates several candidates of one game at once, only one of them may read that game at a time
+        synchronized (origGame) {
+            copier = new GameCopier(origGame, controller.getCardPrototypes());
+            simGame = copier.makeCopy(advanceToPhase, origAiPlayer);
 
-        aiPlayer = (Player) copier.find(origAiPlayer);
-        eval = new GameStateEvaluator();
+            aiPlayer = (Player) copier.find(origAiPlayer);
+            eval = new GameStateEvaluator();
 
-        origLines = new ArrayList<>();
-        debugLines = origLines;
+            origLines = new ArrayList<>();
+            debug.get().lines = origLines;
 
-        debugPrint = false;
-        origScore = eval.getScoreForGameState(origGame, origAiPlayer);
+            debug.get().print = false;
+            origScore = controller.getScoreForGameState(eval, origGame, origAiPlayer);
 
-        if (advanceToPhase == null) {
-            ensureGameCopyScoreMatches(origGame, origAiPlayer);
-        }
+            if (advanceToPhase == null) {
+                ensureGameCopyScoreMatches(origGame, origAiPlayer);
+            }
 
-        // If the stack on the original game is not empty, resolve it
-        // first and get the updated eval score, since this is what we'll
-        // want to compare to the eval score after simulating.
-        if (COPY_STACK && !origGame.getStackZone().isEmpty()) {
-            origLines = new ArrayList<>();
-            debugLines = origLines;
-            Game copyOrigGame = copier.makeCopy();
-            Player copyOrigAiPlayer = copyOrigGame.getPlayers().get(1);
-            resolveStack(copyOrigGame, copyOrigGame.getPlayers().get(0));
-            origScore = eval.getScoreForGameState(copyOrigGame, copyOrigAiPlayer);
-        }
+            // If the stack on the original game is not empty, resolve it
+            // first and get the updated eval score, since this is what we'll
+            // want to compare to the eval score after simulating.
+            if (COPY_STACK && !origGame.getStackZone().isEmpty()) {
+                origLines = new ArrayList<>();
+                debug.get().lines = origLines;
+                Game copyOrigGame = copier.makeCopy();
+                Player copyOrigAiPlayer = copyOrigGame.getPlayers().get(1);
+                resolveStack(copyOrigGame, copyOrigGame.getPlayers().get(0));
+                origScore = eval.getScoreForGameState(copyOrigGame, copyOrigAiPlayer);
+            }
 
-        debugPrint = false;
-        debugLines = null;
+            debug.get().print = false;
+            debug.get().lines = null;
+        }
     }
 
     private void ensureGameCopyScoreMatches(Game origGame, Player origAiPlayer) {
         eval.setDebugging(true);
         List<String> simLines = new ArrayList<>();
-        debugLines = simLines;
+        debug.get().lines = simLines;
         Score simScore = eval.getScoreForGameState(simGame, aiPlayer);
         if (!simScore.equals(origScore)) {
             // Re-eval orig with debug printing.
             origLines = new ArrayList<>();
-            debugLines = origLines;
+            debug.get().lines = origLines;
             eval.getScoreForGameState(origGame, origAiPlayer);
             // Print debug info.
             printDiff(origLines, simLines);
@@ -111,14 +116,20 @@ public class GameSimulator {
         }
     }
 
-    public static boolean debugPrint;
-    public static List<String> debugLines;
+    // per thread, the picker simulates several candidates at once
+    private static final class DebugState {
+        private boolean print;
+        private List<String> lines;
+    }
+    private static final ThreadLocal<DebugState> debug = ThreadLocal.withInitial(DebugState::new);
+
     public static void debugPrint(String str) {
-        if (debugPrint) {
+        DebugState state = debug.get();
+        if (state.print) {
             System.out.println(str);
         }
-        if (debugLines != null) {
-            debugLines.add(str);
+        if (state.lines != null) {
+            state.lines.add(str);
         }
     }
 
@@ -155,39 +166,46 @@ public class GameSimulator {
     public Score simulateSpellAbility(SpellAbility origSa, GameStateEvaluator eval, boolean resolve) {
         SpellAbility sa;
         if (origSa.isLandAbility()) {
-            Card hostCard = (Card) copier.find(origSa.getHostCard());
-            if (!aiPlayer.playLand(hostCard, false, origSa)) {
-                System.err.println("Simulation: Couldn't play land! " + origSa);
+            // the land ability is one of the original game, it's read while playing the land
+            synchronized (origGame) {
+                Card hostCard = (Card) copier.find(origSa.getHostCard());
+                if (!aiPlayer.playLand(hostCard, false, origSa)) {
+                    System.err.println("Simulation: Couldn't play land! " + origSa);
+                }
             }
             sa = origSa;
         } else {
-            // TODO: optimize: prune identical SA (e.g. two of the same card in hand)
-            sa = findSaInSimGame(origSa);
-            if (sa == null) {
-                System.err.println("Simulation: SA not found! " + origSa + " / " + origSa.getClass());
-                return new Score(Integer.MIN_VALUE);
-            }
+            // like the copy, the ability and its targets are looked up under the lock of the original game,
+            // only the copy is used after that
+            synchronized (origGame) {
+                // TODO: optimize: prune identical SA (e.g. two of the same card in hand)
+                sa = findSaInSimGame(origSa);
+                if (sa == null) {
+                    System.err.println("Simulation: SA not found! " + origSa + " / " + origSa.getClass());
+                    return new Score(Integer.MIN_VALUE);
+                }
 
-            debugPrint("Found SA " + sa + " on host card " + sa.getHostCard() + " with owner:"+ sa.getHostCard().getOwner());
-            sa.setActivatingPlayer(aiPlayer);
-            SpellAbility origSaOrSubSa = origSa;
-            SpellAbility saOrSubSa = sa;
-            do {
-                if (origSaOrSubSa.usesTargeting()) {
-                    final boolean divided = origSaOrSubSa.isDividedAsYouChoose();
-                    for (final GameObject o : origSaOrSubSa.getTargets()) {
-                        final GameObject target = copier.find(o);
-                        saOrSubSa.getTargets().add(target);
-                        if (divided) {
-                            saOrSubSa.addDividedAllocation(target, origSaOrSubSa.getDividedValue(o));
+                debugPrint("Found SA " + sa + " on host card " + sa.getHostCard() + " with owner:"+ sa.getHostCard().getOwner());
+                sa.setActivatingPlayer(aiPlayer);
+                SpellAbility origSaOrSubSa = origSa;
+                SpellAbility saOrSubSa = sa;
+                do {
+                    if (origSaOrSubSa.usesTargeting()) {
+                        final boolean divided = origSaOrSubSa.isDividedAsYouChoose();
+                        for (final GameObject o : origSaOrSubSa.getTargets()) {
+                            final GameObject target = copier.find(o);
+                            saOrSubSa.getTargets().add(target);
+                            if (divided) {
+                                saOrSubSa.addDividedAllocation(target, origSaOrSubSa.getDividedValue(o));
+                            }
                         }
                     }
-                }
-                origSaOrSubSa = origSaOrSubSa.getSubAbility();
-                saOrSubSa = saOrSubSa.getSubAbility();
-            } while (saOrSubSa != null);
+                    origSaOrSubSa = origSaOrSubSa.getSubAbility();
+                    saOrSubSa = saOrSubSa.getSubAbility();
+                } while (saOrSubSa != null);
+            }
 
-            if (debugPrint && !sa.getAllTargetChoices().isEmpty()) {
+            if (debug.get().print && !sa.getAllTargetChoices().isEmpty()) {
                 debugPrint("Targets: ");
                 for (TargetChoices target : sa.getAllTargetChoices()) {
                     System.out.print(target);
@@ -218,16 +236,16 @@ public class GameSimulator {
         // we should simulate how combat will resolve and evaluate that
         // state instead!
         List<String> simLines = null;
-        if (debugPrint) {
+        if (debug.get().print) {
             debugPrint("SimGame:");
             simLines = new ArrayList<>();
-            debugLines = simLines;
-            debugPrint = false;
+            debug.get().lines = simLines;
+            debug.get().print = false;
         }
-        Score score = eval.getScoreForGameState(simGame, aiPlayer);
+        Score score = simLines != null ? eval.getScoreForGameState(simGame, aiPlayer) : controller.getScoreForGameState(eval, simGame, aiPlayer);
         if (simLines != null) {
-            debugLines = null;
-            debugPrint = true;
+            debug.get().lines = null;
+            debug.get().print = true;
             printDiff(origLines, simLines);
         }
         controller.possiblyCacheResult(score, origSa);
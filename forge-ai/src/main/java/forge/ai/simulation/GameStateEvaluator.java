@@ -6,13 +6,18 @@ import forge.card.mana.ManaAtom;
 import forge.game.Game;
 import forge.game.card.Card;
 import forge.game.card.CounterEnumType;
+import forge.game.combat.Combat;
 import forge.game.cost.CostSacrifice;
+import forge.game.keyword.KeywordInterface;
+import forge.game.mana.Mana;
+import forge.game.phase.PhaseHandler;
 import forge.game.phase.PhaseType;
 import forge.game.player.Player;
 import forge.game.spellability.AbilityManaPart;
 import forge.game.spellability.SpellAbility;
 import forge.game.staticability.StaticAbility;
 import forge.game.zone.ZoneType;
+import forge.util.Visitor;
 
 import java.util.Arrays;
 import java.util.HashSet;
@@ -173,6 +178,76 @@ public class GameStateEvaluator {
         return new Score(score, summonSickScore);
     }
 
+    /**
+     * Zobrist style hash of everything the score depends on: the cards in every zone with the P/T, counters,
+     * status and combat role of the permanents, the players' life, counters and mana pool, and the phase.
+     * Each card and player is hashed on its own and the parts are summed, so the same position reached by playing
+     * things in a different order gets the same hash, even though every simulation works on its own game copy.
+     * Returns 0 for states that shouldn't be looked up (game over, spells on the stack).
+     */
+    public static long getGameStateHash(Game game, Player aiPlayer) {
+        if (game.isGameOver() || !game.getStack().isEmpty()) {
+            return 0;
+        }
+        PhaseHandler ph = game.getPhaseHandler();
+        long hash = mix(31L * aiPlayer.getId() + ph.getTurn());
+        hash += mix(31L * (ph.getPhase() == null ? -1 : ph.getPhase().ordinal()) + (ph.getPlayerTurn() == null ? -1 : ph.getPlayerTurn().getId()) + 0x100);
+        for (Player p : game.getPlayers()) {
+            long h = p.getId();
+            h = 31 * h + p.getLife();
+            h = 31 * h + p.getCounters().hashCode();
+            h = 31 * h + (p.isUnlimitedHandSize() ? -1 : p.getMaxHandSize());
+            h = 31 * h + p.getLandsPlayedThisTurn();
+            h = 31 * h + p.getSpellsCastThisTurn();
+            hash += mix(h + 0x200);
+            for (Mana m : p.getManaPool()) {
+                hash += mix(31L * p.getId() + m.getColor() + 0x300);
+            }
+        }
+        final Combat combat = game.getCombat();
+        final long[] result = { hash };
+        game.forEachCardInGame(new Visitor<Card>() {
+            @Override
+            public boolean visit(Card c) {
+                result[0] += mix(getCardHash(c, combat));
+                return true;
+            }
+        });
+        return result[0];
+    }
+
+    private static long getCardHash(Card c, Combat combat) {
+        long h = c.getName().hashCode();
+        ZoneType zone = c.getZone() == null ? null : c.getZone().getZoneType();
+        h = 31 * h + (zone == null ? -1 : zone.ordinal());
+        h = 31 * h + (c.getController() == null ? -1 : c.getController().getId());
+        h = 31 * h + (c.getOwner() == null ? -1 : c.getOwner().getId());
+        if (zone != ZoneType.Battlefield) {
+            return h;
+        }
+        h = 31 * h + c.getNetPower();
+        h = 31 * h + c.getNetToughness();
+        h = 31 * h + c.getDamage();
+        h = 31 * h + c.getCounters().hashCode();
+        h = 31 * h + (c.isTapped() ? 1 : 0) + (c.isSick() ? 2 : 0) + (c.isFaceDown() ? 4 : 0) + (c.isPhasedOut() ? 8 : 0)
+                + (c.isToken() ? 16 : 0) + (c.isCreature() ? 32 : 0) + (c.isLand() ? 64 : 0);
+        if (combat != null) {
+            h = 31 * h + (combat.isAttacking(c) ? 1 : 0) + (combat.isBlocking(c) ? 2 : 0);
+        }
+        h = 31 * h + (c.getAttachedTo() == null ? 0 : c.getAttachedTo().getName().hashCode());
+        for (KeywordInterface kw : c.getKeywords()) {
+            h += kw.getOriginal().hashCode();
+        }
+        return h;
+    }
+
+    // spreads the bits so that summing the parts doesn't cancel out similar cards
+    private static long mix(long z) {
+        z = (z ^ (z >>> 30)) * 0xbf58476d1ce4e5b9L;
+        z = (z ^ (z >>> 27)) * 0x94d049bb133111ebL;
+        return z ^ (z >>> 31);
+    }
+
     public int evalManaBase(Game game, Player player, AiDeckStatistics statistics) {
         // TODO should these be fixed quantities or should they be linear out of like 1000/(desired - total)?
         int value = 0;
@@ -1,18 +1,24 @@
 package forge.ai.simulation;
 
 import forge.ai.simulation.GameStateEvaluator.Score;
+import forge.game.Game;
 import forge.game.GameObject;
 import forge.game.card.Card;
 import forge.game.player.Player;
 import forge.game.spellability.SpellAbility;
+import forge.item.IPaperCard;
 
 import java.util.ArrayList;
 import java.util.Collections;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
 public class SimulationController {
     private static boolean DEBUG = false;
     private static int MAX_DEPTH = 3;
+    private static final int MAX_CACHED_SCORES = 4096;
 
     private List<Plan.Decision> currentStack;
     private List<Score> scoreStack;
@@ -21,6 +27,25 @@ public class SimulationController {
     private Score bestScore;
     private List<CachedEffect> effectCache = new ArrayList<>();
     private GameObject[] currentHostAndTarget;
+    private final Map<Long, Score> scoreCache;
+    private final Map<IPaperCard, Card> cardPrototypes;
+    private int scoreCacheHits;
+    private int scoreCacheLookups;
+    private final Search search;
+
+    // State of one search, shared with the controllers forked to evaluate candidates in parallel
+    private static class Search {
+        volatile boolean winFound;
+        final int maxDepth;
+        long deadline; // 0 = no time limit
+        volatile boolean depthLimitReached;
+        volatile boolean ranOutOfTime;
+
+        Search(int maxDepth, long deadline) {
+            this.maxDepth = maxDepth;
+            this.deadline = deadline;
+        }
+    }
 
     private static class CachedEffect {
         final GameObject hostCard;
@@ -39,19 +64,96 @@ public class SimulationController {
     }
 
     public SimulationController(Score score) {
+        this(score, Collections.synchronizedMap(new LinkedHashMap<Long, Score>(256, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Long, Score> eldest) {
+                return size() > MAX_CACHED_SCORES;
+            }
+        }), new ConcurrentHashMap<>(), new Search(MAX_DEPTH, 0));
+    }
+
+    private SimulationController(Score score, Map<Long, Score> scoreCache, Map<IPaperCard, Card> cardPrototypes, Search search) {
         bestScore = score;
         scoreStack = new ArrayList<>();
         scoreStack.add(score);
         simulatorStack = new ArrayList<>();
         currentStack = new ArrayList<>();
+        this.scoreCache = scoreCache;
+        this.cardPrototypes = cardPrototypes;
+        this.search = search;
+    }
+
+    /**
+     * Creates a controller to evaluate one of the top level candidates on another thread. It starts from the same
+     * score and shares the score cache, the card prototypes, the deadline and whether a line that wins the game was found with this one.
+     */
+    public SimulationController fork() {
+        return new SimulationController(scoreStack.get(0), scoreCache, cardPrototypes, search);
+    }
+
+    /**
+     * Creates a controller for a new search from the same state that may recurse the given number of actions deep.
+     * Scores of the game states and card prototypes seen so far are kept, they don't depend on the depth.
+     */
+    public SimulationController withMaxDepth(int maxDepth) {
+        return new SimulationController(scoreStack.get(0), scoreCache, cardPrototypes, new Search(maxDepth, search.deadline));
     }
-    
+
+    /**
+     * @return the cards the game copies of this search copy their cards from, parsed once per search and dropped with it
+     */
+    public Map<IPaperCard, Card> getCardPrototypes() {
+        return cardPrototypes;
+    }
+
+    public int getMaxDepth() {
+        return search.maxDepth;
+    }
+
+    /**
+     * @param deadline time in milliseconds (see {@link System#currentTimeMillis()}) after which no more choices get
+     * evaluated and the best one found so far is used, 0 for no limit
+     */
+    public void setDeadline(long deadline) {
+        search.deadline = deadline;
+    }
+
+    public boolean isOutOfTime() {
+        if (search.deadline != 0 && System.currentTimeMillis() >= search.deadline) {
+            search.ranOutOfTime = true;
+            return true;
+        }
+        return false;
+    }
+
+    /**
+     * @return true if some choice wasn't evaluated completely because the deadline passed
+     */
+    public boolean ranOutOfTime() {
+        return search.ranOutOfTime;
+    }
+
+    /**
+     * @return true if some line was cut off by the maximum depth, so a deeper search could find something else
+     */
+    public boolean reachedMaxDepth() {
+        return search.depthLimitReached;
+    }
+
     private int getRecursionDepth() {
         return scoreStack.size() - 1;
     }
 
     public boolean shouldRecurse() {
-        return bestScore.value != Integer.MAX_VALUE && getRecursionDepth() < MAX_DEPTH;
+        // no need to look deeper once any thread found a line that wins the game
+        if (search.winFound) {
+            return false;
+        }
+        if (getRecursionDepth() >= search.maxDepth) {
+            search.depthLimitReached = true;
+            return false;
+        }
+        return !isOutOfTime();
     }
 
     public Plan.Decision getLastDecision() {
@@ -87,10 +189,43 @@ public class SimulationController {
         if (getLastDecision().initialScore.value < score.value && score.value > bestScore.value) {
             bestScore = score;
             bestSequence = getLastDecision();
+            if (score.value == Integer.MAX_VALUE) {
+                search.winFound = true;
+            }
         }
         currentStack.remove(currentStack.size() - 1);
     }
 
+    /**
+     * Scores the game state, reusing the score of an identical state that was already evaluated during this search,
+     * e.g. when the same spells were tried in a different order.
+     */
+    public Score getScoreForGameState(GameStateEvaluator eval, Game game, Player aiPlayer) {
+        long hash = GameStateEvaluator.getGameStateHash(game, aiPlayer);
+        if (hash == 0) {
+            return eval.getScoreForGameState(game, aiPlayer);
+        }
+        scoreCacheLookups++;
+        Score score = scoreCache.get(hash);
+        if (score != null) {
+            scoreCacheHits++;
+            return score;
+        }
+        score = eval.getScoreForGameState(game, aiPlayer);
+        scoreCache.put(hash, score);
+        return score;
+    }
+
+    /**
+     * Takes over the best sequence of a forked controller if it beats the one of this controller.
+     */
+    public void adoptBestSequence(SimulationController fork) {
+        if (fork.bestSequence != null && fork.bestScore.value > bestScore.value) {
+            bestScore = fork.bestScore;
+            bestSequence = fork.bestSequence;
+        }
+    }
+
     public Score getBestScore() {
         return bestScore;
     }
@@ -278,6 +413,7 @@ public class SimulationController {
         } else {
             str = SpellAbilityPicker.abilityToString(origSa);
         }
-        System.err.println(recursionDepth + ": [" + score.value + "] " + str + suffix);
+        System.err.println(recursionDepth + ": [" + score.value + "] " + str + suffix
+                + " (score cache " + scoreCacheHits + "/" + scoreCacheLookups + " hits)");
     }
 }
@@ -218,6 +218,23 @@ public class SpellAbilityChoicesIterator {
         return false;
     }
 
+    /**
+     * Gives up on the remaining choices, e.g. when the time for the decision ran out. Like the last call to
+     * {@link #advance(Score)}, this closes the evaluations that are still open on the controller.
+     */
+    public void finish(Score lastScore) {
+        for (ChoicePoint cp : choicePoints) {
+            cp.nextChoice = cp.numChoices - 1;
+        }
+        if (cachedTargetScores != null) {
+            nextTarget = cachedTargetScores.size() - 1;
+        }
+        if (modeIterator != null) {
+            modeIterator = Collections.emptyIterator();
+        }
+        advance(lastScore);
+    }
+
     private void doneEvaluating(Score bestScore) {
         controller.doneEvaluating(bestScore);
         evalDepth--;
@@ -15,11 +15,18 @@ import forge.game.spellability.SpellAbilityCondition;
 import forge.game.zone.ZoneType;
 import forge.util.MyRandom;
 import forge.util.TextUtil;
+import forge.util.ThreadUtil;
 
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
 import java.util.List;
 import java.util.Random;
 import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
 
 public class SpellAbilityPicker {
     private Game game;
@@ -30,6 +37,9 @@ public class SpellAbilityPicker {
 
     private Plan plan;
     private int numSimulations;
+    private Score[] lastCandidateScores;
+
+    private static final int MAX_ITERATIVE_DEPTH = 8;
 
     public SpellAbilityPicker(Game game, Player player) {
         this.game = game;
@@ -93,7 +103,7 @@ public class SpellAbilityPicker {
         if (controller != null) {
             // This is a recursion during a higher-level simulation. Just return the head of the best
             // sequence directly, no need to create a Plan object.
-            return chooseSpellAbilityToPlayImpl(controller, candidateSAs, origGameScore, null);
+            return chooseSpellAbilityToPlayImpl(controller, candidateSAs, origGameScore, null, false, null);
         }
 
         printPhaseInfo();
@@ -105,13 +115,54 @@ public class SpellAbilityPicker {
         return getPlannedSpellAbility(origGameScore, candidateSAs);
     }
 
-    private Plan formulatePlanWithPhase(Score origGameScore, List<SpellAbility> candidateSAs, PhaseType phase) {
+    private Plan formulatePlanWithPhase(Score origGameScore, List<SpellAbility> candidateSAs, PhaseType phase, long deadline) {
         SimulationController controller = new SimulationController(origGameScore);
-        SpellAbility sa = chooseSpellAbilityToPlayImpl(controller, candidateSAs, origGameScore, phase);
-        if (sa != null) {
-            return controller.getBestPlan();
+        controller.setDeadline(deadline);
+        boolean inParallel = canSearchInParallel(candidateSAs);
+        if (deadline == 0) {
+            SpellAbility sa = chooseSpellAbilityToPlayImpl(controller, candidateSAs, origGameScore, phase, inParallel, null);
+            if (sa != null) {
+                return controller.getBestPlan();
+            }
+            return null;
         }
-        return null;
+
+        // With a time budget, search one action deeper each round, starting with the candidates that scored best
+        // in the previous round, until the time is up. The last round that finished in time decides, so there is
+        // always a plan ready once the first round is done.
+        Plan bestPlan = null;
+        Score bestPlanScore = origGameScore;
+        int[] order = null;
+        for (int depth = 0; depth <= MAX_ITERATIVE_DEPTH; depth++) {
+            SimulationController round = controller.withMaxDepth(depth);
+            SpellAbility sa = chooseSpellAbilityToPlayImpl(round, candidateSAs, origGameScore, phase, inParallel, order);
+            if (round.ranOutOfTime() && depth > 0) {
+                print("Out of time at depth " + depth);
+                break;
+            }
+            bestPlan = sa != null ? round.getBestPlan() : null;
+            bestPlanScore = bestScore;
+            if (round.ranOutOfTime() || !round.reachedMaxDepth()) {
+                break;
+            }
+            order = getCandidateOrder(lastCandidateScores);
+        }
+        bestScore = bestPlanScore;
+        return bestPlan;
+    }
+
+    // candidate indexes from best to worst score, candidates that weren't evaluated go last
+    private static int[] getCandidateOrder(Score[] scores) {
+        Integer[] order = new Integer[scores.length];
+        for (int i = 0; i < order.length; i++) {
+            order[i] = i;
+        }
+        Arrays.sort(order, Comparator.comparingInt(i -> scores[i] == null ? Integer.MIN_VALUE : -scores[i].value));
+        int[] result = new int[order.length];
+        for (int i = 0; i < order.length; i++) {
+            result[i] = order[i];
+        }
+        return result;
     }
 
     private void printPlan(Plan plan, String intro) {
@@ -142,15 +193,9 @@ public class SpellAbilityPicker {
     private void createNewPlan(Score origGameScore, List<SpellAbility> candidateSAs) {
         plan = null;
 
-        Plan bestPlan = formulatePlanWithPhase(origGameScore, candidateSAs, null);
-        if (bestPlan == null) {
-            print("No good plan at this time");
-            return;
-        }
-
         PhaseType currentPhase = game.getPhaseHandler().getPhase();
+        List<SpellAbility> candidateSAs2 = new ArrayList<>();
         if (currentPhase.isBefore(PhaseType.COMBAT_DECLARE_BLOCKERS)) {
-            List<SpellAbility> candidateSAs2 = new ArrayList<>();
             for (SpellAbility sa : candidateSAs) {
                 if (!isSorcerySpeed(sa, player)) {
                     if (printOutput) {
@@ -159,11 +204,29 @@ public class SpellAbilityPicker {
                     candidateSAs2.add(sa);
                 }
             }
-            if (!candidateSAs2.isEmpty()) {
+        }
+
+        // one budget for the whole decision, when there is a plan for after blockers to compare with
+        // the plan for now gets half of it and the other plan what is left
+        int timeBudget = getIntProperty(AiProps.SIMULATION_TIME_BUDGET);
+        long start = System.currentTimeMillis();
+        long deadline = timeBudget > 0 ? start + timeBudget : 0;
+        long firstDeadline = timeBudget > 0 && !candidateSAs2.isEmpty() ? start + timeBudget / 2 : deadline;
+        Plan bestPlan = formulatePlanWithPhase(origGameScore, candidateSAs, null, firstDeadline);
+        if (bestPlan == null) {
+            print("No good plan at this time");
+            return;
+        }
+
+        if (!candidateSAs2.isEmpty()) {
+            if (deadline != 0 && System.currentTimeMillis() >= deadline) {
+                // the first round of a search always finishes, so don't start one without time left
+                print("No time left to plan for after blockers");
+            } else {
                 if (printOutput) {
                     System.err.println("Formula plan with phase bloom");
                 }
-                Plan afterBlockersPlan = formulatePlanWithPhase(origGameScore, candidateSAs2, PhaseType.COMBAT_DECLARE_BLOCKERS);
+                Plan afterBlockersPlan = formulatePlanWithPhase(origGameScore, candidateSAs2, PhaseType.COMBAT_DECLARE_BLOCKERS, deadline);
                 if (afterBlockersPlan != null && afterBlockersPlan.getFinalScore().value >= bestPlan.getFinalScore().value) {
                     printPlan(afterBlockersPlan, "After blockers");
                     print("Deciding to wait until after declare blockers.");
@@ -176,19 +239,34 @@ public class SpellAbilityPicker {
         plan = bestPlan;
     }
 
-    private SpellAbility chooseSpellAbilityToPlayImpl(SimulationController controller, List<SpellAbility> candidateSAs, Score origGameScore, PhaseType phase) {
+    /**
+     * @param order the order to evaluate the candidates in, null to go through them as listed
+     */
+    private SpellAbility chooseSpellAbilityToPlayImpl(SimulationController controller, List<SpellAbility> candidateSAs, Score origGameScore, PhaseType phase, boolean inParallel, int[] order) {
         long startTime = System.currentTimeMillis();
 
         SpellAbility bestSa = null;
         Score bestSaValue = origGameScore;
         print("Evaluating... (orig score = " + origGameScore +  ")");
+        Score[] values = inParallel ? evaluateInParallel(controller, candidateSAs, phase, order) : null;
+        if (values == null) {
+            values = new Score[candidateSAs.size()];
+            for (int k = 0; k < candidateSAs.size(); k++) {
+                if (controller.isOutOfTime()) {
+                    break;
+                }
+                int i = order == null ? k : order[k];
+                values[i] = evaluateSa(controller, phase, candidateSAs, i);
+            }
+        }
         for (int i = 0; i < candidateSAs.size(); i++) {
-            Score value = evaluateSa(controller, phase, candidateSAs, i);
-            if (value.value > bestSaValue.value) {
+            Score value = values[i];
+            if (value != null && value.value > bestSaValue.value) {
                 bestSaValue = value;
                 bestSa = candidateSAs.get(i);
             }
         }
+        lastCandidateScores = values;
 
         // To make the AI hold-off on playing creatures in MAIN1 if they give no other benefits,
         // check the score for the bestSA while counting summon sick creatures for 0.
@@ -205,6 +283,79 @@ public class SpellAbilityPicker {
         return bestSa;
     }
 
+    private int getIntProperty(AiProps prop) {
+        if (player.getController() instanceof PlayerControllerAi) {
+            return ((PlayerControllerAi) player.getController()).getAi().getIntProperty(prop);
+        }
+        return Integer.parseInt(prop.getDefault());
+    }
+
+    private boolean canSearchInParallel(List<SpellAbility> candidateSAs) {
+        if (candidateSAs.size() < 2 || interceptor != null || !ThreadUtil.isMultiCoreSystem()) {
+            return false;
+        }
+        if (player.getController() instanceof PlayerControllerAi) {
+            return ((PlayerControllerAi) player.getController()).getAi().getBooleanProperty(AiProps.SIMULATION_PARALLEL_SEARCH);
+        }
+        return false;
+    }
+
+    /**
+     * Evaluates every candidate on its own thread with a controller forked from the given one. Each simulation makes
+     * its own copy of the game, see {@link GameSimulator}. The controller ends up with the best plan any of them found.
+     * @return the score of each candidate
+     */
+    private Score[] evaluateInParallel(SimulationController controller, List<SpellAbility> candidateSAs, PhaseType phase, int[] order) {
+        final int candidateCount = candidateSAs.size();
+        final SimulationController[] forks = new SimulationController[candidateCount];
+        final List<Callable<Score>> tasks = new ArrayList<>(candidateCount);
+        final AtomicInteger simulations = new AtomicInteger();
+        final Random random = MyRandom.getRandom();
+        for (int k = 0; k < candidateCount; k++) {
+            final int saIndex = order == null ? k : order[k];
+            final SimulationController fork = controller.fork();
+            // seeds are drawn here, in order, so the result doesn't depend on thread scheduling
+            final long randomSeed = random.nextLong();
+            forks[saIndex] = fork;
+            tasks.add(() -> {
+                MyRandom.setThreadRandom(new Random(randomSeed));
+                try {
+                    if (fork.isOutOfTime()) {
+                        return new Score(Integer.MIN_VALUE);
+                    }
+                    SpellAbilityPicker picker = new SpellAbilityPicker(game, player);
+                    Score value = picker.evaluateSa(fork, phase, candidateSAs, saIndex);
+                    simulations.addAndGet(picker.getNumSimulations());
+                    return value;
+                } finally {
+                    MyRandom.setThreadRandom(null);
+                }
+            });
+        }
+
+        final Score[] values = new Score[candidateCount];
+        try {
+            List<Future<Score>> results = ThreadUtil.getSimulationPool().invokeAll(tasks);
+            for (int k = 0; k < candidateCount; k++) {
+                values[order == null ? k : order[k]] = results.get(k).get();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RuntimeException(e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            }
+            throw new RuntimeException(e.getCause());
+        }
+        numSimulations += simulations.get();
+        // in candidate order, the first of equally good sequences wins like in the sequential search
+        for (int i = 0; i < candidateCount; i++) {
+            controller.adoptBestSequence(forks[i]);
+        }
+        return values;
+    }
+
     public boolean hasActivePlan() {
         return plan != null && plan.hasNextDecision();
     }
@@ -365,10 +516,12 @@ public class SpellAbilityPicker {
         Score bestScore = new Score(Integer.MIN_VALUE);
         final SpellAbilityChoicesIterator choicesIterator = new SpellAbilityChoicesIterator(controller);
         Score lastScore;
+        boolean hasMoreChoices;
+        Random origThreadRandom = MyRandom.getThreadRandom();
         do {
-            // TODO: MyRandom should be an instance on the game object, so that we could do
-            // simulations in parallel without messing up global state.
-            MyRandom.setRandom(new Random(randomSeedToUse));
+            // TODO: MyRandom should be an instance on the game object. Until then, the seeded provider is only
+            // set for this thread so that simulations running in parallel don't mess up each other.
+            MyRandom.setThreadRandom(new Random(randomSeedToUse));
             GameSimulator simulator = new GameSimulator(controller, game, player, phase);
             simulator.setInterceptor(choicesIterator);
             // I feel like something here is making a wrong assumption about what the target is
@@ -377,9 +530,15 @@ public class SpellAbilityPicker {
             if (lastScore.value > bestScore.value) {
                 bestScore = lastScore;
             }
-        } while (choicesIterator.advance(lastScore));
+            if (controller.isOutOfTime()) {
+                choicesIterator.finish(lastScore);
+                hasMoreChoices = false;
+            } else {
+                hasMoreChoices = choicesIterator.advance(lastScore);
+            }
+        } while (hasMoreChoices);
         controller.doneEvaluating(bestScore);
-        MyRandom.setRandom(origRandom);
+        MyRandom.setThreadRandom(origThreadRandom);
         return bestScore;
     }
 
@@ -0,0 +1,131 @@
+package forge;
+
+import java.io.*;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.zip.CRC32;
+import java.util.zip.Deflater;
+import java.util.zip.DeflaterOutputStream;
+import java.util.zip.InflaterInputStream;
+
+/**
+ * Single compressed file holding the scripts of a whole card folder, so the next start
+ * reads one file instead of opening tens of thousands of small ones.
+ * <p>
+ * The snapshot is tagged with a fingerprint of the folder (relative path, size and modification time
+ * of every script) and is ignored as soon as anything in the folder changes.
+ * <p>
+ * The fingerprint only looks at file metadata. Hashing the contents would mean reading every script again,
+ * which is the cost the snapshot is there to save. Saving a script in an editor, an update or a git checkout
+ * all give the file a new modification time, so an edited script is read from the folder again. A tool that
+ * puts back the old modification time on a script of the same size is not noticed. Deleting the snapshot
+ * file makes the next start read the folder.
+ */
+public final class CardScriptSnapshot {
+    private static final int MAGIC = 0x46435353; // "FCSS"
+    private static final int VERSION = 1;
+
+    private CardScriptSnapshot() {
+    }
+
+    public static long fingerprint(final File root, final List<File> files) {
+        final String rootPath = root.getAbsolutePath();
+        final List<String> keys = new ArrayList<>(files.size());
+        for (final File f : files) {
+            keys.add(relativePath(rootPath, f) + '|' + f.length() + '|' + f.lastModified());
+        }
+        Collections.sort(keys);
+
+        final CRC32 crc = new CRC32();
+        for (final String key : keys) {
+            crc.update(key.getBytes(StandardCharsets.UTF_8));
+        }
+        // mix in the count to tell apart folders that only differ by a missing file
+        return (crc.getValue() << 20) ^ keys.size();
+    }
+
+    public static String relativePath(final String rootPath, final File file) {
+        final String path = file.getAbsolutePath();
+        return path.startsWith(rootPath) ? path.substring(rootPath.length() + 1).replace('\\', '/') : file.getName();
+    }
+
+    /**
+     * @return scripts sorted by relative path, or null if the snapshot is missing, outdated or unreadable
+     */
+    public static Map<String, List<String>> read(final File snapshot, final long fingerprint) {
+        if (snapshot == null || !snapshot.isFile()) {
+            return null;
+        }
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(
+                new InflaterInputStream(Files.newInputStream(snapshot.toPath())), 1 << 16))) {
+            if (in.readInt() != MAGIC || in.readInt() != VERSION || in.readLong() != fingerprint) {
+                return null;
+            }
+            final int count = in.readInt();
+            final Map<String, List<String>> scripts = new LinkedHashMap<>(count * 4 / 3 + 1);
+            for (int i = 0; i < count; i++) {
+                final String path = readString(in);
+                final int lineCount = in.readInt();
+                final List<String> lines = new ArrayList<>(lineCount);
+                for (int j = 0; j < lineCount; j++) {
+                    lines.add(readString(in));
+                }
+                scripts.put(path, lines);
+            }
+            return scripts;
+        } catch (final IOException | RuntimeException e) {
+            System.err.println("Ignoring card snapshot " + snapshot + ": " + e);
+            return null;
+        }
+    }
+
+    public static void write(final File snapshot, final long fingerprint, final Map<String, List<String>> scripts) {
+        final File parent = snapshot.getParentFile();
+        if (parent != null && !parent.isDirectory() && !parent.mkdirs()) {
+            return;
+        }
+        // write next to the target first, a half written snapshot must never be picked up
+        final File temp = new File(snapshot.getPath() + ".tmp");
+        try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(
+                new DeflaterOutputStream(Files.newOutputStream(temp.toPath()), new Deflater(Deflater.BEST_SPEED)), 1 << 16))) {
+            out.writeInt(MAGIC);
+            out.writeInt(VERSION);
+            out.writeLong(fingerprint);
+            out.writeInt(scripts.size());
+            // sorted, the scripts arrive from several threads and the same cards must give the same file
+            for (final Map.Entry<String, List<String>> e : new TreeMap<>(scripts).entrySet()) {
+                writeString(out, e.getKey());
+                out.writeInt(e.getValue().size());
+                for (final String line : e.getValue()) {
+                    writeString(out, line);
+                }
+            }
+        } catch (final IOException e) {
+            System.err.println("Could not write card snapshot " + snapshot + ": " + e);
+            temp.delete();
+            return;
+        }
+        if (snapshot.exists() && !snapshot.delete() || !temp.renameTo(snapshot)) {
+            temp.delete();
+        }
+    }
+
+    // writeUTF is limited to 64k per string, scripts are not
+    private static void writeString(final DataOutputStream out, final String s) throws IOException {
+        final byte[] bytes = s.getBytes(StandardCharsets.UTF_8);
+        out.writeInt(bytes.length);
+        out.write(bytes);
+    }
+
+    private static String readString(final DataInputStream in) throws IOException {
+        final byte[] bytes = new byte[in.readInt()];
+        in.readFully(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+}
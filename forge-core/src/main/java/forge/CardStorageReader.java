@@ -27,6 +27,7 @@ import org.apache.commons.lang3.time.StopWatch;
 
 import java.io.*;
 import java.nio.charset.Charset;
+import java.nio.file.NoSuchFileException;
 import java.util.*;
 import java.util.concurrent.*;
 import java.util.zip.ZipEntry;
@@ -73,6 +74,8 @@ public class CardStorageReader {
 
     private final boolean loadCardsLazily;
 
+    private File snapshotFile = null;
+
     public CardStorageReader(final String cardDataDir, final CardStorageReader.ProgressObserver progressObserver, boolean loadCardsLazily) {
         this.progressObserver = progressObserver != null ? progressObserver : CardStorageReader.ProgressObserver.emptyObserver;
         this.cardsfolder = new File(cardDataDir);
@@ -103,13 +106,37 @@ public class CardStorageReader {
         this.charset = Charset.forName(CardStorageReader.DEFAULT_CHARSET_NAME);
     } // CardReader()
 
-    private List<CardRules> loadCardsInRange(final List<File> files, final int from, final int to) {
+    /**
+     * Keeps all scripts of the card folder in a single snapshot file, which is read instead of the
+     * individual files as long as the folder does not change. See {@link CardScriptSnapshot}.
+     */
+    public void setSnapshotFile(final File snapshotFile) {
+        this.snapshotFile = snapshotFile;
+    }
+
+    private List<CardRules> loadCardsInRange(final List<File> files, final int from, final int to, final Map<String, List<String>> scriptSink) {
         final CardRules.Reader rulesReader = new CardRules.Reader();
+        final String rootPath = scriptSink == null ? null : cardsfolder.getAbsolutePath();
 
         final List<CardRules> result = new ArrayList<>();
         for(int i = from; i < to; i++) {
             final File cardTxtFile = files.get(i);
-            result.add(this.loadCard(rulesReader, cardTxtFile));
+            final List<String> lines = readScript(cardTxtFile);
+            if (scriptSink != null) {
+                scriptSink.put(CardScriptSnapshot.relativePath(rootPath, cardTxtFile), lines);
+            }
+            result.add(this.loadCard(rulesReader, lines, cardTxtFile.getName()));
+        }
+        return result;
+    }
+
+    private List<CardRules> loadCardsInRangeFromScripts(final List<Map.Entry<String, List<String>>> scripts, final int from, final int to) {
+        final CardRules.Reader rulesReader = new CardRules.Reader();
+
+        final List<CardRules> result = new ArrayList<>();
+        for (int i = from; i < to; i++) {
+            final Map.Entry<String, List<String>> script = scripts.get(i);
+            result.add(this.loadCard(rulesReader, script.getValue(), script.getKey()));
         }
         return result;
     }
@@ -245,16 +272,27 @@ public class CardStorageReader {
             if (allFiles.size() < fileParts * 100) {
                 fileParts = Math.max(1, allFiles.size() / 100); // to avoid creation of many threads for a dozen of files
             }
+            final StopWatch sw = new StopWatch();
+            sw.start();
+            final long fingerprint = snapshotFile == null ? 0 : CardScriptSnapshot.fingerprint(cardsfolder, allFiles);
+            final Map<String, List<String>> snapshot = snapshotFile == null ? null : CardScriptSnapshot.read(snapshotFile, fingerprint);
+            // no usable snapshot: remember the scripts while reading them, to write a new one afterwards
+            final Map<String, List<String>> scriptSink = snapshotFile != null && snapshot == null ? new ConcurrentHashMap<>() : null;
+
             final CountDownLatch cdlFiles = new CountDownLatch(fileParts);
-            final List<Callable<List<CardRules>>> taskFiles = makeTaskListForFiles(allFiles, cdlFiles);
+            final List<Callable<List<CardRules>>> taskFiles = snapshot != null
+                    ? makeTaskListForScripts(new ArrayList<>(snapshot.entrySet()), cdlFiles)
+                    : makeTaskListForFiles(allFiles, cdlFiles, scriptSink);
             progressObserver.setOperationName(localizer.getMessage("splash.loading.cards-folders"), true);
             progressObserver.report(0, taskFiles.size());
-            final StopWatch sw = new StopWatch();
-            sw.start();
             executeLoadTask(result, taskFiles, cdlFiles);
             sw.stop();
             final long timeOnParse = sw.getTime();
-            System.out.printf("Read cards: %s files in %d ms (%d parts) %s%n", allFiles.size(), timeOnParse, taskFiles.size(), useThreadPool ? "using thread pool" : "in same thread");
+            System.out.printf("Read cards: %s files in %d ms (%d parts) %s%s%n", allFiles.size(), timeOnParse, taskFiles.size(), useThreadPool ? "using thread pool" : "in same thread", snapshot != null ? " from snapshot" : "");
+
+            if (scriptSink != null && scriptSink.size() == allFiles.size()) {
+                CardScriptSnapshot.write(snapshotFile, fingerprint, scriptSink);
+            }
         }
 
         if (this.zip != null) {
@@ -329,7 +367,27 @@ public class CardStorageReader {
         return tasks;
     }
 
-    private List<Callable<List<CardRules>>> makeTaskListForFiles(final List<File> allFiles, final CountDownLatch cdl) {
+    private List<Callable<List<CardRules>>> makeTaskListForScripts(final List<Map.Entry<String, List<String>>> scripts, final CountDownLatch cdl) {
+        final int totalFiles = scripts.size();
+        final int maxParts = (int) cdl.getCount();
+        final int filesPerPart = totalFiles / maxParts;
+        final List<Callable<List<CardRules>>> tasks = new ArrayList<>();
+        for (int iPart = 0; iPart < maxParts; iPart++) {
+            final int from = iPart * filesPerPart;
+            final int till = iPart == maxParts - 1 ? totalFiles : from + filesPerPart;
+            tasks.add(() -> {
+                try {
+                    return loadCardsInRangeFromScripts(scripts, from, till);
+                } finally {
+                    cdl.countDown();
+                    progressObserver.report(maxParts - (int)cdl.getCount(), maxParts);
+                }
+            });
+        }
+        return tasks;
+    }
+
+    private List<Callable<List<CardRules>>> makeTaskListForFiles(final List<File> allFiles, final CountDownLatch cdl, final Map<String, List<String>> scriptSink) {
         final int totalFiles = allFiles.size();
         final int maxParts = (int) cdl.getCount();
         final int filesPerPart = totalFiles / maxParts;
@@ -339,7 +397,7 @@ public class CardStorageReader {
             final int till = iPart == maxParts - 1 ? totalFiles : from + filesPerPart;
             tasks.add(() -> {
                 try {
-                    final List<CardRules> res = loadCardsInRange(allFiles, from, till);
+                    final List<CardRules> res = loadCardsInRange(allFiles, from, till, scriptSink);
                     return res;
                 } catch (Exception ex) {
                     throw ex;
@@ -388,17 +446,28 @@ public class CardStorageReader {
      * @return a new Card instance
      */
     protected final CardRules loadCard(final CardRules.Reader reader, final File file) {
+        return loadCard(reader, readScript(file), file.getName());
+    }
+
+    private List<String> readScript(final File file) {
         try (InputStream fileInputStream = java.nio.file.Files.newInputStream(file.toPath())) {
-            reader.reset();
-            final List<String> lines = readScript(fileInputStream);
-            return reader.readCard(lines, Files.getNameWithoutExtension(file.getName()));
-        } catch (final FileNotFoundException ex) {
+            return readScript(fileInputStream);
+        } catch (final FileNotFoundException | NoSuchFileException ex) {
             throw new RuntimeException("CardReader : run error -- file not found: " + file.getPath(), ex);
         } catch (final Exception ex) {
             throw new RuntimeException("Error loading cardscript " + file.getName() + ". Please close Forge and resolve this.", ex);
         }
     }
 
+    private CardRules loadCard(final CardRules.Reader reader, final List<String> lines, final String fileName) {
+        try {
+            reader.reset();
+            return reader.readCard(lines, Files.getNameWithoutExtension(fileName));
+        } catch (final Exception ex) {
+            throw new RuntimeException("Error loading cardscript " + fileName + ". Please close Forge and resolve this.", ex);
+        }
+    }
+
     /**
      * Load a card from an entry in a zip file.
      *
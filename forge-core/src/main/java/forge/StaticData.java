@@ -11,6 +11,7 @@ import forge.util.ImageUtil;
 import forge.util.TextUtil;
 import forge.util.storage.IStorage;
 import forge.util.storage.StorageBase;
+import org.apache.commons.lang3.time.StopWatch;
 import org.apache.commons.lang3.tuple.Pair;
 
 import java.io.File;
@@ -77,6 +78,8 @@ public class StaticData {
     public StaticData(CardStorageReader cardReader, CardStorageReader tokenReader, CardStorageReader customCardReader, CardStorageReader customTokenReader, String editionFolder, String customEditionsFolder, String blockDataFolder, String setLookupFolder, String cardArtPreference, boolean enableUnknownCards, boolean loadNonLegalCards, boolean allowCustomCardsInDecksConformance, boolean enableSmartCardArtSelection) {
         this.cardReader = cardReader;
         this.tokenReader = tokenReader;
+        final StopWatch sw = new StopWatch();
+        sw.start();
         this.editions = new CardEdition.Collection(new CardEdition.Reader(new File(editionFolder)));
         this.blockDataFolder = blockDataFolder;
         this.customCardReader = customCardReader;
@@ -84,9 +87,11 @@ public class StaticData {
         this.enableSmartCardArtSelection = enableSmartCardArtSelection;
         this.loadNonLegalCards = loadNonLegalCards;
         lastInstance = this;
-        List<String> funnyCards = new ArrayList<>();
+        Set<String> funnyCards = new HashSet<>();
         List<String> filtered = new ArrayList<>();
         editions.append(new CardEdition.Collection(new CardEdition.Reader(new File(customEditionsFolder), true)));
+        sw.stop();
+        System.out.printf("Read editions: %d in %d ms%n", editions.size(), sw.getTime());
 
         {
             final Map<String, CardRules> regularCards = new TreeMap<>(String.CASE_INSENSITIVE_ORDER);
@@ -142,8 +147,12 @@ public class StaticData {
             variantCards = new CardDb(variantsCards, editions, filtered, cardArtPreference);
 
             //must initialize after establish field values for the sake of card image logic
+            sw.reset();
+            sw.start();
             commonCards.initialize(false, false, enableUnknownCards);
             variantCards.initialize(false, false, enableUnknownCards);
+            sw.stop();
+            System.out.printf("Indexed cards: %d printings in %d ms%n", commonCards.getAllCards().size() + variantCards.getAllCards().size(), sw.getTime());
         }
 
         if (this.tokenReader != null) {
@@ -29,12 +29,18 @@ import forge.item.IPaperCard;
 import forge.item.PaperCard;
 import forge.util.Lang;
 import forge.util.TextUtil;
+import forge.util.ThreadUtil;
 import forge.util.lang.LangEnglish;
+import forge.util.maps.CaseInsensitiveHashMap;
 import org.apache.commons.lang3.StringUtils;
 import org.apache.commons.lang3.tuple.Pair;
 
 import java.util.*;
 import java.util.Map.Entry;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
 import java.util.function.Predicate;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
@@ -48,14 +54,15 @@ public final class CardDb implements ICardDatabase, IDeckGenPool {
     private final String exlcudedCardSet = "DS0";
 
     // need this to obtain cardReference by name+set+artindex
-    private final ListMultimap<String, PaperCard> allCardsByName = Multimaps.newListMultimap(new TreeMap<>(String.CASE_INSENSITIVE_ORDER), Lists::newArrayList);
-    private final Map<String, PaperCard> uniqueCardsByName = Maps.newTreeMap(String.CASE_INSENSITIVE_ORDER);
+    // name lookups are case-insensitive but don't need sorted keys, so these are hash based
+    private final ListMultimap<String, PaperCard> allCardsByName = Multimaps.newListMultimap(new CaseInsensitiveHashMap<>(), Lists::newArrayList);
+    private final Map<String, PaperCard> uniqueCardsByName = new CaseInsensitiveHashMap<>();
     private final Map<String, CardRules> rulesByName;
-    private final Map<String, ICardFace> facesByName = Maps.newTreeMap(String.CASE_INSENSITIVE_ORDER);
-    private final Map<String, String> normalizedNames = Maps.newTreeMap(String.CASE_INSENSITIVE_ORDER);
+    private final Map<String, ICardFace> facesByName = new CaseInsensitiveHashMap<>();
+    private final Map<String, String> normalizedNames = new CaseInsensitiveHashMap<>();
     private static Map<String, String> artPrefs = Maps.newHashMap();
 
-    private final Map<String, String> alternateName = Maps.newTreeMap(String.CASE_INSENSITIVE_ORDER);
+    private final Map<String, String> alternateName = new CaseInsensitiveHashMap<>();
     private final Map<String, Integer> artIds = Maps.newHashMap();
 
     private final CardEdition.Collection editions;
@@ -333,6 +340,10 @@ public final class CardDb implements ICardDatabase, IDeckGenPool {
     }
 
     private void addSetCard(CardEdition e, CardInSet cis, CardRules cr) {
+        addCard(createSetCard(e, cis, cr, artIds));
+    }
+
+    private static PaperCard createSetCard(CardEdition e, CardInSet cis, CardRules cr, Map<String, Integer> artIds) {
         int artIdx = IPaperCard.DEFAULT_ART_INDEX;
         String key = e.getCode() + "/" + cis.name;
         if (artIds.containsKey(key)) {
@@ -340,7 +351,72 @@ public final class CardDb implements ICardDatabase, IDeckGenPool {
         }
 
         artIds.put(key, artIdx);
-        addCard(new PaperCard(cr, e.getCode(), cis.rarity, artIdx, false, cis.collectorNumber, cis.artistName, cis.functionalVariantName));
+        return new PaperCard(cr, e.getCode(), cis.rarity, artIdx, false, cis.collectorNumber, cis.artistName, cis.functionalVariantName);
+    }
+
+    /** Printings of a single edition, built independently of all other editions. */
+    private static final class EditionCards {
+        final CardEdition edition;
+        final List<PaperCard> cards = new ArrayList<>();
+        final List<String> missingCards = new ArrayList<>();
+
+        EditionCards(CardEdition edition) {
+            this.edition = edition;
+        }
+    }
+
+    private EditionCards buildEditionCards(CardEdition e) {
+        EditionCards result = new EditionCards(e);
+        // art indices only count within an edition
+        Map<String, Integer> editionArtIds = Maps.newHashMap();
+        for (CardEdition.CardInSet cis : e.getAllCardsInSet()) {
+            CardRules cr = rulesByName.get(cis.name);
+            if (cr == null) {
+                result.missingCards.add(cis.name);
+                continue;
+            }
+            if (cr.hasFunctionalVariants()) {
+                if (StringUtils.isNotEmpty(cis.functionalVariantName)
+                    && !cr.getSupportedFunctionalVariants().contains(cis.functionalVariantName)) {
+                    //Supported card, unsupported variant.
+                    //Could note the card as missing but since these are often un-cards,
+                    //it's likely absent because it does something out of scope.
+                    continue;
+                }
+            }
+            result.cards.add(createSetCard(e, cis, cr, editionArtIds));
+        }
+        return result;
+    }
+
+    private List<EditionCards> buildAllEditionCards(List<CardEdition> orderedEditions) {
+        final List<EditionCards> result = new ArrayList<>(orderedEditions.size());
+        if (!ThreadUtil.isMultiCoreSystem()) {
+            for (CardEdition e : orderedEditions) {
+                result.add(buildEditionCards(e));
+            }
+            return result;
+        }
+
+        final List<Callable<EditionCards>> tasks = new ArrayList<>(orderedEditions.size());
+        for (CardEdition e : orderedEditions) {
+            tasks.add(() -> buildEditionCards(e));
+        }
+        final ExecutorService executor = ThreadUtil.getComputingPool(0.5f);
+        try {
+            // futures come back in task order, which keeps the edition order for merging
+            for (Future<EditionCards> f : executor.invokeAll(tasks)) {
+                result.add(f.get());
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RuntimeException(e);
+        } catch (ExecutionException e) {
+            throw new RuntimeException(e.getCause());
+        } finally {
+            executor.shutdown();
+        }
+        return result;
     }
 
     private boolean addFromSetByName(String cardName, CardEdition ed, CardRules cr) {
@@ -387,7 +463,9 @@ public final class CardDb implements ICardDatabase, IDeckGenPool {
         // do this first so they're not considered missing
         buildRenamedCards();
 
-        for (CardEdition e : editions.getOrderedEditions()) {
+        // editions are built in parallel, then merged in edition order so the art preference stays the same
+        for (EditionCards built : buildAllEditionCards(Lists.newArrayList(editions.getOrderedEditions()))) {
+            CardEdition e = built.edition;
             boolean coreOrExpSet = e.getType() == CardEdition.Type.CORE || e.getType() == CardEdition.Type.EXPANSION;
             boolean isCoreExpSet = coreOrExpSet || e.getType() == CardEdition.Type.REPRINT;
             if (logMissingPerEdition && isCoreExpSet) {
@@ -397,22 +475,9 @@ public final class CardDb implements ICardDatabase, IDeckGenPool {
                 upcomingSet = e;
             }
 
-            for (CardEdition.CardInSet cis : e.getAllCardsInSet()) {
-                CardRules cr = rulesByName.get(cis.name);
-                if (cr == null) {
-                    missingCards.add(cis.name);
-                    continue;
-                }
-                if (cr.hasFunctionalVariants()) {
-                    if (StringUtils.isNotEmpty(cis.functionalVariantName)
-                        && !cr.getSupportedFunctionalVariants().contains(cis.functionalVariantName)) {
-                        //Supported card, unsupported variant.
-                        //Could note the card as missing but since these are often un-cards,
-                        //it's likely absent because it does something out of scope.
-                        continue;
-                    }
-                }
-                addSetCard(e, cis, cr);
+            missingCards.addAll(built.missingCards);
+            for (PaperCard pc : built.cards) {
+                addCard(pc);
             }
             if (isCoreExpSet && logMissingPerEdition) {
                 if (missingCards.isEmpty()) {
@@ -426,7 +491,6 @@ public final class CardDb implements ICardDatabase, IDeckGenPool {
                 allMissingCards.addAll(missingCards);
             }
             missingCards.clear();
-            artIds.clear();
         }
 
         if (logMissingSummary) {
@@ -298,7 +298,7 @@ public final class CardEdition implements Comparable<CardEdition> {
     }
 
 
-    private final static SimpleDateFormat formatter = new SimpleDateFormat("yyyy-MM-dd");
+    private final static ThreadLocal<SimpleDateFormat> formatter = ThreadLocal.withInitial(() -> new SimpleDateFormat("yyyy-MM-dd"));
 
     /**
      * Equivalent to the set code of CardEdition.UNKNOWN
@@ -395,7 +395,7 @@ public final class CardEdition implements Comparable<CardEdition> {
         if( date.length() <= 7 )
             date = date + "-01";
         try {
-            return formatter.parse(date);
+            return formatter.get().parse(date);
         } catch (Exception e) {
             return new Date();
         }
@@ -618,6 +618,12 @@ public final class CardEdition implements Comparable<CardEdition> {
             return new TreeMap<>(String.CASE_INSENSITIVE_ORDER);
         }
 
+        @Override
+        protected boolean readInParallel() {
+            // editions are parsed independently of each other
+            return true;
+        }
+
         @Override
         protected CardEdition read(File file) {
             final Map<String, List<String>> contents = FileSection.parseSections(FileUtil.readFile(file));
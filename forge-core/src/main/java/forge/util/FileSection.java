@@ -17,13 +17,12 @@
  */
 package forge.util;
 
-import com.google.common.collect.HashBasedTable;
-import com.google.common.collect.Table;
 import org.apache.commons.lang3.StringUtils;
 
 import java.text.NumberFormat;
 import java.text.ParseException;
 import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.regex.Pattern;
 
 /**
@@ -48,7 +47,8 @@ public class FileSection {
     public static final Pattern COLON_KV_SEPARATOR = Pattern.compile(Pattern.quote(":"));
     private static final String BAR_PAIR_SPLITTER = Pattern.quote("|");
 
-    private static final Table<String, Pattern, Map<String, String>> parseToMapCache = HashBasedTable.create();
+    // card scripts can be parsed by several simulation threads at once, a line parsed twice gives the same map
+    private static final Map<Pattern, Map<String, Map<String, String>>> parseToMapCache = new ConcurrentHashMap<>();
 
     /**
      * Parses the key=value text line and return a HashMap
@@ -58,7 +58,8 @@ public class FileSection {
      * @return a HashMap
      */
     public static Map<String, String> parseToMap(final String line, final Pattern kvSeparator) {
-        Map<String, String> cached = parseToMapCache.get(line, kvSeparator);
+        final Map<String, Map<String, String>> cache = parseToMapCache.computeIfAbsent(kvSeparator, k -> new ConcurrentHashMap<>());
+        Map<String, String> cached = cache.get(line);
         if (cached != null) {
             return cached;
         }
@@ -71,7 +72,7 @@ public class FileSection {
             }
         }
         cached = Collections.unmodifiableMap(result);
-        parseToMapCache.put(line, kvSeparator, cached);
+        cache.put(line, cached);
         return cached;
     }
 
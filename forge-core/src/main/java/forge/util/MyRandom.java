@@ -32,6 +32,8 @@ import java.util.Random;
 public class MyRandom {
     /** Constant <code>random</code>. */
     private static Random random = new SecureRandom();
+    /** Per-thread override, lets concurrently simulated games each use their own seeded provider. */
+    private static final ThreadLocal<Random> threadRandom = new ThreadLocal<>();
 
     /**
      * <p>
@@ -52,7 +54,8 @@ public class MyRandom {
      * @return the random
      */
     public static Random getRandom() {
-        return MyRandom.random;
+        final Random local = threadRandom.get();
+        return local != null ? local : MyRandom.random;
     }
 
     /**
@@ -63,11 +66,31 @@ public class MyRandom {
         MyRandom.random = random;
     }
 
+    /**
+     * Sets the random provider for the current thread only, taking precedence over the global one.
+     * Pass null to fall back to the global provider again.
+     * @param random the random
+     */
+    public static void setThreadRandom(Random random) {
+        if (random == null) {
+            threadRandom.remove();
+        } else {
+            threadRandom.set(random);
+        }
+    }
+
+    /**
+     * @return the provider set for the current thread, or null if it uses the global one
+     */
+    public static Random getThreadRandom() {
+        return threadRandom.get();
+    }
+
     public static int[] splitIntoRandomGroups(final int value, final int numGroups) {
         int[] groups = new int[numGroups];
         
         for (int i = 0; i < value; i++) {
-            groups[random.nextInt(numGroups)]++;
+            groups[getRandom().nextInt(numGroups)]++;
         }
 
         return groups;
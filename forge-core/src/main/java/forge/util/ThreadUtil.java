@@ -1,6 +1,7 @@
 package forge.util;
 
 import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
 
 public class ThreadUtil {
     static {
@@ -8,7 +9,7 @@ public class ThreadUtil {
     }
 
     private static class WorkerThreadFactory implements ThreadFactory {
-        private int countr = 0;
+        private final AtomicInteger countr = new AtomicInteger();
         private String prefix = "";
 
         public WorkerThreadFactory(String prefix) {
@@ -16,7 +17,7 @@ public class ThreadUtil {
         }
 
         public Thread newThread(Runnable r) {
-            return new Thread(r, prefix + "-" + countr++);
+            return new Thread(r, prefix + "-" + countr.getAndIncrement());
         }
     }
 
@@ -30,6 +31,25 @@ public class ThreadUtil {
         return Executors.newFixedThreadPool((int)(Runtime.getRuntime().availableProcessors() / (1-loadFactor)));
     }
 
+    // Bounded pool whose threads count as game threads, used to run several independent games side by side
+    public static ExecutorService newGameThreadPool(int nThreads) {
+        return Executors.newFixedThreadPool(nThreads, new WorkerThreadFactory("Game-Parallel"));
+    }
+
+    // Work stealing pool whose threads count as game threads, used by the simulation AI to search several moves at once
+    private static ForkJoinPool simulationPool;
+    public static synchronized ExecutorService getSimulationPool() {
+        if (simulationPool == null) {
+            final AtomicInteger counter = new AtomicInteger();
+            simulationPool = new ForkJoinPool(Runtime.getRuntime().availableProcessors(), pool -> {
+                ForkJoinWorkerThread thread = ForkJoinPool.defaultForkJoinWorkerThreadFactory.newThread(pool);
+                thread.setName("Game-Simulation-" + counter.getAndIncrement());
+                return thread;
+            }, null, false);
+        }
+        return simulationPool;
+    }
+
     public static boolean isMultiCoreSystem() {
         return Runtime.getRuntime().availableProcessors() > 1;
     }
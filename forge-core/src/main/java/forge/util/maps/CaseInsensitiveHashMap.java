@@ -0,0 +1,169 @@
+package forge.util.maps;
+
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+
+/**
+ * Hash based replacement for {@code new TreeMap<>(String.CASE_INSENSITIVE_ORDER)} when the keys don't need to be sorted.
+ * Keys are matched the same way {@link String#CASE_INSENSITIVE_ORDER} compares them, but lookups are O(1).
+ * Like the tree map, the first spelling of a key is the one that is kept and reported by {@link #entrySet()}.
+ */
+public class CaseInsensitiveHashMap<V> extends AbstractMap<String, V> {
+    private final HashMap<String, Node<V>> nodes;
+    private transient Set<Entry<String, V>> entrySet;
+
+    public CaseInsensitiveHashMap() {
+        nodes = new HashMap<>();
+    }
+
+    public CaseInsensitiveHashMap(int expectedSize) {
+        nodes = new HashMap<>(Math.max(16, (int) (expectedSize / 0.75f) + 1));
+    }
+
+    // folds every char the way String.CASE_INSENSITIVE_ORDER compares them, without allocating for already folded keys
+    private static String fold(final Object key) {
+        final String s = (String) key;
+        final int len = s.length();
+        int i = 0;
+        while (i < len) {
+            final char c = s.charAt(i);
+            if (Character.toLowerCase(Character.toUpperCase(c)) != c) {
+                break;
+            }
+            i++;
+        }
+        if (i == len) {
+            return s;
+        }
+        final char[] chars = s.toCharArray();
+        for (; i < len; i++) {
+            chars[i] = Character.toLowerCase(Character.toUpperCase(chars[i]));
+        }
+        return new String(chars);
+    }
+
+    @Override
+    public int size() {
+        return nodes.size();
+    }
+
+    @Override
+    public boolean containsKey(final Object key) {
+        return key instanceof String && nodes.containsKey(fold(key));
+    }
+
+    @Override
+    public V get(final Object key) {
+        if (!(key instanceof String)) {
+            return null;
+        }
+        final Node<V> node = nodes.get(fold(key));
+        return node == null ? null : node.value;
+    }
+
+    @Override
+    public V put(final String key, final V value) {
+        final String folded = fold(Objects.requireNonNull(key));
+        final Node<V> node = nodes.get(folded);
+        if (node != null) {
+            return node.setValue(value);
+        }
+        nodes.put(folded, new Node<>(key, value));
+        return null;
+    }
+
+    @Override
+    public V remove(final Object key) {
+        if (!(key instanceof String)) {
+            return null;
+        }
+        final Node<V> node = nodes.remove(fold(key));
+        return node == null ? null : node.value;
+    }
+
+    @Override
+    public void clear() {
+        nodes.clear();
+    }
+
+    @Override
+    public Set<Entry<String, V>> entrySet() {
+        if (entrySet == null) {
+            entrySet = new AbstractSet<Entry<String, V>>() {
+                @Override
+                public Iterator<Entry<String, V>> iterator() {
+                    final Iterator<Node<V>> it = nodes.values().iterator();
+                    return new Iterator<Entry<String, V>>() {
+                        @Override
+                        public boolean hasNext() {
+                            return it.hasNext();
+                        }
+
+                        @Override
+                        public Entry<String, V> next() {
+                            return it.next();
+                        }
+
+                        @Override
+                        public void remove() {
+                            it.remove();
+                        }
+                    };
+                }
+
+                @Override
+                public int size() {
+                    return nodes.size();
+                }
+
+                @Override
+                public void clear() {
+                    nodes.clear();
+                }
+            };
+        }
+        return entrySet;
+    }
+
+    private static final class Node<V> implements Map.Entry<String, V> {
+        private final String key;
+        private V value;
+
+        Node(final String key, final V value) {
+            this.key = key;
+            this.value = value;
+        }
+
+        @Override
+        public String getKey() {
+            return key;
+        }
+
+        @Override
+        public V getValue() {
+            return value;
+        }
+
+        @Override
+        public V setValue(final V value) {
+            final V old = this.value;
+            this.value = value;
+            return old;
+        }
+
+        @Override
+        public boolean equals(final Object o) {
+            return o instanceof Map.Entry<?, ?> e && Objects.equals(key, e.getKey()) && Objects.equals(value, e.getValue());
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hashCode(key) ^ Objects.hashCode(value);
+        }
+    }
+}
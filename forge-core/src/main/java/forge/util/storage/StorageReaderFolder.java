@@ -18,11 +18,16 @@
 package forge.util.storage;
 
 import forge.util.TextUtil;
+import forge.util.ThreadUtil;
 
 import java.io.File;
 import java.io.FilenameFilter;
 import java.io.IOException;
 import java.util.*;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
 import java.util.function.Function;
 
 /**
@@ -84,9 +89,11 @@ public abstract class StorageReaderFolder<T> extends StorageReaderBase<T> {
         final Map<String, T> result = createMap();
 
         final File[] files = this.directory.listFiles(this.getFileFilter());
-        for (final File file : files) {
+        final List<Future<T>> parsed = readInParallel() && ThreadUtil.isMultiCoreSystem() ? submitAll(files) : null;
+        for (int i = 0; i < files.length; i++) {
+            final File file = files[i];
             try {
-                final T newDeck = this.read(file);
+                final T newDeck = parsed == null ? this.read(file) : getParsed(parsed.get(i));
                 if (null == newDeck) {
                     final String msg = "An object stored in " + file.getPath() + " failed to load.\nPlease submit this as a bug with the mentioned file/directory attached.";
                     throw new RuntimeException(msg);
@@ -108,6 +115,45 @@ public abstract class StorageReaderFolder<T> extends StorageReaderBase<T> {
         return result;
     }
 
+    /**
+     * Whether {@link #read(File)} is safe to call from several threads at once.
+     * Files are then parsed in parallel, the results are still added in directory order.
+     */
+    protected boolean readInParallel() {
+        return false;
+    }
+
+    private List<Future<T>> submitAll(final File[] files) {
+        final List<Callable<T>> tasks = new ArrayList<>(files.length);
+        for (final File file : files) {
+            tasks.add(() -> this.read(file));
+        }
+        final ExecutorService executor = ThreadUtil.getComputingPool(0.5f);
+        try {
+            return executor.invokeAll(tasks);
+        } catch (final InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RuntimeException(e);
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    private static <T> T getParsed(final Future<T> future) {
+        try {
+            return future.get();
+        } catch (final InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RuntimeException(e);
+        } catch (final ExecutionException e) {
+            // rethrow as is, so a NoSuchElementException is reported like in the sequential case
+            if (e.getCause() instanceof RuntimeException re) {
+                throw re;
+            }
+            throw new RuntimeException(e.getCause());
+        }
+    }
+
     /**
      * Read the object from file.
      *
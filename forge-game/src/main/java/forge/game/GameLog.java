@@ -17,6 +17,8 @@
  */
 package forge.game;
 
+import java.io.IOException;
+import java.io.ObjectOutputStream;
 import java.io.Serializable;
 import java.util.ArrayList;
 import java.util.List;
@@ -37,6 +39,8 @@ public class GameLog extends Observable implements Serializable {
     private final List<GameLogEntry> log = new ArrayList<>();
 
     private final transient GameLogFormatter formatter = new GameLogFormatter(this);
+    // entries are added in place, the view of this game is flagged so clients synced by changes pick them up
+    private final transient Game game;
 
     /** Logging level:
      * 0 - Turn
@@ -47,6 +51,11 @@ public class GameLog extends Observable implements Serializable {
      */
 
     public GameLog() {
+        this(null);
+    }
+
+    public GameLog(final Game game) {
+        this.game = game;
     }
 
     public void add(final GameLogEntryType type, final String message) {
@@ -54,7 +63,12 @@ public class GameLog extends Observable implements Serializable {
     }
 
     void add(GameLogEntry entry) {
-        log.add(entry);
+        synchronized (log) {
+            log.add(entry);
+        }
+        if (game != null) {
+            game.updateGameLogForView();
+        }
         this.setChanged();
         this.notifyObservers();
     }
@@ -92,4 +106,11 @@ public class GameLog extends Observable implements Serializable {
     public IGameEventVisitor<?> getEventVisitor() {
         return formatter;
     }
+
+    // the game view sends the log to remote players while the game adds to it
+    private void writeObject(final ObjectOutputStream out) throws IOException {
+        synchronized (log) {
+            out.defaultWriteObject();
+        }
+    }
 }
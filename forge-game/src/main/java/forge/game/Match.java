@@ -16,7 +16,6 @@ import forge.game.event.GameEventGameFinished;
 import forge.game.player.Player;
 import forge.game.player.PlayerController;
 import forge.game.player.RegisteredPlayer;
-import forge.game.trigger.Trigger;
 import forge.game.zone.PlayerZone;
 import forge.game.zone.ZoneType;
 import forge.item.PaperCard;
@@ -28,13 +27,13 @@ import java.util.*;
 import java.util.Map.Entry;
 
 public class Match {
-    private static List<PaperCard> removedCards = Lists.newArrayList();
     private final List<RegisteredPlayer> players;
     private final GameRules rules;
     private final String title;
 
     private final EventBus events = new EventBus("match events");
     private final Map<Integer, GameOutcome> gameOutcomes = Maps.newHashMap();
+    private final List<PaperCard> removedCards = Lists.newArrayList();
 
     private GameOutcome lastOutcome = null;
 
@@ -190,7 +189,7 @@ public class Match {
         return myRemovedAnteCards;
     }
 
-    public static List<PaperCard> getRemovedCards() { return removedCards; }
+    public List<PaperCard> getRemovedCards() { return removedCards; }
 
     public void removeCard(PaperCard c) {
         removedCards.add(c);
@@ -217,8 +216,6 @@ public class Match {
     }
 
     private void prepareAllZones(final Game game) {
-        // need this code here, otherwise observables fail
-        Trigger.resetIDs();
         game.getTriggerHandler().clearDelayedTrigger();
 
         // friendliness
@@ -34,8 +34,6 @@ public class RestartGameEffect extends SpellAbilityEffect {
         String leaveRestriction = sa.getParamOrDefault("RestrictFromValid", "Card");
 
         //Card.resetUniqueNumber();
-        // need this code here, otherwise observables fail
-        forge.game.trigger.Trigger.resetIDs();
         TriggerHandler trigHandler = game.getTriggerHandler();
         trigHandler.clearDelayedTrigger();
         trigHandler.clearPlayerDefinedDelayedTrigger();
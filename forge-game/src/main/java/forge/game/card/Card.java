@@ -94,7 +94,7 @@ public class Card extends GameEntity implements Comparable<Card>, IHasSVars, ITr
 
     // Hidden keywords won't be displayed on the card
     // x=timestamp y=StaticAbility id
-    private final Table<Long, Long, List<String>> hiddenExtrinsicKeywords = TreeBasedTable.create();
+    private final LayerTable<List<String>> hiddenExtrinsicKeywords = new LayerTable<>();
 
     // cards attached or otherwise linked to this card
     private CardCollection hauntedBy, devouredCards, exploitedCards, delvedCards, imprintedCards,
@@ -120,21 +120,21 @@ public class Card extends GameEntity implements Comparable<Card>, IHasSVars, ITr
 
     protected CardChangedType changedTypeByText; // Layer 3 by Text Change
     // x=timestamp y=StaticAbility id
-    private final Table<Long, Long, CardChangedType> changedCardTypesByText = TreeBasedTable.create(); // Layer 3
-    private final Table<Long, Long, CardChangedType> changedCardTypesCharacterDefining = TreeBasedTable.create(); // Layer 4 CDA
-    private final Table<Long, Long, CardChangedType> changedCardTypes = TreeBasedTable.create(); // Layer 4
+    private final LayerTable<CardChangedType> changedCardTypesByText = new LayerTable<>(); // Layer 3
+    private final LayerTable<CardChangedType> changedCardTypesCharacterDefining = new LayerTable<>(); // Layer 4 CDA
+    private final LayerTable<CardChangedType> changedCardTypes = new LayerTable<>(); // Layer 4
 
-    private final Table<Long, Long, CardChangedName> changedCardNames = TreeBasedTable.create(); // Layer 3
-    private final Table<Long, Long, KeywordsChange> changedCardKeywordsByText = TreeBasedTable.create(); // Layer 3 by Text Change
+    private final LayerTable<CardChangedName> changedCardNames = new LayerTable<>(); // Layer 3
+    private final LayerTable<KeywordsChange> changedCardKeywordsByText = new LayerTable<>(); // Layer 3 by Text Change
     protected KeywordsChange changedCardKeywordsByWord = new KeywordsChange(ImmutableList.<KeywordInterface>of(), ImmutableList.<KeywordInterface>of(), false); // Layer 3 by Word Change
-    private final Table<Long, Long, KeywordsChange> changedCardKeywords = TreeBasedTable.create(); // Layer 6
+    private final LayerTable<KeywordsChange> changedCardKeywords = new LayerTable<>(); // Layer 6
 
     // stores the keywords created by static abilities
     private final Map<Triple<String, Long, Long>, KeywordInterface> storedKeywords = Maps.newHashMap();
 
     // x=timestamp y=StaticAbility id
-    private final Table<Long, Long, CardTraitChanges> changedCardTraitsByText = TreeBasedTable.create(); // Layer 3 by Text Change
-    private final Table<Long, Long, CardTraitChanges> changedCardTraits = TreeBasedTable.create(); // Layer 6
+    private final LayerTable<CardTraitChanges> changedCardTraitsByText = new LayerTable<>(); // Layer 3 by Text Change
+    private final LayerTable<CardTraitChanges> changedCardTraits = new LayerTable<>(); // Layer 6
 
     // stores the card traits created by static abilities
     private final Table<StaticAbility, String, SpellAbility> storedSpellAbility = TreeBasedTable.create();
@@ -151,15 +151,15 @@ public class Card extends GameEntity implements Comparable<Card>, IHasSVars, ITr
     private final Map<Triple<String, Long, Long>, KeywordInterface> storedKeywordByText = Maps.newHashMap();
 
     // x=timestamp y=StaticAbility id
-    private final Table<Long, Long, CardColor> changedCardColorsByText = TreeBasedTable.create(); // Layer 3 by Text Change
-    private final Table<Long, Long, CardColor> changedCardColorsCharacterDefining = TreeBasedTable.create(); // Layer 5 CDA
-    private final Table<Long, Long, CardColor> changedCardColors = TreeBasedTable.create(); // Layer 5
+    private final LayerTable<CardColor> changedCardColorsByText = new LayerTable<>(); // Layer 3 by Text Change
+    private final LayerTable<CardColor> changedCardColorsCharacterDefining = new LayerTable<>(); // Layer 5 CDA
+    private final LayerTable<CardColor> changedCardColors = new LayerTable<>(); // Layer 5
 
-    protected final Table<Long, Long, ManaCost> changedCardManaCost = TreeBasedTable.create(); // Layer 3
+    protected final LayerTable<ManaCost> changedCardManaCost = new LayerTable<>(); // Layer 3
 
     private final NavigableMap<Long, CardCloneStates> clonedStates = Maps.newTreeMap(); // Layer 1
 
-    private final Table<Long, Long, Map<String, String>> changedSVars = TreeBasedTable.create();
+    private final LayerTable<Map<String, String>> changedSVars = new LayerTable<>();
 
     private Map<StaticAbility, CardPlayOption> mayPlay = Maps.newHashMap();
 
@@ -265,10 +265,19 @@ public class Card extends GameEntity implements Comparable<Card>, IHasSVars, ITr
 
     // stack of set power/toughness
     // x=timestamp y=StaticAbility id
-    private Table<Long, Long, Pair<Integer,Integer>> newPTText = TreeBasedTable.create(); // Text Change Layer 3
-    private Table<Long, Long, Pair<Integer,Integer>> newPTCharacterDefining = TreeBasedTable.create(); // Layer 7a
-    private Table<Long, Long, Pair<Integer,Integer>> newPT = TreeBasedTable.create(); // Layer 7b
-    private Table<Long, Long, Pair<Integer,Integer>> boostPT = TreeBasedTable.create(); // Layer 7c
+    private final LayerTable<Pair<Integer,Integer>> newPTText = new LayerTable<>(); // Text Change Layer 3
+    private final LayerTable<Pair<Integer,Integer>> newPTCharacterDefining = new LayerTable<>(); // Layer 7a
+    private final LayerTable<Pair<Integer,Integer>> newPT = new LayerTable<>(); // Layer 7b
+    private final LayerTable<Pair<Integer,Integer>> boostPT = new LayerTable<>(); // Layer 7c
+
+    // results folded out of the layer tables, recomputed when the version of a table has moved on
+    private int foldedSetPTVersion = -1;
+    private Integer foldedSetPower, foldedSetToughness;
+    private int foldedBoostPTVersion = -1;
+    private int foldedPowerBoost, foldedToughnessBoost;
+    private int foldedChangedTypesVersion = -1;
+    private CardChangedType foldedChangedTypeByText;
+    private List<CardChangedType> foldedChangedTypes;
 
     private CardDamageHistory damageHistory = new CardDamageHistory();
     private final Map<Card, Integer> assignedDamageMap = Maps.newTreeMap();
@@ -4243,13 +4252,20 @@ public class Card extends GameEntity implements Comparable<Card>, IHasSVars, ITr
         if (changedCardTypesByText.isEmpty() && changedTypeByText == null && changedCardTypesCharacterDefining.isEmpty() && changedCardTypes.isEmpty()) {
             return ImmutableList.of();
         }
-        Iterable<CardChangedType> byText = changedTypeByText == null ? ImmutableList.of() : ImmutableList.of(this.changedTypeByText);
-        return ImmutableList.copyOf(Iterables.concat(
-                changedCardTypesByText.values(), // Layer 3
-                byText, // Layer 3 by Word Changes,
-                changedCardTypesCharacterDefining.values(), // Layer 4
-                changedCardTypes.values() // Layer 6
-            ));
+        // versions only ever grow, so their sum changes whenever one of the tables does
+        final int version = changedCardTypesByText.getVersion() + changedCardTypesCharacterDefining.getVersion() + changedCardTypes.getVersion();
+        if (version != foldedChangedTypesVersion || changedTypeByText != foldedChangedTypeByText || foldedChangedTypes == null) {
+            Iterable<CardChangedType> byText = changedTypeByText == null ? ImmutableList.of() : ImmutableList.of(this.changedTypeByText);
+            foldedChangedTypes = ImmutableList.copyOf(Iterables.concat(
+                    changedCardTypesByText.values(), // Layer 3
+                    byText, // Layer 3 by Word Changes,
+                    changedCardTypesCharacterDefining.values(), // Layer 4
+                    changedCardTypes.values() // Layer 6
+                ));
+            foldedChangedTypesVersion = version;
+            foldedChangedTypeByText = changedTypeByText;
+        }
+        return foldedChangedTypes;
     }
 
     public boolean clearChangedCardTypes() {
@@ -4629,14 +4645,28 @@ public class Card extends GameEntity implements Comparable<Card>, IHasSVars, ITr
         return changed;
     }
 
-    public final int getCurrentPower() {
-        int total = getBasePower();
+    private void foldSetPT() {
+        final int version = newPTText.getVersion() + newPTCharacterDefining.getVersion() + newPT.getVersion();
+        if (version == foldedSetPTVersion) {
+            return;
+        }
+        Integer power = null, toughness = null;
         for (Pair<Integer, Integer> p : getPTIterable()) {
             if (p.getLeft() != null) {
-                total = p.getLeft();
+                power = p.getLeft();
+            }
+            if (p.getRight() != null) {
+                toughness = p.getRight();
             }
         }
-        return total;
+        foldedSetPower = power;
+        foldedSetToughness = toughness;
+        foldedSetPTVersion = version;
+    }
+
+    public final int getCurrentPower() {
+        foldSetPT();
+        return foldedSetPower != null ? foldedSetPower : getBasePower();
     }
 
     public final StatBreakdown getUnswitchedPowerBreakdown() {
@@ -4670,13 +4700,8 @@ public class Card extends GameEntity implements Comparable<Card>, IHasSVars, ITr
     }
 
     public final int getCurrentToughness() {
-        int total = getBaseToughness();
-        for (Pair<Integer, Integer> p : getPTIterable()) {
-            if (p.getRight() != null) {
-                total = p.getRight();
-            }
-        }
-        return total;
+        foldSetPT();
+        return foldedSetToughness != null ? foldedSetToughness : getBaseToughness();
     }
 
     public static class StatBreakdown {
@@ -4744,24 +4769,32 @@ public class Card extends GameEntity implements Comparable<Card>, IHasSVars, ITr
     }
 
     // for cards like Giant Growth, etc.
-    public final int getTempPowerBoost() {
-        int result = 0;
+    private void foldBoostPT() {
+        if (boostPT.getVersion() == foldedBoostPTVersion) {
+            return;
+        }
+        int power = 0, toughness = 0;
         for (Pair<Integer, Integer> pair : boostPT.values()) {
             if (pair.getLeft() != null) {
-                result += pair.getLeft();
+                power += pair.getLeft();
+            }
+            if (pair.getRight() != null) {
+                toughness += pair.getRight();
             }
         }
-        return result;
+        foldedPowerBoost = power;
+        foldedToughnessBoost = toughness;
+        foldedBoostPTVersion = boostPT.getVersion();
+    }
+
+    public final int getTempPowerBoost() {
+        foldBoostPT();
+        return foldedPowerBoost;
     }
 
     public final int getTempToughnessBoost() {
-        int result = 0;
-        for (Pair<Integer, Integer> pair : boostPT.values()) {
-            if (pair.getRight() != null) {
-                result += pair.getRight();
-            }
-        }
-        return result;
+        foldBoostPT();
+        return foldedToughnessBoost;
     }
 
     public void addPTBoost(final Integer power, final Integer toughness, final long timestamp, final long staticId) {
@@ -5935,63 +5968,7 @@ public class Card extends GameEntity implements Comparable<Card>, IHasSVars, ITr
     // Takes one argument like Permanent.Blue+withFlying
     @Override
     public final boolean isValid(final String restriction, final Player sourceController, final Card source, CardTraitBase spellAbility) {
-        // Inclusive restrictions are Card types
-        final String[] incR = restriction.split("\\.", 2);
-
-        boolean testFailed = false;
-        if (incR[0].startsWith("!")) {
-            testFailed = true; // a bit counter logical))
-            incR[0] = incR[0].substring(1); // consume negation sign
-        }
-
-        if (incR[0].equals("Spell")) {
-            if (!isSpell()) {
-                return testFailed;
-            }
-        } else if (incR[0].equals("Permanent")) {
-            if (!isPermanent()) {
-                return testFailed;
-            }
-        } else if (incR[0].equals("Effect")) {
-            if (!isImmutable()) {
-                return testFailed;
-            }
-        } else if (incR[0].equals("Emblem")) {
-            if (!isEmblem()) {
-                return testFailed;
-            }
-        } else if (incR[0].equals("Boon")) {
-            if (!isBoon()) {
-                return testFailed;
-            }
-        } else if (incR[0].equals("card") || incR[0].equals("Card")) {
-            if (isImmutable()) {
-                return testFailed;
-            }
-        } else if (incR[0].equals("Any")) {
-            if (!(isCreature() || isPlaneswalker() || isBattle())) {
-                return false;
-            }
-            //todo further check for Effect API and other replacement Effect
-            /*if (spellAbility == null)
-                return false;
-            ApiType apiType = ((SpellAbility) spellAbility).getApi();
-            if (!(ApiType.DealDamage.equals(apiType) || ApiType.PreventDamage.equals(apiType)))
-                return false;*/
-        } else if (!getType().hasStringType(incR[0])) {
-            return testFailed; // Check for wrong type
-        }
-
-        if (incR.length > 1) {
-            final String excR = incR[1];
-            final String[] exRs = excR.split("\\+"); // Exclusive Restrictions are ...
-            for (String exR : exRs) {
-                if (!hasProperty(exR, sourceController, source, spellAbility)) {
-                    return testFailed;
-                }
-            }
-        }
-        return !testFailed;
+        return CardRestriction.of(restriction).matches(this, sourceController, source, spellAbility);
     }
 
     // Takes arguments like Blue or withFlying
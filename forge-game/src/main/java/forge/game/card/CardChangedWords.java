@@ -2,8 +2,6 @@ package forge.game.card;
 
 import com.google.common.collect.ForwardingMap;
 import com.google.common.collect.Maps;
-import com.google.common.collect.Table;
-import com.google.common.collect.TreeBasedTable;
 
 import java.util.Map;
 
@@ -24,7 +22,7 @@ public final class CardChangedWords extends ForwardingMap<String, String> {
         }
     }
 
-    private final Table<Long, Long, WordHolder> map = TreeBasedTable.create();
+    private final LayerTable<WordHolder> map = new LayerTable<>();
 
     private boolean isDirty = false;
     private Map<String, String> resultCache = Maps.newHashMap();
@@ -105,6 +105,9 @@ public class CardCopyService {
     }
 
     public static Card copyStats(final Card in, final Player newOwner, boolean assignNewId) {
+        return copyStats(in, newOwner, assignNewId, in.getGame());
+    }
+    public static Card copyStats(final Card in, final Player newOwner, boolean assignNewId, final Game game) {
         int id = in.getId();
         if (assignNewId) {
             id = newOwner == null ? 0 : newOwner.getGame().nextCardId();
@@ -113,7 +116,7 @@ public class CardCopyService {
         if(in instanceof DetachedCardEffect)
             c = new DetachedCardEffect((DetachedCardEffect) in, assignNewId);
         else
-            c = new Card(id, in.getPaperCard(), in.getGame());
+            c = new Card(id, in.getPaperCard(), game);
 
         c.setOwner(newOwner);
         c.setSetCode(in.getSetCode());
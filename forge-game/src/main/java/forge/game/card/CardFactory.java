@@ -18,6 +18,7 @@
 package forge.game.card;
 
 import com.google.common.collect.ImmutableList;
+import com.google.common.collect.Iterables;
 import com.google.common.collect.Lists;
 import forge.ImageKeys;
 import forge.StaticData;
@@ -45,6 +46,7 @@ import forge.util.CardTranslation;
 import forge.util.TextUtil;
 
 import java.util.Arrays;
+import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
@@ -245,6 +247,90 @@ public class CardFactory {
         return c;
     }
 
+    /**
+     * Builds the same card as {@link #getCard(IPaperCard, Player, Game)} would, but copies the states of an
+     * already built prototype instead of parsing the card script again.
+     * Only meant for cards without alternate states, see {@link #canCopyFromPrototype(Card)}.
+     */
+    public static Card copyFromPrototype(final Card prototype, final Player owner, final Game game) {
+        final Card c = CardCopyService.copyStats(prototype, owner, true, game);
+        c.setGamePieceType(prototype.getGamePieceType());
+        // the copied traits still belong to the states of the prototype, as if the copy had gained them
+        for (final CardStateName state : c.getStates()) {
+            final CardState cs = c.getState(state);
+            final CardState from = prototype.getState(state);
+            // copyStats only copies the numbers, a "*" would be lost
+            cs.setBasePowerString(from.getBasePowerString());
+            cs.setBaseToughnessString(from.getBaseToughnessString());
+            // CardState.copyFrom only copies the intrinsic traits, in order
+            takeOverTraits(cs.getTraits(), Iterables.filter(from.getTraits(), CardTraitBase::isIntrinsic), prototype, cs);
+            final Iterator<KeywordInterface> fromKeywords = from.getIntrinsicKeywords().iterator();
+            for (final KeywordInterface kw : cs.getIntrinsicKeywords()) {
+                final KeywordInterface fromKw = fromKeywords.next();
+                takeOverTraits(kw.getAbilities(), fromKw.getAbilities(), prototype, cs);
+                takeOverTraits(kw.getTriggers(), fromKw.getTriggers(), prototype, cs);
+                takeOverTraits(kw.getReplacements(), fromKw.getReplacements(), prototype, cs);
+                takeOverTraits(kw.getStaticAbilities(), fromKw.getStaticAbilities(), prototype, cs);
+            }
+        }
+        // the land ability isn't intrinsic so CardState.copyFrom leaves it behind,
+        // readCardFace adds it before the other non mana abilities
+        if (c.isLand()) {
+            final CardState cs = c.getCurrentState();
+            final List<SpellAbility> nonMana = Lists.newArrayList();
+            for (final CardTraitBase ctb : cs.getTraits()) {
+                if (ctb instanceof SpellAbility && !((SpellAbility) ctb).isManaAbility()) {
+                    nonMana.add((SpellAbility) ctb);
+                }
+            }
+            SpellAbility sa = new LandAbility(c);
+            sa.setCardState(cs);
+            cs.setNonManaAbilities(sa);
+            cs.addNonManaAbilities(nonMana);
+            cs.getView().updateAbilityText(c, cs);
+        }
+        return c;
+    }
+
+    private static void takeOverTraits(final Iterable<? extends CardTraitBase> traits, final Iterable<? extends CardTraitBase> fromTraits,
+            final Card prototype, final CardState state) {
+        final Iterator<? extends CardTraitBase> from = fromTraits.iterator();
+        for (final CardTraitBase ctb : traits) {
+            takeOverTrait(ctb, from.next(), prototype, state);
+        }
+    }
+
+    private static void takeOverTrait(final CardTraitBase ctb, final CardTraitBase from, final Card prototype, final CardState state) {
+        if (ctb == null) {
+            return;
+        }
+        if (ctb.getCardState() != null && ctb.getCardState().getCard() == prototype) {
+            ctb.setCardState(state);
+        }
+        // copy() goes back to the scripted params, a keyword may have changed them after parsing
+        ctb.getMapParams().keySet().retainAll(from.getMapParams().keySet());
+        ctb.getMapParams().putAll(from.getMapParams());
+        if (ctb instanceof SpellAbility) {
+            final SpellAbility sa = (SpellAbility) ctb;
+            final SpellAbility fromSa = (SpellAbility) from;
+            takeOverTrait(sa.getSubAbility(), fromSa.getSubAbility(), prototype, state);
+            for (final Map.Entry<String, SpellAbility> e : sa.getAdditionalAbilities().entrySet()) {
+                takeOverTrait(e.getValue(), fromSa.getAdditionalAbility(e.getKey()), prototype, state);
+            }
+            for (final Map.Entry<String, List<AbilitySub>> e : sa.getAdditionalAbilityLists().entrySet()) {
+                takeOverTraits(e.getValue(), fromSa.getAdditionalAbilityList(e.getKey()), prototype, state);
+            }
+        } else if (ctb instanceof Trigger) {
+            takeOverTrait(((Trigger) ctb).getOverridingAbility(), ((Trigger) from).getOverridingAbility(), prototype, state);
+        } else if (ctb instanceof ReplacementEffect) {
+            takeOverTrait(((ReplacementEffect) ctb).getOverridingAbility(), ((ReplacementEffect) from).getOverridingAbility(), prototype, state);
+        }
+    }
+
+    public static boolean canCopyFromPrototype(final Card prototype) {
+        return !prototype.hasAlternateState() && !prototype.isToken() && !prototype.isImmutable();
+    }
+
     private static void buildAbilities(final Card card) {
         for (final CardStateName state : card.getStates()) {
             if (card.isDoubleFaced() && state == CardStateName.FaceDown) {
@@ -0,0 +1,318 @@
+package forge.game.card;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import forge.card.MagicColor;
+import forge.game.CardTraitBase;
+import forge.game.Game;
+import forge.game.combat.Combat;
+import forge.game.player.Player;
+
+/**
+ * A restriction like "Creature.Blue+YouCtrl+!token", parsed once and kept, see {@link Card#isValid}.
+ * <p>
+ * The most common properties are checked directly, all others still go through {@link CardProperty#cardHasProperty}.
+ * Start with -Dforge.verifyCardRestrictions=true to check every result against the string interpreter,
+ * a difference throws so it's noticed in simulated games.
+ */
+public final class CardRestriction {
+    // restrictions built at runtime, like named cards or chosen numbers, shouldn't grow it forever
+    private static final int MAX_CACHED = 20000;
+    private static final Map<String, CardRestriction> cache = new ConcurrentHashMap<>();
+    private static final boolean verify = Boolean.getBoolean("forge.verifyCardRestrictions");
+
+    private enum Kind { SPELL, PERMANENT, EFFECT, EMBLEM, BOON, CARD, ANY, TYPE }
+
+    @FunctionalInterface
+    private interface Matcher {
+        boolean matches(Card card, Player sourceController, Card source, CardTraitBase spellAbility);
+    }
+
+    private static final class Property {
+        private final String property;
+        private final boolean negated;
+        private final Matcher matcher;
+
+        private Property(String exR) {
+            negated = exR.startsWith("!");
+            property = negated ? exR.substring(1) : exR;
+            matcher = compile(property);
+        }
+
+        private boolean matches(Card card, Player sourceController, Card source, CardTraitBase spellAbility) {
+            final boolean has;
+            // phased out cards only count when asked for, leave that to the interpreter
+            if (matcher != null && !card.isPhasedOut()) {
+                has = matcher.matches(card, sourceController, source, spellAbility);
+            } else {
+                has = card.hasProperty(property, sourceController, source, spellAbility);
+            }
+            return has != negated;
+        }
+    }
+
+    private final String restriction;
+    private final boolean testFailed;
+    private final Kind kind;
+    private final String type;
+    private final Property[] properties;
+
+    private CardRestriction(String restriction) {
+        this.restriction = restriction;
+        final String[] incR = restriction.split("\\.", 2);
+        String inclusive = incR[0];
+        testFailed = inclusive.startsWith("!");
+        if (testFailed) {
+            inclusive = inclusive.substring(1);
+        }
+        switch (inclusive) {
+            case "Spell": kind = Kind.SPELL; break;
+            case "Permanent": kind = Kind.PERMANENT; break;
+            case "Effect": kind = Kind.EFFECT; break;
+            case "Emblem": kind = Kind.EMBLEM; break;
+            case "Boon": kind = Kind.BOON; break;
+            case "card":
+            case "Card": kind = Kind.CARD; break;
+            case "Any": kind = Kind.ANY; break;
+            default: kind = Kind.TYPE; break;
+        }
+        type = inclusive;
+
+        if (incR.length > 1) {
+            final String[] exRs = incR[1].split("\\+");
+            properties = new Property[exRs.length];
+            for (int i = 0; i < exRs.length; i++) {
+                properties[i] = new Property(exRs[i]);
+            }
+        } else {
+            properties = new Property[0];
+        }
+    }
+
+    public static CardRestriction of(final String restriction) {
+        CardRestriction compiled = cache.get(restriction);
+        if (compiled == null) {
+            if (cache.size() >= MAX_CACHED) {
+                cache.clear();
+            }
+            compiled = new CardRestriction(restriction);
+            cache.put(restriction, compiled);
+        }
+        return compiled;
+    }
+
+    public boolean matches(final Card card, final Player sourceController, final Card source, final CardTraitBase spellAbility) {
+        final boolean result = matchesCompiled(card, sourceController, source, spellAbility);
+        if (verify) {
+            final boolean interpreted = interpret(card, restriction, sourceController, source, spellAbility);
+            if (result != interpreted) {
+                throw new IllegalStateException("Restriction " + restriction + " on " + card + " with source " + source
+                        + " is " + result + " but interpreted " + interpreted);
+            }
+        }
+        return result;
+    }
+
+    private boolean matchesCompiled(final Card card, final Player sourceController, final Card source, final CardTraitBase spellAbility) {
+        switch (kind) {
+            case SPELL:
+                if (!card.isSpell()) {
+                    return testFailed;
+                }
+                break;
+            case PERMANENT:
+                if (!card.isPermanent()) {
+                    return testFailed;
+                }
+                break;
+            case EFFECT:
+                if (!card.isImmutable()) {
+                    return testFailed;
+                }
+                break;
+            case EMBLEM:
+                if (!card.isEmblem()) {
+                    return testFailed;
+                }
+                break;
+            case BOON:
+                if (!card.isBoon()) {
+                    return testFailed;
+                }
+                break;
+            case CARD:
+                if (card.isImmutable()) {
+                    return testFailed;
+                }
+                break;
+            case ANY:
+                if (!(card.isCreature() || card.isPlaneswalker() || card.isBattle())) {
+                    return false;
+                }
+                break;
+            default:
+                if (!card.getType().hasStringType(type)) {
+                    return testFailed;
+                }
+        }
+
+        for (final Property p : properties) {
+            if (!p.matches(card, sourceController, source, spellAbility)) {
+                return testFailed;
+            }
+        }
+        return !testFailed;
+    }
+
+    /**
+     * The properties checked here have to give the same result as the branch that takes them in
+     * {@link CardProperty#cardHasProperty} or {@link forge.game.ForgeScript#cardStateHasProperty},
+     * and no branch before that one may take them.
+     * @return null to leave the property to the interpreter
+     */
+    private static Matcher compile(final String property) {
+        switch (property) {
+            case "Self":
+                return (card, sourceController, source, sa) -> card.equals(source);
+            case "Other":
+                return (card, sourceController, source, sa) -> !card.equals(source);
+            case "StrictlyOther":
+                return (card, sourceController, source, sa) -> !card.equalsWithGameTimestamp(source);
+            case "YouCtrl":
+                return (card, sourceController, source, sa) -> lkiController(card).equals(sourceController);
+            case "YouDontCtrl":
+                return (card, sourceController, source, sa) -> !lkiController(card).equals(sourceController);
+            case "OppCtrl":
+                return (card, sourceController, source, sa) -> lkiController(card).getOpponents().contains(sourceController);
+            case "YouOwn":
+                return (card, sourceController, source, sa) -> card.getOwner().equals(sourceController);
+            case "OppOwn":
+                return (card, sourceController, source, sa) -> card.getOwner().getOpponents().contains(sourceController);
+            case "IsRemembered":
+                return (card, sourceController, source, sa) -> source.isRemembered(card);
+            case "IsImprinted":
+                return (card, sourceController, source, sa) -> source.hasImprintedCard(card);
+            case "EnchantedBy":
+                return (card, sourceController, source, sa) -> card.isEnchantedBy(source) || card.equals(source.getEntityAttachedTo());
+            case "token":
+                return (card, sourceController, source, sa) -> card.isToken() || card.isTokenCard();
+            case "tapped":
+                return (card, sourceController, source, sa) -> card.isTapped();
+            case "untapped":
+                return (card, sourceController, source, sa) -> card.isUntapped();
+            case "attacking":
+                return (card, sourceController, source, sa) -> {
+                    final Combat combat = card.getGame().getCombat();
+                    return combat != null && card.isAttacking();
+                };
+            case "White":
+            case "Blue":
+            case "Black":
+            case "Red":
+            case "Green":
+                final byte color = MagicColor.fromName(property);
+                return (card, sourceController, source, sa) -> card.getColor(card.getCurrentState()).hasAnyColor(color);
+            default:
+                break;
+        }
+        if (property.startsWith("without")) {
+            final String keyword = property.substring(7);
+            return (card, sourceController, source, sa) -> !card.hasStartOfUnHiddenKeyword(keyword);
+        }
+        if (property.startsWith("with")) {
+            final String keyword = property.substring(4);
+            return (card, sourceController, source, sa) -> card.hasStartOfUnHiddenKeyword(keyword);
+        }
+        if (property.startsWith("non") && isPlainType(property.substring(3))) {
+            final String type = property.substring(3);
+            return (card, sourceController, source, sa) -> !card.getCurrentState().getTypeWithChanges().hasStringType(type);
+        }
+        if (isPlainType(property)) {
+            return (card, sourceController, source, sa) -> card.getCurrentState().getTypeWithChanges().hasStringType(property);
+        }
+        return null;
+    }
+
+    // types no other property starts with, they end up in the type check of the card state
+    private static boolean isPlainType(final String type) {
+        switch (type) {
+            case "Artifact":
+            case "Creature":
+            case "Land":
+            case "Enchantment":
+            case "Planeswalker":
+            case "Instant":
+            case "Sorcery":
+            case "Battle":
+            case "Basic":
+            case "Legendary":
+            case "Snow":
+                return true;
+            default:
+                return false;
+        }
+    }
+
+    private static Player lkiController(final Card card) {
+        final Game game = card.getGame();
+        return game.getChangeZoneLKIInfo(card).getController();
+    }
+
+    /**
+     * Checks the restriction by reading the string on every call, as it was done before it was compiled.
+     */
+    static boolean interpret(final Card card, final String restriction, final Player sourceController, final Card source, final CardTraitBase spellAbility) {
+        // Inclusive restrictions are Card types
+        final String[] incR = restriction.split("\\.", 2);
+
+        boolean testFailed = false;
+        if (incR[0].startsWith("!")) {
+            testFailed = true; // a bit counter logical))
+            incR[0] = incR[0].substring(1); // consume negation sign
+        }
+
+        if (incR[0].equals("Spell")) {
+            if (!card.isSpell()) {
+                return testFailed;
+            }
+        } else if (incR[0].equals("Permanent")) {
+            if (!card.isPermanent()) {
+                return testFailed;
+            }
+        } else if (incR[0].equals("Effect")) {
+            if (!card.isImmutable()) {
+                return testFailed;
+            }
+        } else if (incR[0].equals("Emblem")) {
+            if (!card.isEmblem()) {
+                return testFailed;
+            }
+        } else if (incR[0].equals("Boon")) {
+            if (!card.isBoon()) {
+                return testFailed;
+            }
+        } else if (incR[0].equals("card") || incR[0].equals("Card")) {
+            if (card.isImmutable()) {
+                return testFailed;
+            }
+        } else if (incR[0].equals("Any")) {
+            if (!(card.isCreature() || card.isPlaneswalker() || card.isBattle())) {
+                return false;
+            }
+        } else if (!card.getType().hasStringType(incR[0])) {
+            return testFailed; // Check for wrong type
+        }
+
+        if (incR.length > 1) {
+            final String excR = incR[1];
+            final String[] exRs = excR.split("\\+"); // Exclusive Restrictions are ...
+            for (String exR : exRs) {
+                if (!card.hasProperty(exR, sourceController, source, spellAbility)) {
+                    return testFailed;
+                }
+            }
+        }
+        return !testFailed;
+    }
+}
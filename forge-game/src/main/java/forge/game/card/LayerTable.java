@@ -0,0 +1,596 @@
+package forge.game.card;
+
+import java.util.AbstractCollection;
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.ConcurrentModificationException;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+import java.util.Set;
+
+import com.google.common.collect.Table;
+import com.google.common.collect.Tables;
+
+/**
+ * Storage for the changes continuous effects make to a card, keyed by timestamp (row) and static ability id (column).
+ * <p>
+ * Behaves like {@code TreeBasedTable<Long, Long, V>}: cells iterate ordered by timestamp, then by id.
+ * Cells are kept in sorted primitive arrays that are only allocated once something is put in,
+ * so a card without changes pays for a single small object per table.
+ * <p>
+ * {@link #getVersion()} changes on every write, so callers can cache whatever they fold out of the values.
+ */
+public final class LayerTable<V> implements Table<Long, Long, V> {
+    private static final int INITIAL_CAPACITY = 2;
+
+    private long[] rows;
+    private long[] columns;
+    private Object[] values;
+    private int size;
+    private int version;
+
+    /**
+     * @return a number that is different after every modification of this table
+     */
+    public int getVersion() {
+        return version;
+    }
+
+    // binary search over (row, column), returns -(insertion point) - 1 if absent
+    private int indexOf(final long row, final long column) {
+        int low = 0;
+        int high = size - 1;
+        while (low <= high) {
+            final int mid = (low + high) >>> 1;
+            int cmp = Long.compare(rows[mid], row);
+            if (cmp == 0) {
+                cmp = Long.compare(columns[mid], column);
+            }
+            if (cmp < 0) {
+                low = mid + 1;
+            } else if (cmp > 0) {
+                high = mid - 1;
+            } else {
+                return mid;
+            }
+        }
+        return -(low + 1);
+    }
+
+    private int indexOf(final Object row, final Object column) {
+        if (!(row instanceof Long) || !(column instanceof Long) || size == 0) {
+            return -1;
+        }
+        return indexOf((long) (Long) row, (long) (Long) column);
+    }
+
+    @SuppressWarnings("unchecked")
+    private V valueAt(final int index) {
+        return (V) values[index];
+    }
+
+    private Cell<Long, Long, V> cellAt(final int index) {
+        return Tables.immutableCell(rows[index], columns[index], valueAt(index));
+    }
+
+    private void removeAt(final int index) {
+        final int tail = size - index - 1;
+        if (tail > 0) {
+            System.arraycopy(rows, index + 1, rows, index, tail);
+            System.arraycopy(columns, index + 1, columns, index, tail);
+            System.arraycopy(values, index + 1, values, index, tail);
+        }
+        values[--size] = null;
+        version++;
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    @Override
+    public boolean contains(final Object rowKey, final Object columnKey) {
+        return indexOf(rowKey, columnKey) >= 0;
+    }
+
+    @Override
+    public boolean containsRow(final Object rowKey) {
+        if (!(rowKey instanceof Long)) {
+            return false;
+        }
+        final long row = (Long) rowKey;
+        for (int i = 0; i < size; i++) {
+            if (rows[i] == row) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    @Override
+    public boolean containsColumn(final Object columnKey) {
+        if (!(columnKey instanceof Long)) {
+            return false;
+        }
+        final long column = (Long) columnKey;
+        for (int i = 0; i < size; i++) {
+            if (columns[i] == column) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    @Override
+    public boolean containsValue(final Object value) {
+        for (int i = 0; i < size; i++) {
+            if (values[i].equals(value)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    @Override
+    public V get(final Object rowKey, final Object columnKey) {
+        final int index = indexOf(rowKey, columnKey);
+        return index < 0 ? null : valueAt(index);
+    }
+
+    @Override
+    public V put(final Long rowKey, final Long columnKey, final V value) {
+        Objects.requireNonNull(rowKey);
+        Objects.requireNonNull(columnKey);
+        Objects.requireNonNull(value);
+        if (rows == null) {
+            rows = new long[INITIAL_CAPACITY];
+            columns = new long[INITIAL_CAPACITY];
+            values = new Object[INITIAL_CAPACITY];
+        }
+        int index = indexOf((long) rowKey, (long) columnKey);
+        version++;
+        if (index >= 0) {
+            final V old = valueAt(index);
+            values[index] = value;
+            return old;
+        }
+        index = -(index + 1);
+        if (size == rows.length) {
+            final int capacity = size * 2;
+            rows = Arrays.copyOf(rows, capacity);
+            columns = Arrays.copyOf(columns, capacity);
+            values = Arrays.copyOf(values, capacity);
+        }
+        final int tail = size - index;
+        if (tail > 0) {
+            System.arraycopy(rows, index, rows, index + 1, tail);
+            System.arraycopy(columns, index, columns, index + 1, tail);
+            System.arraycopy(values, index, values, index + 1, tail);
+        }
+        rows[index] = rowKey;
+        columns[index] = columnKey;
+        values[index] = value;
+        size++;
+        return null;
+    }
+
+    @Override
+    public void putAll(final Table<? extends Long, ? extends Long, ? extends V> table) {
+        for (final Cell<? extends Long, ? extends Long, ? extends V> cell : table.cellSet()) {
+            put(cell.getRowKey(), cell.getColumnKey(), cell.getValue());
+        }
+    }
+
+    @Override
+    public V remove(final Object rowKey, final Object columnKey) {
+        final int index = indexOf(rowKey, columnKey);
+        if (index < 0) {
+            return null;
+        }
+        final V old = valueAt(index);
+        removeAt(index);
+        return old;
+    }
+
+    @Override
+    public void clear() {
+        if (size == 0) {
+            return;
+        }
+        // drop the arrays too, most cards go back to having no changes at all
+        rows = null;
+        columns = null;
+        values = null;
+        size = 0;
+        version++;
+    }
+
+    private boolean removeKey(final boolean byRow, final long key) {
+        boolean changed = false;
+        for (int i = size - 1; i >= 0; i--) {
+            if ((byRow ? rows[i] : columns[i]) == key) {
+                removeAt(i);
+                changed = true;
+            }
+        }
+        return changed;
+    }
+
+    /** Iterates the indices of the cells matching the filter, supports removal. */
+    private abstract class IndexIterator<T> implements Iterator<T> {
+        private int next;
+        private int last = -1;
+        private int expectedVersion = version;
+
+        IndexIterator() {
+            next = advance(0);
+        }
+
+        boolean accept(final int index) {
+            return true;
+        }
+
+        private int advance(int from) {
+            while (from < size && !accept(from)) {
+                from++;
+            }
+            return from;
+        }
+
+        abstract T get(int index);
+
+        @Override
+        public boolean hasNext() {
+            return next < size;
+        }
+
+        @Override
+        public T next() {
+            if (expectedVersion != version) {
+                throw new ConcurrentModificationException();
+            }
+            if (next >= size) {
+                throw new NoSuchElementException();
+            }
+            last = next;
+            next = advance(next + 1);
+            return get(last);
+        }
+
+        @Override
+        public void remove() {
+            if (last < 0) {
+                throw new IllegalStateException();
+            }
+            if (expectedVersion != version) {
+                throw new ConcurrentModificationException();
+            }
+            removeAt(last);
+            next = advance(last);
+            last = -1;
+            expectedVersion = version;
+        }
+    }
+
+    @Override
+    public Set<Cell<Long, Long, V>> cellSet() {
+        return new AbstractSet<Cell<Long, Long, V>>() {
+            @Override
+            public Iterator<Cell<Long, Long, V>> iterator() {
+                return new IndexIterator<Cell<Long, Long, V>>() {
+                    @Override
+                    Cell<Long, Long, V> get(final int index) {
+                        return cellAt(index);
+                    }
+                };
+            }
+
+            @Override
+            public int size() {
+                return size;
+            }
+
+            @Override
+            public boolean contains(final Object o) {
+                if (!(o instanceof Cell<?, ?, ?> cell)) {
+                    return false;
+                }
+                final int index = indexOf(cell.getRowKey(), cell.getColumnKey());
+                return index >= 0 && values[index].equals(cell.getValue());
+            }
+
+            @Override
+            public void clear() {
+                LayerTable.this.clear();
+            }
+        };
+    }
+
+    @Override
+    public Collection<V> values() {
+        return new AbstractCollection<V>() {
+            @Override
+            public Iterator<V> iterator() {
+                return new IndexIterator<V>() {
+                    @Override
+                    V get(final int index) {
+                        return valueAt(index);
+                    }
+                };
+            }
+
+            @Override
+            public int size() {
+                return size;
+            }
+
+            @Override
+            public boolean isEmpty() {
+                return size == 0;
+            }
+
+            @Override
+            public void clear() {
+                LayerTable.this.clear();
+            }
+        };
+    }
+
+    private long[] distinctSorted(final boolean byRow) {
+        final long[] keys = Arrays.copyOf(byRow ? rows : columns, size);
+        if (!byRow) {
+            Arrays.sort(keys);
+        }
+        int distinct = 0;
+        for (int i = 0; i < keys.length; i++) {
+            if (i == 0 || keys[i] != keys[distinct - 1]) {
+                keys[distinct++] = keys[i];
+            }
+        }
+        return Arrays.copyOf(keys, distinct);
+    }
+
+    /** Live view of the row or column keys, in ascending order. */
+    private final class KeySet extends AbstractSet<Long> {
+        private final boolean byRow;
+
+        KeySet(final boolean byRow) {
+            this.byRow = byRow;
+        }
+
+        @Override
+        public Iterator<Long> iterator() {
+            if (size == 0) {
+                return Collections.emptyIterator();
+            }
+            final long[] keys = distinctSorted(byRow);
+            return new Iterator<Long>() {
+                private int next = 0;
+
+                @Override
+                public boolean hasNext() {
+                    return next < keys.length;
+                }
+
+                @Override
+                public Long next() {
+                    if (next >= keys.length) {
+                        throw new NoSuchElementException();
+                    }
+                    return keys[next++];
+                }
+
+                @Override
+                public void remove() {
+                    if (next == 0) {
+                        throw new IllegalStateException();
+                    }
+                    removeKey(byRow, keys[next - 1]);
+                }
+            };
+        }
+
+        @Override
+        public int size() {
+            return size == 0 ? 0 : distinctSorted(byRow).length;
+        }
+
+        @Override
+        public boolean contains(final Object o) {
+            return byRow ? containsRow(o) : containsColumn(o);
+        }
+
+        @Override
+        public boolean remove(final Object o) {
+            return o instanceof Long && removeKey(byRow, (Long) o);
+        }
+
+        @Override
+        public void clear() {
+            LayerTable.this.clear();
+        }
+    }
+
+    @Override
+    public Set<Long> rowKeySet() {
+        return new KeySet(true);
+    }
+
+    @Override
+    public Set<Long> columnKeySet() {
+        return new KeySet(false);
+    }
+
+    /** Live view of one row (keyed by column) or one column (keyed by row). */
+    private final class Slice extends AbstractMap<Long, V> {
+        private final boolean byRow;
+        private final long key;
+
+        Slice(final boolean byRow, final long key) {
+            this.byRow = byRow;
+            this.key = key;
+        }
+
+        private boolean matches(final int index) {
+            return (byRow ? rows[index] : columns[index]) == key;
+        }
+
+        @Override
+        public V get(final Object other) {
+            return byRow ? LayerTable.this.get(key, other) : LayerTable.this.get(other, key);
+        }
+
+        @Override
+        public boolean containsKey(final Object other) {
+            return byRow ? contains(key, other) : contains(other, key);
+        }
+
+        @Override
+        public V put(final Long other, final V value) {
+            return byRow ? LayerTable.this.put(key, other, value) : LayerTable.this.put(other, key, value);
+        }
+
+        @Override
+        public V remove(final Object other) {
+            return byRow ? LayerTable.this.remove(key, other) : LayerTable.this.remove(other, key);
+        }
+
+        @Override
+        public Set<Entry<Long, V>> entrySet() {
+            return new AbstractSet<Entry<Long, V>>() {
+                @Override
+                public Iterator<Entry<Long, V>> iterator() {
+                    return new IndexIterator<Entry<Long, V>>() {
+                        @Override
+                        boolean accept(final int index) {
+                            return matches(index);
+                        }
+
+                        @Override
+                        Entry<Long, V> get(final int index) {
+                            return new SimpleImmutableEntry<>(byRow ? columns[index] : rows[index], valueAt(index));
+                        }
+                    };
+                }
+
+                @Override
+                public int size() {
+                    int count = 0;
+                    for (int i = 0; i < size; i++) {
+                        if (matches(i)) {
+                            count++;
+                        }
+                    }
+                    return count;
+                }
+            };
+        }
+    }
+
+    @Override
+    public Map<Long, V> row(final Long rowKey) {
+        return new Slice(true, rowKey);
+    }
+
+    @Override
+    public Map<Long, V> column(final Long columnKey) {
+        return new Slice(false, columnKey);
+    }
+
+    private Map<Long, Map<Long, V>> sliceMap(final boolean byRow) {
+        return new AbstractMap<Long, Map<Long, V>>() {
+            @Override
+            public Map<Long, V> get(final Object key) {
+                if (!(key instanceof Long) || !(byRow ? containsRow(key) : containsColumn(key))) {
+                    return null;
+                }
+                return new Slice(byRow, (Long) key);
+            }
+
+            @Override
+            public boolean containsKey(final Object key) {
+                return byRow ? containsRow(key) : containsColumn(key);
+            }
+
+            @Override
+            public Map<Long, V> remove(final Object key) {
+                final Map<Long, V> removed = get(key);
+                if (removed == null) {
+                    return null;
+                }
+                final Map<Long, V> copy = new LinkedHashMap<>(removed);
+                removeKey(byRow, (Long) key);
+                return copy;
+            }
+
+            @Override
+            public Set<Entry<Long, Map<Long, V>>> entrySet() {
+                return new AbstractSet<Entry<Long, Map<Long, V>>>() {
+                    @Override
+                    public Iterator<Entry<Long, Map<Long, V>>> iterator() {
+                        final Iterator<Long> keys = new KeySet(byRow).iterator();
+                        return new Iterator<Entry<Long, Map<Long, V>>>() {
+                            @Override
+                            public boolean hasNext() {
+                                return keys.hasNext();
+                            }
+
+                            @Override
+                            public Entry<Long, Map<Long, V>> next() {
+                                final Long key = keys.next();
+                                return new SimpleImmutableEntry<>(key, new Slice(byRow, key));
+                            }
+
+                            @Override
+                            public void remove() {
+                                keys.remove();
+                            }
+                        };
+                    }
+
+                    @Override
+                    public int size() {
+                        return new KeySet(byRow).size();
+                    }
+                };
+            }
+        };
+    }
+
+    @Override
+    public Map<Long, Map<Long, V>> rowMap() {
+        return sliceMap(true);
+    }
+
+    @Override
+    public Map<Long, Map<Long, V>> columnMap() {
+        return sliceMap(false);
+    }
+
+    @Override
+    public boolean equals(final Object obj) {
+        return obj == this || obj instanceof Table<?, ?, ?> other && cellSet().equals(other.cellSet());
+    }
+
+    @Override
+    public int hashCode() {
+        return cellSet().hashCode();
+    }
+
+    @Override
+    public String toString() {
+        return rowMap().toString();
+    }
+}
@@ -73,6 +73,10 @@ public class Combat {
     // List holds creatures who have dealt 1st strike damage to disallow them deal damage on regular basis (unless they have double-strike KW)
     private final Supplier<CardCollection> combatantsThatDealtFirstStrikeDamage = Suppliers.memoize(CardCollection::new);
 
+    // bumped whenever attackers or blockers change, the AI keeps its predictions for a combat only as long as they stay the same
+    private int attackerChanges;
+    private int blockerChanges;
+
     public Combat(final Player attacker) {
         playerWhoAttacks = attacker;
         legacyOrderCombatants = playerWhoAttacks.getGame().getRules().hasOrderCombatants();
@@ -119,6 +123,7 @@ public class Combat {
     }
 
     public void initConstraints() {
+        attackerChanges++;
         attackableEntries.get().clear();
         // Create keys for all possible attack targets
         attackableEntries.get().addAll(CombatUtil.getAllPossibleDefenders(playerWhoAttacks));
@@ -149,6 +154,8 @@ public class Combat {
     }
 
     public void endCombat() {
+        attackerChanges++;
+        blockerChanges++;
         //backup attackers and blockers
         CardCollection attackers = getAttackers();
         CardCollection blockers = getAllBlockers();
@@ -184,6 +191,13 @@ public class Combat {
         }
     }
 
+    public final int getAttackerChanges() {
+        return attackerChanges;
+    }
+    public final int getBlockerChanges() {
+        return blockerChanges;
+    }
+
     public final Player getAttackingPlayer() {
         return playerWhoAttacks;
     }
@@ -271,6 +285,7 @@ public class Combat {
         } else {
             band.addAttacker(c);
         }
+        attackerChanges++;
         c.updateAttackingForView();
     }
 
@@ -370,11 +385,13 @@ public class Combat {
     // Some cards in Alpha may UNBLOCK an attacker, so second parameter is not always-true
     public final void setBlocked(final Card attacker, boolean value) {
         getBandOfAttackerNotNull(attacker).setBlocked(value); // called by Curtain of Light, Dazzling Beauty, Trap Runner
+        blockerChanges++;
     }
 
     public final void addBlocker(final Card attacker, final Card blocker) {
         final AttackingBand band = getBandOfAttackerNotNull(attacker);
         blockedBands.get().put(band, blocker);
+        blockerChanges++;
         // If damage is already assigned, add this blocker as a "late entry"
         if (blockersOrderedForDamageAssignment.get().containsKey(attacker)) {
             addBlockerToDamageAssignmentOrder(attacker, blocker);
@@ -389,6 +406,7 @@ public class Combat {
         if (cc != null) {
             cc.remove(blocker);
         }
+        blockerChanges++;
         blocker.updateBlockingForView();
     }
 
@@ -396,6 +414,7 @@ public class Combat {
     public final void undoBlockingAssignment(final Card blocker) {
         CardCollection toRemove = new CardCollection(blocker);
         blockedBands.get().values().removeAll(toRemove);
+        blockerChanges++;
         blocker.updateBlockingForView();
     }
 
@@ -601,6 +620,8 @@ public class Combat {
 
     // remove a combatant whose side is unknown
     public final void removeFromCombat(final Card c) {
+        attackerChanges++;
+        blockerChanges++;
         AttackingBand ab = getBandOfAttacker(c);
         if (ab != null) {
             unregisterAttacker(c, ab);
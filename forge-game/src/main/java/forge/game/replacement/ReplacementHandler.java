@@ -67,40 +67,72 @@ public class ReplacementHandler {
     }
 
     public List<ReplacementEffect> getReplacementList(final ReplacementType event, final Map<AbilityKey, Object> runParams, final ReplacementLayer layer) {
-        final CardCollection preList = new CardCollection();
-        Card affectedLKI = null;
-        Card affectedCard = null;
-
-        if (ReplacementType.Moved.equals(event) && ZoneType.Battlefield.equals(runParams.get(AbilityKey.Destination))) {
-            // if it was caused by an replacement effect, use the already calculated RE list
-            // otherwise the RIOT card would cause a StackError
-            final ReplacementEffect causeRE = (ReplacementEffect) runParams.get(AbilityKey.ReplacementEffect);
-            if (causeRE != null) {
-                // only return for same layer
-                if (ReplacementType.Moved.equals(causeRE.getMode()) && layer.equals(causeRE.getLayer())) {
-                    if (!causeRE.getOtherChoices().isEmpty())
-                        return causeRE.getOtherChoices();
-                }
+        if (!isEnteringBattlefield(event, runParams)) {
+            return filterCandidates(collectCandidates(event, runParams, new CardCollection(), false), runParams, layer);
+        }
+
+        // if it was caused by an replacement effect, use the already calculated RE list
+        // otherwise the RIOT card would cause a StackError
+        final ReplacementEffect causeRE = (ReplacementEffect) runParams.get(AbilityKey.ReplacementEffect);
+        if (causeRE != null) {
+            // only return for same layer
+            if (ReplacementType.Moved.equals(causeRE.getMode()) && layer.equals(causeRE.getLayer())) {
+                if (!causeRE.getOtherChoices().isEmpty())
+                    return causeRE.getOtherChoices();
             }
+        }
 
-            // Rule 614.12 Enter the Battlefield Replacement Effects look at what the card would be on the battlefield
-            affectedCard = (Card) runParams.get(AbilityKey.Affected);
-            affectedLKI = CardCopyService.getLKICopy(affectedCard);
-            affectedLKI.setLastKnownZone(affectedCard.getController().getZone(ZoneType.Battlefield));
+        // Rule 614.12 Enter the Battlefield Replacement Effects look at what the card would be on the battlefield
+        final CardCollection preList = new CardCollection();
+        final Card affectedCard = (Card) runParams.get(AbilityKey.Affected);
+        final Card affectedLKI = CardCopyService.getLKICopy(affectedCard);
+        affectedLKI.setLastKnownZone(affectedCard.getController().getZone(ZoneType.Battlefield));
+
+        // need to apply Counters to check its future state on the battlefield
+        @SuppressWarnings("unchecked")
+        Map<Optional<Player>, Map<CounterType, Integer>> etbCounters = (Map<Optional<Player>, Map<CounterType, Integer>>) runParams.get(AbilityKey.CounterMap);
+        affectedLKI.putEtbCounters(etbCounters);
+        preList.add(affectedLKI);
+        game.getAction().checkStaticAbilities(false, Sets.newHashSet(), preList);
 
-            // need to apply Counters to check its future state on the battlefield
-            @SuppressWarnings("unchecked")
-            Map<Optional<Player>, Map<CounterType, Integer>> etbCounters = (Map<Optional<Player>, Map<CounterType, Integer>>) runParams.get(AbilityKey.CounterMap);
-            affectedLKI.putEtbCounters(etbCounters);
-            preList.add(affectedLKI);
-            game.getAction().checkStaticAbilities(false, Sets.newHashSet(), preList);
+        runParams.put(AbilityKey.Affected, affectedLKI);
 
-            runParams.put(AbilityKey.Affected, affectedLKI);
+        final List<ReplacementEffect> possibleReplacers = filterCandidates(
+                collectCandidates(event, runParams, preList, affectedCard.isInZone(ZoneType.Sideboard)), runParams, layer);
+
+        // need to set the Host Card there so it is not connected to LKI anymore?
+        // need to be done after canReplace check
+        for (final ReplacementEffect re : affectedLKI.getReplacementEffects()) {
+            re.setHostCard(affectedCard);
+        }
+        // need to copy stored keywords from lki into real object to prevent the replacement effect from making new ones
+        affectedCard.setStoredKeywords(affectedLKI.getStoredKeywords(), true);
+        affectedCard.setStoredReplacements(affectedLKI.getStoredReplacements());
+        if (affectedCard.getCastSA() != null && affectedCard.getCastSA().getKeyword() != null) {
+            // need to readd the CastSA Keyword into the Card
+            affectedCard.addKeywordForStaticAbility(affectedCard.getCastSA().getKeyword());
         }
+        runParams.put(AbilityKey.Affected, affectedCard);
+        runParams.put(AbilityKey.NewCard, CardCopyService.getLKICopy(affectedLKI));
 
-        final List<ReplacementEffect> possibleReplacers = Lists.newArrayList();
+        game.getAction().checkStaticAbilities(false);
+
+        return possibleReplacers;
+    }
+
+    private static boolean isEnteringBattlefield(final ReplacementType event, final Map<AbilityKey, Object> runParams) {
+        return ReplacementType.Moved.equals(event) && ZoneType.Battlefield.equals(runParams.get(AbilityKey.Destination));
+    }
+
+    /**
+     * Round up the replacement effects of every card in the game that react to this event, with the zone they're checked in.
+     * The game isn't changed by looking at them, so the result can be reused for every layer of the event
+     * until one of them is applied, and for other events of the same kind that only differ in their parameters.
+     */
+    private List<ReplacementCandidate> collectCandidates(final ReplacementType event, final Map<AbilityKey, Object> runParams,
+            final CardCollection preList, final boolean withSideboard) {
+        final List<ReplacementCandidate> candidates = Lists.newArrayList();
 
-        // Round up Static replacement effects
         game.forEachCardInGame(new Visitor<Card>() {
             @Override
             public boolean visit(Card crd) {
@@ -122,43 +154,49 @@ public class ReplacementHandler {
                 }
 
                 for (final ReplacementEffect replacementEffect : c.getReplacementEffects()) {
-                    if (!replacementEffect.hasRun() && !hasRun.contains(replacementEffect)
-                            && (layer == null || replacementEffect.getLayer() == layer)
-                            && replacementEffect.modeCheck(event, runParams)
-                            && !possibleReplacers.contains(replacementEffect)
-                            && replacementEffect.zonesCheck(cardZone)
-                            && replacementEffect.requirementsCheck(game)
-                            && replacementEffect.canReplace(runParams)) {
-                        possibleReplacers.add(replacementEffect);
+                    if (replacementEffect.modeCheck(event, runParams)) {
+                        candidates.add(new ReplacementCandidate(replacementEffect, cardZone));
                     }
                 }
                 return true;
             }
 
-        }, affectedCard != null && affectedCard.isInZone(ZoneType.Sideboard));
+        }, withSideboard);
 
-        if (affectedLKI != null) {
-            // need to set the Host Card there so it is not connected to LKI anymore?
-            // need to be done after canReplace check
-            for (final ReplacementEffect re : affectedLKI.getReplacementEffects()) {
-                re.setHostCard(affectedCard);
-            }
-            // need to copy stored keywords from lki into real object to prevent the replacement effect from making new ones
-            affectedCard.setStoredKeywords(affectedLKI.getStoredKeywords(), true);
-            affectedCard.setStoredReplacements(affectedLKI.getStoredReplacements());
-            if (affectedCard.getCastSA() != null && affectedCard.getCastSA().getKeyword() != null) {
-                // need to readd the CastSA Keyword into the Card
-                affectedCard.addKeywordForStaticAbility(affectedCard.getCastSA().getKeyword());
-            }
-            runParams.put(AbilityKey.Affected, affectedCard);
-            runParams.put(AbilityKey.NewCard, CardCopyService.getLKICopy(affectedLKI));
+        return candidates;
+    }
 
-            game.getAction().checkStaticAbilities(false);
+    private List<ReplacementEffect> filterCandidates(final List<ReplacementCandidate> candidates, final Map<AbilityKey, Object> runParams, final ReplacementLayer layer) {
+        final List<ReplacementEffect> possibleReplacers = Lists.newArrayList();
+        if (candidates.isEmpty()) {
+            return possibleReplacers;
+        }
+        final Set<ReplacementEffect> added = Sets.newHashSet();
+        for (final ReplacementCandidate candidate : candidates) {
+            final ReplacementEffect replacementEffect = candidate.effect;
+            if (!replacementEffect.hasRun() && !hasRun.contains(replacementEffect)
+                    && (layer == null || replacementEffect.getLayer() == layer)
+                    && !added.contains(replacementEffect)
+                    && replacementEffect.zonesCheck(candidate.zone)
+                    && replacementEffect.requirementsCheck(game)
+                    && replacementEffect.canReplace(runParams)) {
+                possibleReplacers.add(replacementEffect);
+                added.add(replacementEffect);
+            }
         }
-
         return possibleReplacers;
     }
 
+    private static final class ReplacementCandidate {
+        private final ReplacementEffect effect;
+        private final Zone zone;
+
+        private ReplacementCandidate(final ReplacementEffect effect, final Zone zone) {
+            this.effect = effect;
+            this.zone = zone;
+        }
+    }
+
     public boolean cantHappenCheck(final ReplacementType event, final Map<AbilityKey, Object> runParams) {
         return !getReplacementList(event, runParams, ReplacementLayer.CantHappen).isEmpty();
     }
@@ -183,24 +221,33 @@ public class ReplacementHandler {
             decider = ((Card) affected).getController();
         }
 
-        // try out all layer
+        // try out all layer, the cards only need to be looked at again once a replacement was tried
+        List<ReplacementCandidate> candidates = null;
         for (ReplacementLayer layer : ReplacementLayer.values()) {
-            ReplacementResult res = run(event, runParams, layer, decider);
+            final List<ReplacementEffect> possibleReplacers;
+            if (isEnteringBattlefield(event, runParams)) {
+                possibleReplacers = getReplacementList(event, runParams, layer);
+            } else {
+                if (candidates == null) {
+                    candidates = collectCandidates(event, runParams, new CardCollection(), false);
+                }
+                possibleReplacers = filterCandidates(candidates, runParams, layer);
+            }
+            if (possibleReplacers.isEmpty()) {
+                continue;
+            }
+            ReplacementResult res = run(event, runParams, layer, decider, possibleReplacers);
             if (res != ReplacementResult.NotReplaced) {
                 return res;
             }
+            candidates = null;
         }
 
         return ReplacementResult.NotReplaced;
     }
 
-    private ReplacementResult run(final ReplacementType event, final Map<AbilityKey, Object> runParams, final ReplacementLayer layer, final Player decider) {
-        final List<ReplacementEffect> possibleReplacers = getReplacementList(event, runParams, layer);
-
-        if (possibleReplacers.isEmpty()) {
-            return ReplacementResult.NotReplaced;
-        }
-
+    private ReplacementResult run(final ReplacementType event, final Map<AbilityKey, Object> runParams, final ReplacementLayer layer, final Player decider,
+            final List<ReplacementEffect> possibleReplacers) {
         ReplacementEffect chosenRE;
         // "can't" is never a choice
         if (layer == ReplacementLayer.CantHappen) {
@@ -381,6 +428,8 @@ public class ReplacementHandler {
     }
 
     private void getPossibleReplaceDamageList(PlayerCollection players, final boolean isCombat, final CardDamageMap damageMap, final SpellAbility cause) {
+        // nothing is replaced yet, so every damage event sees the same replacement effects
+        List<ReplacementCandidate> candidates = null;
         for (Map.Entry<GameEntity, Map<Card, Integer>> et : damageMap.columnMap().entrySet()) {
             final GameEntity target = et.getKey();
             int playerIndex = target instanceof Player ? players.indexOf(((Player) target)) :
@@ -402,7 +451,10 @@ public class ReplacementHandler {
                         repParams.put(AbilityKey.Cause, cause);
                     }
 
-                    List<ReplacementEffect> reList = getReplacementList(ReplacementType.DamageDone, repParams, ReplacementLayer.Other);
+                    if (candidates == null) {
+                        candidates = collectCandidates(ReplacementType.DamageDone, repParams, new CardCollection(), false);
+                    }
+                    List<ReplacementEffect> reList = filterCandidates(candidates, repParams, ReplacementLayer.Other);
                     for (ReplacementEffect re : reList) {
                         if (!replaceCandidateMap.containsKey(re)) {
                             replaceCandidateMap.put(re, new ArrayList<>());
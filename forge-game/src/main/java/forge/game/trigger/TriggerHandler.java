@@ -46,7 +46,9 @@ import io.sentry.Sentry;
 public class TriggerHandler {
     private final Set<TriggerType> suppressedModes = Collections.synchronizedSet(EnumSet.noneOf(TriggerType.class));
     private boolean allSuppressed = false;
-    private final List<Trigger> activeTriggers = Collections.synchronizedList(new ArrayList<>());
+    // bucketed by mode, so an event only looks at the triggers that can react to it
+    private final Map<TriggerType, List<Trigger>> activeTriggers = new EnumMap<>(TriggerType.class);
+    private final Set<Integer> activeTriggerIds = new HashSet<>();
 
     private final List<Trigger> delayedTriggers = Collections.synchronizedList(new ArrayList<>());
     private final List<Trigger> thisTurnDelayedTriggers = Collections.synchronizedList(new ArrayList<>());
@@ -191,12 +193,13 @@ public class TriggerHandler {
 
     private void buildActiveTrigger() {
         activeTriggers.clear();
+        activeTriggerIds.clear();
         game.forEachCardInGame(new Visitor<Card>() {
             @Override
             public boolean visit(Card c) {
                 for (final Trigger t : c.getTriggers()) {
                     if (isTriggerActive(t)) {
-                        activeTriggers.add(t);
+                        addActiveTrigger(t);
                     }
                 }
                 return true;
@@ -204,6 +207,16 @@ public class TriggerHandler {
         });
     }
 
+    private void addActiveTrigger(final Trigger t) {
+        activeTriggers.computeIfAbsent(t.getMode(), k -> new ArrayList<>()).add(t);
+        activeTriggerIds.add(t.getId());
+    }
+
+    private List<Trigger> getActiveTriggers(final TriggerType mode) {
+        final List<Trigger> triggers = activeTriggers.get(mode);
+        return triggers == null ? Collections.emptyList() : triggers;
+    }
+
     public final void resetActiveTriggers() {
         resetActiveTriggers(true);
     }
@@ -215,17 +228,19 @@ public class TriggerHandler {
     }
 
     public final void clearActiveTriggers(final Card c, Zone zoneFrom) {
-        final List<Trigger> toBeRemoved = Lists.newArrayList();
-
-        for (Trigger t : activeTriggers) {
-            // Clear if no ZoneFrom, or not coming from the TriggerZone
-            if (c.getId() == t.getHostCard().getId()) {
-                if (!c.getTriggers().contains(t) || !t.zonesCheck(zoneFrom))
-                    toBeRemoved.add(t);
+        for (final List<Trigger> triggers : activeTriggers.values()) {
+            final Iterator<Trigger> it = triggers.iterator();
+            while (it.hasNext()) {
+                final Trigger t = it.next();
+                // Clear if no ZoneFrom, or not coming from the TriggerZone
+                if (c.getId() == t.getHostCard().getId()) {
+                    if (!c.getTriggers().contains(t) || !t.zonesCheck(zoneFrom)) {
+                        it.remove();
+                        activeTriggerIds.remove(t.getId());
+                    }
+                }
             }
         }
-
-        activeTriggers.removeAll(toBeRemoved);
     }
 
     public final void registerActiveTrigger(final Card c, final boolean onlyExtrinsic) {
@@ -251,7 +266,7 @@ public class TriggerHandler {
 
     public final boolean registerOneTrigger(final Trigger t) {
         if (isTriggerActive(t)) {
-            activeTriggers.add(t);
+            addActiveTrigger(t);
             return true;
         }
         return false;
@@ -272,7 +287,7 @@ public class TriggerHandler {
     }
 
     private void runStateTrigger(final Map<AbilityKey, Object> runParams) {
-        for (final Trigger t: Lists.newArrayList(activeTriggers)) {
+        for (final Trigger t: Lists.newArrayList(getActiveTriggers(TriggerType.Always))) {
             if (canRunTrigger(t, TriggerType.Always, runParams)) {
                 runSingleTrigger(t, runParams);
             }
@@ -310,7 +325,7 @@ public class TriggerHandler {
         boolean checkStatics = false;
 
         // Static triggers
-        for (final Trigger t : Lists.newArrayList(activeTriggers)) {
+        for (final Trigger t : Lists.newArrayList(getActiveTriggers(mode))) {
             if (t.isStatic() && canRunTrigger(t, mode, runParams)) {
                 int x = 1 + StaticAbilityPanharmonicon.handlePanharmonicon(game, t, runParams);
 
@@ -353,7 +368,7 @@ public class TriggerHandler {
         final TriggerType mode = wt.getMode();
         final Map<AbilityKey, Object> runParams = wt.getParams();
         final boolean wasCollected = wt.getTriggers() != null;
-        final Iterable<Trigger> triggers = wasCollected ? wt.getTriggers() : activeTriggers;
+        final Iterable<Trigger> triggers = wasCollected ? wt.getTriggers() : getActiveTriggers(mode);
 
         boolean checkStatics = false;
 
@@ -400,14 +415,8 @@ public class TriggerHandler {
             return false; // Host card isn't where it needs to be.
         }
 
-        for (Trigger t : this.activeTriggers) {
-            // If an ID that matches this ID is already active, don't add it
-            if (regtrig.getId() == t.getId()) {
-                return false;
-            }
-        }
-
-        return true;
+        // If an ID that matches this ID is already active, don't add it
+        return !activeTriggerIds.contains(regtrig.getId());
     }
 
     private boolean canRunTrigger(final Trigger regtrig, final TriggerType mode, final Map<AbilityKey, Object> runParams) {
@@ -618,7 +627,7 @@ public class TriggerHandler {
 
     public List<Trigger> getActiveTrigger(final TriggerType mode, final Map<AbilityKey, Object> runParams) {
         List<Trigger> trigger = Lists.newArrayList();
-        for (final Trigger t : activeTriggers) {
+        for (final Trigger t : getActiveTriggers(mode)) {
             if (canRunTrigger(t, mode, runParams)) {
                 trigger.add(t);
             }
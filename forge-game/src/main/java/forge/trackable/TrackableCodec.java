@@ -0,0 +1,106 @@
+package forge.trackable;
+
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.lang.ref.WeakReference;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Primitives of the compact form trackable objects write their properties in when serialized.
+ * <p>
+ * Numbers are written as varints and each string is only written the first time it appears in a stream,
+ * later occurrences refer to it by index, so the names and texts repeated across cards cost a few bytes.
+ */
+final class TrackableCodec {
+    // string tables of the stream currently written or read by this thread
+    private static final ThreadLocal<StringTable> writeTables = new ThreadLocal<>();
+    private static final ThreadLocal<StringTable> readTables = new ThreadLocal<>();
+
+    private TrackableCodec() {
+    }
+
+    static void writeVarInt(final ObjectOutputStream out, int value) throws IOException {
+        while ((value & ~0x7F) != 0) {
+            out.writeByte((value & 0x7F) | 0x80);
+            value >>>= 7;
+        }
+        out.writeByte(value);
+    }
+
+    static int readVarInt(final ObjectInputStream in) throws IOException {
+        int value = 0;
+        for (int shift = 0; shift < 32; shift += 7) {
+            final int b = in.readUnsignedByte();
+            value |= (b & 0x7F) << shift;
+            if ((b & 0x80) == 0) {
+                return value;
+            }
+        }
+        throw new IOException("Malformed varint");
+    }
+
+    // zigzag encoding keeps small negative numbers short
+    static void writeSignedVarInt(final ObjectOutputStream out, final int value) throws IOException {
+        writeVarInt(out, (value << 1) ^ (value >> 31));
+    }
+
+    static int readSignedVarInt(final ObjectInputStream in) throws IOException {
+        final int value = readVarInt(in);
+        return (value >>> 1) ^ -(value & 1);
+    }
+
+    static void writeString(final ObjectOutputStream out, final String value) throws IOException {
+        final StringTable table = tableFor(writeTables, out);
+        final Integer index = table.indexes.get(value);
+        if (index != null) {
+            writeVarInt(out, index + 1);
+            return;
+        }
+        table.indexes.put(value, table.indexes.size());
+        final byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        writeVarInt(out, 0);
+        writeVarInt(out, bytes.length);
+        out.write(bytes);
+    }
+
+    static String readString(final ObjectInputStream in) throws IOException {
+        final StringTable table = tableFor(readTables, in);
+        final int index = readVarInt(in);
+        if (index > 0) {
+            if (index > table.strings.size()) {
+                throw new IOException("Unknown string reference " + index);
+            }
+            return table.strings.get(index - 1);
+        }
+        final byte[] bytes = new byte[readVarInt(in)];
+        in.readFully(bytes);
+        final String value = new String(bytes, StandardCharsets.UTF_8);
+        table.strings.add(value);
+        return value;
+    }
+
+    private static StringTable tableFor(final ThreadLocal<StringTable> tables, final Object stream) {
+        StringTable table = tables.get();
+        if (table == null || table.stream.get() != stream) {
+            table = new StringTable(stream);
+            tables.set(table);
+        }
+        return table;
+    }
+
+    private static final class StringTable {
+        // weak so the last stream and everything it references can be collected
+        private final WeakReference<Object> stream;
+        private final Map<String, Integer> indexes = new HashMap<>();
+        private final List<String> strings = new ArrayList<>();
+
+        private StringTable(final Object stream0) {
+            stream = new WeakReference<>(stream0);
+        }
+    }
+}
@@ -0,0 +1,388 @@
+package forge.trackable;
+
+import java.io.IOException;
+import java.io.ObjectOutputStream;
+import java.io.Serializable;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.EnumMap;
+import java.util.EnumSet;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+import forge.game.card.CardView.CardStateView;
+import forge.util.collect.FCollection;
+
+/**
+ * The properties of a graph of trackable objects that changed since the last time it was synced,
+ * sent instead of the whole graph to keep network updates small.
+ * <p>
+ * The delta holds every object with changed properties. While it is serialized, each trackable object
+ * only writes the properties recorded for it in the delta, any other object it references goes on the wire
+ * as an empty stub identified by its class and id. The {@link Reader} on the other side copies the received
+ * properties onto its own instances and replaces the stubs with them.
+ * <p>
+ * The {@link Writer} has to send the full graph first and after each {@link Writer#needsFullSync} so the
+ * receiver has every object the deltas refer to.
+ */
+public final class TrackableDelta implements Serializable {
+    private static final long serialVersionUID = -2894312604453279036L;
+
+    private static final ThreadLocal<TrackableDelta> beingWritten = new ThreadLocal<>();
+
+    private final TrackableObject root;
+    private final List<TrackableObject> objects = new ArrayList<>();
+    // objects sent with all their properties, anything else the receiver has for them was removed
+    private final BitSet complete = new BitSet();
+    // trackable objects compare by id, the same object may come in different instances
+    private final transient Map<TrackableObject, Changes> changes = new IdentityHashMap<>();
+
+    private TrackableDelta(final TrackableObject root0) {
+        root = root0;
+    }
+
+    private Changes add(final TrackableObject obj, final Set<TrackableProperty> props) {
+        Changes c = changes.get(obj);
+        if (c == null) {
+            if (props.isEmpty()) {
+                return null;
+            }
+            c = new Changes(objects.size());
+            changes.put(obj, c);
+            objects.add(obj);
+        }
+        c.add(obj, props);
+        return c;
+    }
+
+    private void addComplete(final TrackableObject obj) {
+        final Changes c = add(obj, obj.getPropMap().keySet());
+        if (c != null) {
+            complete.set(c.index);
+        }
+    }
+
+    public int size() {
+        return objects.size();
+    }
+
+    static Changes getChangesBeingWritten(final TrackableObject obj) {
+        final TrackableDelta delta = beingWritten.get();
+        if (delta == null) {
+            return null;
+        }
+        final Changes result = delta.changes.get(obj);
+        return result != null ? result : new Changes(-1);
+    }
+
+    private void writeObject(final ObjectOutputStream out) throws IOException {
+        beingWritten.set(this);
+        try {
+            out.defaultWriteObject();
+        } finally {
+            beingWritten.remove();
+        }
+    }
+
+    // property values of one object as they were when the delta was made
+    static final class Changes {
+        private final int index;
+        final EnumMap<TrackableProperty, Object> values = new EnumMap<>(TrackableProperty.class);
+        final EnumSet<TrackableProperty> props = EnumSet.noneOf(TrackableProperty.class);
+
+        private Changes(final int index0) {
+            index = index0;
+        }
+
+        private void add(final TrackableObject obj, final Set<TrackableProperty> changed) {
+            for (final TrackableProperty prop : changed) {
+                props.add(prop);
+                final Object value = obj.getPropMap().get(prop);
+                if (value instanceof TrackableCollection) {
+                    // collections are updated in place, don't let later changes leak into this delta
+                    values.put(prop, new TrackableCollection<>((TrackableCollection<?>) value));
+                } else if (value != null) {
+                    values.put(prop, value);
+                }
+            }
+        }
+    }
+
+    private static void addReferences(final Object value, final Deque<TrackableObject> queue) {
+        if (value instanceof TrackableObject) {
+            queue.add((TrackableObject) value);
+        } else if (value instanceof Map) {
+            for (final Map.Entry<?, ?> e : ((Map<?, ?>) value).entrySet()) {
+                addReferences(e.getKey(), queue);
+                addReferences(e.getValue(), queue);
+            }
+        } else if (value instanceof Collection) {
+            for (final Object item : (Collection<?>) value) {
+                addReferences(item, queue);
+            }
+        }
+    }
+
+    private static Set<TrackableObject> newIdentitySet() {
+        return Collections.newSetFromMap(new IdentityHashMap<>());
+    }
+
+    /**
+     * Server side of a sync, remembers which objects the receiver knows and the change stamp it was last synced to.
+     */
+    public static final class Writer {
+        private final int fullSyncInterval;
+        // change stamp each object the receiver knows was last synced to
+        private final Map<TrackableObject, Integer> known = new IdentityHashMap<>();
+        private TrackableObject root;
+        // the tracker this writer has asked to stamp changes, until it stops
+        private Tracker recording;
+        private int deltasSinceFullSync;
+
+        /**
+         * @param fullSyncInterval0 number of deltas after which the full graph is sent again,
+         * so the receiver recovers from anything a delta could not express
+         */
+        public Writer(final int fullSyncInterval0) {
+            fullSyncInterval = fullSyncInterval0;
+        }
+
+        public boolean needsFullSync(final TrackableObject root0) {
+            return root0 != root || root == null || root.getTracker() == null || deltasSinceFullSync >= fullSyncInterval;
+        }
+
+        /**
+         * Call when the full graph of the given root is sent, later deltas are relative to it.
+         * A null root stops the sync, like {@link #stop()}.
+         */
+        public void reset(final TrackableObject root0) {
+            root = root0;
+            known.clear();
+            deltasSinceFullSync = 0;
+            final Tracker tracker = root == null ? null : root.getTracker();
+            if (tracker != recording) {
+                if (recording != null) {
+                    recording.stopRecordingChanges();
+                }
+                if (tracker != null) {
+                    tracker.startRecordingChanges();
+                }
+                recording = tracker;
+            }
+            if (tracker == null) {
+                return;
+            }
+            final Integer stamp = tracker.getChangeStamp();
+
+            final Deque<TrackableObject> queue = new ArrayDeque<>();
+            queue.add(root);
+            while (!queue.isEmpty()) {
+                final TrackableObject obj = queue.poll();
+                if (known.put(obj, stamp) == null) {
+                    for (final Object value : obj.getPropMap().values()) {
+                        addReferences(value, queue);
+                    }
+                }
+            }
+        }
+
+        /**
+         * Ends the sync, the tracker no longer stamps changes for this writer. The next update has to be a full one.
+         */
+        public void stop() {
+            reset(null);
+        }
+
+        /**
+         * @return the changes since the last sync, or null if nothing changed
+         */
+        public TrackableDelta next() {
+            final Integer stamp = root.getTracker().getChangeStamp();
+            final TrackableDelta delta = new TrackableDelta(root);
+            final Set<TrackableObject> visited = newIdentitySet();
+            final Deque<TrackableObject> queue = new ArrayDeque<>();
+            queue.add(root);
+            while (!queue.isEmpty()) {
+                final TrackableObject obj = queue.poll();
+                if (!visited.add(obj)) {
+                    continue;
+                }
+                // objects that were out of reach keep their own stamp, so what changed meanwhile is sent now
+                final Integer lastStamp = known.put(obj, stamp);
+                if (lastStamp == null) {
+                    // first time the receiver sees this instance, send all of it
+                    delta.addComplete(obj);
+                    if (obj instanceof CardStateView) {
+                        // a new state keeps a reference to its card, which has to arrive complete as well
+                        delta.addComplete(((CardStateView) obj).getCard());
+                    }
+                } else {
+                    delta.add(obj, obj.getPropsChangedSince(lastStamp));
+                }
+                for (final Object value : obj.getPropMap().values()) {
+                    addReferences(value, queue);
+                }
+            }
+            if (delta.objects.isEmpty()) {
+                return null;
+            }
+            deltasSinceFullSync++;
+            return delta;
+        }
+    }
+
+    /**
+     * Receiving side of a sync, applies deltas to the graph the last full sync was merged into.
+     */
+    public static final class Reader {
+        private final Map<Key, List<TrackableObject>> index = new HashMap<>();
+
+        /**
+         * Call after the full graph was received, later deltas are applied to the objects reachable from the given root.
+         */
+        public void reset(final TrackableObject root) {
+            index.clear();
+            if (root == null) {
+                return;
+            }
+            final Set<TrackableObject> visited = newIdentitySet();
+            final Deque<TrackableObject> queue = new ArrayDeque<>();
+            queue.add(root);
+            while (!queue.isEmpty()) {
+                final TrackableObject obj = queue.poll();
+                if (visited.add(obj)) {
+                    register(obj);
+                    for (final Object value : obj.getPropMap().values()) {
+                        addReferences(value, queue);
+                    }
+                }
+            }
+        }
+
+        public void apply(final TrackableDelta delta, final TrackableObject root) {
+            // the receiver may have created its own root, so don't rely on the ids matching
+            register(new Key(delta.root), root);
+
+            for (final TrackableObject obj : delta.objects) {
+                if (!index.containsKey(new Key(obj))) {
+                    obj.setTracker(root.getTracker());
+                    register(obj);
+                }
+            }
+            for (int i = 0; i < delta.objects.size(); i++) {
+                final TrackableObject obj = delta.objects.get(i);
+                // the same object may have been merged into more than one instance, keep all of them current
+                final List<TrackableObject> targets = index.get(new Key(obj));
+                final Set<TrackableProperty> props = EnumSet.copyOf(obj.getChangedProps());
+                if (delta.complete.get(i)) {
+                    for (final TrackableObject target : targets) {
+                        final Set<TrackableProperty> removed = EnumSet.noneOf(TrackableProperty.class);
+                        removed.addAll(target.getPropMap().keySet());
+                        removed.removeAll(props);
+                        for (final TrackableProperty prop : removed) {
+                            target.set(prop, null);
+                        }
+                    }
+                }
+                for (final TrackableProperty prop : props) {
+                    final Object value = resolve(obj.getPropMap().get(prop));
+                    for (final TrackableObject target : targets) {
+                        target.set(prop, value);
+                    }
+                }
+            }
+        }
+
+        private void register(final TrackableObject obj) {
+            register(new Key(obj), obj);
+        }
+
+        private void register(final Key key, final TrackableObject obj) {
+            final List<TrackableObject> instances = index.computeIfAbsent(key, k -> new ArrayList<>(1));
+            for (final TrackableObject instance : instances) {
+                if (instance == obj) {
+                    return;
+                }
+            }
+            instances.add(obj);
+        }
+
+        private TrackableObject lookup(final TrackableObject stub) {
+            final List<TrackableObject> instances = index.get(new Key(stub));
+            if (instances == null || instances.isEmpty()) {
+                // not expected, keep it so at least later references resolve to the same instance
+                register(stub);
+                return stub;
+            }
+            return instances.get(0);
+        }
+
+        @SuppressWarnings({ "unchecked", "rawtypes" })
+        private Object resolve(final Object value) {
+            if (value instanceof TrackableObject) {
+                return lookup((TrackableObject) value);
+            }
+            if (!containsReferences(value)) {
+                return value;
+            }
+            if (value instanceof Map) {
+                final Map result = value instanceof ConcurrentMap ? new ConcurrentHashMap<>() : new LinkedHashMap<>();
+                for (final Map.Entry<?, ?> e : ((Map<?, ?>) value).entrySet()) {
+                    result.put(resolve(e.getKey()), resolve(e.getValue()));
+                }
+                return result;
+            }
+            final Collection result;
+            if (value instanceof TrackableCollection) {
+                result = new TrackableCollection<>();
+            } else if (value instanceof FCollection) {
+                result = new FCollection<>();
+            } else if (value instanceof Set) {
+                result = new LinkedHashSet<>();
+            } else {
+                result = new ArrayList<>();
+            }
+            for (final Object item : (Collection<?>) value) {
+                result.add(resolve(item));
+            }
+            return result;
+        }
+
+        private static boolean containsReferences(final Object value) {
+            if (value instanceof TrackableObject) {
+                return true;
+            }
+            if (value instanceof Map) {
+                for (final Map.Entry<?, ?> e : ((Map<?, ?>) value).entrySet()) {
+                    if (containsReferences(e.getKey()) || containsReferences(e.getValue())) {
+                        return true;
+                    }
+                }
+            } else if (value instanceof Collection) {
+                for (final Object item : (Collection<?>) value) {
+                    if (containsReferences(item)) {
+                        return true;
+                    }
+                }
+            }
+            return false;
+        }
+    }
+
+    private record Key(Class<?> type, int id) {
+        Key(final TrackableObject obj) {
+            this(obj.getClass(), obj.getId());
+        }
+    }
+}
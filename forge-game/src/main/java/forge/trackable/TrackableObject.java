@@ -1,6 +1,10 @@
 package forge.trackable;
 
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
 import java.io.Serializable;
+import java.util.Collection;
 import java.util.EnumMap;
 import java.util.EnumSet;
 import java.util.Map;
@@ -12,12 +16,16 @@ import forge.game.IIdentifiable;
 //base class for objects that can be tracked and synced between game server and GUI
 public abstract class TrackableObject implements IIdentifiable, Serializable {
     private static final long serialVersionUID = 7386836745378571056L;
+    private static final TrackableProperty[] PROPERTIES = TrackableProperty.values();
 
     private final int id;
     protected transient Tracker tracker;
-    private final Map<TrackableProperty, Object> props;
-    private final Set<TrackableProperty> changedProps;
+    // written in compact form by writeObject
+    private transient Map<TrackableProperty, Object> props;
+    private transient Set<TrackableProperty> changedProps;
     private boolean copyingProps;
+    // tracker change stamp of the last change of each property, only allocated while the tracker records changes
+    private transient int[] changeStamps;
 
     protected TrackableObject(final int id0, final Tracker tracker) {
         id = id0;
@@ -80,13 +88,56 @@ public abstract class TrackableObject implements IIdentifiable, Serializable {
         if (value == null || value.equals(key.getDefaultValue())) {
             if (props.remove(key) != null) {
                 changedProps.add(key);
+                stampChange(key);
                 key.updateObjLookup(tracker, value);
             }
         }
-        else if (!value.equals(props.put(key, value))) {
-            changedProps.add(key);
-            key.updateObjLookup(tracker, value);
+        else {
+            final Object oldValue = props.put(key, value);
+            if (!value.equals(oldValue)) {
+                changedProps.add(key);
+                stampChange(key);
+                key.updateObjLookup(tracker, value);
+            }
+            else if (oldValue == value && (value instanceof Collection || value instanceof Map)) {
+                //same container set again, its content may have changed in place
+                stampChange(key);
+            }
+        }
+    }
+
+    private void stampChange(final TrackableProperty key) {
+        if (tracker == null || !tracker.isRecordingChanges()) {
+            return;
+        }
+        if (changeStamps == null) {
+            changeStamps = new int[PROPERTIES.length];
+        }
+        changeStamps[key.ordinal()] = tracker.nextChangeStamp();
+    }
+
+    /**
+     * @return the properties set or removed after the given tracker change stamp
+     */
+    final Set<TrackableProperty> getPropsChangedSince(final int stamp) {
+        final Set<TrackableProperty> result = EnumSet.noneOf(TrackableProperty.class);
+        if (changeStamps == null) {
+            return result;
+        }
+        for (int i = 0; i < changeStamps.length; i++) {
+            if (changeStamps[i] > stamp) {
+                result.add(PROPERTIES[i]);
+            }
         }
+        return result;
+    }
+
+    final Map<TrackableProperty, Object> getPropMap() {
+        return props;
+    }
+
+    final Set<TrackableProperty> getChangedProps() {
+        return changedProps;
     }
 
     public final void updateObjLookup() {
@@ -110,9 +161,78 @@ public abstract class TrackableObject implements IIdentifiable, Serializable {
     //use when updating collection type properties with using set
     protected final void flagAsChanged(final TrackableProperty key) {
         changedProps.add(key);
+        stampChange(key);
         key.updateObjLookup(tracker, props.get(key));
     }
 
+    // while a TrackableDelta is written only its properties of this object go on the wire
+    private void writeObject(final ObjectOutputStream out) throws IOException {
+        out.defaultWriteObject();
+        final TrackableDelta.Changes changes = TrackableDelta.getChangesBeingWritten(this);
+        if (changes == null) {
+            writeProps(out, props, changedProps);
+        } else {
+            writeProps(out, changes.values, changes.props);
+        }
+    }
+
+    // each property is written as its ordinal followed by the value, flags in the low bits
+    // tell whether it is changed and whether its type wrote the value in compact form
+    private static void writeProps(final ObjectOutputStream out, final Map<TrackableProperty, Object> values, final Set<TrackableProperty> changed) throws IOException {
+        // the game goes on while its views are sent, so the counts are taken from what is actually written
+        final Map<TrackableProperty, Object> written = new EnumMap<>(TrackableProperty.class);
+        for (final Entry<TrackableProperty, Object> e : values.entrySet()) {
+            written.put(e.getKey(), e.getValue());
+        }
+        final Set<TrackableProperty> changedNow = EnumSet.noneOf(TrackableProperty.class);
+        changedNow.addAll(changed);
+
+        TrackableCodec.writeVarInt(out, written.size());
+        for (final Entry<TrackableProperty, Object> e : written.entrySet()) {
+            final TrackableProperty key = e.getKey();
+            final Object value = e.getValue();
+            final boolean compact = key.hasCompactForm(value);
+            TrackableCodec.writeVarInt(out, key.ordinal() << 2 | (changedNow.contains(key) ? 2 : 0) | (compact ? 1 : 0));
+            if (compact) {
+                key.writeCompact(out, value);
+            } else {
+                out.writeObject(value);
+            }
+        }
+        // changed properties without a value were removed
+        changedNow.removeAll(written.keySet());
+        TrackableCodec.writeVarInt(out, changedNow.size());
+        for (final TrackableProperty key : changedNow) {
+            TrackableCodec.writeVarInt(out, key.ordinal());
+        }
+    }
+
+    private void readObject(final ObjectInputStream in) throws IOException, ClassNotFoundException {
+        in.defaultReadObject();
+        props = new EnumMap<>(TrackableProperty.class);
+        changedProps = EnumSet.noneOf(TrackableProperty.class);
+        final int count = TrackableCodec.readVarInt(in);
+        for (int i = 0; i < count; i++) {
+            final int header = TrackableCodec.readVarInt(in);
+            final TrackableProperty key = readProperty(header >>> 2);
+            props.put(key, (header & 1) != 0 ? key.readCompact(in) : in.readObject());
+            if ((header & 2) != 0) {
+                changedProps.add(key);
+            }
+        }
+        final int removed = TrackableCodec.readVarInt(in);
+        for (int i = 0; i < removed; i++) {
+            changedProps.add(readProperty(TrackableCodec.readVarInt(in)));
+        }
+    }
+
+    private static TrackableProperty readProperty(final int ordinal) throws IOException {
+        if (ordinal >= PROPERTIES.length) {
+            throw new IOException("Unknown trackable property " + ordinal);
+        }
+        return PROPERTIES[ordinal];
+    }
+
     public final void serialize(final TrackableSerializer ts) {
         ts.write(changedProps.size());
         for (TrackableProperty key : changedProps) {
@@ -1,5 +1,8 @@
 package forge.trackable;
 
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
 
 import forge.card.CardRarity;
 import forge.card.GamePieceType;
@@ -353,6 +356,19 @@ public enum TrackableProperty {
         ((TrackableType<T>) type).serialize(ts, value);
     }
 
+    boolean hasCompactForm(Object value) {
+        return type.hasCompactForm(value);
+    }
+
+    @SuppressWarnings("unchecked")
+    <T> void writeCompact(ObjectOutputStream out, T value) throws IOException {
+        ((TrackableType<T>) type).writeCompact(out, value);
+    }
+
+    Object readCompact(ObjectInputStream in) throws IOException, ClassNotFoundException {
+        return type.readCompact(in);
+    }
+
     //cache array of all properties to allow quick lookup by ordinal,
     //which reduces the size and improves performance of serialization
     //we don't need to worry about the values changing since we will ensure
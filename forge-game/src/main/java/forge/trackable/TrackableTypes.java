@@ -1,5 +1,8 @@
 package forge.trackable;
 
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
 import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
@@ -36,6 +39,19 @@ public class TrackableTypes {
         protected abstract T getDefaultValue();
         protected abstract T deserialize(TrackableDeserializer td, T oldValue);
         protected abstract void serialize(TrackableSerializer ts, T value);
+
+        //compact form used when sending values over the network,
+        //types without one write their values as serialized objects, like before there was a compact form
+        protected boolean hasCompactForm(Object value) {
+            return false;
+        }
+        protected void writeCompact(ObjectOutputStream out, T value) throws IOException {
+            out.writeObject(value);
+        }
+        @SuppressWarnings("unchecked")
+        protected T readCompact(ObjectInputStream in) throws IOException, ClassNotFoundException {
+            return (T) in.readObject();
+        }
     }
 
     public static abstract class TrackableObjectType<T extends TrackableObject> extends TrackableType<T> {
@@ -128,6 +144,32 @@ public class TrackableTypes {
             }
             to.set(prop, newCollection);
         }
+
+        @Override
+        protected boolean hasCompactForm(Object value) {
+            return value instanceof TrackableCollection;
+        }
+
+        @Override
+        protected void writeCompact(ObjectOutputStream out, TrackableCollection<T> value) throws IOException {
+            // copied first, the game may change the collection while it is sent
+            Object[] items = value.toArray();
+            TrackableCodec.writeVarInt(out, items.length);
+            for (Object item : items) {
+                out.writeObject(item);
+            }
+        }
+
+        @Override
+        @SuppressWarnings("unchecked")
+        protected TrackableCollection<T> readCompact(ObjectInputStream in) throws IOException, ClassNotFoundException {
+            int size = TrackableCodec.readVarInt(in);
+            TrackableCollection<T> collection = new TrackableCollection<>();
+            for (int i = 0; i < size; i++) {
+                collection.add((T) in.readObject());
+            }
+            return collection;
+        }
     }
 
     public static final TrackableType<Boolean> BooleanType = new TrackableType<Boolean>() {
@@ -145,6 +187,21 @@ public class TrackableTypes {
         public void serialize(TrackableSerializer ts, Boolean value) {
             ts.write(value);
         }
+
+        @Override
+        protected boolean hasCompactForm(Object value) {
+            return value instanceof Boolean;
+        }
+
+        @Override
+        protected void writeCompact(ObjectOutputStream out, Boolean value) throws IOException {
+            out.writeBoolean(value);
+        }
+
+        @Override
+        protected Boolean readCompact(ObjectInputStream in) throws IOException {
+            return in.readBoolean();
+        }
     };
     public static final TrackableType<Integer> IntegerType = new TrackableType<Integer>() {
         @Override
@@ -161,6 +218,21 @@ public class TrackableTypes {
         public void serialize(TrackableSerializer ts, Integer value) {
             ts.write(value);
         }
+
+        @Override
+        protected boolean hasCompactForm(Object value) {
+            return value instanceof Integer;
+        }
+
+        @Override
+        protected void writeCompact(ObjectOutputStream out, Integer value) throws IOException {
+            TrackableCodec.writeSignedVarInt(out, value);
+        }
+
+        @Override
+        protected Integer readCompact(ObjectInputStream in) throws IOException {
+            return TrackableCodec.readSignedVarInt(in);
+        }
     };
     public static final TrackableType<Float> FloatType = new TrackableType<Float>() {
         @Override
@@ -177,6 +249,21 @@ public class TrackableTypes {
         public void serialize(TrackableSerializer ts, Float value) {
             ts.write(value);
         }
+
+        @Override
+        protected boolean hasCompactForm(Object value) {
+            return value instanceof Float;
+        }
+
+        @Override
+        protected void writeCompact(ObjectOutputStream out, Float value) throws IOException {
+            out.writeFloat(value);
+        }
+
+        @Override
+        protected Float readCompact(ObjectInputStream in) throws IOException {
+            return in.readFloat();
+        }
     };
     public static final TrackableType<String> StringType = new TrackableType<String>() {
         @Override
@@ -193,6 +280,21 @@ public class TrackableTypes {
         public void serialize(TrackableSerializer ts, String value) {
             ts.write(value);
         }
+
+        @Override
+        protected boolean hasCompactForm(Object value) {
+            return value instanceof String;
+        }
+
+        @Override
+        protected void writeCompact(ObjectOutputStream out, String value) throws IOException {
+            TrackableCodec.writeString(out, value);
+        }
+
+        @Override
+        protected String readCompact(ObjectInputStream in) throws IOException {
+            return TrackableCodec.readString(in);
+        }
     };
 
     //make this quicker than having to define a new class for every single enum
@@ -222,6 +324,26 @@ public class TrackableTypes {
                 public void serialize(TrackableSerializer ts, E value) {
                     ts.write(value.name());
                 }
+
+                @Override
+                protected boolean hasCompactForm(Object value) {
+                    return enumType.isInstance(value);
+                }
+
+                @Override
+                protected void writeCompact(ObjectOutputStream out, E value) throws IOException {
+                    TrackableCodec.writeVarInt(out, value.ordinal());
+                }
+
+                @Override
+                protected E readCompact(ObjectInputStream in) throws IOException {
+                    final E[] values = enumType.getEnumConstants();
+                    final int ordinal = TrackableCodec.readVarInt(in);
+                    if (ordinal >= values.length) {
+                        throw new IOException("Unknown " + enumType.getSimpleName() + " ordinal " + ordinal);
+                    }
+                    return values[ordinal];
+                }
             };
             enumTypes.put(enumType, type);
         }
@@ -476,6 +598,21 @@ public class TrackableTypes {
         public void serialize(TrackableSerializer ts, ColorSet value) {
             ts.write(value.getColor());
         }
+
+        @Override
+        protected boolean hasCompactForm(Object value) {
+            return value instanceof ColorSet;
+        }
+
+        @Override
+        protected void writeCompact(ObjectOutputStream out, ColorSet value) throws IOException {
+            out.writeByte(value.getColor());
+        }
+
+        @Override
+        protected ColorSet readCompact(ObjectInputStream in) throws IOException {
+            return ColorSet.fromMask(in.readUnsignedByte());
+        }
     };
     public static final TrackableType<List<String>> StringListType = new TrackableType<List<String>>() {
         @Override
@@ -503,6 +640,30 @@ public class TrackableTypes {
                 ts.write(s);
             }
         }
+
+        @Override
+        protected boolean hasCompactForm(Object value) {
+            return value instanceof List;
+        }
+
+        @Override
+        protected void writeCompact(ObjectOutputStream out, List<String> value) throws IOException {
+            String[] items = value.toArray(new String[0]);
+            TrackableCodec.writeVarInt(out, items.length);
+            for (String s : items) {
+                TrackableCodec.writeString(out, s);
+            }
+        }
+
+        @Override
+        protected List<String> readCompact(ObjectInputStream in) throws IOException {
+            int size = TrackableCodec.readVarInt(in);
+            List<String> list = Lists.newArrayListWithCapacity(size);
+            for (int i = 0; i < size; i++) {
+                list.add(TrackableCodec.readString(in));
+            }
+            return list;
+        }
     };
     public static final TrackableType<Set<String>> StringSetType = new TrackableType<Set<String>>() {
         @Override
@@ -530,6 +691,30 @@ public class TrackableTypes {
                 ts.write(s);
             }
         }
+
+        @Override
+        protected boolean hasCompactForm(Object value) {
+            return value instanceof Set;
+        }
+
+        @Override
+        protected void writeCompact(ObjectOutputStream out, Set<String> value) throws IOException {
+            String[] items = value.toArray(new String[0]);
+            TrackableCodec.writeVarInt(out, items.length);
+            for (String s : items) {
+                TrackableCodec.writeString(out, s);
+            }
+        }
+
+        @Override
+        protected Set<String> readCompact(ObjectInputStream in) throws IOException {
+            int size = TrackableCodec.readVarInt(in);
+            Set<String> set = Sets.newLinkedHashSetWithExpectedSize(size);
+            for (int i = 0; i < size; i++) {
+                set.add(TrackableCodec.readString(in));
+            }
+            return set;
+        }
     };
     public static final TrackableType<Map<String, String>> StringMapType = new TrackableType<Map<String, String>>() {
         @Override
@@ -586,6 +771,30 @@ public class TrackableTypes {
                 ts.write(i);
             }
         }
+
+        @Override
+        protected boolean hasCompactForm(Object value) {
+            return value instanceof Set;
+        }
+
+        @Override
+        protected void writeCompact(ObjectOutputStream out, Set<Integer> value) throws IOException {
+            Integer[] items = value.toArray(new Integer[0]);
+            TrackableCodec.writeVarInt(out, items.length);
+            for (int i : items) {
+                TrackableCodec.writeSignedVarInt(out, i);
+            }
+        }
+
+        @Override
+        protected Set<Integer> readCompact(ObjectInputStream in) throws IOException {
+            int size = TrackableCodec.readVarInt(in);
+            Set<Integer> set = Sets.newLinkedHashSetWithExpectedSize(size);
+            for (int i = 0; i < size; i++) {
+                set.add(TrackableCodec.readSignedVarInt(in));
+            }
+            return set;
+        }
     };
     public static final TrackableType<Map<Integer, Integer>> IntegerMapType = new TrackableType<Map<Integer, Integer>>() {
         @Override
@@ -614,6 +823,31 @@ public class TrackableTypes {
                 ts.write(entry.getValue());
             }
         }
+
+        @Override
+        protected boolean hasCompactForm(Object value) {
+            return value instanceof Map;
+        }
+
+        @Override
+        protected void writeCompact(ObjectOutputStream out, Map<Integer, Integer> value) throws IOException {
+            Map<Integer, Integer> entries = Maps.newLinkedHashMap(value);
+            TrackableCodec.writeVarInt(out, entries.size());
+            for (Entry<Integer, Integer> entry : entries.entrySet()) {
+                TrackableCodec.writeSignedVarInt(out, entry.getKey());
+                TrackableCodec.writeSignedVarInt(out, entry.getValue());
+            }
+        }
+
+        @Override
+        protected Map<Integer, Integer> readCompact(ObjectInputStream in) throws IOException {
+            int size = TrackableCodec.readVarInt(in);
+            Map<Integer, Integer> map = Maps.newLinkedHashMapWithExpectedSize(size);
+            for (int i = 0; i < size; i++) {
+                map.put(TrackableCodec.readSignedVarInt(in), TrackableCodec.readSignedVarInt(in));
+            }
+            return map;
+        }
     };
     public static final TrackableType<Map<Byte, Integer>> ManaMapType = new TrackableType<Map<Byte, Integer>>() {
         @Override
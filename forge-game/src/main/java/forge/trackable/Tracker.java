@@ -14,6 +14,10 @@ public class Tracker {
 
     private final Table<TrackableType<?>, Integer, Object> objLookups = HashBasedTable.create();
 
+    // change stamps are only kept while someone needs to know what changed since a given point, see TrackableDelta
+    private int changeRecorders = 0;
+    private int changeStamp = 0;
+
     public final boolean isFrozen() {
         return freezeCounter > 0;
     }
@@ -37,6 +41,31 @@ public class Tracker {
         objLookups.put(type, id, val);
     }
 
+    public boolean isRecordingChanges() {
+        return changeRecorders > 0;
+    }
+
+    /**
+     * Changes are stamped from now on, until every caller of this called {@link #stopRecordingChanges()}.
+     */
+    public void startRecordingChanges() {
+        changeRecorders++;
+    }
+
+    public void stopRecordingChanges() {
+        if (changeRecorders > 0) {
+            changeRecorders--;
+        }
+    }
+
+    public int getChangeStamp() {
+        return changeStamp;
+    }
+
+    int nextChangeStamp() {
+        return ++changeStamp;
+    }
+
     public void unfreeze() {
         if (!isFrozen() || --freezeCounter > 0 || delayedPropChanges.isEmpty()) {
             return;
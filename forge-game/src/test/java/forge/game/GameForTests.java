@@ -0,0 +1,68 @@
+package forge.game;
+
+import java.util.List;
+
+import com.google.common.collect.Lists;
+
+import forge.LobbyPlayer;
+import forge.card.CardType;
+import forge.deck.Deck;
+import forge.game.card.Card;
+import forge.game.player.IGameEntitiesFactory;
+import forge.game.player.Player;
+import forge.game.player.PlayerController;
+import forge.game.player.RegisteredPlayer;
+import forge.game.zone.ZoneType;
+import forge.util.Localizer;
+
+/**
+ * A game of two players without controllers and cards made up on the spot, for tests that only need to ask
+ * the game about its cards and can't load the card database.
+ */
+public final class GameForTests {
+    private GameForTests() {
+    }
+
+    public static Game create() {
+        // the game types need their names
+        Localizer.getInstance().initialize("en-US", "../forge-gui/res/languages/");
+        final List<RegisteredPlayer> players = Lists.newArrayList();
+        players.add(new RegisteredPlayer(new Deck()).setPlayer(new TestPlayer("you")));
+        players.add(new RegisteredPlayer(new Deck()).setPlayer(new TestPlayer("opponent")));
+        final GameRules rules = new GameRules(GameType.Constructed);
+        return new Game(players, rules, new Match(rules, players, "Test"));
+    }
+
+    /**
+     * Puts a card of the given type, color and keywords onto the battlefield of its owner.
+     */
+    public static Card addCard(final Game game, final Player owner, final String type, final int color, final String... keywords) {
+        final Card card = new Card(game.nextCardId(), game);
+        card.setOwner(owner);
+        card.setType(CardType.parse(type, false));
+        card.setColor((byte) color);
+        card.addIntrinsicKeywords(Lists.newArrayList(keywords), false);
+        owner.getZone(ZoneType.Battlefield).add(card);
+        return card;
+    }
+
+    private static final class TestPlayer extends LobbyPlayer implements IGameEntitiesFactory {
+        private TestPlayer(final String name) {
+            super(name);
+        }
+
+        @Override
+        public void hear(final LobbyPlayer player, final String message) {
+        }
+
+        @Override
+        public PlayerController createMindSlaveController(final Player master, final Player slave) {
+            return null;
+        }
+
+        @Override
+        public Player createIngamePlayer(final Game game, final int id) {
+            return new Player(getName(), game, id);
+        }
+    }
+}
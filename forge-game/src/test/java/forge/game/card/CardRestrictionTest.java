@@ -0,0 +1,79 @@
+package forge.game.card;
+
+import java.util.List;
+
+import org.testng.AssertJUnit;
+import org.testng.annotations.Test;
+
+import com.google.common.collect.ImmutableList;
+
+import forge.card.GamePieceType;
+import forge.card.MagicColor;
+import forge.game.Game;
+import forge.game.GameForTests;
+import forge.game.player.Player;
+
+/**
+ * Checks the properties {@link CardRestriction} matches itself against the string interpreter it replaces.
+ */
+public class CardRestrictionTest {
+
+    private static final List<String> RESTRICTIONS = ImmutableList.of(
+            "Card.Self", "Card.Other", "!Creature.Self", "Card.StrictlyOther",
+            "Creature.YouCtrl", "Creature.YouDontCtrl", "Permanent.OppCtrl", "Card.YouOwn", "Card.OppOwn",
+            "Card.IsRemembered", "Card.IsRemembered+Other",
+            "Card.White", "Creature.Blue", "Creature.Green", "Card.nonBlue", "Permanent.Blue+YouCtrl",
+            "Creature.withFlying", "Creature.withoutFlying", "Card.withFlying+!token",
+            "Card.token", "Card.nontoken", "Permanent.tapped", "Permanent.untapped", "Creature.attacking",
+            "Card.Creature", "Card.nonCreature", "Permanent.Land+untapped", "Card.Legendary", "Card.nonLegendary",
+            "Artifact.Legendary+token", "Permanent.nonLand+nonCreature+YouDontCtrl",
+            "Spell", "Permanent", "Card", "Any", "Effect");
+
+    @Test
+    public void testMatchesInterpreter() {
+        final Game game = GameForTests.create();
+        final Player you = game.getPlayers().get(0);
+        final Player opponent = game.getPlayers().get(1);
+
+        final Card flyer = GameForTests.addCard(game, you, "Creature - Bird", MagicColor.BLUE, "Flying");
+        final Card bear = GameForTests.addCard(game, you, "Creature - Bear", MagicColor.GREEN);
+        // stolen by the opponent
+        bear.setController(opponent, game.getNextTimestamp());
+        final Card land = GameForTests.addCard(game, opponent, "Basic Land - Forest", MagicColor.COLORLESS);
+        land.setTapped(true);
+        final Card relic = GameForTests.addCard(game, opponent, "Legendary Artifact", MagicColor.COLORLESS);
+        relic.setGamePieceType(GamePieceType.TOKEN);
+        final Card phased = GameForTests.addCard(game, you, "Creature - Spirit", MagicColor.WHITE | MagicColor.BLUE, "Flying");
+        phased.setPhasedOut(you);
+        flyer.addRemembered(bear);
+        relic.addRemembered(flyer);
+
+        final List<Card> cards = ImmutableList.of(flyer, bear, land, relic, phased);
+        int checked = 0;
+        for (final String restriction : RESTRICTIONS) {
+            for (final Card card : cards) {
+                for (final Card source : cards) {
+                    final boolean interpreted = CardRestriction.interpret(card, restriction, source.getController(), source, null);
+                    final boolean compiled = CardRestriction.of(restriction).matches(card, source.getController(), source, null);
+                    AssertJUnit.assertEquals(restriction + " on " + card + " with source " + source, interpreted, compiled);
+                    checked++;
+                }
+            }
+        }
+        AssertJUnit.assertEquals(RESTRICTIONS.size() * cards.size() * cards.size(), checked);
+
+        // a few answers that are known, so both can't be wrong the same way
+        AssertJUnit.assertTrue(CardRestriction.of("Creature.YouCtrl").matches(flyer, you, flyer, null));
+        AssertJUnit.assertFalse(CardRestriction.of("Creature.YouCtrl").matches(bear, you, flyer, null));
+        AssertJUnit.assertTrue(CardRestriction.of("Card.YouOwn").matches(bear, you, flyer, null));
+        AssertJUnit.assertTrue(CardRestriction.of("Permanent.tapped").matches(land, you, flyer, null));
+        AssertJUnit.assertTrue(CardRestriction.of("Card.token").matches(relic, you, flyer, null));
+        AssertJUnit.assertTrue(CardRestriction.of("Card.IsRemembered").matches(bear, you, flyer, null));
+        AssertJUnit.assertFalse(CardRestriction.of("Card.Self").matches(bear, you, flyer, null));
+    }
+
+    @Test
+    public void testSameRestrictionIsParsedOnce() {
+        AssertJUnit.assertSame(CardRestriction.of("Creature.nonBlack+YouCtrl"), CardRestriction.of("Creature.nonBlack+YouCtrl"));
+    }
+}
@@ -0,0 +1,77 @@
+package forge.game.card;
+
+import java.util.Iterator;
+import java.util.Random;
+
+import org.testng.AssertJUnit;
+import org.testng.annotations.Test;
+
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableTable;
+import com.google.common.collect.Table;
+import com.google.common.collect.TreeBasedTable;
+
+public class LayerTableTest {
+
+    @Test
+    public void testMatchesTreeBasedTable() {
+        final Random random = new Random(42);
+        final LayerTable<Integer> table = new LayerTable<>();
+        final Table<Long, Long, Integer> expected = TreeBasedTable.create();
+
+        for (int i = 0; i < 5000; i++) {
+            final long row = random.nextInt(8);
+            final long column = random.nextInt(4);
+            switch (random.nextInt(10)) {
+            case 0:
+                table.clear();
+                expected.clear();
+                break;
+            case 1:
+            case 2:
+            case 3:
+                AssertJUnit.assertEquals(expected.remove(row, column), table.remove(row, column));
+                break;
+            case 4:
+                AssertJUnit.assertEquals(expected.columnKeySet().retainAll(ImmutableList.of(column)),
+                        table.columnKeySet().retainAll(ImmutableList.of(column)));
+                break;
+            default:
+                AssertJUnit.assertEquals(expected.put(row, column, i), table.put(row, column, i));
+                break;
+            }
+            assertSameContent(expected, table);
+        }
+    }
+
+    @Test
+    public void testVersionChangesOnWrite() {
+        final LayerTable<String> table = new LayerTable<>();
+        int version = table.getVersion();
+        table.clear();
+        AssertJUnit.assertEquals(version, table.getVersion());
+
+        table.put(5L, 0L, "a");
+        AssertJUnit.assertTrue(version != table.getVersion());
+        version = table.getVersion();
+
+        AssertJUnit.assertNull(table.remove(6L, 0L));
+        AssertJUnit.assertEquals(version, table.getVersion());
+
+        final Iterator<String> it = table.values().iterator();
+        it.next();
+        it.remove();
+        AssertJUnit.assertTrue(table.isEmpty());
+        AssertJUnit.assertTrue(version != table.getVersion());
+    }
+
+    private static void assertSameContent(final Table<Long, Long, Integer> expected, final LayerTable<Integer> table) {
+        AssertJUnit.assertEquals(expected.size(), table.size());
+        AssertJUnit.assertEquals(ImmutableList.copyOf(expected.cellSet()), ImmutableList.copyOf(table.cellSet()));
+        AssertJUnit.assertEquals(ImmutableList.copyOf(expected.values()), ImmutableList.copyOf(table.values()));
+        AssertJUnit.assertEquals(ImmutableList.copyOf(expected.rowKeySet()), ImmutableList.copyOf(table.rowKeySet()));
+        AssertJUnit.assertEquals(ImmutableList.copyOf(expected.columnKeySet()), ImmutableList.copyOf(table.columnKeySet()));
+        AssertJUnit.assertEquals(expected.column(1L), table.column(1L));
+        AssertJUnit.assertEquals(ImmutableTable.copyOf(expected), table);
+    }
+}
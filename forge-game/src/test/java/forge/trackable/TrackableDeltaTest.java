@@ -0,0 +1,168 @@
+package forge.trackable;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+
+import org.testng.AssertJUnit;
+import org.testng.annotations.Test;
+
+import forge.card.MagicColor;
+import forge.game.Game;
+import forge.game.GameForTests;
+import forge.game.GameView;
+import forge.game.card.Card;
+import forge.game.card.CardView;
+import forge.game.player.Player;
+import forge.game.player.PlayerView;
+import forge.game.zone.ZoneType;
+
+/**
+ * Sends game views through a {@link TrackableDelta.Writer} and {@link TrackableDelta.Reader} the way the server and
+ * a client do, and checks the client's copy ends up like the game.
+ */
+public class TrackableDeltaTest {
+
+    @Test
+    public void testPropertyChange() throws Exception {
+        final Sync sync = new Sync(10);
+        final Card bear = GameForTests.addCard(sync.game, sync.you, "Creature - Bear", MagicColor.GREEN);
+        sync.full();
+        AssertJUnit.assertFalse(sync.copyOf(bear).isTapped());
+
+        bear.setTapped(true);
+        final TrackableDelta delta = sync.delta();
+        AssertJUnit.assertTrue(sync.copyOf(bear).isTapped());
+        // only the card changed, not the whole view
+        AssertJUnit.assertEquals(1, delta.size());
+
+        AssertJUnit.assertNull(sync.writer.next());
+    }
+
+    @Test
+    public void testReferenceResolvesToKnownObject() throws Exception {
+        final Sync sync = new Sync(10);
+        final Card bear = GameForTests.addCard(sync.game, sync.you, "Creature - Bear", MagicColor.GREEN);
+        sync.full();
+        final PlayerView opponentCopy = sync.copyOf(sync.opponent);
+
+        bear.setController(sync.opponent, sync.game.getNextTimestamp());
+        bear.updateStateForView();
+        sync.delta();
+        // the player went over as a stub, the copy refers to the player the client already has
+        AssertJUnit.assertSame(opponentCopy, sync.copyOf(bear).getController());
+    }
+
+    @Test
+    public void testCompleteObjectRemovesProperties() throws Exception {
+        final Sync sync = new Sync(10);
+        final Card bear = GameForTests.addCard(sync.game, sync.you, "Creature - Bear", MagicColor.GREEN);
+        bear.setTapped(true);
+        sync.full();
+        AssertJUnit.assertTrue(sync.copyOf(bear).isTapped());
+
+        // another instance of the same card, like after a zone change, is sent with all its properties
+        final Card sameCard = new Card(bear.getId(), sync.game);
+        sameCard.setOwner(sync.you);
+        sync.you.getZone(ZoneType.Battlefield).remove(bear);
+        sync.you.getZone(ZoneType.Battlefield).add(sameCard);
+        sync.delta();
+        AssertJUnit.assertFalse(sync.copyOf(sameCard).isTapped());
+    }
+
+    @Test
+    public void testFullSyncAfterInterval() throws Exception {
+        final Sync sync = new Sync(2);
+        final Card bear = GameForTests.addCard(sync.game, sync.you, "Creature - Bear", MagicColor.GREEN);
+        sync.full();
+        AssertJUnit.assertFalse(sync.writer.needsFullSync(sync.game.getView()));
+
+        bear.setTapped(true);
+        sync.delta();
+        AssertJUnit.assertFalse(sync.writer.needsFullSync(sync.game.getView()));
+        bear.setTapped(false);
+        sync.delta();
+        AssertJUnit.assertTrue(sync.writer.needsFullSync(sync.game.getView()));
+
+        sync.full();
+        AssertJUnit.assertFalse(sync.writer.needsFullSync(sync.game.getView()));
+        // a different root always needs a full sync
+        AssertJUnit.assertTrue(sync.writer.needsFullSync(GameForTests.create().getView()));
+    }
+
+    @Test
+    public void testStopEndsRecording() {
+        final Sync sync = new Sync(10);
+        final Tracker tracker = sync.game.getTracker();
+        final TrackableDelta.Writer other = new TrackableDelta.Writer(10);
+        sync.writer.reset(sync.game.getView());
+        other.reset(sync.game.getView());
+        AssertJUnit.assertTrue(tracker.isRecordingChanges());
+
+        sync.writer.stop();
+        // still needed by the other writer
+        AssertJUnit.assertTrue(tracker.isRecordingChanges());
+        AssertJUnit.assertTrue(sync.writer.needsFullSync(sync.game.getView()));
+        other.stop();
+        AssertJUnit.assertFalse(tracker.isRecordingChanges());
+    }
+
+    /** The server's game and the copy of its view a client has. */
+    private static final class Sync {
+        private final Game game = GameForTests.create();
+        private final Player you = game.getPlayers().get(0);
+        private final Player opponent = game.getPlayers().get(1);
+        private final TrackableDelta.Writer writer;
+        private final TrackableDelta.Reader reader = new TrackableDelta.Reader();
+        private GameView copy;
+
+        private Sync(final int fullSyncInterval) {
+            writer = new TrackableDelta.Writer(fullSyncInterval);
+        }
+
+        private void full() throws IOException, ClassNotFoundException {
+            copy = (GameView) send(game.getView());
+            writer.reset(game.getView());
+            reader.reset(copy);
+        }
+
+        private TrackableDelta delta() throws IOException, ClassNotFoundException {
+            final TrackableDelta delta = writer.next();
+            AssertJUnit.assertNotNull(delta);
+            reader.apply((TrackableDelta) send(delta), copy);
+            return delta;
+        }
+
+        private PlayerView copyOf(final Player player) {
+            for (final PlayerView p : copy.getPlayers()) {
+                if (p.getId() == player.getId()) {
+                    return p;
+                }
+            }
+            throw new AssertionError(player + " is not in the copy");
+        }
+
+        private CardView copyOf(final Card card) {
+            for (final PlayerView p : copy.getPlayers()) {
+                for (final CardView c : p.getBattlefield()) {
+                    if (c.getId() == card.getId()) {
+                        return c;
+                    }
+                }
+            }
+            throw new AssertionError(card + " is not in the copy");
+        }
+
+        private static Object send(final Object o) throws IOException, ClassNotFoundException {
+            final ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+            try (ObjectOutputStream out = new ObjectOutputStream(bytes)) {
+                out.writeObject(o);
+            }
+            try (ObjectInputStream in = new ObjectInputStream(new ByteArrayInputStream(bytes.toByteArray()))) {
+                return in.readObject();
+            }
+        }
+    }
+}
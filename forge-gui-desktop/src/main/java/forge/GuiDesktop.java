@@ -327,7 +327,10 @@ public class GuiDesktop implements IGuiBase {
     @Override
     public HostedMatch hostMatch() {
         final HostedMatch match = new HostedMatch();
-        Singletons.getControl().addMatch(match);
+        // the headless modes host matches without the desktop controller
+        if (Singletons.getControl() != null) {
+            Singletons.getControl().addMatch(match);
+        }
         return match;
     }
 
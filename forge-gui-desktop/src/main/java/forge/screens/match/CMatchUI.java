@@ -125,6 +125,7 @@ import forge.toolbox.imaging.FImageUtil;
 import forge.toolbox.special.PhaseIndicator;
 import forge.toolbox.special.PhaseLabel;
 import forge.trackable.TrackableCollection;
+import forge.trackable.TrackableDelta;
 import forge.util.ITriggerEvent;
 import forge.util.Localizer;
 import forge.util.collect.FCollection;
@@ -225,7 +226,17 @@ public final class CMatchUI
     @Override
     public void setGameView(GameView gameView0) {
         super.setGameView(gameView0);
-        gameView0 = getGameView(); //ensure updated game view used for below logic
+        updateGameView();
+    }
+
+    @Override
+    public void applyGameViewDelta(final TrackableDelta delta) {
+        super.applyGameViewDelta(delta);
+        updateGameView();
+    }
+
+    private void updateGameView() {
+        final GameView gameView0 = getGameView();
         if (gameView0 == null) { return; }
 
         cDetailPicture.setGameView(gameView0);
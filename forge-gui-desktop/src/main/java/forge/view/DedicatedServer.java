@@ -0,0 +1,127 @@
+package forge.view;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+
+import org.apache.commons.lang3.StringUtils;
+
+import forge.ai.AiDecisionLimiter;
+import forge.gamemodes.match.LobbySlot;
+import forge.gamemodes.match.LobbySlotType;
+import forge.gamemodes.net.ProtocolLatency;
+import forge.gamemodes.net.server.FServerManager;
+import forge.gamemodes.net.server.ServerGameLobby;
+import forge.localinstance.properties.ForgeConstants;
+import forge.localinstance.properties.ForgePreferences.FPref;
+import forge.model.FModel;
+
+/**
+ * Headless multiplayer server hosting many tables in one process. The card database and the rest of the model
+ * are loaded once and shared, every table has its own lobby and its match runs on its own game thread.
+ * <p>
+ * Clients join with the usual online menu, each one sits at the first table with a free seat
+ * and a match starts as soon as everybody at the table is ready.
+ * While running, "status" on the console lists the tables and "quit" stops the server.
+ */
+public class DedicatedServer {
+
+    public static void serve(String[] args) {
+        // "server" is in the 0th slot, every option after it takes a value
+        if (args.length % 2 == 0) {
+            argumentHelp();
+            return;
+        }
+        Map<String, String> options = new HashMap<>();
+        for (int i = 1; i + 1 < args.length; i += 2) {
+            if (args[i].length() < 2 || args[i].charAt(0) != '-') {
+                argumentHelp();
+                return;
+            }
+            options.put(args[i].substring(1), args[i + 1]);
+        }
+
+        final int port;
+        final int tables;
+        final int aiThreads;
+        try {
+            port = Integer.parseInt(options.getOrDefault("port", String.valueOf(ForgeConstants.DEFAULT_SERVER_CONNECTION_PORT)));
+            tables = Integer.parseInt(options.getOrDefault("tables", "16"));
+            aiThreads = Integer.parseInt(options.getOrDefault("aithreads", String.valueOf(Runtime.getRuntime().availableProcessors())));
+        } catch (NumberFormatException e) {
+            argumentHelp();
+            return;
+        }
+        final boolean aiOpponents = Boolean.parseBoolean(options.getOrDefault("ai", "false"));
+
+        start(port, tables, aiOpponents, aiThreads);
+        System.out.printf("Dedicated server listening on port %d, up to %d tables%n", port, tables);
+        try {
+            waitForQuit();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        FServerManager.getInstance().stopServer();
+    }
+
+    static void start(int port, int tables, boolean aiOpponents, int aiThreads) {
+        FModel.initialize(null, null);
+        // nobody listens and nobody is asked for a name
+        FModel.getPreferences().setPref(FPref.UI_ENABLE_SOUNDS, false);
+        FModel.getPreferences().setPref(FPref.UI_ENABLE_MUSIC, false);
+        if (StringUtils.isBlank(FModel.getPreferences().getPref(FPref.PLAYER_NAME))) {
+            FModel.getPreferences().setPref(FPref.PLAYER_NAME, "Server");
+        }
+        AiDecisionLimiter.setMaxConcurrentDecisions(aiThreads);
+
+        final FServerManager server = FServerManager.getInstance();
+        server.allowTables(tables, aiOpponents);
+        server.startServer(port, false);
+    }
+
+    private static void argumentHelp() {
+        System.out.println("Syntax: forge.exe server [-port <P>] [-tables <N>] [-ai <true|false>] [-aithreads <T>]");
+        System.out.println("\tP - port to accept players on, defaults to " + ForgeConstants.DEFAULT_SERVER_CONNECTION_PORT);
+        System.out.println("\tN - most tables open at once, defaults to 16");
+        System.out.println("\tai - seat an AI opponent at every table instead of waiting for a second player");
+        System.out.println("\tT - most AI players deciding at once over all tables, 0 for no cap, defaults to the number of cores");
+    }
+
+    private static void waitForQuit() throws InterruptedException {
+        final BufferedReader in = new BufferedReader(new InputStreamReader(System.in, StandardCharsets.UTF_8));
+        try {
+            String line;
+            while ((line = in.readLine()) != null) {
+                if ("quit".equalsIgnoreCase(line.trim())) {
+                    return;
+                }
+                if ("status".equalsIgnoreCase(line.trim())) {
+                    printStatus();
+                }
+            }
+        } catch (IOException e) {
+            System.err.println("Console closed: " + e.getMessage());
+        }
+        // no console, run until the process is stopped
+        new CountDownLatch(1).await();
+    }
+
+    private static void printStatus() {
+        for (final ServerGameLobby table : FServerManager.getInstance().getTables()) {
+            final StringBuilder players = new StringBuilder();
+            for (int i = 0; i < table.getNumberOfSlots(); i++) {
+                final LobbySlot slot = table.getSlot(i);
+                if (slot.getType() != LobbySlotType.OPEN) {
+                    players.append(players.length() == 0 ? "" : ", ").append(slot.getName());
+                }
+            }
+            System.out.printf("Table %s: %s%s%n", table.getTableKey(), table.isMatchActive() ? "playing " : "waiting ", players);
+        }
+        System.out.printf("AI waited %d ms for a free thread%n", AiDecisionLimiter.getTotalWaitMillis());
+        System.out.print(ProtocolLatency.summary());
+    }
+}
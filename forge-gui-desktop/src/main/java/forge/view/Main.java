@@ -76,16 +76,24 @@ public final class Main {
                 SimulateMatch.simulate(args);
                 break;
 
+            case "simserver":
+                SimulationServer.serve(args);
+                break;
+
             case "parse":
                 CardReaderExperiments.parseAllCards(args);
                 break;
 
             case "server":
-                System.out.println("Dedicated server mode.\nNot implemented.");
+                DedicatedServer.serve(args);
+                break;
+
+            case "loadtest":
+                ServerLoadTest.run(args);
                 break;
 
             default:
-                System.out.println("Unknown mode.\nKnown mode is 'sim', 'parse' ");
+                System.out.println("Unknown mode.\nKnown mode is 'sim', 'simserver', 'parse', 'server', 'loadtest' ");
                 break;
         }
 
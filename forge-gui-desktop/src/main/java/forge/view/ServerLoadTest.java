@@ -0,0 +1,450 @@
+package forge.view;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+
+import com.google.common.collect.ImmutableList;
+
+import forge.LobbyPlayer;
+import forge.ai.AiDecisionLimiter;
+import forge.ai.GameState;
+import forge.deck.CardPool;
+import forge.deck.Deck;
+import forge.deck.DeckgenUtil;
+import forge.game.GameEntityView;
+import forge.game.card.CardView;
+import forge.game.phase.PhaseType;
+import forge.game.player.DelayedReveal;
+import forge.game.player.IHasIcon;
+import forge.game.player.PlayerView;
+import forge.game.spellability.SpellAbilityView;
+import forge.game.zone.ZoneType;
+import forge.gamemodes.match.AbstractGuiGame;
+import forge.gamemodes.match.GameLobby.GameLobbyData;
+import forge.gamemodes.match.NextGameDecision;
+import forge.gamemodes.net.ProtocolLatency;
+import forge.gamemodes.net.client.ClientGameLobby;
+import forge.gamemodes.net.client.FGameClient;
+import forge.gamemodes.net.event.UpdateLobbyPlayerEvent;
+import forge.gamemodes.net.server.FServerManager;
+import forge.interfaces.IGameController;
+import forge.interfaces.ILobbyListener;
+import forge.item.PaperCard;
+import forge.localinstance.skin.FSkinProp;
+import forge.player.PlayerZoneUpdate;
+import forge.player.PlayerZoneUpdates;
+import forge.trackable.TrackableCollection;
+import forge.util.ITriggerEvent;
+
+/**
+ * Load test for the {@link DedicatedServer}: starts it in this process and connects headless clients to it over
+ * the loopback interface. The clients pair up at tables, or each gets an AI opponent, and play one game by
+ * passing priority and taking the first choice they are offered. When all games are over, or the time is up,
+ * it reports how long they took and the round trip times of the replies the server waited for.
+ */
+public class ServerLoadTest {
+
+    public static void run(String[] args) {
+        Map<String, String> options = new HashMap<>();
+        for (int i = 1; i + 1 < args.length; i += 2) {
+            // "loadtest" is in the 0th slot
+            if (args[i].length() < 2 || args[i].charAt(0) != '-') {
+                argumentHelp();
+                return;
+            }
+            options.put(args[i].substring(1), args[i + 1]);
+        }
+
+        final int clients;
+        final int port;
+        final int aiThreads;
+        final int minutes;
+        try {
+            clients = Integer.parseInt(options.getOrDefault("clients", "8"));
+            port = Integer.parseInt(options.getOrDefault("port", "36744"));
+            aiThreads = Integer.parseInt(options.getOrDefault("aithreads", String.valueOf(Runtime.getRuntime().availableProcessors())));
+            minutes = Integer.parseInt(options.getOrDefault("minutes", "30"));
+        } catch (NumberFormatException e) {
+            argumentHelp();
+            return;
+        }
+        final boolean aiOpponents = Boolean.parseBoolean(options.getOrDefault("ai", "false"));
+
+        DedicatedServer.start(port, clients, aiOpponents, aiThreads);
+        ProtocolLatency.reset();
+
+        final CountDownLatch gamesOver = new CountDownLatch(clients);
+        final List<FGameClient> connected = new ArrayList<>();
+        final List<ExecutorService> botThreads = new ArrayList<>();
+        final long start = System.currentTimeMillis();
+        for (int i = 0; i < clients; i++) {
+            final String name = "Bot " + i;
+            final BotGui gui = new BotGui(gamesOver);
+            final FGameClient client = new FGameClient(name, null, gui, "localhost", port);
+            // not on the EDT, the server shares it with the clients and waits there for their replies
+            final ExecutorService botThread = Executors.newSingleThreadExecutor(r -> {
+                final Thread t = new Thread(r, name);
+                t.setDaemon(true);
+                return t;
+            });
+            botThreads.add(botThread);
+            client.setCallExecutor(botThread);
+            client.addLobbyListener(new BotLobbyListener(client));
+            client.connect();
+            connected.add(client);
+        }
+
+        try {
+            if (!gamesOver.await(minutes, TimeUnit.MINUTES)) {
+                System.out.printf("Timed out after %d minutes%n", minutes);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        final long elapsed = System.currentTimeMillis() - start;
+
+        System.out.printf("%d of %d clients finished their game in %d ms%n", clients - gamesOver.getCount(), clients, elapsed);
+        System.out.printf("AI waited %d ms for a free thread%n", AiDecisionLimiter.getTotalWaitMillis());
+        System.out.print(ProtocolLatency.summary());
+
+        for (final FGameClient client : connected) {
+            client.close();
+        }
+        for (final ExecutorService botThread : botThreads) {
+            botThread.shutdownNow();
+        }
+        FServerManager.getInstance().stopServer();
+    }
+
+    private static void argumentHelp() {
+        System.out.println("Syntax: forge.exe loadtest [-clients <N>] [-port <P>] [-ai <true|false>] [-aithreads <T>] [-minutes <M>]");
+        System.out.println("\tN - number of clients to connect, defaults to 8");
+        System.out.println("\tP - port the server listens on, defaults to 36744");
+        System.out.println("\tai - give every client an AI opponent instead of pairing them up");
+        System.out.println("\tT - most AI players deciding at once, 0 for no cap, defaults to the number of cores");
+        System.out.println("\tM - minutes to wait for the games to finish, defaults to 30");
+    }
+
+    /**
+     * Sends a random deck and gets ready once the client has a seat.
+     */
+    private static class BotLobbyListener implements ILobbyListener {
+        private final FGameClient client;
+        private final ClientGameLobby lobby = new ClientGameLobby();
+        private boolean ready = false;
+
+        BotLobbyListener(final FGameClient client) {
+            this.client = client;
+        }
+
+        @Override
+        public void message(final String source, final String message) {
+        }
+
+        @Override
+        public void update(final GameLobbyData state, final int slot) {
+            lobby.setLocalPlayer(slot);
+            lobby.setData(state);
+            if (!ready) {
+                ready = true;
+                final Deck deck = DeckgenUtil.getRandomColorDeck(false);
+                client.send(UpdateLobbyPlayerEvent.deckUpdate(deck));
+                client.send(UpdateLobbyPlayerEvent.isReadyUpdate(true));
+            }
+        }
+
+        @Override
+        public void close() {
+        }
+
+        @Override
+        public ClientGameLobby getLobby() {
+            return lobby;
+        }
+    }
+
+    /**
+     * Plays without looking: presses whichever button is enabled, otherwise picks one selectable card after another,
+     * and answers every question with its default or first option.
+     */
+    private static class BotGui extends AbstractGuiGame {
+        private final CountDownLatch gamesOver;
+        private boolean gameOver = false;
+        private List<CardView> selectables = ImmutableList.of();
+        private boolean waitingForSelection = false;
+        // the input may refuse a card and ask again, then the next one is tried
+        private int nextSelection = 0;
+
+        BotGui(final CountDownLatch gamesOver) {
+            this.gamesOver = gamesOver;
+        }
+
+        private void selectNext() {
+            final IGameController controller = getGameController();
+            if (controller != null && !selectables.isEmpty()) {
+                waitingForSelection = false;
+                controller.selectCard(selectables.get(nextSelection++ % selectables.size()), null, null);
+            }
+        }
+
+        @Override
+        public void updateButtons(final PlayerView owner, final String label1, final String label2, final boolean enable1, final boolean enable2, final boolean focus1) {
+            final IGameController controller = getGameController();
+            if (controller == null) {
+                return;
+            }
+            waitingForSelection = false;
+            if (enable1) {
+                controller.selectButtonOk();
+            } else if (enable2) {
+                controller.selectButtonCancel();
+            } else {
+                // the cards to pick may come after the buttons
+                waitingForSelection = true;
+                selectNext();
+            }
+        }
+
+        @Override
+        public void setSelectables(final Iterable<CardView> cards) {
+            super.setSelectables(cards);
+            selectables = cards == null ? ImmutableList.of() : ImmutableList.copyOf(cards);
+            if (waitingForSelection) {
+                selectNext();
+            }
+        }
+
+        @Override
+        public void clearSelectables() {
+            super.clearSelectables();
+            selectables = ImmutableList.of();
+        }
+
+        @Override
+        public void finishGame() {
+            if (!gameOver) {
+                gameOver = true;
+                gamesOver.countDown();
+                final IGameController controller = getGameController();
+                if (controller != null) {
+                    controller.nextGameDecision(NextGameDecision.QUIT);
+                }
+            }
+        }
+
+        @Override
+        protected void updateCurrentPlayer(final PlayerView player) {
+        }
+
+        @Override
+        public void openView(final TrackableCollection<PlayerView> myPlayers) {
+        }
+
+        @Override
+        public void showCombat() {
+        }
+
+        @Override
+        public void showPromptMessage(final PlayerView playerView, final String message) {
+        }
+
+        @Override
+        public void showCardPromptMessage(final PlayerView playerView, final String message, final CardView card) {
+        }
+
+        @Override
+        public void flashIncorrectAction() {
+        }
+
+        @Override
+        public void alertUser() {
+        }
+
+        @Override
+        public void updatePhase(final boolean saveState) {
+        }
+
+        @Override
+        public void updateTurn(final PlayerView player) {
+        }
+
+        @Override
+        public void updatePlayerControl() {
+        }
+
+        @Override
+        public void enableOverlay() {
+        }
+
+        @Override
+        public void disableOverlay() {
+        }
+
+        @Override
+        public void showManaPool(final PlayerView player) {
+        }
+
+        @Override
+        public void hideManaPool(final PlayerView player) {
+        }
+
+        @Override
+        public void updateStack() {
+        }
+
+        @Override
+        public void updateZones(final Iterable<PlayerZoneUpdate> zonesToUpdate) {
+        }
+
+        @Override
+        public Iterable<PlayerZoneUpdate> tempShowZones(final PlayerView controller, final Iterable<PlayerZoneUpdate> zonesToUpdate) {
+            return zonesToUpdate;
+        }
+
+        @Override
+        public void hideZones(final PlayerView controller, final Iterable<PlayerZoneUpdate> zonesToUpdate) {
+        }
+
+        @Override
+        public void updateCards(final Iterable<CardView> cards) {
+        }
+
+        @Override
+        public void updateManaPool(final Iterable<PlayerView> manaPoolUpdate) {
+        }
+
+        @Override
+        public void updateLives(final Iterable<PlayerView> livesUpdate) {
+        }
+
+        @Override
+        public void updateShards(final Iterable<PlayerView> shardsUpdate) {
+        }
+
+        @Override
+        public void setPanelSelection(final CardView hostCard) {
+        }
+
+        @Override
+        public void refreshField() {
+        }
+
+        @Override
+        public GameState getGamestate() {
+            return null;
+        }
+
+        @Override
+        public SpellAbilityView getAbilityToPlay(final CardView hostCard, final List<SpellAbilityView> abilities, final ITriggerEvent triggerEvent) {
+            return abilities.isEmpty() ? null : abilities.get(0);
+        }
+
+        @Override
+        public Map<CardView, Integer> assignCombatDamage(final CardView attacker, final List<CardView> blockers, final int damage, final GameEntityView defender, final boolean overrideOrder, final boolean maySkip) {
+            final Map<CardView, Integer> result = new HashMap<>();
+            if (!blockers.isEmpty()) {
+                result.put(blockers.get(0), damage);
+            }
+            return result;
+        }
+
+        @Override
+        public Map<Object, Integer> assignGenericAmount(final CardView effectSource, final Map<Object, Integer> targets, final int amount, final boolean atLeastOne, final String amountLabel) {
+            final Map<Object, Integer> result = new HashMap<>();
+            final Iterator<Object> it = targets.keySet().iterator();
+            if (it.hasNext()) {
+                result.put(it.next(), amount);
+            }
+            return result;
+        }
+
+        @Override
+        public void message(final String message, final String title) {
+        }
+
+        @Override
+        public void showErrorDialog(final String message, final String title) {
+        }
+
+        @Override
+        public boolean showConfirmDialog(final String message, final String title, final String yesButtonText, final String noButtonText, final boolean defaultYes) {
+            return defaultYes;
+        }
+
+        @Override
+        public int showOptionDialog(final String message, final String title, final FSkinProp icon, final List<String> options, final int defaultOption) {
+            return defaultOption;
+        }
+
+        @Override
+        public String showInputDialog(final String message, final String title, final FSkinProp icon, final String initialInput, final List<String> inputOptions, final boolean isNumeric) {
+            return initialInput;
+        }
+
+        @Override
+        public boolean confirm(final CardView c, final String question, final boolean defaultIsYes, final List<String> options) {
+            return defaultIsYes;
+        }
+
+        @Override
+        public <T> List<T> getChoices(final String message, final int min, final int max, final List<T> choices, final List<T> selected, final Function<T, String> display) {
+            return new ArrayList<>(choices.subList(0, Math.min(Math.max(min, 0), choices.size())));
+        }
+
+        @Override
+        public <T> List<T> order(final String title, final String top, final int remainingObjectsMin, final int remainingObjectsMax, final List<T> sourceChoices, final List<T> destChoices, final CardView referenceCard, final boolean sideboardingMode) {
+            return sourceChoices;
+        }
+
+        @Override
+        public List<PaperCard> sideboard(final CardPool sideboard, final CardPool main, final String message) {
+            return main.toFlatList();
+        }
+
+        @Override
+        public GameEntityView chooseSingleEntityForEffect(final String title, final List<? extends GameEntityView> optionList, final DelayedReveal delayedReveal, final boolean isOptional) {
+            return isOptional || optionList.isEmpty() ? null : optionList.get(0);
+        }
+
+        @Override
+        public List<GameEntityView> chooseEntitiesForEffect(final String title, final List<? extends GameEntityView> optionList, final int min, final int max, final DelayedReveal delayedReveal) {
+            return new ArrayList<>(optionList.subList(0, Math.min(Math.max(min, 0), optionList.size())));
+        }
+
+        @Override
+        public List<CardView> manipulateCardList(final String title, final Iterable<CardView> cards, final Iterable<CardView> manipulable, final boolean toTop, final boolean toBottom, final boolean toAnywhere) {
+            return ImmutableList.copyOf(cards);
+        }
+
+        @Override
+        public void setCard(final CardView card) {
+        }
+
+        @Override
+        public void setPlayerAvatar(final LobbyPlayer player, final IHasIcon ihi) {
+        }
+
+        @Override
+        public PlayerZoneUpdates openZones(final PlayerView controller, final Collection<ZoneType> zones, final Map<PlayerView, Object> players, final boolean backupLastZones) {
+            return new PlayerZoneUpdates();
+        }
+
+        @Override
+        public void restoreOldZones(final PlayerView playerView, final PlayerZoneUpdates playerZoneUpdates) {
+        }
+
+        @Override
+        public boolean isUiSetToSkipPhase(final PlayerView playerTurn, final PhaseType phase) {
+            return false;
+        }
+    }
+}
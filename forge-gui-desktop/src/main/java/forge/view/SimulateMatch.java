@@ -2,6 +2,9 @@ package forge.view;
 
 import java.io.File;
 import java.util.*;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.TimeoutException;
 
@@ -29,7 +32,9 @@ import forge.localinstance.properties.ForgeConstants;
 import forge.model.FModel;
 import forge.player.GamePlayerUtil;
 import forge.util.Lang;
+import forge.util.MyRandom;
 import forge.util.TextUtil;
+import forge.util.ThreadUtil;
 import forge.util.WordUtil;
 import forge.util.storage.IStorage;
 
@@ -67,6 +72,15 @@ public class SimulateMatch {
             }
         }
 
+        simulate(params, null);
+    }
+
+    /**
+     * Runs a simulation described by command line style parameters (option name without the dash mapped to its values).
+     * Game logs and results are printed as usual, the listener (if any) additionally receives every finished game and match.
+     * @return false if the simulation could not be started
+     */
+    static boolean simulate(final Map<String, List<String>> params, final SimulationListener listener) {
         int nGames = 1;
         if (params.containsKey("n")) {
             // Number of games should only be a single string
@@ -79,6 +93,17 @@ public class SimulateMatch {
             matchSize = Integer.parseInt(params.get("m").get(0));
         }
 
+        int nThreads = 1;
+        if (params.containsKey("j")) {
+            // Number of games to run at the same time
+            nThreads = Math.max(1, Integer.parseInt(params.get("j").get(0)));
+        }
+
+        Long seed = null;
+        if (params.containsKey("s")) {
+            seed = Long.parseLong(params.get("s").get(0));
+        }
+
         boolean outputGamelog = !params.containsKey("q");
 
         GameType type = GameType.Constructed;
@@ -94,39 +119,26 @@ public class SimulateMatch {
         }
 
         if (params.containsKey("t")) {
-            simulateTournament(params, rules, outputGamelog);
+            boolean started = simulateTournament(params, rules, outputGamelog, listener);
             System.out.flush();
-            return;
+            return started;
         }
 
-        List<RegisteredPlayer> pp = new ArrayList<>();
+        List<Deck> decks = new ArrayList<>();
         StringBuilder sb = new StringBuilder();
 
-        int i = 1;
-
         if (params.containsKey("d")) {
             for (String deck : params.get("d")) {
                 Deck d = deckFromCommandLineParameter(deck, type);
                 if (d == null) {
                     System.out.println(TextUtil.concatNoSpace("Could not load deck - ", deck, ", match cannot start"));
-                    return;
+                    return false;
                 }
-                if (i > 1) {
+                if (!decks.isEmpty()) {
                     sb.append(" vs ");
                 }
-                String name = TextUtil.concatNoSpace("Ai(", String.valueOf(i), ")-", d.getName());
-                sb.append(name);
-
-                RegisteredPlayer rp;
-
-                if (type.equals(GameType.Commander)) {
-                    rp = RegisteredPlayer.forCommander(d);
-                } else {
-                    rp = new RegisteredPlayer(d);
-                }
-                rp.setPlayer(GamePlayerUtil.createAiPlayer(name, i - 1));
-                pp.add(rp);
-                i++;
+                decks.add(d);
+                sb.append(aiPlayerName(decks.size(), d));
             }
         }
 
@@ -134,26 +146,97 @@ public class SimulateMatch {
 
         System.out.println(sb.toString());
 
-        Match mc = new Match(rules, pp, "Test");
-
+        SimulationSummary summary = new SimulationSummary(listener);
         if (matchSize != 0) {
+            // games of a match depend on each other, so they always run one after another
+            Match mc = new Match(rules, createPlayers(decks, type), "Test");
             int iGame = 0;
             while (!mc.isMatchOver()) {
                 // play games until the match ends
-                simulateSingleMatch(mc, iGame, outputGamelog);
+                summary.add(playSingleGame(mc, iGame, outputGamelog, gameSeed(seed, iGame)));
                 iGame++;
             }
+        } else if (nThreads > 1 && nGames > 1) {
+            if (seed == null) {
+                seed = new Random().nextLong();
+            }
+            System.out.println(TextUtil.concatNoSpace("Running ", String.valueOf(Math.min(nThreads, nGames)),
+                    " games at a time, seed ", String.valueOf(seed)));
+            simulateParallel(rules, decks, type, nGames, nThreads, outputGamelog, seed, summary);
         } else {
+            Match mc = new Match(rules, createPlayers(decks, type), "Test");
             for (int iGame = 0; iGame < nGames; iGame++) {
-                simulateSingleMatch(mc, iGame, outputGamelog);
+                summary.add(playSingleGame(mc, iGame, outputGamelog, gameSeed(seed, iGame)));
             }
         }
+        summary.print();
 
         System.out.flush();
+        return true;
+    }
+
+    private static String aiPlayerName(int index, Deck d) {
+        return TextUtil.concatNoSpace("Ai(", String.valueOf(index), ")-", d.getName());
+    }
+
+    private static List<RegisteredPlayer> createPlayers(List<Deck> decks, GameType type) {
+        List<RegisteredPlayer> pp = new ArrayList<>();
+        int i = 1;
+        for (Deck d : decks) {
+            RegisteredPlayer rp;
+
+            if (type.equals(GameType.Commander)) {
+                rp = RegisteredPlayer.forCommander(d);
+            } else {
+                rp = new RegisteredPlayer(d);
+            }
+            rp.setPlayer(GamePlayerUtil.createAiPlayer(aiPlayerName(i, d), i - 1));
+            pp.add(rp);
+            i++;
+        }
+        return pp;
+    }
+
+    private static Long gameSeed(Long seed, int iGame) {
+        return seed == null ? null : seed + iGame;
+    }
+
+    /**
+     * Plays independent games on a bounded pool. Every game gets its own match, players and seeded random
+     * provider, output is buffered per game and printed in game order, so it reads the same as a serial run.
+     */
+    private static void simulateParallel(GameRules rules, List<Deck> decks, GameType type, int nGames, int nThreads,
+                                         boolean outputGamelog, long seed, SimulationSummary summary) {
+        ExecutorService pool = ThreadUtil.newGameThreadPool(Math.min(nThreads, nGames));
+        List<Future<GameResult>> results = new ArrayList<>(nGames);
+        for (int iGame = 0; iGame < nGames; iGame++) {
+            // players are set up here, creating them touches the shared preferences
+            // every match gets its own decks, starting a game removes ante cards and applies sideboarding to them
+            final List<Deck> matchDecks = new ArrayList<>(decks.size());
+            for (Deck d : decks) {
+                matchDecks.add(new Deck(d));
+            }
+            final Match mc = new Match(rules, createPlayers(matchDecks, type), "Test");
+            final int gameIndex = iGame;
+            results.add(pool.submit(() -> playSingleGame(mc, gameIndex, outputGamelog, seed + gameIndex)));
+        }
+        pool.shutdown();
+
+        for (Future<GameResult> f : results) {
+            try {
+                summary.add(f.get());
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                pool.shutdownNow();
+                return;
+            } catch (ExecutionException e) {
+                e.getCause().printStackTrace();
+            }
+        }
     }
 
     private static void argumentHelp() {
-        System.out.println("Syntax: forge.exe sim -d <deck1[.dck]> ... <deckX[.dck]> -D [D] -n [N] -m [M] -t [T] -p [P] -f [F] -q");
+        System.out.println("Syntax: forge.exe sim -d <deck1[.dck]> ... <deckX[.dck]> -D [D] -n [N] -m [M] -t [T] -p [P] -f [F] -j [J] -s [S] -q");
         System.out.println("\tsim - stands for simulation mode");
         System.out.println("\tdeck1 (or deck2,...,X) - constructed deck name or filename (has to be quoted when contains multiple words)");
         System.out.println("\tdeck is treated as file if it ends with a dot followed by three numbers or letters");
@@ -163,22 +246,36 @@ public class SimulateMatch {
         System.out.println("\tT - Type of tournament to run with all provided decks (Bracket, RoundRobin, Swiss)");
         System.out.println("\tP - Amount of players per match (used only with Tournaments, defaults to 2)");
         System.out.println("\tF - format of games, defaults to constructed");
+        System.out.println("\tJ - number of games to run in parallel, defaults to 1 (Ignored for matches and tournaments)");
+        System.out.println("\tS - random seed, game X is played with seed S+X-1 (random when running in parallel without a seed)");
         System.out.println("\tq - Quiet flag. Output just the game result, not the entire game log.");
     }
 
     public static void simulateSingleMatch(final Match mc, int iGame, boolean outputGamelog) {
+        System.out.print(playSingleGame(mc, iGame, outputGamelog, null).output);
+    }
+
+    private static GameResult playSingleGame(final Match mc, int iGame, boolean outputGamelog, final Long seed) {
         final StopWatch sw = new StopWatch();
         sw.start();
 
         final Game g1 = mc.createGame();
+        final StringBuilder output = new StringBuilder();
         // will run match in the same thread
         try {
             TimeLimitedCodeBlock.runWithTimeout(() -> {
-                mc.startGame(g1);
+                if (seed != null) {
+                    MyRandom.setThreadRandom(new Random(seed));
+                }
+                try {
+                    mc.startGame(g1);
+                } finally {
+                    MyRandom.setThreadRandom(null);
+                }
                 sw.stop();
             }, 120, TimeUnit.SECONDS);
         } catch (TimeoutException e) {
-            System.out.println("Stopping slow match as draw");
+            output.append("Stopping slow match as draw").append(System.lineSeparator());
         } catch (Exception | StackOverflowError e) {
             e.printStackTrace();
         } finally {
@@ -198,18 +295,84 @@ public class SimulateMatch {
         }
         Collections.reverse(log);
         for (GameLogEntry l : log) {
-            System.out.println(l);
+            output.append(l).append(System.lineSeparator());
         }
 
         // If both players life totals to 0 in a single turn, the game should end in a draw
+        String winner = null;
         if (g1.getOutcome().isDraw()) {
-            System.out.printf("\nGame Result: Game %d ended in a Draw! Took %d ms.%n", 1 + iGame, sw.getTime());
+            output.append(String.format("\nGame Result: Game %d ended in a Draw! Took %d ms.%n", 1 + iGame, sw.getTime()));
         } else {
-            System.out.printf("\nGame Result: Game %d ended in %d ms. %s has won!\n%n", 1 + iGame, sw.getTime(), g1.getOutcome().getWinningLobbyPlayer().getName());
+            winner = g1.getOutcome().getWinningLobbyPlayer().getName();
+            output.append(String.format("\nGame Result: Game %d ended in %d ms. %s has won!\n%n", 1 + iGame, sw.getTime(), winner));
+        }
+        return new GameResult(1 + iGame, output.toString(), winner, g1.getOutcome().getLastTurnNumber(), sw.getTime());
+    }
+
+    /** Receives results while a simulation runs, used by the batch simulation server. */
+    interface SimulationListener {
+        void gameFinished(GameResult result);
+        void matchFinished(String pairing, String winner);
+    }
+
+    static final class GameResult {
+        final int gameNumber;
+        final String output;
+        final String winner; // null for a draw
+        final int turns;
+        final long millis;
+
+        GameResult(int gameNumber, String output, String winner, int turns, long millis) {
+            this.gameNumber = gameNumber;
+            this.output = output;
+            this.winner = winner;
+            this.turns = turns;
+            this.millis = millis;
+        }
+    }
+
+    /** Win/loss/turn-count totals over all simulated games, printed the same way for serial and parallel runs. */
+    private static final class SimulationSummary {
+        private final SimulationListener listener;
+        private final Map<String, Integer> wins = new TreeMap<>();
+        private int games = 0;
+        private int draws = 0;
+        private long turns = 0;
+        private long millis = 0;
+
+        SimulationSummary(SimulationListener listener) {
+            this.listener = listener;
+        }
+
+        void add(GameResult result) {
+            System.out.print(result.output);
+            if (listener != null) {
+                listener.gameFinished(result);
+            }
+            games++;
+            turns += result.turns;
+            millis += result.millis;
+            if (result.winner == null) {
+                draws++;
+            } else {
+                wins.merge(result.winner, 1, Integer::sum);
+            }
+        }
+
+        void print() {
+            if (games == 0) {
+                return;
+            }
+            System.out.println(TextUtil.concatNoSpace("Simulation Summary: ", Lang.nounWithNumeral(games, "game"),
+                    ", ", Lang.nounWithNumeral(draws, "draw")));
+            for (Map.Entry<String, Integer> e : wins.entrySet()) {
+                System.out.println(TextUtil.concatNoSpace("\t", e.getKey(), " - ", Lang.nounWithNumeral(e.getValue(), "win")));
+            }
+            System.out.printf("\tAverage game length: %.1f turns, %d ms%n", (double) turns / games, millis / games);
         }
     }
 
-    private static void simulateTournament(Map<String, List<String>> params, GameRules rules, boolean outputGamelog) {
+    private static boolean simulateTournament(Map<String, List<String>> params, GameRules rules, boolean outputGamelog, SimulationListener listener) {
         String tournament = params.get("t").get(0);
         AbstractTournament tourney = null;
         int matchPlayers = params.containsKey("p") ? Integer.parseInt(params.get("p").get(0)) : 2;
@@ -222,7 +385,7 @@ public class SimulateMatch {
                 Deck d = deckFromCommandLineParameter(deck, rules.getGameType());
                 if (d == null) {
                     System.out.println(TextUtil.concatNoSpace("Could not load deck - ", deck, ", match cannot start"));
-                    return;
+                    return false;
                 }
 
                 deckGroup.addAiDeck(d);
@@ -242,7 +405,7 @@ public class SimulateMatch {
                     Deck d = DeckSerializer.fromFile(deck);
                     if (d == null) {
                         System.out.println(TextUtil.concatNoSpace("Could not load deck - ", deck.getName(), ", match cannot start"));
-                        return;
+                        return false;
                     }
                     deckGroup.addAiDeck(d);
                     players.add(new TournamentPlayer(GamePlayerUtil.createAiPlayer(d.getName(), 0), numPlayers));
@@ -265,7 +428,7 @@ public class SimulateMatch {
         }
         if (tourney == null) {
             System.out.println("Failed to initialize tournament, bailing out");
-            return;
+            return false;
         }
 
         tourney.initializeTournament();
@@ -306,7 +469,11 @@ public class SimulateMatch {
                 while (!mc.isMatchOver()) {
                     // play games until the match ends
                     try {
-                        simulateSingleMatch(mc, iGame, outputGamelog);
+                        GameResult result = playSingleGame(mc, iGame, outputGamelog, null);
+                        System.out.print(result.output);
+                        if (listener != null) {
+                            listener.gameFinished(result);
+                        }
                         iGame++;
                     } catch (Exception e) {
                         exceptions++;
@@ -327,6 +494,9 @@ public class SimulateMatch {
                         lastWinner = winner.getName();
                         System.out.println(TextUtil.concatNoSpace("Match Winner - ", lastWinner, "!"));
                         System.out.println();
+                        if (listener != null) {
+                            listener.matchFinished(pairing.outputHeader(), lastWinner);
+                        }
                         break;
                     }
                 }
@@ -335,6 +505,7 @@ public class SimulateMatch {
             tourney.reportMatchCompletion(pairing);
         }
         tourney.outputTournamentResults();
+        return true;
     }
 
     public static Match simulateOffthreadGame(List<Deck> decks, GameType format, int games) {
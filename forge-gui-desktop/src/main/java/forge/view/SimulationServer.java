@@ -0,0 +1,452 @@
+package forge.view;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.math.BigDecimal;
+import java.net.InetAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.*;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import forge.model.FModel;
+
+/**
+ * Long-lived headless simulation mode. The card database and the rest of the model are loaded once,
+ * then simulation jobs are taken from a local socket or a spool directory and run one after another.
+ * <p>
+ * A job is one JSON object per line, for example
+ * <pre>{"id":"gauntlet-1", "decks":["Burn.dck","Zoo.dck"], "games":100, "threads":8}</pre>
+ * Recognized keys: id, decks, deckDir, format, games, matchSize, tournament, players, threads, seed, quiet.
+ * They map to the options of {@link SimulateMatch}. Results are streamed back as JSON lines, one per finished game
+ * and tournament match, followed by a "done" (or "error") line for the job.
+ */
+public class SimulationServer {
+    private static final String JOB_EXT = ".job";
+    private static final String RUNNING_EXT = ".running";
+    private static final String DONE_EXT = ".done";
+    private static final String RESULT_EXT = ".results.jsonl";
+
+    // simulations already use their own game threads, jobs are queued so they don't compete for the cores
+    private static final ExecutorService jobQueue = Executors.newSingleThreadExecutor(r -> new Thread(r, "SimulationJobs"));
+
+    public static void serve(String[] args) {
+        FModel.initialize(null, null);
+
+        System.out.println("Simulation server mode");
+        Map<String, String> options = new HashMap<>();
+        for (int i = 1; i + 1 < args.length; i += 2) {
+            // "simserver" is in the 0th slot
+            if (args[i].length() < 2 || args[i].charAt(0) != '-') {
+                argumentHelp();
+                return;
+            }
+            options.put(args[i].substring(1), args[i + 1]);
+        }
+
+        try {
+            if (options.containsKey("port")) {
+                listen(Integer.parseInt(options.get("port")));
+            } else if (options.containsKey("spool")) {
+                watch(new File(options.get("spool")));
+            } else {
+                argumentHelp();
+            }
+        } catch (IOException e) {
+            e.printStackTrace();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static void argumentHelp() {
+        System.out.println("Syntax: forge.exe simserver -port <P> | -spool <DIR>");
+        System.out.println("\tP - local port to accept jobs on, one JSON job per line, results are written back to the connection");
+        System.out.println("\tDIR - directory watched for *" + JOB_EXT + " files, results go to <name>" + RESULT_EXT);
+    }
+
+    private static void listen(int port) throws IOException {
+        try (ServerSocket server = new ServerSocket(port, 50, InetAddress.getLoopbackAddress())) {
+            System.out.println("Waiting for simulation jobs on port " + port);
+            while (!server.isClosed()) {
+                final Socket socket = server.accept();
+                Thread connection = new Thread(() -> handleConnection(socket), "SimulationClient-" + socket.getPort());
+                connection.setDaemon(true);
+                connection.start();
+            }
+        }
+    }
+
+    private static void handleConnection(Socket socket) {
+        try (Socket s = socket;
+             BufferedReader in = new BufferedReader(new InputStreamReader(s.getInputStream(), StandardCharsets.UTF_8));
+             Writer out = new BufferedWriter(new OutputStreamWriter(s.getOutputStream(), StandardCharsets.UTF_8))) {
+            String line;
+            while ((line = in.readLine()) != null) {
+                if (!line.isBlank()) {
+                    runQueued(line, out);
+                }
+            }
+        } catch (IOException e) {
+            System.err.println("Simulation client disconnected: " + e.getMessage());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static void watch(File spool) throws IOException, InterruptedException {
+        if (!spool.isDirectory() && !spool.mkdirs()) {
+            throw new IOException("Cannot create spool directory " + spool);
+        }
+        System.out.println("Watching " + spool.getAbsolutePath() + " for simulation jobs");
+        while (true) {
+            File[] jobs = spool.listFiles((dir, name) -> name.endsWith(JOB_EXT));
+            if (jobs == null || jobs.length == 0) {
+                Thread.sleep(1000);
+                continue;
+            }
+            Arrays.sort(jobs);
+            for (File job : jobs) {
+                String base = job.getName().substring(0, job.getName().length() - JOB_EXT.length());
+                File running = new File(spool, base + RUNNING_EXT);
+                if (!job.renameTo(running)) {
+                    continue; // picked up by someone else
+                }
+                try (Writer out = Files.newBufferedWriter(new File(spool, base + RESULT_EXT).toPath(), StandardCharsets.UTF_8)) {
+                    for (String line : Files.readAllLines(running.toPath(), StandardCharsets.UTF_8)) {
+                        if (!line.isBlank()) {
+                            runQueued(line, out);
+                        }
+                    }
+                }
+                running.renameTo(new File(spool, base + DONE_EXT));
+            }
+        }
+    }
+
+    private static void runQueued(final String json, final Writer out) throws InterruptedException {
+        Future<?> job = jobQueue.submit(() -> runJob(json, out));
+        try {
+            job.get();
+        } catch (ExecutionException e) {
+            e.getCause().printStackTrace();
+        }
+    }
+
+    private static void runJob(String json, Writer out) {
+        String id = "";
+        try {
+            Map<String, Object> job = JsonParser.parseObject(json);
+            id = String.valueOf(job.getOrDefault("id", ""));
+            final JobReporter reporter = new JobReporter(id, out);
+            if (!SimulateMatch.simulate(toParameters(job), reporter)) {
+                reporter.send("error", "\"message\":" + quote("Simulation could not be started, see server log"));
+                return;
+            }
+            reporter.done();
+        } catch (RuntimeException e) {
+            e.printStackTrace();
+            new JobReporter(id, out).send("error", "\"message\":" + quote(String.valueOf(e.getMessage())));
+        }
+    }
+
+    private static Map<String, List<String>> toParameters(Map<String, Object> job) {
+        Map<String, List<String>> params = new HashMap<>();
+        addParameter(params, "d", job.get("decks"));
+        addParameter(params, "D", job.get("deckDir"));
+        addParameter(params, "f", job.get("format"));
+        addParameter(params, "n", job.get("games"));
+        addParameter(params, "m", job.get("matchSize"));
+        addParameter(params, "t", job.get("tournament"));
+        addParameter(params, "p", job.get("players"));
+        addParameter(params, "j", job.get("threads"));
+        addParameter(params, "s", job.get("seed"));
+        // a server is usually not interested in full game logs
+        if (!Boolean.FALSE.equals(job.get("quiet"))) {
+            params.put("q", new ArrayList<>());
+        }
+        if (!params.containsKey("d") && !params.containsKey("D")) {
+            throw new IllegalArgumentException("Job has no decks");
+        }
+        return params;
+    }
+
+    private static void addParameter(Map<String, List<String>> params, String key, Object value) {
+        if (value == null) {
+            return;
+        }
+        List<String> values = new ArrayList<>();
+        if (value instanceof List<?> list) {
+            for (Object o : list) {
+                values.add(JsonParser.asText(o));
+            }
+        } else {
+            values.add(JsonParser.asText(value));
+        }
+        params.put(key, values);
+    }
+
+    private static String quote(String s) {
+        StringBuilder sb = new StringBuilder(s.length() + 2).append('"');
+        for (char c : s.toCharArray()) {
+            switch (c) {
+                case '"': sb.append("\\\""); break;
+                case '\\': sb.append("\\\\"); break;
+                case '\n': sb.append("\\n"); break;
+                case '\r': sb.append("\\r"); break;
+                case '\t': sb.append("\\t"); break;
+                default:
+                    if (c < 0x20) {
+                        sb.append(String.format("\\u%04x", (int) c));
+                    } else {
+                        sb.append(c);
+                    }
+            }
+        }
+        return sb.append('"').toString();
+    }
+
+    /** Streams the results of a single job as JSON lines and keeps the totals for its final line. */
+    private static final class JobReporter implements SimulateMatch.SimulationListener {
+        private final String id;
+        private final Writer out;
+        private final Map<String, Integer> wins = new TreeMap<>();
+        private int games = 0;
+        private int draws = 0;
+        private long turns = 0;
+
+        JobReporter(String id, Writer out) {
+            this.id = id;
+            this.out = out;
+        }
+
+        @Override
+        public void gameFinished(SimulateMatch.GameResult result) {
+            games++;
+            turns += result.turns;
+            if (result.winner == null) {
+                draws++;
+            } else {
+                wins.merge(result.winner, 1, Integer::sum);
+            }
+            send("game", "\"game\":" + result.gameNumber + ",\"winner\":" + (result.winner == null ? "null" : quote(result.winner))
+                    + ",\"turns\":" + result.turns + ",\"ms\":" + result.millis);
+        }
+
+        @Override
+        public void matchFinished(String pairing, String winner) {
+            send("match", "\"pairing\":" + quote(pairing) + ",\"winner\":" + quote(winner));
+        }
+
+        void done() {
+            StringBuilder sb = new StringBuilder();
+            sb.append("\"games\":").append(games).append(",\"draws\":").append(draws).append(",\"wins\":{");
+            boolean first = true;
+            for (Map.Entry<String, Integer> e : wins.entrySet()) {
+                if (!first) {
+                    sb.append(',');
+                }
+                sb.append(quote(e.getKey())).append(':').append(e.getValue());
+                first = false;
+            }
+            sb.append("},\"averageTurns\":").append(games == 0 ? 0 : (double) turns / games);
+            send("done", sb.toString());
+        }
+
+        void send(String event, String body) {
+            String line = "{\"id\":" + quote(id) + ",\"event\":\"" + event + "\"," + body + "}\n";
+            synchronized (out) {
+                try {
+                    out.write(line);
+                    out.flush();
+                } catch (IOException e) {
+                    System.err.println("Could not report simulation result: " + e.getMessage());
+                }
+            }
+        }
+    }
+
+    /** Just enough JSON to read a job: objects, arrays, strings, numbers, booleans and null. */
+    static final class JsonParser {
+        private final String text;
+        private int pos = 0;
+
+        private JsonParser(String text) {
+            this.text = text;
+        }
+
+        @SuppressWarnings("unchecked")
+        static Map<String, Object> parseObject(String text) {
+            JsonParser parser = new JsonParser(text);
+            Object value = parser.readValue();
+            parser.skipWhitespace();
+            if (!(value instanceof Map) || parser.pos != text.length()) {
+                throw new IllegalArgumentException("A job must be a single JSON object");
+            }
+            return (Map<String, Object>) value;
+        }
+
+        static String asText(Object value) {
+            // numbers keep their exact digits, seeds don't fit into a double
+            if (value instanceof BigDecimal number) {
+                return number.stripTrailingZeros().toPlainString();
+            }
+            return String.valueOf(value);
+        }
+
+        private Object readValue() {
+            skipWhitespace();
+            if (pos >= text.length()) {
+                throw error("Unexpected end of input");
+            }
+            char c = text.charAt(pos);
+            switch (c) {
+                case '{': return readObject();
+                case '[': return readArray();
+                case '"': return readString();
+                case 't': return readLiteral("true", Boolean.TRUE);
+                case 'f': return readLiteral("false", Boolean.FALSE);
+                case 'n': return readLiteral("null", null);
+                default: return readNumber();
+            }
+        }
+
+        private Map<String, Object> readObject() {
+            Map<String, Object> result = new LinkedHashMap<>();
+            pos++;
+            skipWhitespace();
+            if (peek() == '}') {
+                pos++;
+                return result;
+            }
+            while (true) {
+                skipWhitespace();
+                String key = readString();
+                skipWhitespace();
+                expect(':');
+                result.put(key, readValue());
+                skipWhitespace();
+                if (peek() == ',') {
+                    pos++;
+                } else {
+                    expect('}');
+                    return result;
+                }
+            }
+        }
+
+        private List<Object> readArray() {
+            List<Object> result = new ArrayList<>();
+            pos++;
+            skipWhitespace();
+            if (peek() == ']') {
+                pos++;
+                return result;
+            }
+            while (true) {
+                result.add(readValue());
+                skipWhitespace();
+                if (peek() == ',') {
+                    pos++;
+                } else {
+                    expect(']');
+                    return result;
+                }
+            }
+        }
+
+        private String readString() {
+            expect('"');
+            StringBuilder sb = new StringBuilder();
+            while (pos < text.length()) {
+                char c = text.charAt(pos++);
+                if (c == '"') {
+                    return sb.toString();
+                }
+                if (c != '\\') {
+                    sb.append(c);
+                    continue;
+                }
+                if (pos >= text.length()) {
+                    break;
+                }
+                char esc = text.charAt(pos++);
+                switch (esc) {
+                    case 'n': sb.append('\n'); break;
+                    case 'r': sb.append('\r'); break;
+                    case 't': sb.append('\t'); break;
+                    case 'b': sb.append('\b'); break;
+                    case 'f': sb.append('\f'); break;
+                    case '"': case '\\': case '/': sb.append(esc); break;
+                    case 'u':
+                        if (pos + 4 > text.length()) {
+                            throw error("Bad unicode escape");
+                        }
+                        try {
+                            sb.append((char) Integer.parseInt(text.substring(pos, pos + 4), 16));
+                        } catch (NumberFormatException e) {
+                            throw error("Bad unicode escape");
+                        }
+                        pos += 4;
+                        break;
+                    default: throw error("Bad escape");
+                }
+            }
+            throw error("Unterminated string");
+        }
+
+        private Object readLiteral(String literal, Object value) {
+            if (!text.startsWith(literal, pos)) {
+                throw error("Unexpected token");
+            }
+            pos += literal.length();
+            return value;
+        }
+
+        private BigDecimal readNumber() {
+            int start = pos;
+            while (pos < text.length() && "+-0123456789.eE".indexOf(text.charAt(pos)) >= 0) {
+                pos++;
+            }
+            if (start == pos) {
+                throw error("Unexpected character");
+            }
+            try {
+                return new BigDecimal(text.substring(start, pos));
+            } catch (NumberFormatException e) {
+                throw error("Bad number");
+            }
+        }
+
+        private void skipWhitespace() {
+            while (pos < text.length() && Character.isWhitespace(text.charAt(pos))) {
+                pos++;
+            }
+        }
+
+        private char peek() {
+            return pos < text.length() ? text.charAt(pos) : 0;
+        }
+
+        private void expect(char c) {
+            if (peek() != c) {
+                throw error("Expected '" + c + "'");
+            }
+            pos++;
+        }
+
+        private IllegalArgumentException error(String message) {
+            return new IllegalArgumentException(message + " at position " + pos);
+        }
+    }
+}
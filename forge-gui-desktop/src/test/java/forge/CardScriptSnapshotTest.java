@@ -0,0 +1,170 @@
+package forge;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Stream;
+
+import org.apache.commons.lang3.StringUtils;
+import org.testng.AssertJUnit;
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+import forge.card.CardRules;
+import forge.util.Localizer;
+
+/**
+ * Checks that the card script snapshot reads back what was written, that it is ignored once the folder changes
+ * and that cards loaded from it are the same as cards loaded from the script files.
+ */
+public class CardScriptSnapshotTest {
+    private File folder;
+    private File snapshot;
+
+    @BeforeMethod
+    public void createFolder() throws IOException {
+        // the reader reports its progress with localized names
+        Localizer.getInstance().initialize("en-US", "../forge-gui/res/languages/");
+        folder = Files.createTempDirectory("cardsfolder").toFile();
+        snapshot = new File(Files.createTempDirectory("snapshot").toFile(), "cardsfolder.snapshot");
+        writeScript("a/ancestral_recall.txt", "Name:Ancestral Recall", "ManaCost:U", "Types:Instant",
+                "A:SP$ Draw | NumCards$ 3 | ValidTgts$ Player | SpellDescription$ Target player draws three cards.",
+                "Oracle:Target player draws three cards.");
+        writeScript("g/grizzly_bears.txt", "Name:Grizzly Bears", "ManaCost:1 G", "Types:Creature Bear", "PT:2/2",
+                "Oracle:");
+        // not plain ascii
+        writeScript("j/jotun_grunt.txt", "Name:Jötun Grunt", "ManaCost:1 W", "Types:Creature Giant Soldier", "PT:4/4",
+                "Oracle:Cumulative upkeep—Put two cards from a single graveyard on the bottom of their owner's library.");
+    }
+
+    @AfterMethod
+    public void deleteFolders() throws IOException {
+        delete(folder);
+        delete(snapshot.getParentFile());
+    }
+
+    @Test
+    public void testRoundTrip() {
+        Map<String, List<String>> scripts = readScripts();
+        // longer than writeUTF allows
+        scripts.put("z/long.txt", Arrays.asList("Name:Long", "Oracle:" + StringUtils.repeat('x', 70000), ""));
+        long fingerprint = CardScriptSnapshot.fingerprint(folder, files());
+
+        CardScriptSnapshot.write(snapshot, fingerprint, scripts);
+        Map<String, List<String>> read = CardScriptSnapshot.read(snapshot, fingerprint);
+
+        AssertJUnit.assertNotNull(read);
+        AssertJUnit.assertEquals(scripts, read);
+        // entries come back sorted by path
+        AssertJUnit.assertEquals(Arrays.asList("a/ancestral_recall.txt", "g/grizzly_bears.txt", "j/jotun_grunt.txt", "z/long.txt"),
+                new ArrayList<>(read.keySet()));
+        AssertJUnit.assertFalse(new File(snapshot.getPath() + ".tmp").exists());
+    }
+
+    @Test
+    public void testChangedFolderIgnoresSnapshot() throws IOException {
+        long fingerprint = CardScriptSnapshot.fingerprint(folder, files());
+        CardScriptSnapshot.write(snapshot, fingerprint, readScripts());
+        AssertJUnit.assertEquals(fingerprint, CardScriptSnapshot.fingerprint(folder, files()));
+
+        // an edited script
+        File bears = new File(folder, "g/grizzly_bears.txt");
+        long modified = bears.lastModified();
+        writeScript("g/grizzly_bears.txt", "Name:Grizzly Bears", "ManaCost:1 G", "Types:Creature Bear", "PT:3/3",
+                "Oracle:");
+        AssertJUnit.assertTrue(bears.setLastModified(modified + 2000));
+        long edited = CardScriptSnapshot.fingerprint(folder, files());
+        AssertJUnit.assertTrue(edited != fingerprint);
+        AssertJUnit.assertNull(CardScriptSnapshot.read(snapshot, edited));
+
+        // a new script
+        writeScript("s/savannah_lions.txt", "Name:Savannah Lions", "ManaCost:W", "Types:Creature Cat", "PT:2/1", "Oracle:");
+        long added = CardScriptSnapshot.fingerprint(folder, files());
+        AssertJUnit.assertTrue(added != edited);
+
+        // a removed script
+        AssertJUnit.assertTrue(new File(folder, "s/savannah_lions.txt").delete());
+        AssertJUnit.assertEquals(edited, CardScriptSnapshot.fingerprint(folder, files()));
+    }
+
+    @Test
+    public void testDamagedSnapshotIsIgnored() throws IOException {
+        long fingerprint = CardScriptSnapshot.fingerprint(folder, files());
+        CardScriptSnapshot.write(snapshot, fingerprint, readScripts());
+        try (RandomAccessFile file = new RandomAccessFile(snapshot, "rw")) {
+            file.setLength(file.length() / 2);
+        }
+        AssertJUnit.assertNull(CardScriptSnapshot.read(snapshot, fingerprint));
+
+        Files.write(snapshot.toPath(), "not a snapshot".getBytes(StandardCharsets.UTF_8));
+        AssertJUnit.assertNull(CardScriptSnapshot.read(snapshot, fingerprint));
+        AssertJUnit.assertNull(CardScriptSnapshot.read(new File(folder, "missing.snapshot"), fingerprint));
+    }
+
+    @Test
+    public void testCardsFromSnapshotMatchCardsFromFiles() {
+        Map<String, String> fromFiles = loadCards();
+        AssertJUnit.assertTrue(snapshot.isFile());
+        Map<String, String> fromSnapshot = loadCards();
+
+        AssertJUnit.assertEquals(3, fromFiles.size());
+        AssertJUnit.assertEquals(fromFiles, fromSnapshot);
+    }
+
+    // card name to its oracle text, mana cost and type
+    private Map<String, String> loadCards() {
+        CardStorageReader reader = new CardStorageReader(folder.getPath(), null, false);
+        reader.setSnapshotFile(snapshot);
+        Map<String, String> cards = new HashMap<>();
+        for (CardRules rules : reader.loadCards()) {
+            cards.put(rules.getName(), rules.getOracleText() + "|" + rules.getManaCost() + "|" + rules.getType());
+        }
+        return cards;
+    }
+
+    private Map<String, List<String>> readScripts() {
+        Map<String, List<String>> scripts = new LinkedHashMap<>();
+        String rootPath = folder.getAbsolutePath();
+        for (File f : files()) {
+            try {
+                scripts.put(CardScriptSnapshot.relativePath(rootPath, f), Files.readAllLines(f.toPath(), StandardCharsets.UTF_8));
+            } catch (IOException e) {
+                throw new RuntimeException(e);
+            }
+        }
+        return scripts;
+    }
+
+    private List<File> files() {
+        List<File> files = new ArrayList<>();
+        try (Stream<Path> paths = Files.walk(folder.toPath())) {
+            paths.filter(Files::isRegularFile).forEach(p -> files.add(p.toFile()));
+        } catch (IOException e) {
+            throw new RuntimeException(e);
+        }
+        return files;
+    }
+
+    private void writeScript(String path, String... lines) throws IOException {
+        File file = new File(folder, path);
+        file.getParentFile().mkdirs();
+        Files.write(file.toPath(), Arrays.asList(lines), StandardCharsets.UTF_8);
+    }
+
+    private static void delete(File root) throws IOException {
+        try (Stream<Path> paths = Files.walk(root.toPath())) {
+            paths.sorted(Comparator.reverseOrder()).map(Path::toFile).forEach(File::delete);
+        }
+    }
+}
@@ -0,0 +1,90 @@
+package forge.ai;
+
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import org.testng.AssertJUnit;
+import org.testng.annotations.Test;
+
+/**
+ * Lets a decision stop waiting for the task it handed to another thread, the way AiController does after its timeout,
+ * and checks the task still counts against the cap.
+ */
+public class AiDecisionLimiterTest {
+
+    @Test
+    public void testTaskOutlivingItsCallerKeepsThePermit() throws Exception {
+        AiDecisionLimiter.setMaxConcurrentDecisions(1);
+        final ExecutorService executor = Executors.newFixedThreadPool(2);
+        try {
+            final CountDownLatch taskStarted = new CountDownLatch(1);
+            final CountDownLatch finishTask = new CountDownLatch(1);
+            final Future<?>[] task = new Future<?>[1];
+            AiDecisionLimiter.decide(() -> {
+                final Callable<Boolean> work = AiDecisionLimiter.withPermitOfCaller(() -> {
+                    taskStarted.countDown();
+                    return finishTask.await(10, TimeUnit.SECONDS);
+                });
+                task[0] = executor.submit(work);
+                try {
+                    taskStarted.await(10, TimeUnit.SECONDS);
+                } catch (InterruptedException e) {
+                    throw new RuntimeException(e);
+                }
+                // the caller gives up on the task
+            });
+
+            final CountDownLatch otherDecided = new CountDownLatch(1);
+            executor.submit(() -> AiDecisionLimiter.decide(otherDecided::countDown));
+            AssertJUnit.assertFalse(otherDecided.await(200, TimeUnit.MILLISECONDS));
+
+            finishTask.countDown();
+            task[0].get(10, TimeUnit.SECONDS);
+            AssertJUnit.assertTrue(otherDecided.await(10, TimeUnit.SECONDS));
+        } finally {
+            executor.shutdownNow();
+            AiDecisionLimiter.setMaxConcurrentDecisions(0);
+        }
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    public void testTaskStartingAfterItsCallerWaitsForAPermit() throws Exception {
+        AiDecisionLimiter.setMaxConcurrentDecisions(1);
+        final ExecutorService executor = Executors.newSingleThreadExecutor();
+        try {
+            final Callable<Boolean>[] work = new Callable[1];
+            AiDecisionLimiter.decide(() -> {
+                work[0] = AiDecisionLimiter.withPermitOfCaller(() -> Boolean.TRUE);
+            });
+
+            final CountDownLatch releaseOther = new CountDownLatch(1);
+            final CountDownLatch otherDecided = new CountDownLatch(1);
+            final Thread other = new Thread(() -> AiDecisionLimiter.decide(() -> {
+                otherDecided.countDown();
+                try {
+                    releaseOther.await(10, TimeUnit.SECONDS);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }));
+            other.start();
+            AssertJUnit.assertTrue(otherDecided.await(10, TimeUnit.SECONDS));
+
+            // the permit the task was made with is gone, it has to wait for the other decision
+            final Future<Boolean> late = executor.submit(work[0]);
+            Thread.sleep(200);
+            AssertJUnit.assertFalse(late.isDone());
+            releaseOther.countDown();
+            AssertJUnit.assertTrue(late.get(10, TimeUnit.SECONDS));
+            other.join();
+        } finally {
+            executor.shutdownNow();
+            AiDecisionLimiter.setMaxConcurrentDecisions(0);
+        }
+    }
+}
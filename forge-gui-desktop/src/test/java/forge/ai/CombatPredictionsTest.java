@@ -0,0 +1,80 @@
+package forge.ai;
+
+import org.testng.AssertJUnit;
+import org.testng.annotations.Test;
+
+import forge.ai.simulation.SimulationTest;
+import forge.game.Game;
+import forge.game.card.Card;
+import forge.game.combat.Combat;
+import forge.game.player.Player;
+
+/**
+ * Changes the toughness of an attacker without moving the game timestamp, so a kept prediction gives the old answer
+ * and a new one gives the new answer.
+ */
+public class CombatPredictionsTest extends SimulationTest {
+
+    @Test
+    public void testKeptUntilCombatOrTimestampChanges() {
+        final Game game = initAndCreateGame();
+        final Player p = game.getPlayers().get(1);
+        final Player opponent = game.getPlayers().get(0);
+        final Card bears = addCard("Grizzly Bears", p);
+        final Card giant = addCard("Hill Giant", opponent);
+        final Combat combat = new Combat(p);
+        combat.addAttacker(bears, opponent);
+
+        CombatPredictions.open(game);
+        try {
+            AssertJUnit.assertTrue(ComputerUtilCombat.canDestroyAttacker(opponent, bears, giant, combat, false));
+            bears.setBaseToughness(5);
+            // the same declaration asks again
+            AssertJUnit.assertTrue(ComputerUtilCombat.canDestroyAttacker(opponent, bears, giant, combat, false));
+
+            combat.addBlocker(bears, giant);
+            AssertJUnit.assertFalse(ComputerUtilCombat.canDestroyAttacker(opponent, bears, giant, combat, false));
+            bears.setBaseToughness(2);
+            AssertJUnit.assertFalse(ComputerUtilCombat.canDestroyAttacker(opponent, bears, giant, combat, false));
+
+            combat.removeFromCombat(giant);
+            AssertJUnit.assertTrue(ComputerUtilCombat.canDestroyAttacker(opponent, bears, giant, combat, false));
+            bears.setBaseToughness(5);
+            AssertJUnit.assertTrue(ComputerUtilCombat.canDestroyAttacker(opponent, bears, giant, combat, false));
+
+            game.getNextTimestamp();
+            AssertJUnit.assertFalse(ComputerUtilCombat.canDestroyAttacker(opponent, bears, giant, combat, false));
+        } finally {
+            CombatPredictions.close();
+        }
+
+        // nothing is kept once closed
+        bears.setBaseToughness(2);
+        AssertJUnit.assertTrue(ComputerUtilCombat.canDestroyAttacker(opponent, bears, giant, combat, false));
+    }
+
+    @Test
+    public void testNotKeptWhileRegenerationTestsSuppressed() {
+        final Game game = initAndCreateGame();
+        final Player p = game.getPlayers().get(1);
+        final Player opponent = game.getPlayers().get(0);
+        final Card bears = addCard("Grizzly Bears", p);
+        final Card giant = addCard("Hill Giant", opponent);
+        final Combat combat = new Combat(p);
+        combat.addAttacker(bears, opponent);
+
+        CombatPredictions.open(game);
+        try {
+            ComputerUtilCombat.setCombatRegenTestSuppression(true);
+            try {
+                AssertJUnit.assertTrue(ComputerUtilCombat.canDestroyAttacker(opponent, bears, giant, combat, false));
+            } finally {
+                ComputerUtilCombat.setCombatRegenTestSuppression(false);
+            }
+            bears.setBaseToughness(5);
+            AssertJUnit.assertFalse(ComputerUtilCombat.canDestroyAttacker(opponent, bears, giant, combat, false));
+        } finally {
+            CombatPredictions.close();
+        }
+    }
+}
@@ -0,0 +1,161 @@
+package forge.ai;
+
+import forge.ai.simulation.GameSimulator;
+import forge.ai.simulation.SimulationTest;
+import forge.game.Game;
+import forge.game.card.Card;
+import forge.game.phase.PhaseType;
+import forge.game.player.Player;
+import forge.game.spellability.SpellAbility;
+import forge.game.zone.ZoneType;
+import org.testng.AssertJUnit;
+import org.testng.annotations.Test;
+
+import com.google.common.collect.Lists;
+
+import java.util.List;
+
+/**
+ * The payments of AutoPaymentTest, made with the mana sources kept the way the AI keeps them while it picks something
+ * to play.
+ */
+public class ManaSourceSnapshotTest extends SimulationTest {
+
+    @Test
+    public void dontPayWithAshnodsAltarWithManaSourcesKept() {
+        Game game = initAndCreateGame();
+        Player p = game.getPlayers().get(1);
+
+        Card elf = addCard("Llanowar Elves", p);
+        elf.setSickness(false);
+        addCard("Ashnod's Altar", p);
+        addToken("c_a_treasure_sac", p);
+        Card mindstone = addCardToZone("Mind Stone", p, ZoneType.Hand);
+
+        game.getPhaseHandler().devModeSet(PhaseType.MAIN1, p);
+        game.getAction().checkStateEffects(true);
+
+        GameSimulator sim = createSimulator(game, p);
+        int score = simulateWithManaSourcesKept(sim, mindstone.getFirstSpellAbility());
+
+        AssertJUnit.assertTrue(score > 0);
+        Game simGame = sim.getSimulatedGameState();
+        AssertJUnit.assertNotNull(findCardWithName(simGame, "Mind Stone"));
+        AssertJUnit.assertNotNull(findCardWithName(simGame, "Llanowar Elves"));
+    }
+
+    @Test
+    public void payWithTreasuresOverPhyrexianAltarWithManaSourcesKept() {
+        Game game = initAndCreateGame();
+        Player p = game.getPlayers().get(1);
+
+        addCards("Squire", 6, p);
+        addCard("Phyrexian Altar", p);
+        addTokens("c_a_treasure_sac", 6, p);
+        Card dragon = addCardToZone("Shivan Dragon", p, ZoneType.Hand);
+
+        game.getPhaseHandler().devModeSet(PhaseType.MAIN1, p);
+        game.getAction().checkStateEffects(true);
+
+        GameSimulator sim = createSimulator(game, p);
+        int score = simulateWithManaSourcesKept(sim, dragon.getFirstSpellAbility());
+
+        AssertJUnit.assertTrue(score > 0);
+        Game simGame = sim.getSimulatedGameState();
+        Card dragonBF = findCardWithName(simGame, "Shivan Dragon");
+        AssertJUnit.assertNotNull(dragonBF);
+        AssertJUnit.assertEquals(dragonBF.getZone().getZoneType(), ZoneType.Battlefield);
+        AssertJUnit.assertNotNull(findCardWithName(simGame, "Squire"));
+        AssertJUnit.assertNull(findCardWithName(simGame, "Treasure Token"));
+    }
+
+    @Test
+    public void keptManaSourcesFollowPayments() {
+        Game game = initAndCreateGame();
+        Player p = game.getPlayers().get(1);
+
+        addCards("Forest", 2, p);
+        Card elf = addCard("Llanowar Elves", p);
+        elf.setSickness(false);
+        SpellAbility first = addCardToZone("Grizzly Bears", p, ZoneType.Hand).getFirstSpellAbility();
+        SpellAbility second = addCardToZone("Grizzly Bears", p, ZoneType.Hand).getFirstSpellAbility();
+        first.setActivatingPlayer(p);
+        second.setActivatingPlayer(p);
+
+        game.getPhaseHandler().devModeSet(PhaseType.MAIN1, p);
+        game.getAction().checkStateEffects(true);
+
+        ManaSourceSnapshot.open(game);
+        try {
+            AssertJUnit.assertTrue(ComputerUtilMana.canPayManaCost(first, p, 0, false));
+            AssertJUnit.assertTrue(ComputerUtilMana.canPayManaCost(second, p, 0, false));
+            AssertJUnit.assertTrue(ComputerUtilMana.payManaCost(first.getPayCosts(), p, first, false));
+            // two of the three sources are tapped now, the ones kept before must not be offered again
+            AssertJUnit.assertFalse(ComputerUtilMana.canPayManaCost(second, p, 0, false));
+        } finally {
+            ManaSourceSnapshot.close();
+        }
+    }
+
+    @Test(enabled = false) // disabled to not run in battery
+    public void testBenchmarkKeptManaSources() {
+        Game game = initAndCreateGame();
+        Player p = game.getPlayers().get(1);
+
+        // a midgame board: lands of two colors, mana creatures and rocks, a full hand to check
+        addCards("Forest", 4, p);
+        addCards("Mountain", 3, p);
+        addCards("Llanowar Elves", 2, p);
+        addCard("Mind Stone", p);
+        addCard("Sol Ring", p);
+        List<SpellAbility> hand = Lists.newArrayList();
+        for (String name : new String[] {"Grizzly Bears", "Shivan Dragon", "Lightning Bolt", "Giant Growth",
+                "Craw Wurm", "Hill Giant", "Llanowar Elves"}) {
+            SpellAbility sa = addCardToZone(name, p, ZoneType.Hand).getFirstSpellAbility();
+            sa.setActivatingPlayer(p);
+            hand.add(sa);
+        }
+        for (Card c : p.getCardsIn(ZoneType.Battlefield)) {
+            c.setSickness(false);
+        }
+        game.getPhaseHandler().devModeSet(PhaseType.MAIN1, p);
+        game.getAction().checkStateEffects(true);
+
+        // like findSpellAbilityToPlay, every candidate asks whether it can be paid,
+        // the second round shows the times after the JIT warmed up
+        final int nRuns = 2000;
+        for (int round = 0; round < 2; round++) {
+            long start = System.nanoTime();
+            for (int r = 0; r < nRuns; r++) {
+                for (SpellAbility sa : hand) {
+                    ComputerUtilMana.canPayManaCost(sa, p, 0, false);
+                }
+            }
+            long without = System.nanoTime() - start;
+
+            start = System.nanoTime();
+            for (int r = 0; r < nRuns; r++) {
+                ManaSourceSnapshot.open(game);
+                try {
+                    for (SpellAbility sa : hand) {
+                        ComputerUtilMana.canPayManaCost(sa, p, 0, false);
+                    }
+                } finally {
+                    ManaSourceSnapshot.close();
+                }
+            }
+            long with = System.nanoTime() - start;
+            System.out.println(nRuns + " decisions of " + hand.size() + " candidates: " + without / 1000000 + " ms without kept sources, "
+                    + with / 1000000 + " ms with them");
+        }
+    }
+
+    private static int simulateWithManaSourcesKept(GameSimulator sim, SpellAbility sa) {
+        ManaSourceSnapshot.open(sim.getSimulatedGameState());
+        try {
+            return sim.simulateSpellAbility(sa).value;
+        } finally {
+            ManaSourceSnapshot.close();
+        }
+    }
+}
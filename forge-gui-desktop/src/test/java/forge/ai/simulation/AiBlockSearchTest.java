@@ -0,0 +1,97 @@
+package forge.ai.simulation;
+
+import java.lang.reflect.Field;
+import java.util.HashMap;
+import java.util.Map;
+
+import org.testng.AssertJUnit;
+import org.testng.annotations.AfterClass;
+import org.testng.annotations.BeforeClass;
+import org.testng.annotations.Test;
+
+import forge.ai.AiBlockController;
+import forge.ai.AiProfileUtil;
+import forge.ai.AiProps;
+import forge.ai.LobbyPlayerAi;
+import forge.game.Game;
+import forge.game.card.Card;
+import forge.game.combat.Combat;
+import forge.game.phase.PhaseType;
+import forge.game.player.Player;
+
+public class AiBlockSearchTest extends SimulationTest {
+    // the Experimental profile without the wall-clock limit, so only the number of nodes bounds the search
+    // and the blocks don't depend on the speed of the machine
+    private static final String PROFILE = "ExperimentalNoTimeLimit";
+
+    @BeforeClass
+    public void addProfile() throws Exception {
+        initAndCreateGame();
+        Map<AiProps, String> props = new HashMap<>(loadedProfiles().get("Experimental"));
+        props.put(AiProps.BLOCK_SEARCH_TIME_BUDGET, "0");
+        loadedProfiles().put(PROFILE, props);
+    }
+
+    @AfterClass
+    public void removeProfile() throws Exception {
+        loadedProfiles().remove(PROFILE);
+    }
+
+    // no profile file has these settings, so the profile is added next to the loaded ones for this test only
+    @SuppressWarnings("unchecked")
+    private static Map<String, Map<AiProps, String>> loadedProfiles() throws Exception {
+        Field profiles = AiProfileUtil.class.getDeclaredField("loadedProfiles");
+        profiles.setAccessible(true);
+        return (Map<String, Map<AiProps, String>>) profiles.get(null);
+    }
+
+    @Test
+    public void testSearchFindsBlocksThePassesMiss() {
+        // the passes give the bear the worst blocker that kills it and survives, the spider,
+        // which is the only one that could have blocked the hawk
+        Game game = initAndCreateGame();
+        Player ai = game.getPlayers().get(1);
+        Player opponent = game.getPlayers().get(0);
+        Card bear = addCard("Grizzly Bears", opponent);
+        Card hawk = addCard("Suntail Hawk", opponent);
+        Card spider = addCard("Giant Spider", ai);
+        Card wurm = addCard("Craw Wurm", ai);
+        game.getPhaseHandler().devModeSet(PhaseType.COMBAT_DECLARE_ATTACKERS, opponent);
+        game.getAction().checkStateEffects(true);
+
+        Combat greedy = declareBlocks(game, ai, opponent, bear, hawk, "Default");
+        AssertJUnit.assertTrue(greedy.getBlockers(bear).contains(spider));
+        AssertJUnit.assertTrue(greedy.getBlockers(hawk).isEmpty());
+
+        Combat searched = declareBlocks(game, ai, opponent, bear, hawk, PROFILE);
+        AssertJUnit.assertTrue(searched.getBlockers(bear).contains(wurm));
+        AssertJUnit.assertTrue(searched.getBlockers(hawk).contains(spider));
+    }
+
+    @Test
+    public void testSearchKeepsGoodPassBlocks() {
+        Game game = initAndCreateGame();
+        Player ai = game.getPlayers().get(1);
+        Player opponent = game.getPlayers().get(0);
+        Card bear = addCard("Grizzly Bears", opponent);
+        Card hawk = addCard("Suntail Hawk", opponent);
+        Card spider = addCard("Giant Spider", ai);
+        game.getPhaseHandler().devModeSet(PhaseType.COMBAT_DECLARE_ATTACKERS, opponent);
+        game.getAction().checkStateEffects(true);
+
+        Combat greedy = declareBlocks(game, ai, opponent, bear, hawk, "Default");
+        Combat searched = declareBlocks(game, ai, opponent, bear, hawk, PROFILE);
+        AssertJUnit.assertEquals(greedy.getBlockers(bear), searched.getBlockers(bear));
+        AssertJUnit.assertEquals(greedy.getBlockers(hawk), searched.getBlockers(hawk));
+        AssertJUnit.assertTrue(searched.getAttackersBlockedBy(spider).size() == 1);
+    }
+
+    private Combat declareBlocks(Game game, Player ai, Player opponent, Card first, Card second, String profile) {
+        ((LobbyPlayerAi) ai.getLobbyPlayer()).setAiProfile(profile);
+        Combat combat = new Combat(opponent);
+        combat.addAttacker(first, ai);
+        combat.addAttacker(second, ai);
+        new AiBlockController(ai, false).assignBlockersForCombat(combat);
+        return combat;
+    }
+}
@@ -0,0 +1,171 @@
+package forge.ai.simulation;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.TreeMap;
+
+import org.testng.AssertJUnit;
+import org.testng.annotations.Test;
+
+import forge.card.CardStateName;
+import forge.game.CardTraitBase;
+import forge.game.Game;
+import forge.game.TriggerReplacementBase;
+import forge.game.card.Card;
+import forge.game.card.CardFactory;
+import forge.game.card.CardState;
+import forge.game.keyword.KeywordInterface;
+import forge.game.player.Player;
+import forge.game.spellability.AbilitySub;
+import forge.game.spellability.LandAbility;
+import forge.game.spellability.SpellAbility;
+import forge.item.PaperCard;
+import forge.model.FModel;
+
+/**
+ * Checks that cards GameCopier copies from a prototype are the same as cards built from the script,
+ * down to who owns each trait, so a kind of trait the copy doesn't take over shows up here.
+ */
+public class CardPrototypeCopyTest extends SimulationTest {
+    // about 2000 cards of the database
+    private static final int SAMPLE_STEP = 15;
+
+    @Test
+    public void testCopiesMatchCardsBuiltFromScripts() {
+        Game game = initAndCreateGame();
+        Player owner = game.getPlayers().get(0);
+        List<PaperCard> cards = new ArrayList<>(FModel.getMagicDb().getCommonCards().getUniqueCards());
+        cards.sort(Comparator.comparing(PaperCard::getName));
+
+        int compared = 0;
+        List<String> differences = new ArrayList<>();
+        for (int i = 0; i < cards.size(); i += SAMPLE_STEP) {
+            PaperCard pc = cards.get(i);
+            Card prototype = CardFactory.getCard(pc, null, null);
+            if (!CardFactory.canCopyFromPrototype(prototype)) {
+                continue;
+            }
+            Card built = Card.fromPaperCard(pc, owner);
+            Card copy = CardFactory.copyFromPrototype(prototype, owner, game);
+            try {
+                assertSameCard(pc.getName(), built, copy);
+            } catch (AssertionError e) {
+                differences.add(e.getMessage());
+            }
+            compared++;
+        }
+        AssertJUnit.assertTrue(differences.size() + " of " + compared + " copies differ:\n"
+                + String.join("\n", differences.subList(0, Math.min(10, differences.size()))), differences.isEmpty());
+        AssertJUnit.assertTrue("only " + compared + " cards compared", compared > 1000);
+    }
+
+    private static void assertSameCard(String name, Card built, Card copy) {
+        AssertJUnit.assertEquals(name, describeStates(built), describeStates(copy));
+        AssertJUnit.assertEquals(name, countLandAbilities(built), countLandAbilities(copy));
+        for (CardStateName state : copy.getStates()) {
+            CardState builtState = built.getState(state);
+            CardState copyState = copy.getState(state);
+            AssertJUnit.assertEquals(name, describeTraits(builtState), describeTraits(copyState));
+            assertOwnedBy(name, builtState, built);
+            assertOwnedBy(name, copyState, copy);
+        }
+        for (SpellAbility sa : copy.getSpellAbilities()) {
+            assertOwnedBy(name, sa, copy);
+        }
+    }
+
+    private static String describeStates(Card c) {
+        StringBuilder sb = new StringBuilder();
+        for (CardStateName state : c.getStates()) {
+            CardState cs = c.getState(state);
+            sb.append(state).append(": ").append(cs.getName())
+                    .append(" | ").append(cs.getType())
+                    .append(" | ").append(cs.getManaCost())
+                    .append(" | ").append(cs.getColor())
+                    .append(" | ").append(cs.getBasePowerString()).append('/').append(cs.getBaseToughnessString())
+                    .append(" | ").append(cs.getOracleText())
+                    .append(" | ").append(cs.getSVars())
+                    .append('\n');
+        }
+        return sb.toString();
+    }
+
+    private static int countLandAbilities(Card c) {
+        int count = 0;
+        for (SpellAbility sa : c.getSpellAbilities()) {
+            if (sa instanceof LandAbility) {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    // the traits of a state and of its keywords, with their sub abilities, in order, the params sorted by name
+    private static List<String> describeTraits(CardState cs) {
+        List<String> result = new ArrayList<>();
+        for (CardTraitBase ctb : allTraits(cs)) {
+            result.add(ctb.getClass().getSimpleName() + " " + ctb.isIntrinsic() + " " + new TreeMap<>(ctb.getMapParams()));
+        }
+        for (KeywordInterface kw : cs.getIntrinsicKeywords()) {
+            result.add("Keyword " + kw.getOriginal());
+        }
+        return result;
+    }
+
+    private static void assertOwnedBy(String name, CardState cs, Card c) {
+        for (CardTraitBase ctb : allTraits(cs)) {
+            assertOwnedBy(name, ctb, c);
+        }
+    }
+
+    private static void assertOwnedBy(String name, CardTraitBase ctb, Card c) {
+        String trait = name + ": " + ctb.getClass().getSimpleName() + " " + ctb.getMapParams();
+        AssertJUnit.assertSame(trait, c, ctb.getHostCard());
+        if (ctb.getOriginalHost() != null) {
+            AssertJUnit.assertSame(trait, c, ctb.getOriginalHost());
+        }
+    }
+
+    private static List<CardTraitBase> allTraits(CardState cs) {
+        List<CardTraitBase> result = new ArrayList<>();
+        for (CardTraitBase ctb : cs.getTraits()) {
+            addWithSubTraits(result, ctb);
+        }
+        for (KeywordInterface kw : cs.getIntrinsicKeywords()) {
+            for (CardTraitBase ctb : kw.getAbilities()) {
+                addWithSubTraits(result, ctb);
+            }
+            for (CardTraitBase ctb : kw.getTriggers()) {
+                addWithSubTraits(result, ctb);
+            }
+            for (CardTraitBase ctb : kw.getReplacements()) {
+                addWithSubTraits(result, ctb);
+            }
+            for (CardTraitBase ctb : kw.getStaticAbilities()) {
+                addWithSubTraits(result, ctb);
+            }
+        }
+        return result;
+    }
+
+    private static void addWithSubTraits(List<CardTraitBase> result, CardTraitBase ctb) {
+        if (ctb == null) {
+            return;
+        }
+        result.add(ctb);
+        if (ctb instanceof SpellAbility sa) {
+            addWithSubTraits(result, sa.getSubAbility());
+            for (SpellAbility additional : sa.getAdditionalAbilities().values()) {
+                addWithSubTraits(result, additional);
+            }
+            for (List<AbilitySub> list : sa.getAdditionalAbilityLists().values()) {
+                for (AbilitySub additional : list) {
+                    addWithSubTraits(result, additional);
+                }
+            }
+        } else if (ctb instanceof TriggerReplacementBase trb) {
+            addWithSubTraits(result, trb.getOverridingAbility());
+        }
+    }
+}
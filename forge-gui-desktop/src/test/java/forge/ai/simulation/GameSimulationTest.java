@@ -988,6 +988,75 @@ public class GameSimulationTest extends SimulationTest {
         AssertJUnit.assertEquals(17, simGame2.getPlayers().get(1).getLife());
     }
 
+    @Test
+    public void testDamageReplacementLayers() {
+        Game game = initAndCreateGame();
+        Player p = game.getPlayers().get(0);
+        Player opponent = game.getPlayers().get(1);
+
+        String giantName = "Hill Giant";
+        String wurmName = "Craw Wurm";
+        String bearName = "Grizzly Bears";
+        String angelName = "Platinum Angel";
+
+        addCards("Mountain", 5, p);
+        addCard("Forest", p);
+        // doubles the damage of every source
+        addCard("Furnace of Rath", p);
+        Card giant = addCard(giantName, p);
+        Card wurm = addCard(wurmName, p);
+        Card preyUpon = addCardToZone("Prey Upon", p, ZoneType.Hand);
+        Card ignition = addCardToZone("Chandra's Ignition", p, ZoneType.Hand);
+
+        // prevents the damage dealt to its controller's creatures
+        addCard("Inner Sanctum", opponent);
+        // its controller can't lose the game
+        addCard(angelName, opponent);
+        Card bear = addCard(bearName, opponent);
+        opponent.setLife(3, null);
+
+        game.getPhaseHandler().devModeSet(PhaseType.MAIN2, p);
+        game.getAction().checkStateEffects(true);
+
+        // the giant and the bear deal damage to each other at the same time
+        SpellAbility fightSA = preyUpon.getFirstSpellAbility();
+        fightSA.setTargetCard(giant);
+        fightSA.getSubAbility().setTargetCard(bear);
+        GameSimulator sim = createSimulator(game, p);
+        sim.simulateSpellAbility(fightSA);
+        Game simGame = sim.getSimulatedGameState();
+
+        // 3 damage prevented
+        Card simBear = findCardWithName(simGame, bearName);
+        AssertJUnit.assertNotNull(simBear);
+        AssertJUnit.assertEquals(0, simBear.getDamage());
+        // 2 damage doubled to 4
+        AssertJUnit.assertNull(findCardWithName(simGame, giantName));
+
+        // the wurm deals damage to each other creature and to the opponent
+        SpellAbility ignitionSA = ignition.getFirstSpellAbility();
+        ignitionSA.setTargetCard(wurm);
+        GameSimulator sim2 = createSimulator(game, p);
+        sim2.simulateSpellAbility(ignitionSA);
+        Game simGame2 = sim2.getSimulatedGameState();
+
+        // 6 damage doubled to 12
+        AssertJUnit.assertNull(findCardWithName(simGame2, giantName));
+        AssertJUnit.assertEquals(0, findCardWithName(simGame2, wurmName).getDamage());
+        // 12 damage prevented
+        Card simBear2 = findCardWithName(simGame2, bearName);
+        Card simAngel2 = findCardWithName(simGame2, angelName);
+        AssertJUnit.assertNotNull(simBear2);
+        AssertJUnit.assertEquals(0, simBear2.getDamage());
+        AssertJUnit.assertNotNull(simAngel2);
+        AssertJUnit.assertEquals(0, simAngel2.getDamage());
+        // 6 damage doubled to 12, but the loss can't happen
+        Player simOpponent = simGame2.getPlayers().get(1);
+        AssertJUnit.assertEquals(-9, simOpponent.getLife());
+        AssertJUnit.assertFalse(simOpponent.hasLost());
+        AssertJUnit.assertFalse(simGame2.isGameOver());
+    }
+
     @Test
     public void testTransform() {
         Game game = initAndCreateGame();
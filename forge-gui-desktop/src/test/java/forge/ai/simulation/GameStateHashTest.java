@@ -0,0 +1,184 @@
+package forge.ai.simulation;
+
+import org.testng.AssertJUnit;
+import org.testng.annotations.Test;
+
+import forge.card.MagicColor;
+import forge.game.Game;
+import forge.game.GameEntity;
+import forge.game.card.Card;
+import forge.game.card.CounterEnumType;
+import forge.game.mana.Mana;
+import forge.game.phase.PhaseType;
+import forge.game.player.Player;
+import forge.game.spellability.SpellAbility;
+import forge.game.zone.ZoneType;
+
+/**
+ * Checks the position hash that SimulationController caches scores by: a position reached in a different order
+ * hashes the same, and what the score depends on changes the hash.
+ */
+public class GameStateHashTest extends SimulationTest {
+    private Game createBoard() {
+        Game game = initAndCreateGame();
+        Player p = game.getPlayers().get(1);
+        addCard("Forest", p);
+        addCard("Mountain", p);
+        addCard("Grizzly Bears", p).setSickness(false);
+        addCard("Runeclaw Bear", p).setSickness(false);
+        addCard("Whispersilk Cloak", p);
+        addCardToZone("Giant Growth", p, ZoneType.Hand);
+        addCardToZone("Shock", p, ZoneType.Hand);
+        game.getPhaseHandler().devModeSet(PhaseType.MAIN1, p);
+        game.getAction().checkStateEffects(true);
+        return game;
+    }
+
+    private static long hash(Game game) {
+        return GameStateEvaluator.getGameStateHash(game, game.getPlayers().get(1));
+    }
+
+    private static Card findCardInHand(Game game, String name) {
+        for (Card c : game.getCardsIn(ZoneType.Hand)) {
+            if (c.getName().equals(name)) {
+                return c;
+            }
+        }
+        return null;
+    }
+
+    private static SpellAbility targeting(Card spell, GameEntity target) {
+        SpellAbility sa = spell.getFirstSpellAbility();
+        sa.setActivatingPlayer(spell.getController());
+        sa.resetTargets();
+        sa.getTargets().add(target);
+        return sa;
+    }
+
+    // casts the spell in a copy of the game and returns that copy
+    private Game cast(Game game, String spell, GameEntity target) {
+        SpellAbility sa = targeting(findCardInHand(game, spell), target);
+        GameSimulator sim = createSimulator(game, game.getPlayers().get(1));
+        sim.simulateSpellAbility(sa);
+        return sim.getSimulatedGameState();
+    }
+
+    private Game castGrowthAndShock(Game game, boolean growthFirst) {
+        for (int i = 0; i < 2; i++) {
+            if (growthFirst == (i == 0)) {
+                game = cast(game, "Giant Growth", findCardWithName(game, "Grizzly Bears"));
+            } else {
+                game = cast(game, "Shock", game.getPlayers().get(0));
+            }
+        }
+        return game;
+    }
+
+    @Test
+    public void testSamePositionInEitherOrder() {
+        Game game = createBoard();
+
+        Game growthFirst = castGrowthAndShock(game, true);
+        Game shockFirst = castGrowthAndShock(game, false);
+
+        AssertJUnit.assertEquals(18, growthFirst.getPlayers().get(0).getLife());
+        AssertJUnit.assertEquals(5, findCardWithName(growthFirst, "Grizzly Bears").getNetPower());
+        AssertJUnit.assertEquals(18, shockFirst.getPlayers().get(0).getLife());
+        AssertJUnit.assertEquals(5, findCardWithName(shockFirst, "Grizzly Bears").getNetPower());
+        AssertJUnit.assertEquals(hash(growthFirst), hash(shockFirst));
+        AssertJUnit.assertTrue(hash(game) != hash(growthFirst));
+        // only growth
+        AssertJUnit.assertTrue(hash(cast(game, "Giant Growth", findCardWithName(game, "Grizzly Bears"))) != hash(growthFirst));
+    }
+
+    @Test
+    public void testIdenticalBoardsHashTheSame() {
+        AssertJUnit.assertEquals(hash(createBoard()), hash(createBoard()));
+    }
+
+    @Test
+    public void testPowerAndToughnessChangeHash() {
+        Game game = createBoard();
+        long before = hash(game);
+        findCardWithName(game, "Grizzly Bears").setBasePower(3);
+        AssertJUnit.assertTrue(before != hash(game));
+
+        game = createBoard();
+        findCardWithName(game, "Grizzly Bears").setBaseToughness(3);
+        AssertJUnit.assertTrue(before != hash(game));
+    }
+
+    @Test
+    public void testCountersChangeHash() {
+        Game game = createBoard();
+        long before = hash(game);
+        // counters that don't change power or toughness
+        Card cloak = findCardWithName(game, "Whispersilk Cloak");
+        cloak.addCounterInternal(CounterEnumType.CHARGE, 1, game.getPlayers().get(1), false, null, null);
+        long withCounter = hash(game);
+        AssertJUnit.assertTrue(before != withCounter);
+
+        cloak.addCounterInternal(CounterEnumType.CHARGE, 1, game.getPlayers().get(1), false, null, null);
+        AssertJUnit.assertTrue(withCounter != hash(game));
+
+        game = createBoard();
+        findCardWithName(game, "Grizzly Bears").addCounterInternal(CounterEnumType.P1P1, 1, game.getPlayers().get(1), false, null, null);
+        AssertJUnit.assertTrue(before != hash(game));
+    }
+
+    @Test
+    public void testTappingChangesHash() {
+        Game game = createBoard();
+        long before = hash(game);
+        Card bear = findCardWithName(game, "Grizzly Bears");
+        bear.setTapped(true);
+        AssertJUnit.assertTrue(before != hash(game));
+
+        bear.setTapped(false);
+        AssertJUnit.assertEquals(before, hash(game));
+    }
+
+    @Test
+    public void testManaPoolChangesHash() {
+        Game game = createBoard();
+        long before = hash(game);
+        Player p = game.getPlayers().get(1);
+        Card mountain = findCardWithName(game, "Mountain");
+        p.getManaPool().addMana(new Mana(MagicColor.RED, mountain, null));
+        long red = hash(game);
+        AssertJUnit.assertTrue(before != red);
+
+        game = createBoard();
+        p = game.getPlayers().get(1);
+        p.getManaPool().addMana(new Mana(MagicColor.GREEN, findCardWithName(game, "Forest"), null));
+        AssertJUnit.assertTrue(before != hash(game));
+        AssertJUnit.assertTrue(red != hash(game));
+
+        p.getManaPool().clearPool(false);
+        AssertJUnit.assertEquals(before, hash(game));
+    }
+
+    @Test
+    public void testAttachmentChangesHash() {
+        Game game = createBoard();
+        long before = hash(game);
+        Card cloak = findCardWithName(game, "Whispersilk Cloak");
+        cloak.attachToEntity(findCardWithName(game, "Grizzly Bears"), null);
+        long onGrizzly = hash(game);
+        AssertJUnit.assertTrue(before != onGrizzly);
+
+        cloak.attachToEntity(findCardWithName(game, "Runeclaw Bear"), null);
+        AssertJUnit.assertTrue(before != hash(game));
+        AssertJUnit.assertTrue(onGrizzly != hash(game));
+    }
+
+    @Test
+    public void testNonEmptyStackIsNotHashed() {
+        Game game = createBoard();
+        AssertJUnit.assertTrue(hash(game) != 0);
+
+        game.getStack().add(targeting(findCardInHand(game, "Shock"), game.getPlayers().get(0)));
+        AssertJUnit.assertFalse(game.getStack().isEmpty());
+        AssertJUnit.assertEquals(0, hash(game));
+    }
+}
@@ -2,14 +2,20 @@ package forge.ai.simulation;
 
 
 
+import java.lang.reflect.Field;
 import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 
 import forge.item.PaperCard;
 import forge.model.FModel;
 import org.testng.AssertJUnit;
 import org.testng.annotations.Test;
 
+import forge.ai.AiProfileUtil;
+import forge.ai.AiProps;
+import forge.ai.LobbyPlayerAi;
 import forge.game.Game;
 import forge.game.card.Card;
 import forge.game.card.CounterEnumType;
@@ -897,4 +903,56 @@ public class SpellAbilityPickerSimulationTest extends SimulationTest {
         game.getAction().checkStateEffects(true);
         AssertJUnit.assertNull(picker.chooseSpellAbilityToPlay(null));
     }
+
+    @Test(enabled = false) // disabled to not run in battery
+    @SuppressWarnings("unchecked")
+    public void testBenchmarkParallelSearch() throws Exception {
+        // the Experimental profile searches in parallel, the same search one candidate after the other to compare with
+        initAndCreateGame();
+        Field profilesField = AiProfileUtil.class.getDeclaredField("loadedProfiles");
+        profilesField.setAccessible(true);
+        Map<String, Map<AiProps, String>> profiles = (Map<String, Map<AiProps, String>>) profilesField.get(null);
+        Map<AiProps, String> sequential = new HashMap<>(profiles.get("Experimental"));
+        sequential.put(AiProps.SIMULATION_PARALLEL_SEARCH, "false");
+        profiles.put("ExperimentalSequential", sequential);
+
+        try {
+            // the second round shows the times after the JIT warmed up
+            for (int round = 0; round < 2; round++) {
+                for (String profile : new String[] {"ExperimentalSequential", "Experimental"}) {
+                    Game game = initAndCreateGame();
+                    Player p = game.getPlayers().get(1);
+                    Player opponent = game.getPlayers().get(0);
+                    ((LobbyPlayerAi) p.getLobbyPlayer()).setAiProfile(profile);
+
+                    // eight candidates on a small board, the search goes to its full depth without a time budget
+                    addCards("Mountain", 2, p);
+                    addCards("Forest", 2, p);
+                    addCard("Grizzly Bears", p);
+                    addCard("Hill Giant", p);
+                    addCard("Llanowar Elves", opponent);
+                    addCard("Grizzly Bears", opponent);
+                    addCard("Serra Angel", opponent);
+                    for (String name : new String[] {"Lightning Bolt", "Shock", "Giant Growth", "Grizzly Bears", "Rampant Growth"}) {
+                        addCardToZone(name, p, ZoneType.Hand);
+                    }
+                    for (int i = 0; i < 20; i++) {
+                        addCardToZone("Mountain", p, ZoneType.Library);
+                        addCardToZone("Plains", opponent, ZoneType.Library);
+                    }
+                    game.getPhaseHandler().devModeSet(PhaseType.MAIN1, p);
+                    game.getAction().checkStateEffects(true);
+
+                    SpellAbilityPicker picker = new SpellAbilityPicker(game, p);
+                    long start = System.nanoTime();
+                    SpellAbility sa = picker.chooseSpellAbilityToPlay(null);
+                    long time = System.nanoTime() - start;
+                    System.out.println(profile + " on " + Runtime.getRuntime().availableProcessors() + " cores: "
+                            + time / 1000000 + " ms, " + picker.getNumSimulations() + " simulations, picked " + sa);
+                }
+            }
+        } finally {
+            profiles.remove("ExperimentalSequential");
+        }
+    }
 }
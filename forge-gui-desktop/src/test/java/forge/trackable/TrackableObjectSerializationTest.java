@@ -0,0 +1,173 @@
+package forge.trackable;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.EnumSet;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.testng.AssertJUnit;
+import org.testng.annotations.Test;
+
+import forge.ai.simulation.SimulationTest;
+import forge.game.Game;
+import forge.game.GameView;
+import forge.game.card.Card;
+import forge.game.card.CardView;
+import forge.game.card.CounterEnumType;
+import forge.game.phase.PhaseType;
+import forge.game.player.Player;
+import forge.game.zone.ZoneType;
+
+/**
+ * Checks that trackable objects read back what they wrote in compact form and that the compact form is smaller than
+ * writing the property maps as objects, which is how they were sent before.
+ */
+public class TrackableObjectSerializationTest extends SimulationTest {
+    @Test
+    public void testRoundTrip() throws Exception {
+        Game game = setUpGame();
+        GameView view = game.getView();
+
+        List<TrackableObject> written = new ArrayList<>();
+        written.add(view);
+        written.add(game.getPlayers().get(1).getView());
+        written.addAll(cardViews(game));
+        // read back in one stream, so the objects in the list are the ones the game view refers to
+        @SuppressWarnings("unchecked")
+        List<TrackableObject> copies = (List<TrackableObject>) read(write(written, false));
+
+        AssertJUnit.assertEquals(written.size(), copies.size());
+        for (int i = 0; i < written.size(); i++) {
+            assertSameProps(written.get(i), copies.get(i));
+            if (written.get(i) instanceof CardView) {
+                assertSameProps(((CardView) written.get(i)).getCurrentState(), ((CardView) copies.get(i)).getCurrentState());
+            }
+        }
+    }
+
+    @Test
+    public void testCompactFormIsSmaller() throws Exception {
+        Game game = setUpGame();
+        GameView view = game.getView();
+
+        byte[] compact = write(view, false);
+        byte[] legacy = write(view, true);
+        AssertJUnit.assertTrue("compact " + compact.length + " bytes, as objects " + legacy.length + " bytes", compact.length < legacy.length);
+    }
+
+    private Game setUpGame() {
+        Game game = initAndCreateGame();
+        Player p = game.getPlayers().get(1);
+        Player opponent = game.getPlayers().get(0);
+        for (int i = 0; i < 5; i++) {
+            addCard("Forest", p);
+            addCard("Mountain", p);
+            addCard("Plains", opponent);
+        }
+        addCard("Llanowar Elves", p);
+        addCard("Grizzly Bears", p).addCounterInternal(CounterEnumType.P1P1, 2, p, false, null, null);
+        addCard("Shivan Dragon", p);
+        addCard("Serra Angel", opponent).setTapped(true);
+        addCard("Glorious Anthem", opponent);
+        addCardToZone("Lightning Bolt", p, ZoneType.Hand);
+        addCardToZone("Giant Growth", p, ZoneType.Hand);
+        addCardToZone("Shock", p, ZoneType.Hand);
+        game.getPhaseHandler().devModeSet(PhaseType.MAIN1, p);
+        game.getAction().checkStateEffects(true);
+        return game;
+    }
+
+    private static List<CardView> cardViews(Game game) {
+        List<CardView> views = new ArrayList<>();
+        for (Card c : game.getCardsIn(ZoneType.Battlefield)) {
+            views.add(c.getView());
+        }
+        for (Card c : game.getPlayers().get(1).getCardsIn(ZoneType.Hand)) {
+            views.add(c.getView());
+        }
+        return views;
+    }
+
+    private static void assertSameProps(TrackableObject expected, TrackableObject actual) {
+        Map<TrackableProperty, Object> expectedProps = expected.getProps();
+        Map<TrackableProperty, Object> actualProps = actual.getProps();
+        AssertJUnit.assertEquals(expected + " properties", expectedProps.keySet(), actualProps.keySet());
+        for (Map.Entry<TrackableProperty, Object> e : expectedProps.entrySet()) {
+            Object value = e.getValue();
+            Object copied = actualProps.get(e.getKey());
+            if (hasValueEquality(value)) {
+                AssertJUnit.assertEquals(expected + " " + e.getKey(), value, copied);
+            } else {
+                // objects like the game log only compare by identity
+                AssertJUnit.assertEquals(expected + " " + e.getKey(), value.getClass(), copied.getClass());
+            }
+        }
+    }
+
+    private static boolean hasValueEquality(Object value) {
+        try {
+            return value.getClass().getMethod("equals", Object.class).getDeclaringClass() != Object.class;
+        } catch (NoSuchMethodException e) {
+            return false;
+        }
+    }
+
+    private static byte[] write(Object o, boolean asObjects) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (ObjectOutputStream out = asObjects ? new PropertyMapOutputStream(bytes) : new ObjectOutputStream(bytes)) {
+            out.writeObject(o);
+        }
+        return bytes.toByteArray();
+    }
+
+    private static Object read(byte[] bytes) throws IOException, ClassNotFoundException {
+        try (ObjectInputStream in = new ObjectInputStream(new ByteArrayInputStream(bytes))) {
+            return in.readObject();
+        }
+    }
+
+    /**
+     * Writes every trackable object as its id and property maps, the fields it used to be serialized with.
+     * Reading it back gives these maps, not the objects, which is enough to compare sizes.
+     */
+    private static final class PropertyMapOutputStream extends ObjectOutputStream {
+        private final Map<TrackableObject, PropertyMaps> written = new IdentityHashMap<>();
+
+        private PropertyMapOutputStream(ByteArrayOutputStream out) throws IOException {
+            super(out);
+            enableReplaceObject(true);
+        }
+
+        @Override
+        protected Object replaceObject(Object obj) {
+            if (obj instanceof TrackableObject) {
+                return written.computeIfAbsent((TrackableObject) obj, PropertyMaps::new);
+            }
+            return obj;
+        }
+    }
+
+    private static final class PropertyMaps implements Serializable {
+        private static final long serialVersionUID = 1L;
+
+        private final Class<?> type;
+        private final int id;
+        private final EnumMap<TrackableProperty, Object> props = new EnumMap<>(TrackableProperty.class);
+        private final EnumSet<TrackableProperty> changedProps = EnumSet.noneOf(TrackableProperty.class);
+
+        private PropertyMaps(TrackableObject o) {
+            type = o.getClass();
+            id = o.getId();
+            props.putAll(o.<Map<TrackableProperty, Object>>getProps());
+            changedProps.addAll(o.getChangedProps());
+        }
+    }
+}
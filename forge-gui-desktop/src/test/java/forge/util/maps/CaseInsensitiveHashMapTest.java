@@ -0,0 +1,69 @@
+package forge.util.maps;
+
+import java.util.Map;
+import java.util.TreeMap;
+
+import org.testng.AssertJUnit;
+import org.testng.annotations.Test;
+
+public class CaseInsensitiveHashMapTest {
+
+    @Test
+    public void testLookupIgnoresCase() {
+        final Map<String, Integer> map = new CaseInsensitiveHashMap<>();
+        map.put("Llanowar Elves", 1);
+
+        AssertJUnit.assertEquals(Integer.valueOf(1), map.get("Llanowar Elves"));
+        AssertJUnit.assertEquals(Integer.valueOf(1), map.get("llanowar elves"));
+        AssertJUnit.assertEquals(Integer.valueOf(1), map.get("LLANOWAR ELVES"));
+        AssertJUnit.assertNull(map.get("Llanowar Elf"));
+        AssertJUnit.assertNull(map.get(1));
+    }
+
+    @Test
+    public void testPutOverwritesAndKeepsFirstSpelling() {
+        final Map<String, Integer> map = new CaseInsensitiveHashMap<>();
+        AssertJUnit.assertNull(map.put("Serra Angel", 1));
+        AssertJUnit.assertEquals(Integer.valueOf(1), map.put("SERRA angel", 2));
+
+        AssertJUnit.assertEquals(1, map.size());
+        AssertJUnit.assertEquals(Integer.valueOf(2), map.get("serra angel"));
+        final Map.Entry<String, Integer> entry = map.entrySet().iterator().next();
+        AssertJUnit.assertEquals("Serra Angel", entry.getKey());
+        AssertJUnit.assertEquals(Integer.valueOf(2), entry.getValue());
+
+        AssertJUnit.assertEquals(Integer.valueOf(2), map.remove("sERRA aNGEL"));
+        AssertJUnit.assertTrue(map.isEmpty());
+    }
+
+    @Test
+    public void testContainsKeyWithMixedCase() {
+        final Map<String, Integer> map = new CaseInsensitiveHashMap<>(4);
+        map.put("forest", 1);
+        map.put("ISLAND", 2);
+
+        AssertJUnit.assertTrue(map.containsKey("Forest"));
+        AssertJUnit.assertTrue(map.containsKey("fOrEsT"));
+        AssertJUnit.assertTrue(map.containsKey("island"));
+        AssertJUnit.assertTrue(map.containsKey("IsLaNd"));
+        AssertJUnit.assertFalse(map.containsKey("Swamp"));
+        AssertJUnit.assertFalse(map.containsKey(null));
+    }
+
+    @Test
+    public void testMatchesCaseInsensitiveTreeMap() {
+        final String[] keys = {"Æther Vial", "æther vial", "Lim-Dûl's Vault", "LIM-DÛL'S VAULT", "ı", "I", "i", "ß", "SS", "Σ", "ς", "σ"};
+        final Map<String, Integer> map = new CaseInsensitiveHashMap<>();
+        final Map<String, Integer> tree = new TreeMap<>(String.CASE_INSENSITIVE_ORDER);
+        for (int i = 0; i < keys.length; i++) {
+            map.put(keys[i], i);
+            tree.put(keys[i], i);
+        }
+
+        AssertJUnit.assertEquals(tree.size(), map.size());
+        for (final String key : keys) {
+            AssertJUnit.assertEquals(key, tree.get(key), map.get(key));
+        }
+        AssertJUnit.assertEquals(tree, map);
+    }
+}
@@ -0,0 +1,105 @@
+package forge.view;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
+import org.testng.AssertJUnit;
+import org.testng.annotations.Test;
+
+import forge.view.SimulationServer.JsonParser;
+
+/**
+ * Checks the JSON reader of the simulation server on the jobs it is sent and on input it must refuse.
+ */
+public class SimulationServerJsonTest {
+    @Test
+    public void testJob() {
+        Map<String, Object> job = JsonParser.parseObject(
+                "{\"id\":\"gauntlet-1\", \"decks\":[\"Burn.dck\",\"Zoo.dck\"], \"games\":100, \"threads\":8, \"quiet\":false, \"format\":null}");
+
+        AssertJUnit.assertEquals(Arrays.asList("id", "decks", "games", "threads", "quiet", "format"), List.copyOf(job.keySet()));
+        AssertJUnit.assertEquals("gauntlet-1", job.get("id"));
+        AssertJUnit.assertEquals(Arrays.asList("Burn.dck", "Zoo.dck"), job.get("decks"));
+        AssertJUnit.assertEquals("100", JsonParser.asText(job.get("games")));
+        AssertJUnit.assertEquals(Boolean.FALSE, job.get("quiet"));
+        AssertJUnit.assertTrue(job.containsKey("format"));
+        AssertJUnit.assertNull(job.get("format"));
+    }
+
+    @Test
+    public void testNumbers() {
+        Map<String, Object> job = JsonParser.parseObject("{\"seed\":9007199254740993123, \"a\":-2, \"b\":1.50, \"c\":1e3}");
+
+        // longer than a long or a double holds
+        AssertJUnit.assertEquals("9007199254740993123", JsonParser.asText(job.get("seed")));
+        AssertJUnit.assertEquals("-2", JsonParser.asText(job.get("a")));
+        AssertJUnit.assertEquals("1.5", JsonParser.asText(job.get("b")));
+        AssertJUnit.assertEquals("1000", JsonParser.asText(job.get("c")));
+    }
+
+    @Test
+    public void testEscapes() {
+        Map<String, Object> job = JsonParser.parseObject(
+                "{\"deckDir\":\"C:\\\\decks\\/modern\", \"id\":\"say \\\"hi\\\"\\n\\t\\r\\b\\f\", \"name\":\"J\\u00f6tun \\u2014 Grunt\", \"raw\":\"Jötun\"}");
+
+        AssertJUnit.assertEquals("C:\\decks/modern", job.get("deckDir"));
+        AssertJUnit.assertEquals("say \"hi\"\n\t\r\b\f", job.get("id"));
+        AssertJUnit.assertEquals("J\u00f6tun \u2014 Grunt", job.get("name"));
+        AssertJUnit.assertEquals("J\u00f6tun", job.get("raw"));
+    }
+
+    @Test
+    public void testNesting() {
+        Map<String, Object> job = JsonParser.parseObject(
+                " {\n \"decks\" : [ [\"a.dck\", {\"b\" : [ ] } ], { } , [] ] , \"empty\":{} } ");
+
+        List<?> decks = (List<?>) job.get("decks");
+        AssertJUnit.assertEquals(3, decks.size());
+        List<?> first = (List<?>) decks.get(0);
+        AssertJUnit.assertEquals("a.dck", first.get(0));
+        AssertJUnit.assertEquals(Collections.singletonMap("b", Collections.emptyList()), first.get(1));
+        AssertJUnit.assertEquals(Collections.emptyMap(), decks.get(1));
+        AssertJUnit.assertEquals(Collections.emptyList(), decks.get(2));
+        AssertJUnit.assertEquals(Collections.emptyMap(), job.get("empty"));
+    }
+
+    @Test
+    public void testMalformed() {
+        String[] malformed = {
+                "",
+                "   ",
+                "[\"a.dck\"]",
+                "\"job\"",
+                "{",
+                "{\"id\"}",
+                "{\"id\":}",
+                "{\"id\":1,}",
+                "{id:1}",
+                "{\"id\":1 \"games\":2}",
+                "{\"decks\":[\"a.dck\",]}",
+                "{\"decks\":[\"a.dck\"}",
+                "{\"id\":\"open}",
+                "{\"id\":\"ends in a backslash\\",
+                "{\"id\":\"\\x\"}",
+                "{\"id\":\"\\u00\"}",
+                "{\"id\":\"\\uzzzz\"}",
+                "{\"quiet\":tru}",
+                "{\"quiet\":nul}",
+                "{\"games\":-}",
+                "{\"games\":1-2}",
+                "{\"games\":1.2.3}",
+                "{\"id\":1} {\"id\":2}",
+                "{\"id\":1}x",
+        };
+        for (String json : malformed) {
+            try {
+                Map<String, Object> job = JsonParser.parseObject(json);
+                AssertJUnit.fail("Read " + json + " as " + job);
+            } catch (IllegalArgumentException expected) {
+                // refused
+            }
+        }
+    }
+}
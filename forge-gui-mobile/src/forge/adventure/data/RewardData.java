@@ -89,21 +89,22 @@ public class RewardData implements Serializable {
         minDate     =rewardData.minDate;
     }
 
-    private static Iterable<PaperCard> allCards;
-    private static Iterable<PaperCard> allEnemyCards;
+    private static CardPoolIndex allCards;
+    private static CardPoolIndex allEnemyCards;
 
     static private void initializeAllCards(){
         ConfigData configData = Config.instance().getConfigData();
         RewardData legals = configData.legalCards;
+        Iterable<PaperCard> cards;
 
         if(legals==null)
             // Load all printings so subsequent filtering can correctly handle reprints in restricted formats
-            allCards = CardUtil.getFullCardPool(true);
+            cards = CardUtil.getFullCardPool(true);
         else
             // Load all printings so subsequent filtering can correctly handle reprints in restricted formats
-            allCards = IterableUtil.filter(CardUtil.getFullCardPool(true), new CardUtil.CardPredicate(legals, true));
+            cards = IterableUtil.filter(CardUtil.getFullCardPool(true), new CardUtil.CardPredicate(legals, true));
         //Filter out specific cards.
-        allCards = IterableUtil.filter(allCards, input -> {
+        cards = IterableUtil.filter(cards, input -> {
             if(input == null)
                 return false;
             if (Iterables.contains(input.getRules().getMainPart().getKeywords(), "Remove CARDNAME from your deck before playing if you're not playing for ante."))
@@ -119,11 +120,13 @@ public class RewardData implements Serializable {
                 return false;
             return !Arrays.asList(configData.restrictedCards).contains(input.getName());
         });
+        //Filter once and index the result, rewards query these pools over and over
+        allCards = new CardPoolIndex(cards);
         //Filter AI cards for enemies.
-        allEnemyCards= IterableUtil.filter(allCards, input -> {
+        allEnemyCards = new CardPoolIndex(IterableUtil.filter(allCards, input -> {
             if (input == null) return false;
             return !input.getRules().getAiHints().getRemAIDecks();
-        });
+        }));
     }
 
     static public Iterable<PaperCard> getAllCards() {
@@ -25,11 +25,8 @@ import forge.sound.SoundSystem;
 import forge.util.TextUtil;
 
 import java.io.File;
-import java.io.FileInputStream;
 import java.io.IOException;
-import java.io.ObjectInputStream;
 import java.text.DateFormat;
-import java.util.zip.InflaterInputStream;
 
 /**
  * Scene to load and save the game.
@@ -306,15 +303,11 @@ public class SaveLoadScene extends UIScene {
         for (File name : names) {
             if (WorldSave.isSafeFile(name.getName())) {
                 try {
-                    try (FileInputStream fos = new FileInputStream(name.getAbsolutePath());
-                         InflaterInputStream inf = new InflaterInputStream(fos);
-                         ObjectInputStream oos = new ObjectInputStream(inf)) {
-                        int slot = WorldSave.filenameToSlot(name.getName());
-                        WorldSaveHeader worldSaveHeader = (WorldSaveHeader) oos.readObject();
-                        //get header name
-                        buttons.get(slot).actor.setText(getSplitHeaderName(worldSaveHeader, false));
-                        previews.put(slot, worldSaveHeader);
-                    }
+                    int slot = WorldSave.filenameToSlot(name.getName());
+                    WorldSaveHeader worldSaveHeader = WorldSave.readHeader(name);
+                    //get header name
+                    buttons.get(slot).actor.setText(getSplitHeaderName(worldSaveHeader, false));
+                    previews.put(slot, worldSaveHeader);
                 } catch (ClassNotFoundException | IOException | GdxRuntimeException e) {
                     //e.printStackTrace();
                 }
@@ -1,27 +1,50 @@
 package forge.adventure.stage;
 
+import com.badlogic.gdx.Gdx;
 import com.badlogic.gdx.graphics.Pixmap;
 import com.badlogic.gdx.graphics.Texture;
 import com.badlogic.gdx.graphics.g2d.Batch;
 import com.badlogic.gdx.math.GridPoint2;
 import com.badlogic.gdx.scenes.scene2d.Actor;
 import com.badlogic.gdx.utils.Array;
+import forge.adventure.world.World;
 import forge.adventure.world.WorldSave;
 
 import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 
 /**
  * Background for the over world, will get biome information and create chunks based on the terrain.
+ * Chunk pictures are composed on a background thread and only the most recently seen ones are kept as textures,
+ * a chunk that isn't ready yet is drawn with a placeholder.
  */
 public class WorldBackground extends Actor {
 
+    // the 3x3 chunks around the player and the ones just left behind
+    private static final int MAX_CACHED_CHUNKS = 16;
+    // one thread is enough to keep ahead of walking, and the biome textures are only read by it
+    private static final ExecutorService chunkBuilder = Executors.newSingleThreadExecutor(r -> {
+        Thread thread = new Thread(r, "WorldChunkBuilder");
+        thread.setDaemon(true);
+        return thread;
+    });
 
     int chunkSize;
     int tileSize;
     int playerX;
     int playerY;
 
-    Texture[][] chunks;
+    int chunksX;
+    int chunksY;
+    Map<GridPoint2, Texture> chunks;
+    final Set<GridPoint2> chunksBuilding = new HashSet<>();
+    // chunks finishing after the world was changed are thrown away
+    int worldGeneration;
     Texture loadingTexture, t;
     Array<Actor>[][] chunksSprites;
     Array<Actor>[][] chunksSpritesBackground;
@@ -55,14 +78,14 @@ public class WorldBackground extends Actor {
                     {
                         points.remove(point);
                     } else {
-                        if (point.y < 0 || point.x < 0 || point.y >= chunks[0].length || point.x >= chunks.length)
+                        if (point.y < 0 || point.x < 0 || point.y >= chunksY || point.x >= chunksX)
                             continue;
                         unLoadChunk(point.x, point.y);
                     }
                 }
             }
             for (GridPoint2 point : points) {
-                if (point.y < 0 || point.x < 0 || point.y >= chunks[0].length || point.x >= chunks.length)
+                if (point.y < 0 || point.x < 0 || point.y >= chunksY || point.x >= chunksX)
                     continue;
                 loadChunk(point.x, point.y);
             }
@@ -71,7 +94,7 @@ public class WorldBackground extends Actor {
         }
         for (int x = -1; x < 2; x++) {
             for (int y = -1; y < 2; y++) {
-                if (pos.y + y < 0 || pos.x + x < 0 || pos.y >= chunks[0].length || pos.x >= chunks.length)
+                if (pos.y + y < 0 || pos.x + x < 0 || pos.y + y >= chunksY || pos.x + x >= chunksX)
                     continue;
 
 
@@ -111,17 +134,40 @@ public class WorldBackground extends Actor {
     }
 
     public Texture getChunkTexture(int x, int y) {
-        Texture tex = chunks[x][y];
-        if (tex == null) {
-            Texture newChunk = new Texture(chunkSize * tileSize, chunkSize * tileSize, Pixmap.Format.RGBA8888);
-            for (int cx = 0; cx < chunkSize; cx++) {
-                for (int cy = 0; cy < chunkSize; cy++) {
-                    newChunk.draw(WorldSave.getCurrentSave().getWorld().getBiomeSprite(cx + chunkSize * x, cy + chunkSize * y), cx * tileSize, (chunkSize * tileSize) - (cy + 1) * tileSize);
+        GridPoint2 key = new GridPoint2(x, y);
+        Texture tex = chunks.get(key);
+        if (tex != null)
+            return tex;
+        if (chunksBuilding.add(key)) {
+            final World world = WorldSave.getCurrentSave().getWorld();
+            final int generation = worldGeneration;
+            chunkBuilder.execute(() -> {
+                Pixmap pixmap;
+                try {
+                    pixmap = world.getChunkPixmap(x, y);
+                } catch (RuntimeException e) {
+                    e.printStackTrace();
+                    pixmap = null;
                 }
-            }
-            chunks[x][y] = newChunk;
+                final Pixmap chunkPixmap = pixmap;
+                //textures can only be created on the render thread
+                Gdx.app.postRunnable(() -> chunkBuilt(key, chunkPixmap, generation));
+            });
         }
-        return chunks[x][y];
+        return loadingTexture;
+    }
+
+    private void chunkBuilt(GridPoint2 key, Pixmap pixmap, int generation) {
+        if (generation != worldGeneration) {
+            if (pixmap != null)
+                pixmap.dispose();
+            return;
+        }
+        chunksBuilding.remove(key);
+        if (pixmap == null)
+            return;
+        chunks.put(key, new Texture(pixmap));
+        pixmap.dispose();
     }
 
     public void initialize() {
@@ -129,12 +175,23 @@ public class WorldBackground extends Actor {
         chunkSize = WorldSave.getCurrentSave().getWorld().getChunkSize();
         if (chunks != null) {
             stage.getSpriteGroup().clear();
-            for (Texture[] chunk : chunks)
-                for (Texture texture : chunk)
-                    if (texture != null)
-                        texture.dispose();
+            for (Texture texture : chunks.values())
+                texture.dispose();
         }
-        chunks = new Texture[WorldSave.getCurrentSave().getWorld().getWidthInTiles()][WorldSave.getCurrentSave().getWorld().getHeightInTiles()];
+        worldGeneration++;
+        chunksBuilding.clear();
+        chunksX = WorldSave.getCurrentSave().getWorld().getWidthInTiles();
+        chunksY = WorldSave.getCurrentSave().getWorld().getHeightInTiles();
+        // least recently drawn first, the oldest texture is dropped once there are too many
+        chunks = new LinkedHashMap<GridPoint2, Texture>(MAX_CACHED_CHUNKS * 2, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<GridPoint2, Texture> eldest) {
+                if (size() <= MAX_CACHED_CHUNKS)
+                    return false;
+                eldest.getValue().dispose();
+                return true;
+            }
+        };
         Array[][] createChunks = new Array[WorldSave.getCurrentSave().getWorld().getWidthInTiles()][WorldSave.getCurrentSave().getWorld().getHeightInTiles()];
         chunksSprites = createChunks;
         Array[][] createSprites = new Array[WorldSave.getCurrentSave().getWorld().getWidthInTiles()][WorldSave.getCurrentSave().getWorld().getHeightInTiles()];
@@ -152,7 +209,7 @@ public class WorldBackground extends Actor {
         for (int x = -1; x < 2; x++) {
             for (int y = -1; y < 2; y++) {
                 GridPoint2 point = new GridPoint2(currentChunkX + x, currentChunkY + y);
-                if (point.y < 0 || point.x < 0 || point.y >= chunks[0].length || point.x >= chunks.length)
+                if (point.y < 0 || point.x < 0 || point.y >= chunksY || point.x >= chunksX)
                     continue;
                 loadChunk(point.x, point.y);
             }
@@ -0,0 +1,228 @@
+package forge.adventure.util;
+
+import forge.card.CardEdition;
+import forge.card.CardRarity;
+import forge.card.CardRules;
+import forge.card.CardType;
+import forge.card.ColorSet;
+import forge.card.MagicColor;
+import forge.item.PaperCard;
+import forge.model.FModel;
+
+import java.util.*;
+import java.util.function.Predicate;
+
+/**
+ * Materialized card pool with bitset indexes over rarity, mana value, color, types and subtypes,
+ * so reward filters can be answered by intersecting indexes instead of testing every printing.
+ * <p>
+ * Bit positions follow the iteration order of the pool, queries return candidates in that order.
+ * Edition and release date criteria look at every printing of a card name, like {@link CardUtil.CardPredicate} does.
+ */
+public final class CardPoolIndex implements Iterable<PaperCard> {
+    private final PaperCard[] cards;
+    private final int[] nameIds;
+    private final Map<CardRarity, BitSet> byRarity = new EnumMap<>(CardRarity.class);
+    private final Map<Integer, BitSet> byManaValue = new HashMap<>();
+    private final BitSet[] byColor = new BitSet[MagicColor.ALL_COLORS + 1];
+    private final Map<CardType.CoreType, BitSet> byCoreType = new EnumMap<>(CardType.CoreType.class);
+    private final Map<CardType.Supertype, BitSet> bySupertype = new EnumMap<>(CardType.Supertype.class);
+    private final Map<String, int[]> bySubtype = new HashMap<>();
+    // name level indexes, a name matches an edition if any of its printings is in it
+    private final Map<String, int[]> namesByEdition = new HashMap<>();
+    private final long[] latestRelease;
+
+    public CardPoolIndex(final Iterable<PaperCard> pool) {
+        final List<PaperCard> list = new ArrayList<>();
+        for (final PaperCard card : pool) {
+            list.add(card);
+        }
+        cards = list.toArray(new PaperCard[0]);
+        nameIds = new int[cards.length];
+
+        final Map<String, Integer> names = new HashMap<>();
+        final Map<String, List<Integer>> subtypes = new HashMap<>();
+        for (int i = 0; i < cards.length; i++) {
+            final PaperCard card = cards[i];
+            final CardRules rules = card.getRules();
+            Integer nameId = names.get(card.getCardName());
+            if (nameId == null) {
+                nameId = names.size();
+                names.put(card.getCardName(), nameId);
+            }
+            nameIds[i] = nameId;
+
+            if (card.getRarity() != null) {
+                bitsFor(byRarity, card.getRarity()).set(i);
+            }
+            bitsFor(byManaValue, rules.getManaCost().getCMC()).set(i);
+            final int color = rules.getColor().getColor() & MagicColor.ALL_COLORS;
+            if (byColor[color] == null) {
+                byColor[color] = new BitSet();
+            }
+            byColor[color].set(i);
+            for (final CardType.CoreType type : rules.getType().getCoreTypes()) {
+                bitsFor(byCoreType, type).set(i);
+            }
+            for (final CardType.Supertype type : rules.getType().getSupertypes()) {
+                bitsFor(bySupertype, type).set(i);
+            }
+            for (final String subtype : rules.getType().getSubtypes()) {
+                subtypes.computeIfAbsent(subtype, k -> new ArrayList<>()).add(i);
+            }
+        }
+        for (final Map.Entry<String, List<Integer>> e : subtypes.entrySet()) {
+            bySubtype.put(e.getKey(), e.getValue().stream().mapToInt(Integer::intValue).toArray());
+        }
+
+        final Map<String, Date> releaseDates = new HashMap<>();
+        for (final CardEdition edition : FModel.getMagicDb().getEditions()) {
+            if (edition.getDate() != null) {
+                releaseDates.put(edition.getCode(), edition.getDate());
+            }
+        }
+        latestRelease = new long[names.size()];
+        Arrays.fill(latestRelease, Long.MIN_VALUE);
+        final Map<String, Set<Integer>> editionNames = new HashMap<>();
+        final BitSet visited = new BitSet(names.size());
+        for (int i = 0; i < cards.length; i++) {
+            final int nameId = nameIds[i];
+            addPrinting(editionNames, releaseDates, nameId, cards[i].getEdition());
+            if (visited.get(nameId)) {
+                continue;
+            }
+            visited.set(nameId);
+            final List<PaperCard> printings = FModel.getMagicDb().getCommonCards().getAllCards(cards[i].getCardName());
+            if (printings == null) {
+                continue;
+            }
+            for (final PaperCard printing : printings) {
+                addPrinting(editionNames, releaseDates, nameId, printing.getEdition());
+            }
+        }
+        for (final Map.Entry<String, Set<Integer>> e : editionNames.entrySet()) {
+            namesByEdition.put(e.getKey(), e.getValue().stream().mapToInt(Integer::intValue).toArray());
+        }
+    }
+
+    private void addPrinting(final Map<String, Set<Integer>> editionNames, final Map<String, Date> releaseDates, final int nameId, final String edition) {
+        editionNames.computeIfAbsent(edition, k -> new HashSet<>()).add(nameId);
+        final Date date = releaseDates.get(edition);
+        if (date != null && date.getTime() > latestRelease[nameId]) {
+            latestRelease[nameId] = date.getTime();
+        }
+    }
+
+    private static <K> BitSet bitsFor(final Map<K, BitSet> index, final K key) {
+        return index.computeIfAbsent(key, k -> new BitSet());
+    }
+
+    private static <K> BitSet union(final Map<K, BitSet> index, final Collection<K> keys) {
+        final BitSet result = new BitSet();
+        for (final K key : keys) {
+            final BitSet bits = index.get(key);
+            if (bits != null) {
+                result.or(bits);
+            }
+        }
+        return result;
+    }
+
+    public int size() {
+        return cards.length;
+    }
+
+    public PaperCard get(final int index) {
+        return cards[index];
+    }
+
+    public BitSet all() {
+        final BitSet result = new BitSet(cards.length);
+        result.set(0, cards.length);
+        return result;
+    }
+
+    public BitSet withRarity(final Collection<CardRarity> rarities) {
+        return union(byRarity, rarities);
+    }
+
+    public BitSet withManaValue(final Collection<Integer> manaValues) {
+        return union(byManaValue, manaValues);
+    }
+
+    public BitSet withCoreType(final Collection<CardType.CoreType> types) {
+        return union(byCoreType, types);
+    }
+
+    public BitSet withSupertype(final Collection<CardType.Supertype> types) {
+        return union(bySupertype, types);
+    }
+
+    /**
+     * @return cards having at least one of the given subtypes
+     */
+    public BitSet withSubtype(final Collection<String> subtypes) {
+        final BitSet result = new BitSet();
+        for (final String subtype : subtypes) {
+            final int[] posting = bySubtype.get(subtype);
+            if (posting == null) {
+                continue;
+            }
+            for (final int i : posting) {
+                result.set(i);
+            }
+        }
+        return result;
+    }
+
+    /**
+     * @return cards whose color is accepted by the given test, which is run once per color combination
+     */
+    public BitSet withColor(final Predicate<ColorSet> accepts) {
+        final BitSet result = new BitSet();
+        for (int mask = 0; mask < byColor.length; mask++) {
+            if (byColor[mask] != null && accepts.test(ColorSet.fromMask(mask))) {
+                result.or(byColor[mask]);
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Keeps the candidates that have a printing in any of the given editions.
+     */
+    public void retainPrintedIn(final BitSet candidates, final Collection<String> editions) {
+        final BitSet names = new BitSet();
+        for (final String edition : editions) {
+            final int[] posting = namesByEdition.get(edition);
+            if (posting == null) {
+                continue;
+            }
+            for (final int nameId : posting) {
+                names.set(nameId);
+            }
+        }
+        for (int i = candidates.nextSetBit(0); i >= 0; i = candidates.nextSetBit(i + 1)) {
+            if (!names.get(nameIds[i])) {
+                candidates.clear(i);
+            }
+        }
+    }
+
+    /**
+     * Keeps the candidates that have a printing released on or after the given date.
+     */
+    public void retainPrintedSince(final BitSet candidates, final Date date) {
+        final long time = date.getTime();
+        for (int i = candidates.nextSetBit(0); i >= 0; i = candidates.nextSetBit(i + 1)) {
+            if (latestRelease[nameIds[i]] < time) {
+                candidates.clear(i);
+            }
+        }
+    }
+
+    @Override
+    public Iterator<PaperCard> iterator() {
+        return Collections.unmodifiableList(Arrays.asList(cards)).iterator();
+    }
+}
@@ -58,7 +58,8 @@ public class CardUtil {
         private final ColorType colorType;
         private final boolean shouldBeEqual;
         private final List<String> deckNeeds=new ArrayList<>();
-        private final String minDate;
+        private final Date minDate;
+        private Set<String> editionsSinceMinDate;
         private final static SimpleDateFormat formatter = new SimpleDateFormat("yyyy-MM-dd");
 
         private static Date parseDate(String date) {
@@ -73,8 +74,50 @@ public class CardUtil {
 
         @Override
         public boolean test(final PaperCard card) {
+            return matches(card) == this.shouldBeEqual;
+        }
+
+        /**
+         * Cards of the index matching every criteria, in the order of the index.
+         * The indexed criteria are intersected first so only the few remaining candidates are actually tested.
+         */
+        public List<PaperCard> select(final CardPoolIndex index) {
+            List<PaperCard> result = new ArrayList<>();
+            if (!this.shouldBeEqual) {
+                for (PaperCard card : index)
+                    if (test(card))
+                        result.add(card);
+                return result;
+            }
+            BitSet candidates = index.all();
+            if(!this.rarities.isEmpty())
+                candidates.and(index.withRarity(this.rarities));
+            if(!this.manaCosts.isEmpty())
+                candidates.and(index.withManaValue(this.manaCosts));
+            if(!this.type.isEmpty())
+                candidates.and(index.withCoreType(this.type));
+            if(!this.superType.isEmpty())
+                candidates.and(index.withSupertype(this.superType));
+            if(!this.subType.isEmpty())
+                candidates.and(index.withSubtype(this.subType));
+            if(this.matchAllColors || this.colors != MagicColor.ALL_COLORS || this.colorType != ColorType.Any)
+                candidates.and(index.withColor(this::matchesColor));
+            if(!this.editions.isEmpty() && !candidates.isEmpty())
+                index.retainPrintedIn(candidates, this.editions);
+            if(this.minDate != null && !candidates.isEmpty())
+                index.retainPrintedSince(candidates, this.minDate);
+
+            for (int i = candidates.nextSetBit(0); i >= 0; i = candidates.nextSetBit(i + 1)) {
+                PaperCard card = index.get(i);
+                if(matchesUnindexed(card))
+                    result.add(card);
+            }
+            return result;
+        }
+
+        private boolean matches(final PaperCard card) {
             if(!this.rarities.isEmpty()&&!this.rarities.contains(card.getRarity()))
-                return !this.shouldBeEqual;
+                return false;
             if(!this.editions.isEmpty()&&!this.editions.contains(card.getEdition())) {
                 boolean found = false;
                 List<PaperCard> allPrintings = FModel.getMagicDb().getCommonCards().getAllCards(card.getCardName());
@@ -85,68 +128,24 @@ public class CardUtil {
                     }
                 }
                 if (!found)
-                    return !this.shouldBeEqual;
+                    return false;
             }
-            if(!this.minDate.isEmpty()) {
+            if(this.minDate != null) {
                 boolean found = false;
                 List<PaperCard> allPrintings = FModel.getMagicDb().getCommonCards().getAllCards(card.getCardName());
-                List<CardEdition> cardEditionList = new ArrayList<>();
-
-                Date d = parseDate(this.minDate);
-
-                for (CardEdition e : FModel.getMagicDb().getEditions()) {
-                    if (e.getDate().before(d))
-                        continue;
-                    cardEditionList.add(e);
-                }
-
                 for (PaperCard c : allPrintings){
-                    for (CardEdition e : cardEditionList) {
-                        if (e.getCode().equals(c.getEdition())) {
-                            found = true;
-                            break;
-                        }
+                    if (getEditionsSinceMinDate().contains(c.getEdition())) {
+                        found = true;
+                        break;
                     }
                 }
                 if (!found)
-                    return !this.shouldBeEqual;
+                    return false;
             }
             if(!this.manaCosts.isEmpty()&&!this.manaCosts.contains(card.getRules().getManaCost().getCMC()))
-                return !this.shouldBeEqual;
-            if(this.text!=null&& !this.text.matcher(card.getRules().getOracleText()).find())
-                return !this.shouldBeEqual;
-
-            if(this.matchAllColors)
-            {
-                if(!card.getRules().getColor().hasAllColors(this.colors))
-                {
-                    return !this.shouldBeEqual;
-                }
-            }
-
-            if(this.colors!= MagicColor.ALL_COLORS)
-            {
-                if(!card.getRules().getColor().hasNoColorsExcept(this.colors)||(this.colors != MagicColor.COLORLESS && card.getRules().getColor().isColorless()))
-                    return !this.shouldBeEqual;
-            }
-            if(colorType!=ColorType.Any)
-            {
-                switch (colorType)
-                {
-                    case Colorless:
-                        if(!card.getRules().getColor().isColorless())
-                            return !this.shouldBeEqual;
-                        break;
-                    case MonoColor:
-                        if(!card.getRules().getColor().isMonoColor())
-                            return !this.shouldBeEqual;
-                        break;
-                    case MultiColor:
-                        if(!card.getRules().getColor().isMulticolor())
-                            return !this.shouldBeEqual;
-                        break;
-                }
-            }
+                return false;
+            if(!matchesColor(card.getRules().getColor()))
+                return false;
             if(!this.type.isEmpty())
             {
                 boolean found=false;
@@ -159,7 +158,7 @@ public class CardUtil {
                     }
                 }
                 if(!found)
-                    return !this.shouldBeEqual;
+                    return false;
             }
             if(!this.superType.isEmpty())
             {
@@ -173,19 +172,62 @@ public class CardUtil {
                     }
                 }
                 if(!found)
-                    return !this.shouldBeEqual;
+                    return false;
+            }
+            return matchesUnindexed(card);
+        }
+
+        private boolean matchesColor(final ColorSet color) {
+            if(this.matchAllColors)
+            {
+                if(!color.hasAllColors(this.colors))
+                {
+                    return false;
+                }
             }
+
+            if(this.colors!= MagicColor.ALL_COLORS)
+            {
+                if(!color.hasNoColorsExcept(this.colors)||(this.colors != MagicColor.COLORLESS && color.isColorless()))
+                    return false;
+            }
+            if(colorType!=ColorType.Any)
+            {
+                switch (colorType)
+                {
+                    case Colorless:
+                        if(!color.isColorless())
+                            return false;
+                        break;
+                    case MonoColor:
+                        if(!color.isMonoColor())
+                            return false;
+                        break;
+                    case MultiColor:
+                        if(!color.isMulticolor())
+                            return false;
+                        break;
+                }
+            }
+            return true;
+        }
+
+        // criteria CardPoolIndex can't answer, or only narrows down
+        private boolean matchesUnindexed(final PaperCard card) {
+            if(this.text!=null&& !this.text.matcher(card.getRules().getOracleText()).find())
+                return false;
+
             if(this.matchAllSubTypes)
             {
                 if(!this.subType.isEmpty())
                 {
                     if(this.subType.size()!= Iterables.size(card.getRules().getType().getSubtypes()))
-                        return !this.shouldBeEqual;
+                        return false;
                     for(String subtype:card.getRules().getType().getSubtypes())
                     {
                         if(!this.subType.contains(subtype))
                         {
-                            return !this.shouldBeEqual;
+                            return false;
                         }
                     }
                 }
@@ -204,7 +246,7 @@ public class CardUtil {
                         }
                     }
                     if(!found)
-                        return !this.shouldBeEqual;
+                        return false;
                 }
             }
 
@@ -220,7 +262,7 @@ public class CardUtil {
                     }
                 }
                 if(!found)
-                    return !this.shouldBeEqual;
+                    return false;
             }
 
             if(!this.deckNeeds.isEmpty())
@@ -243,11 +285,21 @@ public class CardUtil {
                     }
                 }
                 if(!found)
-                    return !this.shouldBeEqual;
+                    return false;
             }
+            return true;
+        }
 
-
-            return this.shouldBeEqual;
+        private Set<String> getEditionsSinceMinDate() {
+            if (editionsSinceMinDate == null) {
+                Set<String> codes = new HashSet<>();
+                for (CardEdition e : FModel.getMagicDb().getEditions()) {
+                    if (!e.getDate().before(this.minDate))
+                        codes.add(e.getCode());
+                }
+                editionsSinceMinDate = codes;
+            }
+            return editionsSinceMinDate;
         }
         private Pattern getPattern(RewardData type) {
             if (type.cardText == null || type.cardText.isEmpty())
@@ -325,11 +377,11 @@ public class CardUtil {
             }
             if(type.minDate!=null&&!type.minDate.isEmpty())
             {
-                this.minDate=type.minDate;
+                this.minDate=parseDate(type.minDate);
             }
             else
             {
-                this.minDate="";
+                this.minDate=null;
             }
         }
     }
@@ -359,6 +411,13 @@ public class CardUtil {
             }
         }
 
+        if (cards instanceof CardPoolIndex) {
+            result = pre.select((CardPoolIndex) cards);
+            if (shouldExcludeSnowCovered)
+                result.removeIf(item -> item.getName().startsWith("Snow-Covered"));
+            return result;
+        }
+
         for (final PaperCard item : cards)
         {
             if (shouldExcludeSnowCovered && item.getName().startsWith("Snow-Covered")) {
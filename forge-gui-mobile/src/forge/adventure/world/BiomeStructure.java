@@ -6,6 +6,8 @@ import forge.adventure.data.BiomeStructureData;
 import forge.adventure.util.Config;
 
 import java.util.HashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.IntStream;
 
 public class BiomeStructure {
 
@@ -53,8 +55,6 @@ public class BiomeStructure {
     }
 
     public void initialize(ColorMap sourceImage, ColorMap maskImage) {
-        long currentTime = System.currentTimeMillis();
-
         init = true;
         int targetWidth = (int) (data.width * biomeWidth);
         int targetHeight = (int) (data.height * biomeHeight);
@@ -65,44 +65,59 @@ public class BiomeStructure {
         for (int i = 0; i < data.mappingInfo.length; i++) {
             colorIdMap.put(Integer.parseInt(data.mappingInfo[i].color, 16), i);
         }
-        for (int mx = 0; mx < targetWidth; mx += Math.min(targetWidth - mx, MAXIMUM_WAVEFUNCTIONSIZE)) {
-            for (int my = 0; my < targetWidth; my += Math.min(targetHeight - my, MAXIMUM_WAVEFUNCTIONSIZE)) {
-                OverlappingModel model = new OverlappingModel(sourceImage, data.N, Math.min(targetWidth - mx, MAXIMUM_WAVEFUNCTIONSIZE), Math.min(targetHeight - my, MAXIMUM_WAVEFUNCTIONSIZE), data.periodicInput, data.periodicOutput, data.symmetry, data.ground);
-
-                boolean suc = false;
-                for (int i = 0; i < 10 && !suc; i++)
-                    suc = model.run((int) seed + (i * 5355) + mx * my, 0);
-                if (!suc) {
-                    for (int x = 0; x < dataMap.length; x++)
-                        for (int y = 0; y < dataMap[x].length; y++)
-                            dataMap[mx + x][my + y] = -1;
-                    return;
-                }
-                image = model.graphics();
-                for (int x = 0; x < image.getWidth(); x++) {
-
-                    for (int y = 0; y < image.getHeight(); y++) {
-                        boolean isWhitePixel = maskImage != null && (maskImage.getColor((int) ((mx + x) * maskImage.getWidth() / (float) targetWidth), (int) ((my + y) * (maskImage.getHeight() / (float) targetHeight)))).equals(Color.WHITE);
-
-                        if (isWhitePixel)
-                            finalImage.setColor(mx + x, my + y, Color.WHITE);
-                        else
-                            finalImage.setColor(mx + x, my + y, image.getColor(x, y));
-                        int rgb = Color.rgb888(image.getColor(x, y));
-                        if (isWhitePixel || !colorIdMap.containsKey(rgb)) {
-                            dataMap[mx + x][my + y] = -1;
-                        } else {
-                            dataMap[mx + x][my + y] = colorIdMap.get(rgb);
-                            collisionMap[mx + x][my + y] = data.mappingInfo[colorIdMap.get(rgb)].collision;
-                        }
+        if (targetWidth <= 0 || targetHeight <= 0) {
+            image = finalImage;
+            return;
+        }
+        //the source image is analysed once, every block only runs the collapse with its own seed
+        OverlappingModel patterns = new OverlappingModel(sourceImage, data.N, MAXIMUM_WAVEFUNCTIONSIZE, MAXIMUM_WAVEFUNCTIONSIZE, data.periodicInput, data.periodicOutput, data.symmetry, data.ground);
+        int blocksX = (targetWidth + MAXIMUM_WAVEFUNCTIONSIZE - 1) / MAXIMUM_WAVEFUNCTIONSIZE;
+        int blocksY = (targetHeight + MAXIMUM_WAVEFUNCTIONSIZE - 1) / MAXIMUM_WAVEFUNCTIONSIZE;
+        AtomicBoolean failed = new AtomicBoolean();
+        //blocks write to separate parts of the maps, and their seeds don't depend on the order they run in
+        IntStream.range(0, blocksX * blocksY).parallel().forEach(block -> {
+            if (failed.get())
+                return;
+            int mx = (block / blocksY) * MAXIMUM_WAVEFUNCTIONSIZE;
+            int my = (block % blocksY) * MAXIMUM_WAVEFUNCTIONSIZE;
+            OverlappingModel model = new OverlappingModel(patterns, Math.min(targetWidth - mx, MAXIMUM_WAVEFUNCTIONSIZE), Math.min(targetHeight - my, MAXIMUM_WAVEFUNCTIONSIZE));
+
+            boolean suc = false;
+            for (int i = 0; i < 10 && !suc; i++)
+                suc = model.run((int) seed + (i * 5355) + mx * my, 0);
+            if (!suc) {
+                failed.set(true);
+                return;
+            }
+            ColorMap blockImage = model.graphics();
+            for (int x = 0; x < blockImage.getWidth(); x++) {
+
+                for (int y = 0; y < blockImage.getHeight(); y++) {
+                    boolean isWhitePixel = maskImage != null && (maskImage.getColor((int) ((mx + x) * maskImage.getWidth() / (float) targetWidth), (int) ((my + y) * (maskImage.getHeight() / (float) targetHeight)))).equals(Color.WHITE);
+
+                    if (isWhitePixel)
+                        finalImage.setColor(mx + x, my + y, Color.WHITE);
+                    else
+                        finalImage.setColor(mx + x, my + y, blockImage.getColor(x, y));
+                    int rgb = Color.rgb888(blockImage.getColor(x, y));
+                    if (isWhitePixel || !colorIdMap.containsKey(rgb)) {
+                        dataMap[mx + x][my + y] = -1;
+                    } else {
+                        dataMap[mx + x][my + y] = colorIdMap.get(rgb);
+                        collisionMap[mx + x][my + y] = data.mappingInfo[colorIdMap.get(rgb)].collision;
                     }
                 }
-
             }
-            image = finalImage;
+        });
+        if (failed.get()) {
+            //a block that can't be solved leaves the whole structure out
+            for (int x = 0; x < dataMap.length; x++)
+                for (int y = 0; y < dataMap[x].length; y++) {
+                    dataMap[x][y] = -1;
+                    collisionMap[x][y] = false;
+                }
         }
-
-
+        image = finalImage;
     }
 
     public void initialize() {
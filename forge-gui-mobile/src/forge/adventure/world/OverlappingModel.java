@@ -201,6 +201,26 @@ public class OverlappingModel extends Model {
     }
   }
 
+  /**
+   * Creates a model of another size that reuses the patterns of an existing one,
+   * without analysing the source image again. The patterns are only read while running,
+   * so models sharing them can run on different threads.
+   * @param source The model whose patterns, weights and propagator are shared.
+   * @param width The width of the generation (in pixels).
+   * @param height The height of the generation (in pixels).
+   */
+  public OverlappingModel(OverlappingModel source, int width, int height) {
+    super(width, height);
+    this.N = source.N;
+    this.periodic = source.periodic;
+    this.colors = source.colors;
+    this.T = source.T;
+    this.ground = source.ground;
+    this.patterns = source.patterns;
+    this.weights = source.weights;
+    this.propagator = source.propagator;
+  }
+
   @Override
   protected boolean onBoundary(int x, int y) {
     return (
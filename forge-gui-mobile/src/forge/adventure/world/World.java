@@ -28,6 +28,7 @@ import org.apache.commons.lang3.tuple.Pair;
 import java.util.*;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.IntStream;
 
 /**
  * Class that will create the world from the configuration
@@ -46,6 +47,8 @@ public class World implements Disposable, SaveFileContent {
     private PointOfInterestMap mapPoiIds;
     private BiomeTexture[] biomeTexture;
     private long seed;
+    // the world doesn't change once generated or loaded, so it's only encoded for the first save
+    private SaveFileData savedData;
     private final Random random = new Random();
     private boolean worldDataLoaded = false;
     private Texture globalTexture = null;
@@ -116,10 +119,13 @@ public class World implements Disposable, SaveFileContent {
         mapPoiIds = new PointOfInterestMap(getChunkSize(), this.data.tileSize, this.data.width / getChunkSize(), this.data.height / getChunkSize());
         mapPoiIds.load(saveFileData.readSubData("mapPoiIds"));
         seed = saveFileData.readLong("seed");
+        savedData = saveFileData;
     }
 
     @Override
     public SaveFileData save() {
+        if (savedData != null)
+            return savedData;
 
         SaveFileData data = new SaveFileData();
 
@@ -131,6 +137,7 @@ public class World implements Disposable, SaveFileContent {
         data.store("mapObjectIds", mapObjectIds.save());
         data.store("mapPoiIds", mapPoiIds.save());
         data.store("seed", seed);
+        savedData = data;
         return data;
     }
 
@@ -157,13 +164,38 @@ public class World implements Disposable, SaveFileContent {
         }
     }
 
-    public Pixmap getBiomeSprite(int x, int y) {
-        if (x < 0 || y <= 0 || x >= width || y > height)
-            return new Pixmap(data.tileSize, data.tileSize, Pixmap.Format.RGBA8888);
+    /**
+     * Composes all tiles of one chunk of the overworld into a single pixmap, chunk 0,0 being the bottom left one.
+     * Only reads the generated world, so it can be called off the render thread.
+     * @return a new pixmap the caller has to dispose
+     */
+    public Pixmap getChunkPixmap(int chunkX, int chunkY) {
+        int chunkSize = getChunkSize();
+        int tileSize = data.tileSize;
+        Pixmap chunk = new Pixmap(chunkSize * tileSize, chunkSize * tileSize, Pixmap.Format.RGBA8888);
+        Pixmap drawingPixmap = new Pixmap(tileSize, tileSize, Pixmap.Format.RGBA8888);
+        for (int cx = 0; cx < chunkSize; cx++) {
+            for (int cy = 0; cy < chunkSize; cy++) {
+                int x = cx + chunkSize * chunkX;
+                int y = cy + chunkSize * chunkY;
+                if (x < 0 || y <= 0 || x >= width || y > height)
+                    continue;
+                //the tile pixmap is reused, clear what the last tile left on it
+                drawingPixmap.setBlending(Pixmap.Blending.None);
+                drawingPixmap.setColor(0, 0, 0, 0);
+                drawingPixmap.fill();
+                drawingPixmap.setBlending(Pixmap.Blending.SourceOver);
+                chunk.drawPixmap(drawBiomeSprite(x, y, drawingPixmap), cx * tileSize, (chunkSize * tileSize) - (cy + 1) * tileSize);
+            }
+        }
+        drawingPixmap.dispose();
+        return chunk;
+    }
 
+    // draws the tile on the given pixmap, edge tiles return the biome's own pixmap instead which must not be disposed
+    private Pixmap drawBiomeSprite(int x, int y, Pixmap drawingPixmap) {
         long biomeIndex = getBiome(x, y);
         int biomeTerrain = getTerrainIndex(x, y);
-        Pixmap drawingPixmap = new Pixmap(data.tileSize, data.tileSize, Pixmap.Format.RGBA8888);
         ArrayList<DrawingInformation> information = new ArrayList<>();
         for (int i = 0; i < biomeTexture.length; i++) {
             if ((biomeIndex & 1L << i) == 0) {
@@ -282,6 +314,15 @@ public class World implements Disposable, SaveFileContent {
             }
     }
 
+    // seeds the generation of one part of the world from the world seed and the part's position in the world data,
+    // so it doesn't matter in which order or on which thread the parts are generated
+    private static long regionSeed(long seed, int biomeIndex, int regionIndex) {
+        long z = seed + 0x9E3779B97F4A7C15L * (((long) biomeIndex << 32) + regionIndex + 1);
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        return z ^ (z >>> 31);
+    }
+
     private long measureGenerationTime(String msg, long lastTime) {
         long currentTime = System.currentTimeMillis();
         System.out.println(msg + " :\t\t" + ((currentTime - lastTime) / 1000f) + " s");
@@ -289,6 +330,7 @@ public class World implements Disposable, SaveFileContent {
     }
 
     public boolean generateNew(long seed) {
+        savedData = null;
         try {
             if (GuiBase.isAndroid())
                 GuiBase.getInterface().preventSystemSleep(true);
@@ -329,12 +371,16 @@ public class World implements Disposable, SaveFileContent {
 ///////// calculation structure position with wavefunctioncollapse
 //////////////////
             List<CompletableFuture<Long>> futures = new ArrayList<>();
+            int structureBiomeIndex = -1;
             for (BiomeData biome : data.GetBiomes()) {
+                structureBiomeIndex++;
                 if (biome.structures != null) {
                     int biomeWidth = (int) Math.round(biome.width * (double) width);
                     int biomeHeight = (int) Math.round(biome.height * (double) height);
+                    int structureIndex = -1;
                     for (BiomeStructureData data : biome.structures) {
-                        long localSeed = seed;
+                        structureIndex++;
+                        long localSeed = regionSeed(seed, structureBiomeIndex, structureIndex);
                         futures.add(CompletableFuture.supplyAsync(()-> {
                             long threadStartTime = System.currentTimeMillis();
                             BiomeStructure structure = new BiomeStructure(data, localSeed, biomeWidth, biomeHeight);
@@ -351,6 +397,7 @@ public class World implements Disposable, SaveFileContent {
             CompletableFuture<?>[] futuresArray = futures.toArray(new CompletableFuture<?>[0]);
             CompletableFuture.allOf(futuresArray).join();
             futures.clear();
+            currentTime[0] = measureGenerationTime("wavefunctioncollapse in total", currentTime[0]);
 
 //////////////////
 ///////// calculation each biome position based on noise and radius
@@ -373,8 +420,11 @@ public class World implements Disposable, SaveFileContent {
                     endX = width;
                     endY = height;
                 }
-                for (int x = beginX; x < endX; x++) {
-                    for (int y = beginY; y < endY; y++) {
+                //columns are independent, every cell only depends on its position and the seed
+                final int index = biomeIndex[0];
+                final int fromY = beginY, toY = endY;
+                IntStream.range(beginX, endX).parallel().forEach(x -> {
+                    for (int y = fromY; y < toY; y++) {
                         //value 0-1 based on noise
                         float noiseValue = ((float) noise.eval(x / (float) width * noiseZoom, y / (float) height * noiseZoom) + 1) / 2f;
                         noiseValue *= biome.noiseWeight;
@@ -382,12 +432,7 @@ public class World implements Disposable, SaveFileContent {
                         float distanceValue = ((float) Math.sqrt((x - biomeXStart) * (x - biomeXStart) + (y - biomeYStart) * (y - biomeYStart))) / (Math.max(biomeWidth, biomeHeight) / 2f);
                         distanceValue *= biome.distWeight;
                         if (noiseValue + distanceValue < 1.0 || biome.invertHeight && (1 - noiseValue) + distanceValue < 1.0) {
-                            Color color = biome.GetColor();
-                            float[] hsv = new float[3];
-                            color.toHsv(hsv);
-                            int count = (int) ((noiseValue - 0.5) * 10 / 4);
-                            //hsv[2]+=(count*0.2);
-                            biomeMap[x][y] |= (1L << biomeIndex[0]);
+                            biomeMap[x][y] |= (1L << index);
                             int terrainCounter = 1;
                             terrainMap[x][y] = 0;
                             if (biome.terrain != null) {
@@ -395,7 +440,6 @@ public class World implements Disposable, SaveFileContent {
                                     float terrainNoise = ((float) noise.eval(x / (float) width * (noiseZoom * terrain.resolution), y / (float) height * (noiseZoom * terrain.resolution)) + 1) / 2;
                                     if (terrainNoise >= terrain.min && terrainNoise <= terrain.max) {
                                         terrainMap[x][y] = terrainCounter;
-                                        //pix.fillRectangle(x*data.miniMapTileSize, y*data.miniMapTileSize,data.miniMapTileSize,data.miniMapTileSize);
                                     }
                                     terrainCounter++;
                                 }
@@ -404,15 +448,12 @@ public class World implements Disposable, SaveFileContent {
                                 terrainMap[x][y] |= collisionBit;
                             if (biome.structures != null) {
                                 for (BiomeStructureData data : biome.structures) {
-                                    while (!structureDataMap.containsKey(data)) {
-                                        try {
-                                            Thread.sleep(10);
-                                        } catch (InterruptedException e) {
-                                            throw new RuntimeException(e);
-                                        }
-                                    }
-
                                     BiomeStructure structure = structureDataMap.get(data);
+                                    if (structure == null) {
+                                        //its generation failed, keep the numbering of the following structures
+                                        terrainCounter += data.mappingInfo.length;
+                                        continue;
+                                    }
                                     int structureXStart = x - (biomeXStart - biomeWidth / 2) - (int) ((data.x * biomeWidth) - (data.width * biomeWidth / 2));
                                     int structureYStart = y - (biomeYStart - biomeHeight / 2) - (int) ((data.y * biomeHeight) - (data.height * biomeHeight / 2));
 
@@ -432,7 +473,8 @@ public class World implements Disposable, SaveFileContent {
                         }
 
                     }
-                }
+                });
+                currentTime[0] = measureGenerationTime("biome " + biome.name, currentTime[0]);
             }
             currentTime[0] = measureGenerationTime("biomes in total", currentTime[0]);
 
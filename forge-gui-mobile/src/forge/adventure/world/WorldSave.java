@@ -1,11 +1,13 @@
 package forge.adventure.world;
 
+import com.badlogic.gdx.Gdx;
 import forge.adventure.data.DifficultyData;
 import forge.adventure.player.AdventurePlayer;
 import forge.adventure.pointofintrest.PointOfInterest;
 import forge.adventure.pointofintrest.PointOfInterestChanges;
 import forge.adventure.scene.MapViewScene;
 import forge.adventure.scene.SaveLoadScene;
+import forge.adventure.stage.GameHUD;
 import forge.adventure.stage.PointOfInterestMapSprite;
 import forge.adventure.stage.WorldStage;
 import forge.adventure.util.AdventureModes;
@@ -19,12 +21,28 @@ import forge.localinstance.properties.ForgeConstants;
 import forge.player.GamePlayerUtil;
 
 import java.io.*;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
 import java.util.Date;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.zip.Deflater;
 import java.util.zip.DeflaterOutputStream;
 import java.util.zip.InflaterInputStream;
 
 /**
  * Represents everything that will be saved, like the player and the world.
+ * <p>
+ * A save file starts with {@link #SAVE_FILE_MAGIC} and its version, followed by chunks of a name, a length and
+ * the deflated serialized section: the header first, so the slot list only reads that, then the player, the world,
+ * the world stage and the point of interest changes. Each chunk is compressed on its own, the world doesn't change
+ * once generated and is only encoded and compressed for its first save. Files from before there were chunks are a
+ * deflated object stream of the header and the data, they are still read.
  */
 public class WorldSave   {
 
@@ -32,10 +50,40 @@ public class WorldSave   {
     static final public int QUICK_SAVE_SLOT =-2;
     static final public int INVALID_SAVE_SLOT =-3;
     static final WorldSave currentSave=new WorldSave();
+    private static final int SAVE_FILE_MAGIC = 0x46534156; // "FSAV"
+    private static final int SAVE_FILE_VERSION = 1;
+    private static final String HEADER_CHUNK = "header";
+    // compressing and writing happens here, so saving doesn't hold up the game
+    private static final ExecutorService saveWriter = Executors.newSingleThreadExecutor(r -> {
+        Thread thread = new Thread(r, "WorldSaveWriter");
+        thread.setDaemon(true);
+        return thread;
+    });
     public WorldSaveHeader header = new WorldSaveHeader();
     private final AdventurePlayer player=new AdventurePlayer();
     private final World world=new World();
     private final PointOfInterestChanges.Map pointOfInterestChanges=  new PointOfInterestChanges.Map();
+    // the world's save data and its encoding, the world hands out the same data until it changes
+    private SaveFileData savedWorld;
+    private byte[] savedWorldBytes;
+    // the last compressed form of each chunk, only used by the save writer
+    private static final Map<String, DeflatedChunk> deflatedChunks = new HashMap<>();
+
+    private static final class DeflatedChunk {
+        private final byte[] content;
+        private final byte[] deflated;
+
+        private DeflatedChunk(byte[] content, byte[] deflated) {
+            this.content = content;
+            this.deflated = deflated;
+        }
+    }
+
+    /** The header and data read from a save file. */
+    private static final class SaveFileContents {
+        private WorldSaveHeader header;
+        private SaveFileData mainData;
+    }
 
 
     private final SignalList onLoadList=new SignalList();
@@ -62,33 +110,32 @@ public class WorldSave   {
 
     static public boolean load(int currentSlot) {
 
+        awaitPendingSaves();
         String fileName = WorldSave.getSaveFile(currentSlot);
         if(!new File(fileName).exists())
             return false;
         new File(getSaveDir()).mkdirs();
         try {
-            try(FileInputStream fos  = new FileInputStream(fileName);
-                InflaterInputStream inf = new InflaterInputStream(fos);
-                ObjectInputStream oos = new ObjectInputStream(inf))
-            {
-                currentSave.header = (WorldSaveHeader) oos.readObject();
-                SaveFileData mainData=(SaveFileData)oos.readObject();
-                currentSave.player.load(mainData.readSubData("player"));
-                GamePlayerUtil.getGuiPlayer().setName(currentSave.player.getName());
-                try {
-                    currentSave.world.load(mainData.readSubData("world"));
-                    currentSave.pointOfInterestChanges.load(mainData.readSubData("pointOfInterestChanges"));
-                    WorldStage.getInstance().load(mainData.readSubData("worldStage"));
-
-                } catch (Exception e) {
-                    System.err.println("Generating New World");
-                    if (!currentSave.world.generateNew(0))
-                        return false;
-                }
-
-                currentSave.onLoadList.emit();
+            SaveFileContents contents = read(new File(fileName), false);
+            currentSave.header = contents.header;
+            SaveFileData mainData = contents.mainData;
+            currentSave.player.load(mainData.readSubData("player"));
+            GamePlayerUtil.getGuiPlayer().setName(currentSave.player.getName());
+            try {
+                currentSave.world.load(mainData.readSubData("world"));
+                // saved again as it was read until the world changes
+                currentSave.savedWorld = currentSave.world.save();
+                currentSave.savedWorldBytes = mainData.get("world");
+                currentSave.pointOfInterestChanges.load(mainData.readSubData("pointOfInterestChanges"));
+                WorldStage.getInstance().load(mainData.readSubData("worldStage"));
 
+            } catch (Exception e) {
+                System.err.println("Generating New World");
+                if (!currentSave.world.generateNew(0))
+                    return false;
             }
+
+            currentSave.onLoadList.emit();
         } catch (ClassNotFoundException | IOException e) {
             e.printStackTrace();
             return false;
@@ -142,46 +189,211 @@ public class WorldSave   {
     }
 
     public boolean autoSave() {
-        return save("auto save"+ SaveLoadScene.instance().getSaveFileSuffix(),AUTO_SAVE_SLOT);
+        return save("auto save"+ SaveLoadScene.instance().getSaveFileSuffix(),AUTO_SAVE_SLOT, false);
     }
     public boolean quickSave() {
-        return save("quick save"+ SaveLoadScene.instance().getSaveFileSuffix(),QUICK_SAVE_SLOT);
+        return save("quick save"+ SaveLoadScene.instance().getSaveFileSuffix(),QUICK_SAVE_SLOT, false);
     }
     public boolean quickLoad() {
         return load(QUICK_SAVE_SLOT);
     }
     public boolean save(String text, int currentSlot) {
+        return save(text, currentSlot, true);
+    }
+
+    /**
+     * Takes the state of the game on the calling thread, the file is compressed and written in the background.
+     * A failure to write is shown to the player.
+     * @param wait whether to wait for the file to be written
+     */
+    private boolean save(String text, int currentSlot, boolean wait) {
         header.name = text;
 
         String fileName = WorldSave.getSaveFile(currentSlot);
         new File(getSaveDir()).mkdirs();
 
+        final Map<String, byte[]> chunks = new LinkedHashMap<>();
         try {
-            try(FileOutputStream fos =  new FileOutputStream(fileName);
-                DeflaterOutputStream def= new DeflaterOutputStream(fos);
-                ObjectOutputStream oos = new ObjectOutputStream(def))
-            {
-                header.saveDate= new Date();
-                oos.writeObject(header);
-                SaveFileData mainData=new SaveFileData();
-                mainData.store("player",currentSave.player.save());
-                mainData.store("world",currentSave.world.save());
-                mainData.store("worldStage", WorldStage.getInstance().save());
-                mainData.store("pointOfInterestChanges",currentSave.pointOfInterestChanges.save());
-
-                oos.writeObject(mainData);
+            header.saveDate= new Date();
+            chunks.put(HEADER_CHUNK, serialize(header));
+            SaveFileData mainData=new SaveFileData();
+            mainData.store("player",currentSave.player.save());
+            SaveFileData worldData = currentSave.world.save();
+            if (worldData != savedWorld) {
+                mainData.store("world", worldData);
+                savedWorld = worldData;
+                savedWorldBytes = mainData.get("world");
+            } else {
+                mainData.put("world", savedWorldBytes);
             }
-
+            mainData.store("worldStage", WorldStage.getInstance().save());
+            mainData.store("pointOfInterestChanges",currentSave.pointOfInterestChanges.save());
+            chunks.putAll(mainData);
         } catch (IOException e) {
             e.printStackTrace();
             return false;
         }
 
-        Config.instance().getSettingData().lastActiveSave = WorldSave.filename(currentSlot);
-        Config.instance().saveSettings();
+        final String lastActiveSave = WorldSave.filename(currentSlot);
+        Future<Boolean> written = saveWriter.submit(() -> {
+            String error = writeSaveFile(fileName, chunks);
+            if (!wait) {
+                Gdx.app.postRunnable(() -> saveWritten(lastActiveSave, error));
+            }
+            return error == null;
+        });
+        if (wait) {
+            String error;
+            try {
+                error = written.get() ? null : "the file could not be written";
+            } catch (InterruptedException | ExecutionException e) {
+                e.printStackTrace();
+                error = e.toString();
+            }
+            saveWritten(lastActiveSave, error);
+            return error == null;
+        }
         return true;
     }
 
+    // on the render thread, once the file is written or failed to
+    private static void saveWritten(String lastActiveSave, String error) {
+        if (error != null) {
+            GameHUD.getInstance().addNotification("Game not saved, " + error);
+            return;
+        }
+        Config.instance().getSettingData().lastActiveSave = lastActiveSave;
+        Config.instance().saveSettings();
+    }
+
+    /**
+     * @return null when the file was written, otherwise what went wrong
+     */
+    private static String writeSaveFile(String fileName, Map<String, byte[]> chunks) {
+        // the old save stays intact until the new one is complete
+        File file = new File(fileName);
+        File tempFile = new File(fileName + ".tmp");
+        try {
+            try(DataOutputStream out = new DataOutputStream(new BufferedOutputStream(new FileOutputStream(tempFile))))
+            {
+                out.writeInt(SAVE_FILE_MAGIC);
+                out.writeInt(SAVE_FILE_VERSION);
+                out.writeInt(chunks.size());
+                for (Map.Entry<String, byte[]> chunk : chunks.entrySet()) {
+                    byte[] deflated = deflate(chunk.getKey(), chunk.getValue());
+                    out.writeUTF(chunk.getKey());
+                    out.writeInt(deflated.length);
+                    out.write(deflated);
+                }
+            }
+            Files.move(tempFile.toPath(), file.toPath(), StandardCopyOption.REPLACE_EXISTING);
+        } catch (IOException e) {
+            e.printStackTrace();
+            tempFile.delete();
+            return e.getMessage() != null ? e.getMessage() : e.toString();
+        }
+        return null;
+    }
+
+    private static byte[] deflate(String name, byte[] content) throws IOException {
+        DeflatedChunk last = deflatedChunks.get(name);
+        if (last != null && last.content == content)
+            return last.deflated;
+        // off the render thread, so it can take the time to compress well
+        Deflater deflater = new Deflater(Deflater.BEST_COMPRESSION);
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(content.length / 4 + 64);
+        try (DeflaterOutputStream def = new DeflaterOutputStream(bytes, deflater)) {
+            def.write(content);
+        } finally {
+            deflater.end();
+        }
+        byte[] deflated = bytes.toByteArray();
+        deflatedChunks.put(name, new DeflatedChunk(content, deflated));
+        return deflated;
+    }
+
+    private static byte[] inflate(byte[] deflated) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(deflated.length * 4);
+        try (InflaterInputStream inf = new InflaterInputStream(new ByteArrayInputStream(deflated))) {
+            byte[] buffer = new byte[8192];
+            int read;
+            while ((read = inf.read(buffer)) != -1)
+                bytes.write(buffer, 0, read);
+        }
+        return bytes.toByteArray();
+    }
+
+    private static byte[] serialize(Object object) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (ObjectOutputStream oos = new ObjectOutputStream(bytes)) {
+            oos.writeObject(object);
+        }
+        return bytes.toByteArray();
+    }
+
+    private static Object deserialize(byte[] content) throws IOException, ClassNotFoundException {
+        try (ObjectInputStream ois = new ObjectInputStream(new ByteArrayInputStream(content))) {
+            return ois.readObject();
+        }
+    }
+
+    /**
+     * Reads the header of a save file, the rest of the file isn't read.
+     */
+    public static WorldSaveHeader readHeader(File file) throws IOException, ClassNotFoundException {
+        return read(file, true).header;
+    }
+
+    private static SaveFileContents read(File file, boolean headerOnly) throws IOException, ClassNotFoundException {
+        SaveFileContents contents = new SaveFileContents();
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(new FileInputStream(file)))) {
+            in.mark(4);
+            if (in.readInt() != SAVE_FILE_MAGIC) {
+                // written before save files had chunks
+                in.reset();
+                ObjectInputStream ois = new ObjectInputStream(new InflaterInputStream(in));
+                contents.header = (WorldSaveHeader) ois.readObject();
+                if (!headerOnly)
+                    contents.mainData = (SaveFileData) ois.readObject();
+                return contents;
+            }
+            int version = in.readInt();
+            if (version > SAVE_FILE_VERSION)
+                throw new IOException(file + " was saved by a newer version, format " + version);
+            int count = in.readInt();
+            contents.mainData = new SaveFileData();
+            for (int i = 0; i < count; i++) {
+                String name = in.readUTF();
+                byte[] deflated = new byte[in.readInt()];
+                in.readFully(deflated);
+                if (HEADER_CHUNK.equals(name)) {
+                    contents.header = (WorldSaveHeader) deserialize(inflate(deflated));
+                    if (headerOnly)
+                        return contents;
+                } else {
+                    // each section is what SaveFileData.store makes of it
+                    contents.mainData.put(name, inflate(deflated));
+                }
+            }
+        }
+        if (contents.header == null)
+            throw new IOException(file + " has no header");
+        return contents;
+    }
+
+    /**
+     * Blocks until the saves handed to the background writer are on disk.
+     */
+    public static void awaitPendingSaves() {
+        try {
+            saveWriter.submit(() -> { }).get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (ExecutionException e) {
+            e.printStackTrace();
+        }
+    }
+
     public void clearChanges() {
         pointOfInterestChanges.clear();
     }
@@ -20,6 +20,7 @@ import forge.localinstance.skin.FSkinProp;
 import forge.model.FModel;
 import forge.player.PlayerControllerHuman;
 import forge.trackable.TrackableCollection;
+import forge.trackable.TrackableDelta;
 import forge.trackable.TrackableTypes;
 import forge.util.Localizer;
 import org.apache.commons.lang3.StringUtils;
@@ -92,6 +93,7 @@ public abstract class AbstractGuiGame implements IGuiGame, IMayViewCards {
     protected abstract void updateCurrentPlayer(PlayerView player);
 
     private GameView gameView = null;
+    private TrackableDelta.Reader gameViewDeltaReader = null;
 
     public final GameView getGameView() {
         return gameView;
@@ -99,6 +101,7 @@ public abstract class AbstractGuiGame implements IGuiGame, IMayViewCards {
 
     @Override
     public void setGameView(final GameView gameView0) {
+        gameViewDeltaReader = null; //deltas after this are relative to the new state
         if (gameView == null || gameView0 == null) {
             if (gameView0 != null) {
                 gameView0.updateObjLookup();
@@ -112,6 +115,18 @@ public abstract class AbstractGuiGame implements IGuiGame, IMayViewCards {
         gameView.copyChangedProps(gameView0);
     }
 
+    @Override
+    public void applyGameViewDelta(final TrackableDelta delta) {
+        if (gameView == null) {
+            return;
+        }
+        if (gameViewDeltaReader == null) {
+            gameViewDeltaReader = new TrackableDelta.Reader();
+            gameViewDeltaReader.reset(gameView);
+        }
+        gameViewDeltaReader.apply(delta, gameView);
+    }
+
     public final IGameController getGameController() {
         return getGameController(getCurrentPlayer());
     }
@@ -2,11 +2,13 @@ package forge.gamemodes.net;
 
 import forge.gui.GuiBase;
 import io.netty.buffer.ByteBuf;
+import io.netty.buffer.ByteBufAllocator;
 import io.netty.buffer.ByteBufOutputStream;
 import io.netty.channel.ChannelHandlerContext;
 import io.netty.handler.codec.MessageToByteEncoder;
 import net.jpountz.lz4.LZ4BlockOutputStream;
 
+import java.io.IOException;
 import java.io.ObjectOutputStream;
 import java.io.Serializable;
 
@@ -15,6 +17,25 @@ public class CompatibleObjectEncoder extends MessageToByteEncoder<Serializable>
 
     @Override
     protected void encode(ChannelHandlerContext ctx, Serializable msg, ByteBuf out) throws Exception {
+        write(msg, out);
+    }
+
+    /**
+     * Encodes a message on the calling thread, the buffer is passed through by the encoder of the channel.
+     * The objects of a game can change once the game thread goes on, so they are written before it does.
+     */
+    public static ByteBuf encode(ByteBufAllocator alloc, Serializable msg) throws IOException {
+        ByteBuf out = alloc.buffer();
+        try {
+            write(msg, out);
+        } catch (IOException | RuntimeException e) {
+            out.release();
+            throw e;
+        }
+        return out;
+    }
+
+    private static void write(Serializable msg, ByteBuf out) throws IOException {
         int startIdx = out.writerIndex();
         ByteBufOutputStream bout = new ByteBufOutputStream(out);
         ObjectOutputStream oout = null;
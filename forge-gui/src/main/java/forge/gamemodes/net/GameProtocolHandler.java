@@ -11,12 +11,19 @@ import io.netty.channel.ChannelInboundHandlerAdapter;
 import java.io.Serializable;
 import java.lang.reflect.InvocationTargetException;
 import java.lang.reflect.Method;
+import java.util.concurrent.Executor;
 
 public abstract class GameProtocolHandler<T> extends ChannelInboundHandlerAdapter {
 
     private final boolean runInEdt;
+    // runs the calls in the order they arrive instead of on the EDT or background threads, if set
+    private final Executor executor;
     protected GameProtocolHandler(final boolean runInEdt) {
+        this(runInEdt, null);
+    }
+    protected GameProtocolHandler(final boolean runInEdt, final Executor executor) {
         this.runInEdt = runInEdt;
+        this.executor = executor;
     }
 
     protected abstract ReplyPool getReplyPool(ChannelHandlerContext ctx);
@@ -47,13 +54,18 @@ public abstract class GameProtocolHandler<T> extends ChannelInboundHandlerAdapte
             final Object[] args = event.getObjects();
             protocolMethod.checkArgs(args);
 
-            final Object toInvoke = getToInvoke(ctx);
-
-            // Pre-call actions
-            beforeCall(protocolMethod, args);
-
             final Class<?> returnType = protocolMethod.getReturnType();
             final Runnable toRun = () -> {
+                // on the thread of the call, so it sees the state left by the calls received before it
+                final Object toInvoke = getToInvoke(ctx);
+                if (toInvoke == null) {
+                    System.err.printf("Nothing to call %s on, ignoring it%n", methodName);
+                    return;
+                }
+
+                // Pre-call actions
+                beforeCall(protocolMethod, args);
+
                 if (returnType.equals(Void.TYPE)) {
                     try {
                         method.invoke(toInvoke, args);
@@ -86,7 +98,9 @@ public abstract class GameProtocolHandler<T> extends ChannelInboundHandlerAdapte
                 }
             };
 
-            if (runInEdt) {
+            if (executor != null) {
+                executor.execute(toRun);
+            } else if (runInEdt) {
                 FThreads.invokeInEdtNowOrLater(toRun);
             } else {
                 FThreads.invokeInBackgroundThread(toRun);
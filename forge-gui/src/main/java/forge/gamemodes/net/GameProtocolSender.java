@@ -2,6 +2,9 @@ package forge.gamemodes.net;
 
 import forge.gamemodes.net.event.GuiGameEvent;
 
+import java.io.IOException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
 import java.util.concurrent.TimeoutException;
 
 public final class GameProtocolSender {
@@ -11,19 +14,41 @@ public final class GameProtocolSender {
         this.remote = remote;
     }
 
+    /**
+     * Sends a method that has no reply, like the updates of the game view.
+     */
     public void send(final ProtocolMethod method, final Object... args) {
         method.checkArgs(args);
         remote.send(new GuiGameEvent(method, args));
     }
 
+    /**
+     * Sends a method and returns its reply once it comes, for callers that can go on without it.
+     */
+    public <T> CompletableFuture<T> sendAsync(final ProtocolMethod method, final Object... args) {
+        return sendAsync(ReplyPool.DEFAULT_TIMEOUT, ReplyPool.DEFAULT_TIMEOUT_UNIT, method, args);
+    }
+
     @SuppressWarnings("unchecked")
-    public <T> T sendAndWait(final ProtocolMethod method, final Object... args) {
+    public <T> CompletableFuture<T> sendAsync(final long timeout, final TimeUnit unit, final ProtocolMethod method, final Object... args) {
         method.checkArgs(args);
-        try {
-            final Object returned = remote.sendAndWait(new GuiGameEvent(method, args));
+        final long start = System.nanoTime();
+        return remote.sendAsync(new GuiGameEvent(method, args), timeout, unit).thenApply(returned -> {
+            ProtocolLatency.record(method, System.nanoTime() - start);
             method.checkReturnValue(returned);
             return (T) returned;
-        } catch (final TimeoutException e) {
+        });
+    }
+
+    /**
+     * Sends a method and waits for its reply. The prompts of NetGuiGame and NetGameController use this: the game
+     * can't go on until the player answered, so the thread asking keeps waiting for them.
+     */
+    public <T> T sendAndWait(final ProtocolMethod method, final Object... args) {
+        try {
+            return ReplyPool.await(this.<T>sendAsync(method, args));
+        } catch (final TimeoutException | IOException e) {
+            // the player is gone or didn't answer, the game goes on as if they hadn't made a choice
             e.printStackTrace();
         }
         return null;
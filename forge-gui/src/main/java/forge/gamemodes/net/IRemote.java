@@ -3,9 +3,21 @@ package forge.gamemodes.net;
 import forge.gamemodes.net.event.IdentifiableNetEvent;
 import forge.gamemodes.net.event.NetEvent;
 
+import java.io.IOException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
 import java.util.concurrent.TimeoutException;
 
 public interface IRemote {
     void send(NetEvent event);
-    Object sendAndWait(IdentifiableNetEvent event) throws TimeoutException;
+
+    /**
+     * Sends the event, the returned future completes with the reply to it
+     * or fails if none arrived within the given time.
+     */
+    CompletableFuture<Object> sendAsync(IdentifiableNetEvent event, long timeout, TimeUnit unit);
+
+    default Object sendAndWait(IdentifiableNetEvent event) throws TimeoutException, IOException {
+        return ReplyPool.await(sendAsync(event, ReplyPool.DEFAULT_TIMEOUT, ReplyPool.DEFAULT_TIMEOUT_UNIT));
+    }
 }
@@ -24,6 +24,9 @@ import forge.util.Localizer;
 import forge.util.URLValidator;
 import org.apache.commons.lang3.StringUtils;
 
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
 import static forge.util.URLValidator.parseURL;
 
 public class NetConnectUtil {
@@ -91,9 +94,9 @@ public class NetConnectUtil {
                 }
             }
             @Override
-            public Object sendAndWait(final IdentifiableNetEvent event) {
+            public CompletableFuture<Object> sendAsync(final IdentifiableNetEvent event, final long timeout, final TimeUnit unit) {
                 send(event);
-                return null;
+                return CompletableFuture.completedFuture(null);
             }
         });
 
@@ -0,0 +1,60 @@
+package forge.gamemodes.net;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Round trip times of the protocol methods that wait for a reply, from sending the request until the reply arrived.
+ * For prompts this includes the time the player took to answer.
+ */
+public final class ProtocolLatency {
+    private static final ProtocolMethod[] METHODS = ProtocolMethod.values();
+    private static final AtomicLongArray counts = new AtomicLongArray(METHODS.length);
+    private static final AtomicLongArray totalNanos = new AtomicLongArray(METHODS.length);
+    private static final AtomicLongArray maxNanos = new AtomicLongArray(METHODS.length);
+
+    private ProtocolLatency() {
+    }
+
+    public static void record(final ProtocolMethod method, final long nanos) {
+        final int i = method.ordinal();
+        counts.incrementAndGet(i);
+        totalNanos.addAndGet(i, nanos);
+        maxNanos.accumulateAndGet(i, nanos, Math::max);
+    }
+
+    public static long getCount(final ProtocolMethod method) {
+        return counts.get(method.ordinal());
+    }
+
+    public static long getAverageMillis(final ProtocolMethod method) {
+        final long count = getCount(method);
+        return count == 0 ? 0 : TimeUnit.NANOSECONDS.toMillis(totalNanos.get(method.ordinal()) / count);
+    }
+
+    public static long getMaxMillis(final ProtocolMethod method) {
+        return TimeUnit.NANOSECONDS.toMillis(maxNanos.get(method.ordinal()));
+    }
+
+    public static void reset() {
+        for (int i = 0; i < METHODS.length; i++) {
+            counts.set(i, 0);
+            totalNanos.set(i, 0);
+            maxNanos.set(i, 0);
+        }
+    }
+
+    /**
+     * @return one line per method that received replies, with their count, average and maximum round trip time
+     */
+    public static String summary() {
+        final StringBuilder sb = new StringBuilder();
+        for (final ProtocolMethod method : METHODS) {
+            final long count = getCount(method);
+            if (count > 0) {
+                sb.append(String.format("%s: %d replies, avg %d ms, max %d ms%n", method, count, getAverageMillis(method), getMaxMillis(method)));
+            }
+        }
+        return sb.toString();
+    }
+}
@@ -0,0 +1,45 @@
+package forge.gamemodes.net;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.channel.ChannelHandlerContext;
+import io.netty.handler.codec.ByteToMessageDecoder;
+
+import java.util.List;
+
+/**
+ * Exchanges the protocol version when a connection opens, before any event is sent.
+ * <p>
+ * Both ends send a header with the version of the wire format they speak and close the connection
+ * if the other end speaks a different one, instead of failing later on an event they can't decode.
+ * Has to be first in the pipeline, it removes itself once the versions match.
+ */
+public class ProtocolVersionHandler extends ByteToMessageDecoder {
+    // increase whenever the encoding of events or the objects they carry changes
+    public static final int PROTOCOL_VERSION = 3;
+    private static final int MAGIC = 0x46524745; // "FRGE"
+    private static final int HEADER_LENGTH = 8;
+
+    @Override
+    public void channelActive(ChannelHandlerContext ctx) throws Exception {
+        ctx.writeAndFlush(ctx.alloc().buffer(HEADER_LENGTH).writeInt(MAGIC).writeInt(PROTOCOL_VERSION));
+        super.channelActive(ctx);
+    }
+
+    @Override
+    protected void decode(ChannelHandlerContext ctx, ByteBuf in, List<Object> out) {
+        if (in.readableBytes() < HEADER_LENGTH) {
+            return;
+        }
+        final int magic = in.readInt();
+        final int version = in.readInt();
+        if (magic != MAGIC || version != PROTOCOL_VERSION) {
+            System.err.printf("Version Mismatch: %s speaks protocol %s, expected %d%n", ctx.channel().remoteAddress(),
+                    magic == MAGIC ? String.valueOf(version) : "unknown", PROTOCOL_VERSION);
+            in.skipBytes(in.readableBytes());
+            ctx.close();
+            return;
+        }
+        // anything received after the header is passed on to the decoder
+        ctx.pipeline().remove(this);
+    }
+}
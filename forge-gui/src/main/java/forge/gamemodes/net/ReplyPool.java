@@ -1,52 +1,81 @@
 package forge.gamemodes.net;
 
-import com.google.common.collect.Maps;
-
+import java.io.IOException;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ExecutionException;
-import java.util.concurrent.FutureTask;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.TimeoutException;
 
+/**
+ * Replies awaited from the other end of a connection, by the id of the event that asked for them.
+ * <p>
+ * Waiting for a reply doesn't hold a thread, each one is a future that completes when the reply arrives
+ * or fails when it times out or the connection is lost.
+ */
 public class ReplyPool {
+    public static final long DEFAULT_TIMEOUT = 5;
+    public static final TimeUnit DEFAULT_TIMEOUT_UNIT = TimeUnit.MINUTES;
 
-    private final Map<Integer, CompletableFuture> pool = Maps.newHashMap();
+    private final Map<Integer, CompletableFuture<Object>> pool = new ConcurrentHashMap<>();
 
     public ReplyPool() {
     }
 
-    public void initialize(final int index) {
-        synchronized (pool) {
-            pool.put(index, new CompletableFuture());
-        }
+    public CompletableFuture<Object> initialize(final int index) {
+        return initialize(index, DEFAULT_TIMEOUT, DEFAULT_TIMEOUT_UNIT);
     }
 
-    public void complete(final int index, final Object value) {
-        synchronized (pool) {
-            pool.get(index).set(value);
-        }
+    public CompletableFuture<Object> initialize(final int index, final long timeout, final TimeUnit unit) {
+        final CompletableFuture<Object> future = new CompletableFuture<>();
+        pool.put(index, future);
+        // forget about the reply however the wait ends
+        future.orTimeout(timeout, unit).whenComplete((reply, error) -> pool.remove(index, future));
+        return future;
     }
 
-    public Object get(final int index) throws TimeoutException {
-        final CompletableFuture future;
-        synchronized (pool) {
-            future = pool.get(index);
-        }
-        try {
-            return future.get(5, TimeUnit.MINUTES);
-        } catch (final InterruptedException | ExecutionException e) {
-            throw new RuntimeException(e);
+    public void complete(final int index, final Object value) {
+        final CompletableFuture<Object> future = pool.remove(index);
+        if (future == null) {
+            System.err.printf("Ignoring reply %d, it timed out or was never asked for%n", index);
+            return;
         }
+        future.complete(value);
     }
 
-    private static final class CompletableFuture extends FutureTask<Object> {
-        public CompletableFuture() {
-            super(() -> null);
+    /**
+     * Fails the pending replies, when the other end is gone and won't send them anymore.
+     */
+    public void failAll(final Throwable cause) {
+        for (final Integer index : pool.keySet()) {
+            final CompletableFuture<Object> future = pool.remove(index);
+            if (future != null) {
+                future.completeExceptionally(cause);
+            }
         }
+    }
 
-        @Override
-        public void set(final Object v) {
-            super.set(v);
+    /**
+     * Blocks until the given reply arrives, for callers that can't go on without it.
+     *
+     * @throws TimeoutException if the reply didn't arrive in time
+     * @throws IOException if the request couldn't be sent or the connection was lost
+     */
+    public static <T> T await(final CompletableFuture<T> future) throws TimeoutException, IOException {
+        try {
+            return future.get();
+        } catch (final InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RuntimeException(e);
+        } catch (final ExecutionException e) {
+            if (e.getCause() instanceof TimeoutException) {
+                throw (TimeoutException) e.getCause();
+            }
+            if (e.getCause() instanceof IOException) {
+                throw (IOException) e.getCause();
+            }
+            throw new RuntimeException(e.getCause());
         }
     }
 }
@@ -4,6 +4,7 @@ import com.google.common.collect.Lists;
 import forge.game.player.PlayerView;
 import forge.gamemodes.net.CompatibleObjectDecoder;
 import forge.gamemodes.net.CompatibleObjectEncoder;
+import forge.gamemodes.net.ProtocolVersionHandler;
 import forge.gamemodes.net.ReplyPool;
 import forge.gamemodes.net.event.IdentifiableNetEvent;
 import forge.gamemodes.net.event.LobbyUpdateEvent;
@@ -19,23 +20,38 @@ import io.netty.channel.socket.nio.NioSocketChannel;
 import io.netty.handler.codec.serialization.ClassResolvers;
 
 
+import java.io.IOException;
 import java.util.List;
-import java.util.concurrent.TimeoutException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
 
 public class FGameClient implements IToServer {
+    private final String username;
+    private final String roomKey;
     private final IGuiGame clientGui;
     private final String hostname;
     private final Integer port;
     private final List<ILobbyListener> lobbyListeners = Lists.newArrayList();
     private final ReplyPool replies = new ReplyPool();
+    private Executor callExecutor;
     private Channel channel;
 
     public FGameClient(String username, String roomKey, IGuiGame clientGui, String hostname, int port) {
+        this.username = username;
+        this.roomKey = roomKey;
         this.clientGui = clientGui;
         this.hostname = hostname;
         this.port = port;
     }
 
+    final String getUsername() {
+        return username;
+    }
+    final String getRoomKey() {
+        return roomKey;
+    }
+
     final IGuiGame getGui() {
         return clientGui;
     }
@@ -43,6 +59,17 @@ public class FGameClient implements IToServer {
         return replies;
     }
 
+    /**
+     * Runs the calls of the server on the given executor instead of the EDT, for a client without a screen
+     * that shares its process with the server. Set it before {@link #connect()}.
+     */
+    public void setCallExecutor(final Executor executor) {
+        callExecutor = executor;
+    }
+    final Executor getCallExecutor() {
+        return callExecutor;
+    }
+
     public void connect() {
         final EventLoopGroup group = new NioEventLoopGroup();
         try {
@@ -54,6 +81,7 @@ public class FGameClient implements IToServer {
                 public void initChannel(final SocketChannel ch) throws Exception {
                     final ChannelPipeline pipeline = ch.pipeline();
                     pipeline.addLast(
+                            new ProtocolVersionHandler(),
                             new CompatibleObjectEncoder(),
                             new CompatibleObjectDecoder(9766*1024, ClassResolvers.cacheDisabled(null)),
                             new MessageHandler(),
@@ -93,13 +121,12 @@ public class FGameClient implements IToServer {
     }
 
     @Override
-    public Object sendAndWait(final IdentifiableNetEvent event) throws TimeoutException {
-        replies.initialize(event.getId());
+    public CompletableFuture<Object> sendAsync(final IdentifiableNetEvent event, final long timeout, final TimeUnit unit) {
+        final CompletableFuture<Object> reply = replies.initialize(event.getId(), timeout, unit);
 
         send(event);
 
-        // Wait for reply
-        return replies.get(event.getId());
+        return reply;
     }
 
     List<ILobbyListener> getLobbyListeners() {
@@ -143,6 +170,7 @@ public class FGameClient implements IToServer {
 
         @Override
         public void channelInactive(final ChannelHandlerContext ctx) throws Exception {
+            replies.failAll(new IOException("Connection to server lost"));
             for (final ILobbyListener listener : lobbyListeners) {
                 listener.close();
             }
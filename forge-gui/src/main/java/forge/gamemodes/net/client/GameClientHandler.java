@@ -40,7 +40,7 @@ final class GameClientHandler extends GameProtocolHandler<IGuiGame> {
      * Creates a client-side game handler.
      */
     public GameClientHandler(final FGameClient client) {
-        super(true);
+        super(true, client.getCallExecutor());
         this.client = client;
         this.gui = client.getGui();
         this.tracker = null;
@@ -288,7 +288,7 @@ final class GameClientHandler extends GameProtocolHandler<IGuiGame> {
     @Override
     public void channelActive(final ChannelHandlerContext ctx) {
         // Don't use send() here, as this.channel is not yet set!
-        ctx.channel().writeAndFlush(new LoginEvent(FModel.getPreferences().getPref(FPref.PLAYER_NAME), Integer.parseInt(FModel.getPreferences().getPref(FPref.UI_AVATARS).split(",")[0]), Integer.parseInt(FModel.getPreferences().getPref(FPref.UI_SLEEVES).split(",")[0])));
+        ctx.channel().writeAndFlush(new LoginEvent(client.getUsername(), Integer.parseInt(FModel.getPreferences().getPref(FPref.UI_AVATARS).split(",")[0]), Integer.parseInt(FModel.getPreferences().getPref(FPref.UI_SLEEVES).split(",")[0]), client.getRoomKey()));
     }
 
 }
\ No newline at end of file
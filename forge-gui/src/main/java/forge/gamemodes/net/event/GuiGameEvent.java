@@ -3,16 +3,19 @@ package forge.gamemodes.net.event;
 import forge.gamemodes.net.ProtocolMethod;
 import forge.gamemodes.net.server.RemoteClient;
 
+import java.util.concurrent.atomic.AtomicInteger;
+
 public final class GuiGameEvent implements IdentifiableNetEvent {
     private static final long serialVersionUID = 6223690008522514574L;
-    private static int staticId = 0;
+    // events of every table in a dedicated server are numbered from here, replies are matched by these ids
+    private static final AtomicInteger staticId = new AtomicInteger();
 
     private final int id;
     private final ProtocolMethod method;
     private final Object[] objects;
 
     public GuiGameEvent(final ProtocolMethod method, final Object ... objects) {
-        this.id = staticId++;
+        this.id = staticId.getAndIncrement();
         this.method = method;
         this.objects = objects == null ? new Object[0] : objects;
     }
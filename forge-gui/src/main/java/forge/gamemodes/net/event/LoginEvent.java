@@ -7,10 +7,18 @@ public class LoginEvent implements NetEvent {
 
     private final String username;
     private final int avatarIndex, sleeveIndex;
+    private final String tableKey;
     public LoginEvent(final String username, final int avatarIndex, final int sleeveIndex) {
+        this(username, avatarIndex, sleeveIndex, null);
+    }
+    /**
+     * @param tableKey the table to sit at, null to let the server pick one
+     */
+    public LoginEvent(final String username, final int avatarIndex, final int sleeveIndex, final String tableKey) {
         this.username = username;
         this.avatarIndex = avatarIndex;
         this.sleeveIndex = sleeveIndex;
+        this.tableKey = tableKey;
     }
 
     @Override
@@ -28,4 +36,8 @@ public class LoginEvent implements NetEvent {
     public int getSleeveIndex() {
         return sleeveIndex;
     }
+
+    public String getTableKey() {
+        return tableKey;
+    }
 }
@@ -1,17 +1,19 @@
 package forge.gamemodes.net.server;
 
 import com.google.common.collect.ImmutableList;
-import com.google.common.collect.Maps;
 import forge.gamemodes.match.LobbySlot;
 import forge.gamemodes.match.LobbySlotType;
 import forge.gamemodes.net.CompatibleObjectDecoder;
 import forge.gamemodes.net.CompatibleObjectEncoder;
+import forge.gamemodes.net.ProtocolLatency;
+import forge.gamemodes.net.ProtocolVersionHandler;
 import forge.gamemodes.net.event.*;
 import forge.gui.GuiBase;
 import forge.gui.interfaces.IGuiGame;
 import forge.gui.util.SOptionPane;
 import forge.interfaces.IGameController;
 import forge.interfaces.ILobbyListener;
+import forge.interfaces.IUpdateable;
 import forge.model.FModel;
 import forge.util.IterableUtil;
 import forge.util.Localizer;
@@ -36,11 +38,23 @@ import java.io.IOException;
 import java.io.InputStreamReader;
 import java.net.*;
 import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.function.Predicate;
 
 public final class FServerManager {
+    /** Key of the table in the lobby of whoever hosts the server, the one clients join unless they ask for another. */
+    public static final String HOST_TABLE = "0";
+
     private static FServerManager instance = null;
-    private final Map<Channel, RemoteClient> clients = Maps.newTreeMap();
+    // clients of all tables connect and leave on different network threads
+    private final Map<Channel, RemoteClient> clients = new ConcurrentSkipListMap<>();
+    // every table has its own lobby and match, they share the card database and nothing else
+    private final Map<String, ServerGameLobby> tables = new ConcurrentHashMap<>();
+    private final AtomicInteger tableCounter = new AtomicInteger();
+    private int maxTables = 1;
+    private boolean aiOpponents = false;
     private boolean isHosting = false;
     private EventLoopGroup bossGroup = new NioEventLoopGroup(1);
     private EventLoopGroup workerGroup = new NioEventLoopGroup();
@@ -64,8 +78,14 @@ public final class FServerManager {
         return clients.get(ch);
     }
 
-    IGameController getController(final int index) {
-        return localLobby.getController(index);
+    IGameController getController(final RemoteClient client) {
+        final ServerGameLobby table = getTable(client);
+        return table == null ? null : table.getController(client.getIndex());
+    }
+
+    private ServerGameLobby getTable(final RemoteClient client) {
+        final String key = client.getTableKey();
+        return key == null ? null : tables.get(key);
     }
 
     /**
@@ -89,6 +109,14 @@ public final class FServerManager {
         } else {
             startUPnP = UPnPOption.equalsIgnoreCase("ALWAYS");
         }
+        startServer(port, startUPnP);
+    }
+
+    /**
+     * Starts the server without asking about UPnP, for servers that run without anyone to ask.
+     */
+    public void startServer(final int port, final boolean startUPnP) {
+        this.port = port;
         System.out.println("Starting Multiplayer Server");
         try {
             final ServerBootstrap b = new ServerBootstrap()
@@ -100,6 +128,7 @@ public final class FServerManager {
                         public void initChannel(final SocketChannel ch) throws Exception {
                             final ChannelPipeline p = ch.pipeline();
                             p.addLast(
+                                    new ProtocolVersionHandler(),
                                     new CompatibleObjectEncoder(),
                                     new CompatibleObjectDecoder(9766 * 1024, ClassResolvers.cacheDisabled(null)),
                                     new MessageHandler(),
@@ -161,6 +190,10 @@ public final class FServerManager {
     }
 
     private void stopServer(final boolean removeShutdownHook) {
+        final String latency = ProtocolLatency.summary();
+        if (!latency.isEmpty()) {
+            System.out.print("Reply round trip times:\n" + latency);
+        }
         bossGroup.shutdownGracefully();
         workerGroup.shutdownGracefully();
         if (upnpService != null) {
@@ -170,6 +203,7 @@ public final class FServerManager {
         if (removeShutdownHook) {
             Runtime.getRuntime().removeShutdownHook(shutdownHook);
         }
+        tables.values().removeIf(ServerGameLobby::isDedicated);
         isHosting = false;
         // create new EventLoopGroups for potential restart
         bossGroup = new NioEventLoopGroup(1);
@@ -181,11 +215,28 @@ public final class FServerManager {
     }
 
     public void broadcast(final NetEvent event) {
-        if (event instanceof MessageEvent) {
+        broadcastToTable(HOST_TABLE, event);
+    }
+
+    /**
+     * Sends the event to the clients seated at the given table, the host only follows its own table.
+     */
+    public void broadcastToTable(final String tableKey, final NetEvent event) {
+        if (event instanceof MessageEvent && HOST_TABLE.equals(tableKey) && lobbyListener != null) {
             MessageEvent msgEvent = (MessageEvent) event;
             lobbyListener.message(msgEvent.getSource(), msgEvent.getMessage());
         }
-        broadcastTo(event, clients.values());
+        broadcastTo(event, getTableClients(tableKey));
+    }
+
+    private List<RemoteClient> getTableClients(final String tableKey) {
+        final List<RemoteClient> seated = new ArrayList<>();
+        for (final RemoteClient client : clients.values()) {
+            if (tableKey.equals(client.getTableKey())) {
+                seated.add(client);
+            }
+        }
+        return seated;
     }
 
     public void broadcastExcept(final NetEvent event, final RemoteClient notTo) {
@@ -210,6 +261,84 @@ public final class FServerManager {
 
     public void setLobby(final ServerGameLobby lobby) {
         this.localLobby = lobby;
+        if (lobby == null) {
+            tables.remove(HOST_TABLE);
+        } else {
+            tables.put(HOST_TABLE, lobby);
+        }
+    }
+
+    /**
+     * Lets clients open tables of their own next to the host's one, each with its own lobby and match,
+     * all of them played in this process. A client that doesn't ask for a table sits at the host's one,
+     * or when nobody hosts one at the first table with a free seat.
+     *
+     * @param maxTables the most tables open at once, the host's one included
+     * @param aiOpponents whether new tables seat an AI opponent instead of waiting for a second client
+     */
+    public void allowTables(final int maxTables, final boolean aiOpponents) {
+        this.maxTables = Math.max(maxTables, 1);
+        this.aiOpponents = aiOpponents;
+    }
+
+    public Collection<ServerGameLobby> getTables() {
+        return Collections.unmodifiableCollection(tables.values());
+    }
+
+    // callers hold the lock on tables, so two clients looking for a seat don't get the same one
+    private ServerGameLobby findTable(final String tableKey) {
+        final boolean anyTable = tableKey == null || tableKey.isEmpty() || HOST_TABLE.equals(tableKey);
+        if (anyTable && localLobby != null) {
+            return localLobby;
+        }
+        final ServerGameLobby table = anyTable ? findOpenTable() : tables.get(tableKey);
+        if (table != null) {
+            return table;
+        }
+        return openTable(anyTable ? nextTableKey() : tableKey);
+    }
+
+    private ServerGameLobby findOpenTable() {
+        for (final ServerGameLobby table : tables.values()) {
+            if (table.isDedicated() && !table.isMatchActive() && table.hasOpenSlot()) {
+                return table;
+            }
+        }
+        return null;
+    }
+
+    private String nextTableKey() {
+        String key;
+        do {
+            key = String.valueOf(tableCounter.incrementAndGet());
+        } while (tables.containsKey(key));
+        return key;
+    }
+
+    private ServerGameLobby openTable(final String tableKey) {
+        if (tables.size() >= maxTables) {
+            return null;
+        }
+        final ServerGameLobby table = new ServerGameLobby(tableKey, aiOpponents);
+        table.setListener(new IUpdateable() {
+            @Override
+            public void update(final boolean fullUpdate) {
+                updateLobbyState(table);
+            }
+            @Override
+            public void update(final int slot, final LobbySlotType type) {
+            }
+        });
+        tables.put(tableKey, table);
+        System.out.printf("Opened table %s, %d of %d%n", tableKey, tables.size(), maxTables);
+        return table;
+    }
+
+    private void closeTableIfEmpty(final ServerGameLobby table) {
+        if (table.isDedicated() && !table.hasRemotePlayers()) {
+            tables.remove(table.getTableKey(), table);
+            System.out.printf("Closed table %s%n", table.getTableKey());
+        }
     }
 
     public void unsetReady() {
@@ -228,21 +357,26 @@ public final class FServerManager {
     }
 
     public void updateLobbyState() {
-        final LobbyUpdateEvent event = new LobbyUpdateEvent(localLobby.getData());
-        broadcast(event);
+        if (localLobby != null) {
+            updateLobbyState(localLobby);
+        }
+    }
+
+    private void updateLobbyState(final ServerGameLobby table) {
+        broadcastToTable(table.getTableKey(), new LobbyUpdateEvent(table.getData()));
     }
 
     public void updateSlot(final int index, final UpdateLobbyPlayerEvent event) {
         localLobby.applyToSlot(index, event);
     }
 
-    public IGuiGame getGui(final int index) {
-        final LobbySlot slot = localLobby.getSlot(index);
+    public IGuiGame getGui(final ServerGameLobby table, final int index) {
+        final LobbySlot slot = table.getSlot(index);
         final LobbySlotType type = slot.getType();
         if (type == LobbySlotType.LOCAL) {
             return GuiBase.getInterface().getNewGuiGame();
         } else if (type == LobbySlotType.REMOTE) {
-            for (final RemoteClient client : clients.values()) {
+            for (final RemoteClient client : getTableClients(table.getTableKey())) {
                 if (client.getIndex() == index) {
                     return new NetGuiGame(client);
                 }
@@ -338,8 +472,8 @@ public final class FServerManager {
         @Override
         public final void channelRead(final ChannelHandlerContext ctx, final Object msg) throws Exception {
             final RemoteClient client = clients.get(ctx.channel());
-            if (msg instanceof MessageEvent) {
-                broadcast(new MessageEvent(client.getUsername(), ((MessageEvent) msg).getMessage()));
+            if (msg instanceof MessageEvent && client.getTableKey() != null) {
+                broadcastToTable(client.getTableKey(), new MessageEvent(client.getUsername(), ((MessageEvent) msg).getMessage()));
             }
             super.channelRead(ctx, msg);
         }
@@ -351,7 +485,6 @@ public final class FServerManager {
             final RemoteClient client = new RemoteClient(ctx.channel());
             clients.put(ctx.channel(), client);
             System.out.println("Client connected to server at " + ctx.channel().remoteAddress());
-            updateLobbyState();
             super.channelActive(ctx);
         }
 
@@ -359,12 +492,7 @@ public final class FServerManager {
         public void channelRead(final ChannelHandlerContext ctx, final Object msg) throws Exception {
             final RemoteClient client = clients.get(ctx.channel());
             if (msg instanceof LoginEvent) {
-                final String username = ((LoginEvent) msg).getUsername();
-                client.setUsername(username);
-                broadcast(new MessageEvent(String.format("%s joined the room", username)));
-                updateLobbyState();
-            } else if (msg instanceof UpdateLobbyPlayerEvent) {
-                localLobby.applyToSlot(client.getIndex(), (UpdateLobbyPlayerEvent) msg);
+                client.setUsername(((LoginEvent) msg).getUsername());
             }
             super.channelRead(ctx, msg);
         }
@@ -376,19 +504,33 @@ public final class FServerManager {
             final RemoteClient client = clients.get(ctx.channel());
             if (msg instanceof LoginEvent) {
                 final LoginEvent event = (LoginEvent) msg;
-                final int index = localLobby.connectPlayer(event.getUsername(), event.getAvatarIndex(), event.getSleeveIndex());
+                final ServerGameLobby table;
+                final int index;
+                synchronized (tables) {
+                    table = findTable(event.getTableKey());
+                    index = table == null ? -1 : table.connectPlayer(event.getUsername(), event.getAvatarIndex(), event.getSleeveIndex());
+                    if (index != -1) {
+                        client.setIndex(index);
+                        client.setTableKey(table.getTableKey());
+                    }
+                }
                 if (index == -1) {
                     ctx.close();
                 } else {
-                    client.setIndex(index);
-                    broadcast(event);
-                    updateLobbyState();
+                    broadcastToTable(table.getTableKey(), new MessageEvent(String.format("%s joined the room", event.getUsername())));
+                    broadcastToTable(table.getTableKey(), event);
+                    updateLobbyState(table);
                 }
             } else if (msg instanceof UpdateLobbyPlayerEvent) {
-                updateSlot(client.getIndex(), (UpdateLobbyPlayerEvent) msg);
+                final ServerGameLobby table = getTable(client);
+                if (table != null) {
+                    table.applyToSlot(client.getIndex(), (UpdateLobbyPlayerEvent) msg);
+                }
             } else if (msg instanceof MessageEvent) {
                 final MessageEvent event = (MessageEvent) msg;
-                lobbyListener.message(event.getSource(), event.getMessage());
+                if (HOST_TABLE.equals(client.getTableKey()) && lobbyListener != null) {
+                    lobbyListener.message(event.getSource(), event.getMessage());
+                }
             }
             super.channelRead(ctx, msg);
         }
@@ -398,10 +540,17 @@ public final class FServerManager {
         @Override
         public void channelInactive(final ChannelHandlerContext ctx) throws Exception {
             final RemoteClient client = clients.remove(ctx.channel());
+            client.getReplyPool().failAll(new IOException("Connection to " + client.getUsername() + " lost"));
             final String username = client.getUsername();
-            localLobby.disconnectPlayer(client.getIndex());
-            broadcast(new MessageEvent(String.format("%s left the room", username)));
-            broadcast(new LogoutEvent(username));
+            final ServerGameLobby table = getTable(client);
+            if (table != null) {
+                synchronized (tables) {
+                    table.disconnectPlayer(client.getIndex());
+                    closeTableIfEmpty(table);
+                }
+                broadcastToTable(table.getTableKey(), new MessageEvent(String.format("%s left the room", username)));
+                broadcastToTable(table.getTableKey(), new LogoutEvent(username));
+            }
             super.channelInactive(ctx);
         }
     }
@@ -30,7 +30,9 @@ final class GameServerHandler extends GameProtocolHandler<IGameController> {
 
     @Override
     protected IGameController getToInvoke(final ChannelHandlerContext ctx) {
-        return server.getController(getClient(ctx).getIndex());
+        final RemoteClient client = getClient(ctx);
+        // calls still queued when the client disconnected have nobody to go to
+        return client == null ? null : server.getController(client);
     }
 
     @Override
@@ -20,6 +20,7 @@ import forge.localinstance.skin.FSkinProp;
 import forge.player.PlayerZoneUpdate;
 import forge.player.PlayerZoneUpdates;
 import forge.trackable.TrackableCollection;
+import forge.trackable.TrackableDelta;
 import forge.util.ITriggerEvent;
 
 import java.util.Collection;
@@ -29,7 +30,12 @@ import java.util.function.Function;
 
 public class NetGuiGame extends AbstractGuiGame {
 
+    // number of game view deltas after which the whole view is sent again
+    private static final int GAME_VIEW_FULL_SYNC_INTERVAL = 50;
+
     private final GameProtocolSender sender;
+    private final TrackableDelta.Writer gameViewDeltaWriter = new TrackableDelta.Writer(GAME_VIEW_FULL_SYNC_INTERVAL);
+
     public NetGuiGame(final IToClient client) {
         this.sender = new GameProtocolSender(client);
     }
@@ -43,24 +49,40 @@ public class NetGuiGame extends AbstractGuiGame {
     }
 
     public void updateGameView() {
-        send(ProtocolMethod.setGameView, getGameView());
+        final GameView gameView = getGameView();
+        if (gameViewDeltaWriter.needsFullSync(gameView)) {
+            sendFullGameView();
+            return;
+        }
+        final TrackableDelta delta = gameViewDeltaWriter.next();
+        if (delta != null) {
+            send(ProtocolMethod.applyGameViewDelta, delta);
+        }
+    }
+
+    private void sendFullGameView() {
+        final GameView gameView = getGameView();
+        send(ProtocolMethod.setGameView, gameView);
+        gameViewDeltaWriter.reset(gameView);
     }
 
     @Override
     public void setGameView(final GameView gameView) {
         super.setGameView(gameView);
-        updateGameView();
+        sendFullGameView();
     }
 
     @Override
     public void openView(final TrackableCollection<PlayerView> myPlayers) {
         send(ProtocolMethod.openView, myPlayers);
-        updateGameView();
+        //the client starts over from its own view of the game
+        sendFullGameView();
     }
 
     @Override
     public void afterGameEnd() {
         send(ProtocolMethod.afterGameEnd);
+        gameViewDeltaWriter.stop();
     }
 
     @Override
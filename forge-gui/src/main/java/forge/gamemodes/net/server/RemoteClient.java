@@ -1,17 +1,22 @@
 package forge.gamemodes.net.server;
 
+import forge.gamemodes.net.CompatibleObjectEncoder;
 import forge.gamemodes.net.ReplyPool;
 import forge.gamemodes.net.event.IdentifiableNetEvent;
 import forge.gamemodes.net.event.NetEvent;
+import io.netty.buffer.ByteBuf;
 import io.netty.channel.Channel;
 
-import java.util.concurrent.TimeoutException;
+import java.io.IOException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
 
 public final class RemoteClient implements IToClient {
 
     private final Channel channel;
     private String username;
     private int index;
+    private String tableKey;
     private ReplyPool replies = new ReplyPool();
     public RemoteClient(final Channel channel) {
         this.channel = channel;
@@ -20,20 +25,41 @@ public final class RemoteClient implements IToClient {
     @Override
     public void send(final NetEvent event) {
         System.out.println("Sending event " + event + " to " + channel);
+        final ByteBuf encoded;
         try {
-            channel.writeAndFlush(event).sync();
-        } catch (Exception e) {
+            // encoded before the game goes on and changes its objects
+            encoded = CompatibleObjectEncoder.encode(channel.alloc(), event);
+        } catch (IOException e) {
             e.printStackTrace();
+            return;
         }
+        // not waiting for the write, the lobby sends from the event loops of the other clients,
+        // which can wait for each other that way
+        channel.writeAndFlush(encoded).addListener(future -> {
+            if (!future.isSuccess()) {
+                future.cause().printStackTrace();
+            }
+        });
     }
 
     @Override
-    public Object sendAndWait(final IdentifiableNetEvent event) throws TimeoutException {
-        replies.initialize(event.getId());
-
-        send(event);
-
-        return replies.get(event.getId());
+    public CompletableFuture<Object> sendAsync(final IdentifiableNetEvent event, final long timeout, final TimeUnit unit) {
+        final CompletableFuture<Object> reply = replies.initialize(event.getId(), timeout, unit);
+        System.out.println("Sending event " + event + " to " + channel);
+        final ByteBuf encoded;
+        try {
+            encoded = CompatibleObjectEncoder.encode(channel.alloc(), event);
+        } catch (IOException e) {
+            reply.completeExceptionally(e);
+            return reply;
+        }
+        // don't wait for the write either, a failed one fails the reply
+        channel.writeAndFlush(encoded).addListener(future -> {
+            if (!future.isSuccess()) {
+                reply.completeExceptionally(new IOException("Sending " + event + " to " + channel + " failed", future.cause()));
+            }
+        });
+        return reply;
     }
 
     public String getUsername() {
@@ -50,6 +76,16 @@ public final class RemoteClient implements IToClient {
         this.index = index;
     }
 
+    /**
+     * @return the key of the table this client sits at, null until it is seated
+     */
+    public String getTableKey() {
+        return tableKey;
+    }
+    void setTableKey(final String tableKey) {
+        this.tableKey = tableKey;
+    }
+
     ReplyPool getReplyPool() {
         return replies;
     }
@@ -1,21 +1,76 @@
 package forge.gamemodes.net.server;
 
+import forge.deck.DeckgenUtil;
 import forge.gamemodes.match.GameLobby;
 import forge.gamemodes.match.LobbySlot;
 import forge.gamemodes.match.LobbySlotType;
+import forge.gamemodes.net.event.UpdateLobbyPlayerEvent;
 import forge.gui.interfaces.IGuiGame;
+import forge.util.GuiDisplayUtil;
+import forge.util.ThreadUtil;
 import org.apache.commons.lang3.StringUtils;
 
 import java.util.Collections;
 
 public final class ServerGameLobby extends GameLobby {
 
+    private final String tableKey;
+    // set while a dedicated table is starting its match, so two players getting ready at once don't start two
+    private boolean starting = false;
+
     public ServerGameLobby() {
         super(true);
+        tableKey = FServerManager.HOST_TABLE;
         addSlot(new LobbySlot(LobbySlotType.LOCAL, localName(), localAvatarIndices()[0], localSleeveIndices()[0],0, true, false, Collections.emptySet()));
         addSlot(new LobbySlot(LobbySlotType.OPEN, null, -1, -1, 1, false, false, Collections.emptySet()));
     }
 
+    /**
+     * Creates a dedicated table, one without a seat for whoever runs the server.
+     * Its match starts by itself once every seated player is ready.
+     *
+     * @param tableKey the key clients use to join this table
+     * @param aiOpponent whether the second seat goes to an AI instead of another client
+     */
+    public ServerGameLobby(final String tableKey, final boolean aiOpponent) {
+        super(true);
+        this.tableKey = tableKey;
+        addSlot(new LobbySlot(LobbySlotType.OPEN, null, -1, -1, 0, false, false, Collections.emptySet()));
+        if (aiOpponent) {
+            final LobbySlot ai = new LobbySlot(LobbySlotType.AI, GuiDisplayUtil.getRandomAiName(), 0, 0, 1, false, true, Collections.emptySet());
+            ai.setDeck(DeckgenUtil.getRandomColorDeck(true));
+            addSlot(ai);
+        } else {
+            addSlot(new LobbySlot(LobbySlotType.OPEN, null, -1, -1, 1, false, false, Collections.emptySet()));
+        }
+    }
+
+    public String getTableKey() {
+        return tableKey;
+    }
+
+    public boolean isDedicated() {
+        return !FServerManager.HOST_TABLE.equals(tableKey);
+    }
+
+    public boolean hasOpenSlot() {
+        for (int index = 0; index < getNumberOfSlots(); index++) {
+            if (getSlot(index).getType() == LobbySlotType.OPEN) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    public boolean hasRemotePlayers() {
+        for (int index = 0; index < getNumberOfSlots(); index++) {
+            if (getSlot(index).getType() == LobbySlotType.REMOTE) {
+                return true;
+            }
+        }
+        return false;
+    }
+
     public int connectPlayer(final String name, final int avatarIndex, final int sleeveIndex) {
         final int nSlots = getNumberOfSlots();
         for (int index = 0; index < nSlots; index++) {
@@ -34,6 +89,52 @@ public final class ServerGameLobby extends GameLobby {
         slot.setSleeveIndex(sleeveIndex);
         updateView(false);
     }
+    @Override
+    public void applyToSlot(final int index, final UpdateLobbyPlayerEvent event) {
+        super.applyToSlot(index, event);
+        if (isDedicated()) {
+            startWhenReady();
+        }
+    }
+
+    private void startWhenReady() {
+        synchronized (this) {
+            if (starting || isMatchActive()) {
+                return;
+            }
+            // checked here as startGame asks whoever runs the server about anything missing
+            int seated = 0;
+            for (int index = 0; index < getNumberOfSlots(); index++) {
+                final LobbySlot slot = getSlot(index);
+                if (slot.getType() == LobbySlotType.OPEN) {
+                    continue;
+                }
+                if (!slot.isReady() || slot.getDeck() == null) {
+                    return;
+                }
+                seated++;
+            }
+            if (seated < 2) {
+                return;
+            }
+            starting = true;
+        }
+        // not on the network thread, starting a match sets up the game and encodes its view for every client,
+        // and not on a game thread either, the match would be played right there before its controllers are known
+        ThreadUtil.getServicePool().execute(() -> {
+            try {
+                final Runnable start = startGame();
+                if (start != null) {
+                    start.run();
+                }
+            } finally {
+                synchronized (this) {
+                    starting = false;
+                }
+            }
+        });
+    }
+
     public void disconnectPlayer(final int index) {
         final LobbySlot slot = getSlot(index);
         slot.setType(LobbySlotType.OPEN);
@@ -65,7 +166,7 @@ public final class ServerGameLobby extends GameLobby {
 
     @Override
     protected IGuiGame getGui(final int index) {
-        return FServerManager.getInstance().getGui(index);
+        return FServerManager.getInstance().getGui(this, index);
     }
 
     @Override
@@ -22,6 +22,7 @@ import forge.localinstance.skin.FSkinProp;
 import forge.player.PlayerZoneUpdate;
 import forge.player.PlayerZoneUpdates;
 import forge.trackable.TrackableCollection;
+import forge.trackable.TrackableDelta;
 import forge.util.ITriggerEvent;
 
 import java.util.Collection;
@@ -32,6 +33,11 @@ import java.util.function.Function;
 public interface IGuiGame {
     void setGameView(GameView gameView);
 
+    /**
+     * Update the game view with the changes made since the last time it was set or updated.
+     */
+    void applyGameViewDelta(TrackableDelta delta);
+
     GameView getGameView();
 
     void setOriginalGameController(PlayerView view, IGameController gameController);
@@ -167,6 +167,9 @@ public final class FModel {
                 false);
         final CardStorageReader tokenReader = new CardStorageReader(ForgeConstants.TOKEN_DATA_DIR, progressBarBridge,
                 false);
+        // reading one snapshot is a lot faster than opening every script on its own
+        reader.setSnapshotFile(new File(ForgeConstants.CARD_SNAPSHOT_FILE));
+        tokenReader.setSnapshotFile(new File(ForgeConstants.TOKEN_SNAPSHOT_FILE));
         CardStorageReader customReader;
         try {
            customReader  = new CardStorageReader(ForgeConstants.USER_CUSTOM_CARDS_DIR, progressBarBridge, false);